@@ -2,10 +2,10 @@ package edu.dosw.rideci;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
-@EnableAsync
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class AteneaNotificationsBackendApplication {
 
 	public static void main(String[] args) {
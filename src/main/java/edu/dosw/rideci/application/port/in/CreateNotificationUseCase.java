@@ -2,6 +2,8 @@ package edu.dosw.rideci.application.port.in;
 
 import edu.dosw.rideci.domain.model.InAppNotification;
 
+import java.util.List;
+
 /**
  * Caso de uso para la creación de notificaciones in-app.
  * Define el contrato para registrar nuevas notificaciones dentro del sistema.
@@ -18,4 +20,18 @@ public interface CreateNotificationUseCase {
      * @return Notificación creada, posiblemente con datos adicionales (ID, fechas, etc.).
      */
     InAppNotification createNotification(InAppNotification notification);
+
+    /**
+     * Crea varias notificaciones in-app en una sola operación.
+     * Las implementaciones pueden sobrescribirlo para persistir el lote completo
+     * de una vez; por defecto crea cada notificación por separado.
+     *
+     * @param notifications Notificaciones a crear.
+     * @return Notificaciones creadas, en el mismo orden recibido.
+     */
+    default List<InAppNotification> createNotifications(List<InAppNotification> notifications) {
+        return notifications.stream()
+                .map(this::createNotification)
+                .toList();
+    }
 }
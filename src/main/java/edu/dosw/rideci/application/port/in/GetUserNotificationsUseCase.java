@@ -1,6 +1,7 @@
 package edu.dosw.rideci.application.port.in;
 
 import edu.dosw.rideci.domain.model.InAppNotification;
+import edu.dosw.rideci.domain.model.NotificationPage;
 
 import java.util.List;
 import java.util.UUID;
@@ -10,7 +11,7 @@ import java.util.UUID;
  * Permite obtener las notificaciones asociadas a un identificador de usuario.
  *
  * @author RideECI
- * @version 1.0
+ * @version 1.2
  */
 public interface GetUserNotificationsUseCase {
 
@@ -22,4 +23,31 @@ public interface GetUserNotificationsUseCase {
      *         si el usuario no tiene notificaciones registradas.
      */
     List<InAppNotification> getNotificationsByUserId(UUID userId);
+
+    /**
+     * Obtiene una página de las notificaciones de un usuario, de la más
+     * reciente a la más antigua.
+     *
+     * @param userId Identificador único del usuario.
+     * @param cursor Cursor opaco devuelto en la página anterior, o {@code null} para la primera.
+     * @param limit  Tamaño de página solicitado; se ajusta al rango permitido.
+     * @return Página con las notificaciones y el cursor de la siguiente.
+     * @throws edu.dosw.rideci.exceptions.InvalidCursorException Si el cursor no es válido.
+     */
+    NotificationPage getNotificationsPage(UUID userId, String cursor, int limit);
+
+    /**
+     * Obtiene el número de notificaciones no leídas de un usuario.
+     *
+     * @param userId Identificador único del usuario.
+     * @return Notificaciones no leídas.
+     */
+    long getUnreadCount(UUID userId);
+
+    /**
+     * Recalcula los contadores de no leídas de todos los usuarios desde lo almacenado.
+     *
+     * @return Usuarios con notificaciones no leídas.
+     */
+    int rebuildUnreadCounts();
 }
@@ -0,0 +1,58 @@
+package edu.dosw.rideci.application.port.in;
+
+import edu.dosw.rideci.domain.model.DeadLetter;
+import edu.dosw.rideci.domain.model.Enum.DeadLetterStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Caso de uso para la administración de las entregas fallidas del bus de eventos.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public interface ManageDeadLettersUseCase {
+
+    /**
+     * Lista las dead letters.
+     *
+     * @param status Estado por el que filtrar, o {@code null} para listarlas todas.
+     * @return Dead letters ordenadas por fecha del primer fallo.
+     */
+    List<DeadLetter> listDeadLetters(DeadLetterStatus status);
+
+    /**
+     * Obtiene una dead letter.
+     *
+     * @param id Identificador de la dead letter.
+     * @return Dead letter encontrada.
+     * @throws java.util.NoSuchElementException Si no existe.
+     */
+    DeadLetter getDeadLetter(UUID id);
+
+    /**
+     * Reintenta de inmediato la entrega y reinicia su ciclo de reintentos si vuelve a fallar.
+     *
+     * @param id Identificador de la dead letter.
+     * @return {@code true} si la entrega tuvo éxito y la dead letter se eliminó.
+     * @throws java.util.NoSuchElementException Si no existe.
+     */
+    boolean replayDeadLetter(UUID id);
+
+    /**
+     * Elimina una dead letter y cancela su reintento programado.
+     *
+     * @param id Identificador de la dead letter.
+     * @throws java.util.NoSuchElementException Si no existe.
+     */
+    void deleteDeadLetter(UUID id);
+
+    /**
+     * Elimina las dead letters de un estado, o todas.
+     *
+     * @param status Estado a purgar, o {@code null} para purgarlas todas.
+     * @return Número de dead letters eliminadas.
+     */
+    int purgeDeadLetters(DeadLetterStatus status);
+}
@@ -9,7 +9,7 @@ import java.util.UUID;
  * Define el contrato que permite actualizar el estado de una notificación.
  *
  * @author RideECI
- * @version 1.0
+ * @version 1.1
  */
 public interface MarkNotificationAsReadUseCase {
 
@@ -20,4 +20,12 @@ public interface MarkNotificationAsReadUseCase {
      * @return La notificación actualizada con estado de lectura.
      */
     InAppNotification markAsRead(UUID notificationId);
+
+    /**
+     * Marca como leídas todas las notificaciones no leídas de un usuario.
+     *
+     * @param userId Identificador del usuario.
+     * @return Número de notificaciones marcadas.
+     */
+    int markAllAsRead(UUID userId);
 }
@@ -1,6 +1,7 @@
 package edu.dosw.rideci.application.port.in;
 
 import edu.dosw.rideci.domain.model.NotificationEvent;
+import edu.dosw.rideci.domain.service.DedupeMetrics;
 
 /**
  * Caso de uso para la recepción de eventos externos relacionados con notificaciones.
@@ -17,6 +18,15 @@ public interface ReceiveExternalEventUseCase {
      *
      * @param event Evento externo que contiene la información necesaria
      *              para generar o actualizar notificaciones.
+     * @throws edu.dosw.rideci.exceptions.EventRejectedException Si el evento no puede
+     *         aceptarse porque la cola de su prioridad está llena.
      */
     void receive(NotificationEvent event);
+
+    /**
+     * Contadores del filtro de eventos duplicados.
+     *
+     * @return Duplicados descartados, eventos nuevos e identificadores recordados.
+     */
+    DedupeMetrics getDedupeMetrics();
 }
@@ -0,0 +1,50 @@
+package edu.dosw.rideci.application.port.out;
+
+import edu.dosw.rideci.domain.model.DeadLetter;
+import edu.dosw.rideci.domain.model.Enum.DeadLetterStatus;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Puerto de salida para el almacenamiento de las entregas fallidas
+ * ({@link DeadLetter}) del bus de eventos.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public interface DeadLetterRepositoryPort {
+
+    /**
+     * Guarda o actualiza una dead letter.
+     *
+     * @param deadLetter Dead letter a guardar.
+     * @return Dead letter almacenada.
+     */
+    DeadLetter save(DeadLetter deadLetter);
+
+    /**
+     * Busca una dead letter por su identificador.
+     *
+     * @param id Identificador de la dead letter.
+     * @return {@link Optional} con la dead letter, o vacío si no existe.
+     */
+    Optional<DeadLetter> findById(UUID id);
+
+    /**
+     * Obtiene las dead letters ordenadas por fecha del primer fallo.
+     *
+     * @param status Estado por el que filtrar, o {@code null} para obtener todas.
+     * @return Dead letters encontradas.
+     */
+    List<DeadLetter> findAll(DeadLetterStatus status);
+
+    /**
+     * Elimina una dead letter.
+     *
+     * @param id Identificador de la dead letter.
+     * @return {@code true} si existía.
+     */
+    boolean deleteById(UUID id);
+}
@@ -0,0 +1,96 @@
+package edu.dosw.rideci.application.port.out;
+
+import edu.dosw.rideci.domain.model.Enum.EventPriority;
+import edu.dosw.rideci.domain.model.Enum.OutboxEmailStatus;
+import edu.dosw.rideci.domain.model.OutboxEmail;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Puerto de salida para el outbox de correos ({@link OutboxEmail}).
+ *
+ * Un correo queda registrado de forma durable antes de que se intente su
+ * envío; los despachadores lo toman con {@link #claimDue(EventPriority, Instant, int)},
+ * lo envían y lo confirman con {@link #deleteById(UUID)}.
+ *
+ * @author RideECI
+ * @version 1.3
+ */
+public interface EmailOutboxRepositoryPort {
+
+    /**
+     * Guarda o actualiza un correo. Al volver, el correo sobrevive a un reinicio.
+     *
+     * @param email Correo a guardar.
+     * @return Correo almacenado.
+     */
+    OutboxEmail save(OutboxEmail email);
+
+    /**
+     * Guarda varios correos forzándolos a disco una sola vez. Al volver,
+     * todos sobreviven a un reinicio.
+     *
+     * @param emails Correos a guardar.
+     * @return Correos almacenados.
+     */
+    List<OutboxEmail> saveAll(List<OutboxEmail> emails);
+
+    /**
+     * Busca un correo por su identificador.
+     *
+     * @param id Identificador del correo.
+     * @return {@link Optional} con el correo, o vacío si no existe.
+     */
+    Optional<OutboxEmail> findById(UUID id);
+
+    /**
+     * Toma los correos pendientes de una prioridad cuyo siguiente intento ya
+     * venció, en orden de vencimiento, y los pasa a
+     * {@link OutboxEmailStatus#SENDING} para que ningún otro despachador los tome.
+     *
+     * @param priority Prioridad de los correos a tomar.
+     * @param now      Momento actual.
+     * @param limit    Máximo de correos a tomar.
+     * @return Correos tomados.
+     */
+    List<OutboxEmail> claimDue(EventPriority priority, Instant now, int limit);
+
+    /**
+     * Cuenta los correos de una prioridad que aún no se envían ni fallaron y
+     * cuyo siguiente intento ya venció; no incluye los programados.
+     *
+     * @param priority Prioridad de los correos.
+     * @param now      Momento actual.
+     * @return Correos en envío o pendientes con el siguiente intento vencido.
+     */
+    int countUnsent(EventPriority priority, Instant now);
+
+    /**
+     * Cuenta los correos pendientes de una prioridad cuyo siguiente intento
+     * aún no vence.
+     *
+     * @param priority Prioridad de los correos.
+     * @param now      Momento actual.
+     * @return Correos programados para después de {@code now}.
+     */
+    int countScheduled(EventPriority priority, Instant now);
+
+    /**
+     * Obtiene los correos ordenados por fecha de registro.
+     *
+     * @param status Estado por el que filtrar, o {@code null} para obtener todos.
+     * @return Correos encontrados.
+     */
+    List<OutboxEmail> findAll(OutboxEmailStatus status);
+
+    /**
+     * Elimina un correo, normalmente porque ya se envió.
+     *
+     * @param id Identificador del correo.
+     * @return {@code true} si existía.
+     */
+    boolean deleteById(UUID id);
+}
@@ -1,7 +1,10 @@
 package edu.dosw.rideci.application.port.out;
 
 import edu.dosw.rideci.domain.model.InAppNotification;
+import edu.dosw.rideci.domain.model.NotificationCursor;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,7 +15,7 @@ import java.util.UUID;
  * {@link InAppNotification}.
  *
  * @author RideECI
- * @version 1.0
+ * @version 1.4
  */
 public interface NotificationRepositoryPort {
 
@@ -25,6 +28,24 @@ public interface NotificationRepositoryPort {
      */
     InAppNotification save(InAppNotification notification);
 
+    /**
+     * Guarda varias notificaciones en una sola operación masiva. Es el camino
+     * a usar cuando un caso de uso crea una notificación por destinatario.
+     *
+     * @param notifications Notificaciones a persistir.
+     * @return Notificaciones almacenadas, en el mismo orden.
+     */
+    List<InAppNotification> saveAll(Collection<InAppNotification> notifications);
+
+    /**
+     * Marca como leídas todas las notificaciones no leídas de un usuario.
+     *
+     * @param userId Identificador del usuario.
+     * @param readAt Fecha de lectura a registrar.
+     * @return Número de notificaciones marcadas.
+     */
+    int markAllAsRead(UUID userId, OffsetDateTime readAt);
+
     /**
      * Busca una notificación por su identificador único.
      *
@@ -43,4 +64,63 @@ public interface NotificationRepositoryPort {
      *         si el usuario no tiene notificaciones registradas.
      */
     List<InAppNotification> findByUserIdOrderByCreatedAtDesc(UUID userId);
+
+    /**
+     * Obtiene un tramo de la bandeja de un usuario, en el mismo orden que
+     * {@link #findByUserIdOrderByCreatedAtDesc(UUID)} y empezando justo
+     * después de un cursor. El costo depende del tamaño del tramo, no de
+     * la posición del cursor.
+     *
+     * @param userId Identificador del usuario.
+     * @param after  Última notificación ya entregada, o {@code null} para empezar por la más reciente.
+     * @param limit  Máximo de notificaciones a devolver.
+     * @return Notificaciones siguientes al cursor, como máximo {@code limit}.
+     */
+    List<InAppNotification> findByUserIdAfter(UUID userId, NotificationCursor after, int limit);
+
+    /**
+     * Obtiene el número de notificaciones no leídas de un usuario sin
+     * recorrer su bandeja; el repositorio lo mantiene al guardar.
+     *
+     * @param userId Identificador del usuario.
+     * @return Notificaciones en estado {@code UNREAD}.
+     */
+    long countUnreadByUserId(UUID userId);
+
+    /**
+     * Recalcula desde lo almacenado los contadores de no leídas de todos
+     * los usuarios, por ejemplo si se sospecha que se desincronizaron.
+     *
+     * @return Usuarios con notificaciones no leídas.
+     */
+    int rebuildUnreadCounters();
+
+    /**
+     * Obtiene notificaciones vencidas que aún no están en estado
+     * {@code EXPIRED}, de la que venció primero en adelante. El repositorio
+     * las busca en un índice por fecha de expiración, sin recorrer el almacén.
+     *
+     * @param cutoff Fecha límite; se incluyen las que vencen hasta ese momento.
+     * @param limit  Máximo de notificaciones a devolver.
+     * @return Notificaciones con {@code expiresAt} anterior o igual a {@code cutoff}.
+     */
+    List<InAppNotification> findExpiringBefore(OffsetDateTime cutoff, int limit);
+
+    /**
+     * Obtiene los identificadores de notificaciones en estado {@code EXPIRED}
+     * cuya fecha de expiración es anterior o igual a la indicada.
+     *
+     * @param cutoff Fecha límite.
+     * @param limit  Máximo de identificadores a devolver.
+     * @return Identificadores de las notificaciones expiradas.
+     */
+    List<UUID> findExpiredBefore(OffsetDateTime cutoff, int limit);
+
+    /**
+     * Elimina varias notificaciones.
+     *
+     * @param ids Identificadores de las notificaciones a eliminar.
+     * @return Notificaciones eliminadas; las que no existían no cuentan.
+     */
+    int deleteAllById(Collection<UUID> ids);
 }
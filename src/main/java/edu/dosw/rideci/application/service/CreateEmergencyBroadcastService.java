@@ -46,19 +46,26 @@ public class CreateEmergencyBroadcastService implements CreateEmergencyBroadcast
             return created;
         }
 
+        // El contenido del broadcast es el mismo para todos los destinatarios,
+        // por lo que la plantilla se renderiza una sola vez.
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        String title = buildBroadcastTitle(command.broadcastType());
+        String htmlBody = emailTemplateService.buildAdminBroadcastEmail(
+                null,
+                "RideECI",
+                title,
+                command.emergencyMessage(),
+                null,
+                command.broadcastType() != null ? command.broadcastType().name() : null,
+                command.priorityLevel(),
+                now
+        );
+        String priority = command.priorityLevel() != null ? command.priorityLevel() : "HIGH";
+
+        List<InAppNotification> toPersist = new ArrayList<>(targets.size());
+        List<String> recipients = new ArrayList<>(targets.size());
         for (String userIdStr : targets) {
             try {
-                String htmlBody = emailTemplateService.buildAdminBroadcastEmail(
-                        null,
-                        "RideECI",
-                        buildBroadcastTitle(command.broadcastType()),
-                        command.emergencyMessage(),
-                        null,
-                        command.broadcastType().name(),
-                        command.priorityLevel(),
-                        OffsetDateTime.now(ZoneOffset.UTC)
-                );
-
                 UUID userUuid = null;
                 try {
                     userUuid = UUID.fromString(userIdStr);
@@ -70,35 +77,81 @@ public class CreateEmergencyBroadcastService implements CreateEmergencyBroadcast
                 InAppNotification notification = InAppNotification.builder()
                         .notificationId(UUID.randomUUID())
                         .userId(userUuid)
-                        .title(buildBroadcastTitle(command.broadcastType()))
+                        .title(title)
                         .message(htmlBody)
                         .eventType(NotificationType.EMERGENCY_ALERT)
-                        .priority(command.priorityLevel() != null ? command.priorityLevel() : "HIGH")
+                        .priority(priority)
                         .status(NotificationStatus.UNREAD)
-                        .createdAt(OffsetDateTime.now(ZoneOffset.UTC))
+                        .createdAt(now)
                         .build();
 
                 notificationDomainService.initializeNotification(notification);
 
                 if (userUuid != null) {
-                    notificationRepositoryPort.save(notification);
+                    toPersist.add(notification);
                 } else {
                     log.warn("Broadcast: notificación no se persiste porque userUuid es null (userIdStr={})", userIdStr);
                 }
 
                 created.add(notification);
-
-                String destinationEmail = userEmailResolver.resolveEmail(userIdStr);
-                emailNotificationSender.sendNotification(notification, destinationEmail);
+                recipients.add(userIdStr);
 
             } catch (Exception ex) {
                 log.error("Error procesando broadcast para userId {}: {}", userIdStr, ex.getMessage(), ex);
             }
         }
 
+        persist(toPersist);
+
+        // Los correos se registran en bloque para forzar el outbox a disco
+        // una sola vez en lugar de una por destinatario.
+        List<InAppNotification> toEmail = new ArrayList<>(created.size());
+        List<String> destinationEmails = new ArrayList<>(created.size());
+        for (int i = 0; i < created.size(); i++) {
+            String userIdStr = recipients.get(i);
+            try {
+                destinationEmails.add(userEmailResolver.resolveEmail(userIdStr));
+                toEmail.add(created.get(i));
+            } catch (Exception ex) {
+                log.error("Error resolviendo el correo de broadcast de userId {}: {}", userIdStr, ex.getMessage(), ex);
+            }
+        }
+        try {
+            emailNotificationSender.sendNotifications(toEmail, destinationEmails);
+        } catch (Exception ex) {
+            log.error("Error encolando {} correos de broadcast: {}", toEmail.size(), ex.getMessage(), ex);
+        }
+
         return created;
     }
 
+    /**
+     * Guarda las notificaciones del broadcast en una sola escritura. Si la
+     * escritura en bloque falla, se guardan una por una para que un
+     * destinatario problemático no impida guardar las demás; en ningún caso
+     * el fallo detiene el envío de los correos de emergencia.
+     */
+    private void persist(List<InAppNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        try {
+            notificationRepositoryPort.saveAll(notifications);
+            return;
+        } catch (Exception ex) {
+            log.error("Broadcast: falló el guardado en bloque de {} notificaciones, se guardan una por una: {}",
+                    notifications.size(), ex.getMessage(), ex);
+        }
+        for (InAppNotification notification : notifications) {
+            try {
+                notificationRepositoryPort.save(notification);
+            } catch (Exception ex) {
+                log.error("Broadcast: no se pudo guardar la notificación de userId {}: {}",
+                        notification.getUserId(), ex.getMessage(), ex);
+            }
+        }
+    }
+
     private String buildBroadcastTitle(BroadcastType type) {
         if (type == null) {
             return "Aviso administrativo";
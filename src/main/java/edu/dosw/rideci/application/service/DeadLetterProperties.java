@@ -0,0 +1,34 @@
+package edu.dosw.rideci.application.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración de los reintentos de entregas fallidas.
+ *
+ * Se enlazan desde {@code application.properties} bajo el prefijo
+ * {@code notifications.dead-letter}.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "notifications.dead-letter")
+public class DeadLetterProperties {
+
+    /** Intentos de entrega totales, incluido el original, antes de dejar de reintentar. */
+    private int maxAttempts = 6;
+
+    /** Espera antes del primer reintento; se duplica en cada intento. */
+    private Duration initialBackoff = Duration.ofSeconds(2);
+
+    /** Espera máxima entre reintentos. */
+    private Duration maxBackoff = Duration.ofMinutes(5);
+
+    /** Hilos dedicados a ejecutar los reintentos. */
+    private int retryThreads = 2;
+}
@@ -0,0 +1,223 @@
+package edu.dosw.rideci.application.service;
+
+import edu.dosw.rideci.application.port.in.ManageDeadLettersUseCase;
+import edu.dosw.rideci.application.port.out.DeadLetterRepositoryPort;
+import edu.dosw.rideci.domain.model.DeadLetter;
+import edu.dosw.rideci.domain.model.Enum.DeadLetterStatus;
+import edu.dosw.rideci.domain.model.NotificationEvent;
+import edu.dosw.rideci.domain.service.DeliveryFailureListener;
+import edu.dosw.rideci.domain.service.EventBus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servicio de dead letters del bus de eventos.
+ *
+ * Recibe las entregas fallidas del {@link EventBus}, las guarda como
+ * {@link DeadLetter} y las reintenta en hilos propios con espera exponencial
+ * y jitter, sin ocupar los carriles del bus. Cuando se agotan los intentos la
+ * dead letter queda en estado {@link DeadLetterStatus#EXHAUSTED} hasta que un
+ * operador la reprocese o la elimine.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeadLetterRetryService implements ManageDeadLettersUseCase, DeliveryFailureListener {
+
+    private final EventBus eventBus;
+    private final DeadLetterRepositoryPort deadLetterRepository;
+    private final DeadLetterProperties properties;
+
+    /** Reintentos programados por dead letter. */
+    private final Map<UUID, ScheduledFuture<?>> scheduledRetries = new ConcurrentHashMap<>();
+
+    private ScheduledThreadPoolExecutor scheduler;
+
+    /**
+     * Arranca los hilos de reintento y se registra en el {@link EventBus}
+     * como receptor de las entregas fallidas.
+     */
+    @PostConstruct
+    public void init() {
+        AtomicInteger sequence = new AtomicInteger();
+        scheduler = new ScheduledThreadPoolExecutor(Math.max(1, properties.getRetryThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "notification-dead-letter-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        eventBus.setDeliveryFailureListener(this);
+    }
+
+    /**
+     * Detiene los reintentos programados.
+     */
+    @PreDestroy
+    public void shutdown() {
+        eventBus.setDeliveryFailureListener(null);
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public void onDeliveryFailure(NotificationEvent event, String subscriberName, Exception error) {
+        Instant now = Instant.now();
+        DeadLetter deadLetter = DeadLetter.builder()
+                .id(UUID.randomUUID())
+                .event(event)
+                .subscriberName(subscriberName)
+                .attempts(1)
+                .lastError(describe(error))
+                .firstFailedAt(now)
+                .lastFailedAt(now)
+                .status(DeadLetterStatus.RETRYING)
+                .build();
+        log.warn("Entrega fallida del evento {} a {}, dead letter {}", event.getEventId(), subscriberName, deadLetter.getId());
+        scheduleRetryOrExhaust(deadLetter);
+    }
+
+    @Override
+    public List<DeadLetter> listDeadLetters(DeadLetterStatus status) {
+        return deadLetterRepository.findAll(status);
+    }
+
+    @Override
+    public DeadLetter getDeadLetter(UUID id) {
+        return deadLetterRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Dead letter " + id + " not found"));
+    }
+
+    @Override
+    public boolean replayDeadLetter(UUID id) {
+        DeadLetter deadLetter = getDeadLetter(id);
+        cancelRetry(id);
+        deadLetter.setAttempts(0);
+        deadLetter.setStatus(DeadLetterStatus.RETRYING);
+        return attempt(deadLetter);
+    }
+
+    @Override
+    public void deleteDeadLetter(UUID id) {
+        cancelRetry(id);
+        if (!deadLetterRepository.deleteById(id)) {
+            throw new NoSuchElementException("Dead letter " + id + " not found");
+        }
+    }
+
+    @Override
+    public int purgeDeadLetters(DeadLetterStatus status) {
+        int purged = 0;
+        for (DeadLetter deadLetter : deadLetterRepository.findAll(status)) {
+            cancelRetry(deadLetter.getId());
+            if (deadLetterRepository.deleteById(deadLetter.getId())) {
+                purged++;
+            }
+        }
+        log.info("{} dead letters purgadas (estado={})", purged, status != null ? status : "TODOS");
+        return purged;
+    }
+
+    /**
+     * Calcula la espera antes del siguiente reintento: crece de forma
+     * exponencial con cada intento hasta el máximo configurado, y se
+     * reparte al azar en su mitad superior para que los reintentos de
+     * muchas entregas fallidas a la vez no coincidan.
+     *
+     * @param attempts Intentos fallidos hasta ahora.
+     * @return Espera antes del siguiente reintento.
+     */
+    Duration backoff(int attempts) {
+        long initial = properties.getInitialBackoff().toMillis();
+        long max = properties.getMaxBackoff().toMillis();
+        int exponent = Math.min(Math.max(0, attempts - 1), 30);
+        long ceiling = Math.min(max, initial << exponent);
+        long half = ceiling / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(ceiling - half + 1));
+    }
+
+    /**
+     * Ejecuta el reintento programado de una dead letter.
+     *
+     * @param id Identificador de la dead letter.
+     */
+    private void retry(UUID id) {
+        scheduledRetries.remove(id);
+        deadLetterRepository.findById(id)
+                .filter(deadLetter -> deadLetter.getStatus() == DeadLetterStatus.RETRYING)
+                .ifPresent(this::attempt);
+    }
+
+    /**
+     * Intenta entregar de nuevo el evento al suscriptor que falló.
+     *
+     * @param deadLetter Dead letter a reintentar.
+     * @return {@code true} si la entrega tuvo éxito.
+     */
+    private boolean attempt(DeadLetter deadLetter) {
+        try {
+            eventBus.redeliver(deadLetter.getSubscriberName(), deadLetter.getEvent());
+        } catch (Exception e) {
+            deadLetter.setAttempts(deadLetter.getAttempts() + 1);
+            deadLetter.setLastError(describe(e));
+            deadLetter.setLastFailedAt(Instant.now());
+            scheduleRetryOrExhaust(deadLetter);
+            return false;
+        }
+        deadLetterRepository.deleteById(deadLetter.getId());
+        log.info("Dead letter {} entregada a {} tras {} intentos fallidos",
+                deadLetter.getId(), deadLetter.getSubscriberName(), deadLetter.getAttempts());
+        return true;
+    }
+
+    /**
+     * Programa el siguiente reintento, o marca la dead letter como agotada
+     * si ya alcanzó el máximo de intentos.
+     *
+     * @param deadLetter Dead letter que acaba de fallar.
+     */
+    private void scheduleRetryOrExhaust(DeadLetter deadLetter) {
+        if (deadLetter.getAttempts() >= properties.getMaxAttempts()) {
+            deadLetter.setStatus(DeadLetterStatus.EXHAUSTED);
+            deadLetter.setNextAttemptAt(null);
+            deadLetterRepository.save(deadLetter);
+            log.error("Dead letter {} agotó sus {} intentos de entrega a {}: {}",
+                    deadLetter.getId(), deadLetter.getAttempts(), deadLetter.getSubscriberName(),
+                    deadLetter.getLastError());
+            return;
+        }
+        Duration delay = backoff(deadLetter.getAttempts());
+        deadLetter.setNextAttemptAt(Instant.now().plus(delay));
+        deadLetterRepository.save(deadLetter);
+        UUID id = deadLetter.getId();
+        scheduledRetries.put(id, scheduler.schedule(() -> retry(id), delay.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    private void cancelRetry(UUID id) {
+        ScheduledFuture<?> retry = scheduledRetries.remove(id);
+        if (retry != null) {
+            retry.cancel(false);
+        }
+    }
+
+    private static String describe(Exception error) {
+        return error.getClass().getSimpleName() + ": " + error.getMessage();
+    }
+}
@@ -0,0 +1,25 @@
+package edu.dosw.rideci.application.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración de la entrega de correos programados.
+ *
+ * Se enlazan desde {@code application.properties} bajo el prefijo
+ * {@code notifications.email}.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "notifications.email")
+public class EmailDeliveryProperties {
+
+    /** Anticipación con la que se envía el recordatorio respecto a la hora del viaje. */
+    private Duration tripReminderLead = Duration.ofHours(1);
+}
@@ -8,11 +8,14 @@ import edu.dosw.rideci.domain.service.EmailNotificationSender;
 import edu.dosw.rideci.domain.service.UserEmailResolver;
 import edu.dosw.rideci.infrastructure.notification.EmailTemplateService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmailNotificationApplicationService implements SendEmailNotificationUseCase {
@@ -20,6 +23,7 @@ public class EmailNotificationApplicationService implements SendEmailNotificatio
     private final EmailTemplateService templateService;
     private final EmailNotificationSender emailSender;
     private final UserEmailResolver userEmailResolver;
+    private final EmailDeliveryProperties deliveryProperties;
 
     @Override
     public void send(SendEmailNotificationCommand command) {
@@ -82,9 +86,38 @@ public class EmailNotificationApplicationService implements SendEmailNotificatio
                 .createdAt(OffsetDateTime.now())
                 .build();
 
+        Instant deliverAt = resolveDeliveryTime(command);
+        if (deliverAt != null && deliverAt.isAfter(Instant.now())) {
+            emailSender.scheduleNotification(notification, to, deliverAt);
+            log.info("Correo {} programado para {} (notificationId={})",
+                    type, deliverAt, notification.getNotificationId());
+            return;
+        }
+
         emailSender.sendNotification(notification, to);
     }
 
+    /**
+     * Momento en que debe enviarse el correo según {@code scheduledAt}.
+     * En los correos de viaje {@code scheduledAt} es la hora del viaje que
+     * muestra la plantilla: las confirmaciones y actualizaciones se envían
+     * de inmediato y el recordatorio se envía con la anticipación configurada.
+     *
+     * @param command Comando de envío.
+     * @return Momento de envío, o {@code null} si debe enviarse de inmediato.
+     */
+    private Instant resolveDeliveryTime(SendEmailNotificationCommand command) {
+        if (command.scheduledAt() == null) {
+            return null;
+        }
+        Instant scheduledAt = command.scheduledAt().toInstant();
+        return switch (command.type()) {
+            case TRIP_CREATED, TRIP_UPDATED, TRIP_CANCELLED -> null;
+            case UPCOMING_TRIP_REMINDER -> scheduledAt.minus(deliveryProperties.getTripReminderLead());
+            default -> scheduledAt;
+        };
+    }
+
     private String resolveDestinationEmail(SendEmailNotificationCommand cmd) {
         if (cmd.emailOverride() != null && !cmd.emailOverride().isBlank()) {
             return cmd.emailOverride();
@@ -0,0 +1,34 @@
+package edu.dosw.rideci.application.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración del filtro de eventos externos duplicados.
+ *
+ * Se enlazan desde {@code application.properties} bajo el prefijo
+ * {@code notifications.dedupe}.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "notifications.dedupe")
+public class EventDedupeProperties {
+
+    /** Indica si se descartan los eventos con un identificador ya recibido. */
+    private boolean enabled = true;
+
+    /** Tiempo durante el que se recuerda el identificador de cada evento. */
+    private Duration window = Duration.ofMinutes(10);
+
+    /** Intervalos en que se divide la ventana; determina la precisión de la expiración. */
+    private int buckets = 10;
+
+    /** Máximo de identificadores recordados a la vez. */
+    private int maxEntries = 500_000;
+}
@@ -12,6 +12,7 @@ import edu.dosw.rideci.application.events.travel.TravelCompletedEvent;
 import edu.dosw.rideci.application.events.travel.TravelCreatedEvent;
 import edu.dosw.rideci.application.events.travel.TravelUpdatedEvent;
 import edu.dosw.rideci.application.port.in.SendEmailNotificationUseCase;
+import edu.dosw.rideci.domain.model.Enum.EventPriority;
 import edu.dosw.rideci.domain.model.Enum.NotificationType;
 import edu.dosw.rideci.domain.model.NotificationEvent;
 import edu.dosw.rideci.domain.model.InAppNotification;
@@ -39,7 +40,7 @@ public class EventProcessingService {
                                 .sourceModule(sourceModule)
                                 .userId(userId)
                                 .message(message)
-                                .priority(3)
+                                .priority(EventPriority.of(type).getValue())
                                 .timestamp(Instant.now())
                                 .payload(payload)
                                 .build();
@@ -14,13 +14,14 @@ import java.util.List;
 @Primary
 public class InAppNotificationApplicationService implements CreateNotificationUseCase {
 
-    private final InMemoryNotificationStore store = new InMemoryNotificationStore();
+    private final InMemoryNotificationStore store;
     private final NotificationDomainService domainService;
 
     @Getter
     private final String moduleName = "ATENEA_NOTIFICATIONS_BACKEND";
 
-    public InAppNotificationApplicationService(NotificationDomainService domainService) {
+    public InAppNotificationApplicationService(InMemoryNotificationStore store, NotificationDomainService domainService) {
+        this.store = store;
         this.domainService = domainService;
     }
 
@@ -30,6 +31,12 @@ public class InAppNotificationApplicationService implements CreateNotificationUs
         return store.save(notification);
     }
 
+    @Override
+    public List<InAppNotification> createNotifications(List<InAppNotification> notifications) {
+        notifications.forEach(domainService::initializeNotification);
+        return store.saveAll(notifications);
+    }
+
     public List<InAppNotification> list() {
         return store.findAll();
     }
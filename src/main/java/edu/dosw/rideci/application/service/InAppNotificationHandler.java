@@ -5,17 +5,21 @@ import edu.dosw.rideci.application.port.in.CreateNotificationUseCase;
 import edu.dosw.rideci.domain.model.Enum.NotificationType;
 import edu.dosw.rideci.domain.model.InAppNotification;
 import edu.dosw.rideci.domain.model.NotificationEvent;
+import edu.dosw.rideci.domain.service.BatchNotificationSubscriber;
 import edu.dosw.rideci.domain.service.EventBus;
-import edu.dosw.rideci.domain.service.NotificationSubscriber;
+import edu.dosw.rideci.exceptions.BatchDeliveryException;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
-public class InAppNotificationHandler implements NotificationSubscriber {
+public class InAppNotificationHandler implements BatchNotificationSubscriber {
 
     private final EventBus eventBus;
     private final CreateNotificationUseCase createNotificationUseCase;
@@ -33,14 +37,26 @@ public class InAppNotificationHandler implements NotificationSubscriber {
     }
 
     @Override
-    public void handleEvent(NotificationEvent event) {
-        String title = buildTitle(event);
-        String message = buildMessage(event);
-
-        InAppNotification notification =
-                notificationApplicationMapper.fromEvent(event, title, message);
+    public void handleBatch(List<NotificationEvent> events) {
+        List<InAppNotification> notifications = new ArrayList<>(events.size());
+        List<BatchDeliveryException.Failure> failures = new ArrayList<>();
+        for (NotificationEvent event : events) {
+            try {
+                notifications.add(toNotification(event));
+            } catch (Exception e) {
+                log.error("Evento {} no se pudo convertir en notificación in-app: {}",
+                        event.getEventId(), e.getMessage());
+                failures.add(new BatchDeliveryException.Failure(event, e));
+            }
+        }
 
-        createNotificationUseCase.createNotification(notification);
+        if (!notifications.isEmpty()) {
+            createNotificationUseCase.createNotifications(notifications);
+        }
+        if (!failures.isEmpty()) {
+            throw new BatchDeliveryException(failures.size() + " events could not be converted to in-app notifications",
+                    failures);
+        }
     }
 
     @Override
@@ -62,6 +78,13 @@ public class InAppNotificationHandler implements NotificationSubscriber {
         return handlerId;
     }
 
+    private InAppNotification toNotification(NotificationEvent event) {
+        String title = buildTitle(event);
+        String message = buildMessage(event);
+
+        return notificationApplicationMapper.fromEvent(event, title, message);
+    }
+
     private String buildTitle(NotificationEvent event) {
         return switch (event.getEventType()) {
             case TRIP_CREATED -> "New trip created";
@@ -0,0 +1,34 @@
+package edu.dosw.rideci.application.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración de la expiración de notificaciones in-app.
+ *
+ * Se enlazan desde {@code application.properties} bajo el prefijo
+ * {@code notifications.expiration}.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "notifications.expiration")
+public class NotificationExpirationProperties {
+
+    /** Activa la expiración y eliminación automática de notificaciones. */
+    private boolean enabled = true;
+
+    /** Espera entre dos pasadas del expirador. */
+    private Duration interval = Duration.ofSeconds(30);
+
+    /** Tiempo que una notificación expirada se conserva antes de eliminarla. */
+    private Duration gracePeriod = Duration.ofDays(7);
+
+    /** Notificaciones procesadas por lote. */
+    private int batchSize = 500;
+}
@@ -0,0 +1,118 @@
+package edu.dosw.rideci.application.service;
+
+import edu.dosw.rideci.application.port.out.NotificationRepositoryPort;
+import edu.dosw.rideci.domain.model.InAppNotification;
+import edu.dosw.rideci.domain.service.NotificationDomainService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expirador de notificaciones in-app.
+ *
+ * En cada pasada marca como {@code EXPIRED}, mediante
+ * {@link NotificationDomainService#expire}, las notificaciones cuyo
+ * {@code expiresAt} ya pasó, y elimina las expiradas hace más del periodo de
+ * gracia. Ambas fases trabajan por lotes sobre los índices por fecha de
+ * expiración del repositorio, así que cada pasada cuesta lo proporcional a
+ * las notificaciones que vencen y no al tamaño del almacén.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationExpirationService {
+
+    private final NotificationRepositoryPort notificationRepositoryPort;
+    private final NotificationDomainService domainService;
+    private final NotificationExpirationProperties properties;
+
+    private ScheduledThreadPoolExecutor scheduler;
+
+    /**
+     * Programa las pasadas periódicas del expirador, si está activo.
+     */
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "notification-expiration");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::runSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Detiene las pasadas programadas.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Expira las notificaciones vencidas hasta un momento y elimina las
+     * expiradas antes del periodo de gracia.
+     *
+     * @param now Momento de referencia de la pasada.
+     * @return Resultado de la pasada.
+     */
+    public ExpirationResult run(OffsetDateTime now) {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int expired = 0;
+        List<InAppNotification> due;
+        do {
+            due = notificationRepositoryPort.findExpiringBefore(now, batchSize);
+            due.forEach(domainService::expire);
+            notificationRepositoryPort.saveAll(due);
+            expired += due.size();
+        } while (due.size() == batchSize);
+
+        OffsetDateTime evictBefore = now.minus(properties.getGracePeriod());
+        int evicted = 0;
+        List<UUID> stale;
+        do {
+            stale = notificationRepositoryPort.findExpiredBefore(evictBefore, batchSize);
+            evicted += notificationRepositoryPort.deleteAllById(stale);
+        } while (stale.size() == batchSize);
+
+        return new ExpirationResult(expired, evicted);
+    }
+
+    private void runSafely() {
+        try {
+            ExpirationResult result = run(OffsetDateTime.now(ZoneOffset.UTC));
+            if (result.expired() > 0 || result.evicted() > 0) {
+                log.info("Notificaciones expiradas: {}, eliminadas: {}", result.expired(), result.evicted());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Error en la pasada de expiración de notificaciones", e);
+        }
+    }
+
+    /**
+     * Resultado de una pasada del expirador.
+     *
+     * @param expired Notificaciones marcadas como expiradas.
+     * @param evicted Notificaciones eliminadas tras el periodo de gracia.
+     */
+    public record ExpirationResult(int expired, int evicted) {
+    }
+}
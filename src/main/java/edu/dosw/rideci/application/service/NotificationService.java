@@ -6,14 +6,19 @@ import edu.dosw.rideci.application.port.in.MarkNotificationAsReadUseCase;
 import edu.dosw.rideci.application.port.out.NotificationRepositoryPort;
 import edu.dosw.rideci.domain.model.Enum.NotificationType;
 import edu.dosw.rideci.domain.model.InAppNotification;
+import edu.dosw.rideci.domain.model.NotificationCursor;
+import edu.dosw.rideci.domain.model.NotificationPage;
 import edu.dosw.rideci.domain.model.NotificationEvent;
 import edu.dosw.rideci.domain.service.EventBus;
 import edu.dosw.rideci.domain.service.NotificationDomainService;
 import edu.dosw.rideci.exceptions.NotificationNotFoundException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,8 +31,9 @@ import java.util.UUID;
  * de eventos de dominio mediante {@link EventBus}.
  *
  * @author RideECI
- * @version 1.0
+ * @version 1.1
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationService implements
@@ -35,6 +41,12 @@ public class NotificationService implements
         GetUserNotificationsUseCase,
         MarkNotificationAsReadUseCase {
 
+    /** Tamaño de página usado cuando el cliente no indica uno válido. */
+    static final int DEFAULT_PAGE_SIZE = 20;
+
+    /** Tamaño máximo de página. */
+    static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationRepositoryPort notificationRepositoryPort;
     private final NotificationDomainService domainService;
     private final EventBus eventBus;
@@ -81,6 +93,50 @@ public class NotificationService implements
         return notificationRepositoryPort.findByUserIdOrderByCreatedAtDesc(userId);
     }
 
+    /**
+     * Obtiene una página de la bandeja de un usuario. Se pide una
+     * notificación más que el tamaño de página para saber si hay otra página
+     * sin contar el total.
+     *
+     * @param userId Identificador del usuario.
+     * @param cursor Cursor de la página anterior, o {@code null} para la primera.
+     * @param limit  Tamaño de página; fuera de rango se usa el valor por defecto o el máximo.
+     * @return Página de notificaciones.
+     */
+    @Override
+    public NotificationPage getNotificationsPage(UUID userId, String cursor, int limit) {
+        int pageSize = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        NotificationCursor after = cursor == null || cursor.isBlank() ? null : NotificationCursor.decode(cursor);
+        List<InAppNotification> items = notificationRepositoryPort.findByUserIdAfter(userId, after, pageSize + 1);
+        boolean hasMore = items.size() > pageSize;
+        if (hasMore) {
+            items = items.subList(0, pageSize);
+        }
+        return NotificationPage.builder()
+                .items(items)
+                .nextCursor(hasMore ? NotificationCursor.after(items.get(pageSize - 1)).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Obtiene el número de notificaciones no leídas de un usuario en O(1).
+     *
+     * @param userId Identificador del usuario.
+     * @return Notificaciones no leídas.
+     */
+    @Override
+    public long getUnreadCount(UUID userId) {
+        return notificationRepositoryPort.countUnreadByUserId(userId);
+    }
+
+    @Override
+    public int rebuildUnreadCounts() {
+        int users = notificationRepositoryPort.rebuildUnreadCounters();
+        log.info("Contadores de no leídas reconstruidos para {} usuarios", users);
+        return users;
+    }
+
     /**
      * Marca una notificación como leída.
      * Si la notificación no existe, lanza {@link NotificationNotFoundException}.
@@ -97,4 +153,11 @@ public class NotificationService implements
         domainService.markAsRead(notification);
         return notificationRepositoryPort.save(notification);
     }
+
+    @Override
+    public int markAllAsRead(UUID userId) {
+        int marked = notificationRepositoryPort.markAllAsRead(userId, OffsetDateTime.now(ZoneOffset.UTC));
+        log.debug("{} notificaciones marcadas como leídas para el usuario {}", marked, userId);
+        return marked;
+    }
 }
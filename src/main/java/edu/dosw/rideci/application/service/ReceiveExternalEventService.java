@@ -2,8 +2,11 @@ package edu.dosw.rideci.application.service;
 
 import edu.dosw.rideci.application.port.in.ReceiveExternalEventUseCase;
 import edu.dosw.rideci.domain.model.NotificationEvent;
+import edu.dosw.rideci.domain.service.DedupeMetrics;
 import edu.dosw.rideci.domain.service.EventBus;
-import lombok.RequiredArgsConstructor;
+import edu.dosw.rideci.domain.service.EventDeduplicator;
+import edu.dosw.rideci.exceptions.EventRejectedException;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 /**
@@ -11,23 +14,62 @@ import org.springframework.stereotype.Service;
  * Publica los eventos recibidos en el {@link EventBus} para que sean
  * procesados por los suscriptores correspondientes.
  *
+ * Los sistemas externos pueden reenviar un mismo evento; los que llegan con
+ * un {@code eventId} ya recibido dentro de la ventana configurada se
+ * descartan antes de llegar al bus.
+ *
  * @author RideECI
- * @version 1.0
+ * @version 1.1
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class ReceiveExternalEventService implements ReceiveExternalEventUseCase {
 
     private final EventBus eventBus;
+    private final EventDeduplicator deduplicator;
+
+    /**
+     * @param eventBus   Bus en el que se publican los eventos.
+     * @param properties Configuración del filtro de duplicados.
+     */
+    public ReceiveExternalEventService(EventBus eventBus, EventDedupeProperties properties) {
+        this.eventBus = eventBus;
+        this.deduplicator = properties.isEnabled()
+                ? new EventDeduplicator(properties.getWindow(), properties.getBuckets(), properties.getMaxEntries())
+                : null;
+    }
 
     /**
-     * Recibe un evento externo y lo publica en el bus de eventos.
+     * Recibe un evento externo y lo publica en el bus de eventos, salvo que
+     * sea un duplicado de uno recibido recientemente.
      *
      * @param event Evento de notificación recibido desde un sistema externo
      *              o desde otro contexto de la aplicación.
+     * @throws EventRejectedException Si el bus está saturado para la prioridad
+     *                                del evento; el llamador puede reintentar más tarde.
      */
     @Override
     public void receive(NotificationEvent event) {
-        eventBus.publish(event);
+        String eventId = event.getEventId();
+        if (deduplicator != null && eventId != null && !deduplicator.firstSeen(eventId)) {
+            log.debug("Evento duplicado {} descartado", eventId);
+            return;
+        }
+        try {
+            eventBus.publish(event);
+        } catch (RuntimeException e) {
+            if (deduplicator != null && eventId != null) {
+                deduplicator.forget(eventId);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public DedupeMetrics getDedupeMetrics() {
+        if (deduplicator == null) {
+            return new DedupeMetrics(0, 0, 0);
+        }
+        return new DedupeMetrics(deduplicator.getHits(), deduplicator.getMisses(), deduplicator.size());
     }
 }
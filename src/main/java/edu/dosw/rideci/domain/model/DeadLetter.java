@@ -0,0 +1,55 @@
+package edu.dosw.rideci.domain.model;
+
+import edu.dosw.rideci.domain.model.Enum.DeadLetterStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entrega fallida de un evento a un suscriptor del bus de eventos.
+ *
+ * Conserva el evento y el suscriptor que falló para reintentar la entrega
+ * con espera exponencial, o para que un operador la reprocese o descarte.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeadLetter {
+
+    /** Identificador único de la dead letter. */
+    private UUID id;
+
+    /** Evento cuya entrega falló. */
+    private NotificationEvent event;
+
+    /** Nombre del suscriptor que no pudo procesar el evento. */
+    private String subscriberName;
+
+    /** Intentos de entrega fallidos, incluido el original. */
+    private int attempts;
+
+    /** Mensaje del último error. */
+    private String lastError;
+
+    /** Momento del primer fallo. */
+    private Instant firstFailedAt;
+
+    /** Momento del último fallo. */
+    private Instant lastFailedAt;
+
+    /** Momento del próximo reintento programado, si lo hay. */
+    private Instant nextAttemptAt;
+
+    /** Estado de la dead letter. */
+    private DeadLetterStatus status;
+}
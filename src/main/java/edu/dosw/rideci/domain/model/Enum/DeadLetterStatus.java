@@ -0,0 +1,16 @@
+package edu.dosw.rideci.domain.model.Enum;
+
+/**
+ * Estados de una entrega fallida guardada como dead letter.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public enum DeadLetterStatus {
+
+    /** La entrega tiene un reintento programado. */
+    RETRYING,
+
+    /** Se agotaron los reintentos; solo se vuelve a intentar de forma manual. */
+    EXHAUSTED
+}
@@ -0,0 +1,17 @@
+package edu.dosw.rideci.domain.model.Enum;
+
+/**
+ * Políticas que aplica el outbox de correos cuando una prioridad alcanza
+ * su máximo de correos sin enviar.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public enum EmailOverflowPolicy {
+
+    /** Quien registra el correo lo envía en su propio hilo, frenando al productor. */
+    CALLER_RUNS,
+
+    /** Se rechaza el correo y se notifica a quien lo registra. */
+    REJECT
+}
@@ -0,0 +1,73 @@
+package edu.dosw.rideci.domain.model.Enum;
+
+/**
+ * Niveles de prioridad con los que el bus de eventos atiende los
+ * {@code NotificationEvent}. Se derivan de la prioridad numérica del evento
+ * (1 = alta, 5 = baja) y se atienden siempre en el orden en que están
+ * declarados: primero {@link #HIGH}, luego {@link #NORMAL} y por último {@link #LOW}.
+ *
+ * @author RideECI
+ * @version 1.1
+ */
+public enum EventPriority {
+
+    /** Eventos críticos: emergencias, seguridad, recuperación de cuenta. */
+    HIGH(1),
+
+    /** Eventos operativos: viajes, pagos, reservas. */
+    NORMAL(3),
+
+    /** Eventos diferibles: recordatorios, distintivos, calificaciones. */
+    LOW(5);
+
+    private final int value;
+
+    EventPriority(int value) {
+        this.value = value;
+    }
+
+    /**
+     * @return Prioridad numérica representativa del nivel, para asignarla a un evento.
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Convierte la prioridad numérica de un evento en su nivel de prioridad.
+     * Un valor no asignado (cero o negativo) se considera {@link #NORMAL}.
+     *
+     * @param priority Prioridad numérica del evento.
+     * @return Nivel de prioridad correspondiente.
+     */
+    public static EventPriority of(int priority) {
+        if (priority <= 0) {
+            return NORMAL;
+        }
+        if (priority == 1) {
+            return HIGH;
+        }
+        return priority <= 3 ? NORMAL : LOW;
+    }
+
+    /**
+     * Nivel de prioridad de un tipo de notificación. Es el único lugar donde
+     * se decide: de él salen tanto la prioridad de los eventos del bus como
+     * el nivel del outbox por el que se envía cada correo.
+     *
+     * @param type Tipo de notificación, o {@code null}.
+     * @return Nivel de prioridad; {@link #NORMAL} si el tipo es {@code null}.
+     */
+    public static EventPriority of(NotificationType type) {
+        if (type == null) {
+            return NORMAL;
+        }
+        return switch (type) {
+            case EMERGENCY_ALERT, EMERGENCY_BUTTON_PRESSED,
+                 SECURITY_INCIDENT, PASSWORD_RECOVERY -> HIGH;
+            case PENDING_RATING_REMINDER, NEW_DISTINTIVE,
+                 RATING_SUBMITTED -> LOW;
+            default -> NORMAL;
+        };
+    }
+}
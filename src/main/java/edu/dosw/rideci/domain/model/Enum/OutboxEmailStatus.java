@@ -0,0 +1,19 @@
+package edu.dosw.rideci.domain.model.Enum;
+
+/**
+ * Estados de un correo guardado en el outbox de envío.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public enum OutboxEmailStatus {
+
+    /** El correo espera su primer envío o su siguiente reintento. */
+    PENDING,
+
+    /** Un despachador tomó el correo y lo está enviando. */
+    SENDING,
+
+    /** Se agotaron los intentos; solo se vuelve a enviar de forma manual. */
+    FAILED
+}
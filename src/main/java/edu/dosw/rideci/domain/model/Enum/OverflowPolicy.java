@@ -0,0 +1,20 @@
+package edu.dosw.rideci.domain.model.Enum;
+
+/**
+ * Políticas que aplica el bus de eventos cuando la cola de un nivel
+ * de prioridad está llena.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public enum OverflowPolicy {
+
+    /** El publicador espera hasta que haya espacio en la cola. */
+    BLOCK,
+
+    /** Se descarta el evento más antiguo de la cola para dar espacio al nuevo. */
+    DROP_OLDEST,
+
+    /** Se rechaza el nuevo evento y se notifica al publicador. */
+    REJECT
+}
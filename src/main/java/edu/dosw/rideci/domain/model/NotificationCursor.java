@@ -0,0 +1,70 @@
+package edu.dosw.rideci.domain.model;
+
+import edu.dosw.rideci.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posición dentro de la bandeja de un usuario para la paginación por clave.
+ *
+ * La bandeja se ordena por {@code createdAt} descendente y, a igual fecha,
+ * por {@code notificationId}; el cursor apunta a la última notificación de
+ * una página y la siguiente empieza justo después de ella. Hacia los
+ * clientes se expone como un texto opaco.
+ *
+ * @param createdAt      Fecha de creación de la última notificación entregada.
+ * @param notificationId Identificador de la última notificación entregada.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public record NotificationCursor(OffsetDateTime createdAt, UUID notificationId) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Cursor que apunta a una notificación.
+     *
+     * @param notification Última notificación de la página.
+     * @return Cursor para pedir la página siguiente.
+     */
+    public static NotificationCursor after(InAppNotification notification) {
+        return new NotificationCursor(notification.getCreatedAt(), notification.getNotificationId());
+    }
+
+    /**
+     * Codifica el cursor como texto opaco apto para URLs.
+     *
+     * @return Cursor codificado.
+     */
+    public String encode() {
+        String raw = (createdAt != null ? createdAt.toString() : "") + SEPARATOR + notificationId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor producido por {@link #encode()}.
+     *
+     * @param token Cursor codificado.
+     * @return Cursor decodificado.
+     * @throws InvalidCursorException Si el texto no es un cursor válido.
+     */
+    public static NotificationCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + token);
+            }
+            String date = raw.substring(0, separator);
+            return new NotificationCursor(date.isEmpty() ? null : OffsetDateTime.parse(date),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package edu.dosw.rideci.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Página de la bandeja de notificaciones de un usuario.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class NotificationPage {
+
+    /** Notificaciones de la página, de la más reciente a la más antigua. */
+    private List<InAppNotification> items;
+
+    /** Cursor opaco para pedir la página siguiente, o {@code null} si es la última. */
+    private String nextCursor;
+
+    /** Indica si hay más notificaciones después de esta página. */
+    private boolean hasMore;
+}
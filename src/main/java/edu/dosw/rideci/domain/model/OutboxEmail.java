@@ -0,0 +1,64 @@
+package edu.dosw.rideci.domain.model;
+
+import edu.dosw.rideci.domain.model.Enum.EventPriority;
+import edu.dosw.rideci.domain.model.Enum.OutboxEmailStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Correo registrado en el outbox antes de enviarse al proveedor.
+ *
+ * Guarda el asunto y el cuerpo ya construidos, de modo que el envío se
+ * puede reintentar, incluso tras un reinicio, sin volver a consultar la
+ * notificación de origen. Se elimina del outbox cuando el proveedor
+ * confirma el envío.
+ *
+ * @author RideECI
+ * @version 1.1
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class OutboxEmail {
+
+    /** Identificador único del correo en el outbox. */
+    private UUID id;
+
+    /** Identificador de la notificación que originó el correo, si la hay. */
+    private String notificationId;
+
+    /** Dirección de destino. */
+    private String destinationEmail;
+
+    /** Asunto del correo. */
+    private String subject;
+
+    /** Cuerpo HTML del correo. */
+    private String body;
+
+    /** Prioridad del correo, que decide qué despachadores lo envían. */
+    private EventPriority priority;
+
+    /** Intentos de envío fallidos. */
+    private int attempts;
+
+    /** Mensaje del último error. */
+    private String lastError;
+
+    /** Momento en que se registró el correo. */
+    private Instant createdAt;
+
+    /** Momento a partir del cual se puede intentar el siguiente envío. */
+    private Instant nextAttemptAt;
+
+    /** Estado del correo. */
+    private OutboxEmailStatus status;
+}
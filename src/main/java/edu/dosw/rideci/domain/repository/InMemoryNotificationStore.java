@@ -1,36 +1,122 @@
 package edu.dosw.rideci.domain.repository;
 
 import edu.dosw.rideci.domain.model.InAppNotification;
+import org.springframework.stereotype.Component;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
-public class InMemoryNotificationStore {
+/**
+ * Almacén en memoria de las notificaciones creadas por
+ * {@code InAppNotificationApplicationService}.
+ *
+ * Guarda copias de las notificaciones y entrega copias al leerlas, para que
+ * una notificación solo cambie al volver a guardarla. Así las instantáneas
+ * ({@link NotificationSnapshotSource}) pueden tomarse por copia en escritura
+ * sin detener a los escritores.
+ *
+ * @author RideECI
+ * @version 1.1
+ */
+@Component
+public class InMemoryNotificationStore implements NotificationSnapshotSource {
 
     private final Map<String, InAppNotification> notifications = new ConcurrentHashMap<>();
 
+    /** Las escrituras toman el bloqueo de lectura; el inicio de una instantánea, el de escritura. */
+    private final ReadWriteLock writersLock = new ReentrantReadWriteLock();
+
+    private final SnapshotPreImages<String, InAppNotification> preImages = new SnapshotPreImages<>();
+
     public InAppNotification save(InAppNotification notification) {
         if (notification.getNotificationId() == null) {
             notification.setNotificationId(UUID.randomUUID());
         }
-        String key = notification.getNotificationId().toString();
-        notifications.put(key, notification);
+        put(notification);
         return notification;
     }
 
+    public List<InAppNotification> saveAll(List<InAppNotification> batch) {
+        for (InAppNotification notification : batch) {
+            if (notification.getNotificationId() == null) {
+                notification.setNotificationId(UUID.randomUUID());
+            }
+            put(notification);
+        }
+        return batch;
+    }
+
     public Optional<InAppNotification> findById(String id) {
-        return Optional.ofNullable(notifications.get(id));
+        return Optional.ofNullable(notifications.get(id)).map(InMemoryNotificationStore::copy);
     }
 
     public List<InAppNotification> findAll() {
-        return new ArrayList<>(notifications.values());
+        List<InAppNotification> all = new ArrayList<>(notifications.size());
+        for (InAppNotification notification : notifications.values()) {
+            all.add(copy(notification));
+        }
+        return all;
     }
 
     public void delete(String id) {
-        notifications.remove(id);
+        writersLock.readLock().lock();
+        try {
+            notifications.computeIfPresent(id, (key, previous) -> {
+                preImages.record(key, previous);
+                return null;
+            });
+        } finally {
+            writersLock.readLock().unlock();
+        }
     }
 
     public long count() {
         return notifications.size();
     }
+
+    @Override
+    public String snapshotName() {
+        return "in-app-notifications";
+    }
+
+    @Override
+    public long snapshot(Consumer<InAppNotification> sink) {
+        return preImages.snapshot(writersLock.writeLock(), notifications, notification -> sink.accept(copy(notification)));
+    }
+
+    @Override
+    public void restore(List<InAppNotification> batch) {
+        saveAll(batch);
+    }
+
+    private void put(InAppNotification notification) {
+        InAppNotification stored = copy(notification);
+        writersLock.readLock().lock();
+        try {
+            notifications.compute(stored.getNotificationId().toString(), (key, previous) -> {
+                preImages.record(key, previous);
+                return stored;
+            });
+        } finally {
+            writersLock.readLock().unlock();
+        }
+    }
+
+    private static InAppNotification copy(InAppNotification notification) {
+        return InAppNotification.builder()
+                .notificationId(notification.getNotificationId())
+                .userId(notification.getUserId())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .eventType(notification.getEventType())
+                .priority(notification.getPriority())
+                .status(notification.getStatus())
+                .createdAt(notification.getCreatedAt())
+                .readAt(notification.getReadAt())
+                .expiresAt(notification.getExpiresAt())
+                .build();
+    }
 }
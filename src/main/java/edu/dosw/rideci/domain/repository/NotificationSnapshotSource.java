@@ -0,0 +1,41 @@
+package edu.dosw.rideci.domain.repository;
+
+import edu.dosw.rideci.domain.model.InAppNotification;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Almacén de notificaciones en memoria que puede volcarse a una instantánea
+ * y recargarse desde ella al arrancar.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public interface NotificationSnapshotSource {
+
+    /**
+     * Nombre estable del almacén, usado para el archivo de su instantánea.
+     *
+     * @return Nombre del almacén.
+     */
+    String snapshotName();
+
+    /**
+     * Entrega las notificaciones tal como estaban al iniciar la instantánea,
+     * sin detener las escrituras mientras se recorren. Una notificación
+     * eliminada durante el recorrido puede entregarse dos veces con el mismo
+     * contenido.
+     *
+     * @param sink Receptor de las notificaciones.
+     * @return Notificaciones entregadas.
+     */
+    long snapshot(Consumer<InAppNotification> sink);
+
+    /**
+     * Carga un lote de notificaciones leídas de una instantánea.
+     *
+     * @param batch Notificaciones a cargar.
+     */
+    void restore(List<InAppNotification> batch);
+}
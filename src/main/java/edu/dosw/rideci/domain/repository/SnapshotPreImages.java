@@ -0,0 +1,91 @@
+package edu.dosw.rideci.domain.repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+/**
+ * Instantáneas consistentes de un mapa concurrente sin detener a los
+ * escritores, por copia en escritura.
+ *
+ * Mientras dura una instantánea, cada escritor guarda con
+ * {@link #record(Object, Object)} el valor que tenía la clave antes de su
+ * primera modificación. El recorrido usa ese valor anterior cuando existe y
+ * el valor vigente cuando no, de modo que ve el mapa tal como estaba al
+ * iniciar. Los valores deben tratarse como inmutables: una modificación se
+ * hace reemplazando el valor, nunca cambiándolo en sitio.
+ *
+ * Iniciar la instantánea toma un instante el bloqueo exclusivo de los
+ * escritores, que deben escribir con el compartido, para que ninguna
+ * escritura quede a medias entre antes y después del inicio.
+ *
+ * @param <K> Tipo de las claves.
+ * @param <V> Tipo de los valores.
+ * @author RideECI
+ * @version 1.0
+ */
+public final class SnapshotPreImages<K, V> {
+
+    /** Marca de una clave que no existía al iniciar la instantánea. */
+    private static final Object ABSENT = new Object();
+
+    /** Valores anteriores a la primera escritura de cada clave, o {@code null} sin instantánea en curso. */
+    private volatile Map<K, Object> preImages;
+
+    /**
+     * Guarda el valor anterior de una clave si hay una instantánea en curso y
+     * es la primera escritura de la clave desde que empezó. Se invoca dentro
+     * de la escritura, antes de que el valor nuevo sea visible.
+     *
+     * @param key      Clave que se escribe.
+     * @param previous Valor anterior, o {@code null} si la clave no existía.
+     */
+    public void record(K key, V previous) {
+        Map<K, Object> current = preImages;
+        if (current != null) {
+            current.putIfAbsent(key, previous != null ? previous : ABSENT);
+        }
+    }
+
+    /**
+     * Recorre el mapa tal como estaba al iniciar. Las instantáneas de una
+     * misma instancia se ejecutan de a una.
+     *
+     * @param writersLock Bloqueo exclusivo de los escritores, tomado solo para iniciar.
+     * @param live        Mapa a recorrer.
+     * @param sink        Receptor de los valores.
+     * @return Valores entregados.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized long snapshot(Lock writersLock, Map<K, V> live, Consumer<V> sink) {
+        Map<K, Object> captured = new ConcurrentHashMap<>();
+        writersLock.lock();
+        try {
+            preImages = captured;
+        } finally {
+            writersLock.unlock();
+        }
+        try {
+            long count = 0;
+            for (Map.Entry<K, V> entry : live.entrySet()) {
+                V value = entry.getValue();
+                Object before = captured.get(entry.getKey());
+                if (before == ABSENT) {
+                    continue;
+                }
+                sink.accept(before != null ? (V) before : value);
+                count++;
+            }
+            for (Map.Entry<K, Object> entry : captured.entrySet()) {
+                if (entry.getValue() != ABSENT && !live.containsKey(entry.getKey())) {
+                    sink.accept((V) entry.getValue());
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            preImages = null;
+        }
+    }
+}
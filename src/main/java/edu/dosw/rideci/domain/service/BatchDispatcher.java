@@ -0,0 +1,176 @@
+package edu.dosw.rideci.domain.service;
+
+import edu.dosw.rideci.domain.model.NotificationEvent;
+import edu.dosw.rideci.exceptions.BatchDeliveryException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Despachador de lotes para un {@link BatchNotificationSubscriber}.
+ *
+ * Recibe los eventos desde los carriles del {@link EventBus} en una cola
+ * acotada propia y un hilo dedicado los agrupa con {@link BlockingQueue#drainTo}
+ * hasta completar el tamaño máximo del lote o agotar la espera configurada.
+ * Si el suscriptor falla con {@link BatchDeliveryException}, solo los eventos
+ * que reporta se entregan a la acción de fallo; cualquier otra excepción
+ * marca como fallido el lote completo.
+ *
+ * @author RideECI
+ * @version 1.1
+ */
+@Slf4j
+final class BatchDispatcher {
+
+    private final BatchNotificationSubscriber subscriber;
+    private final BlockingQueue<EventEnvelope> queue;
+    private final Consumer<EventEnvelope> onCompleted;
+    private final BiConsumer<NotificationEvent, Exception> onFailure;
+    private final Thread worker;
+    private volatile boolean running = true;
+    private final List<EventEnvelope> batch = new ArrayList<>();
+    private volatile int batched;
+
+    /**
+     * Crea el despachador y arranca su hilo de trabajo.
+     *
+     * @param subscriber    Suscriptor que recibirá los lotes.
+     * @param queueCapacity Capacidad máxima de eventos pendientes de agrupar.
+     * @param onCompleted   Acción a ejecutar con los eventos cuya última entrega pendiente era este lote.
+     * @param onFailure     Acción a ejecutar con cada evento de un lote que el suscriptor no pudo procesar.
+     */
+    BatchDispatcher(BatchNotificationSubscriber subscriber, int queueCapacity,
+                    Consumer<EventEnvelope> onCompleted, BiConsumer<NotificationEvent, Exception> onFailure) {
+        this.subscriber = subscriber;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.onCompleted = onCompleted;
+        this.onFailure = onFailure;
+        this.worker = new Thread(this::processLoop, "notification-batch-" + subscriber.getName());
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Agrega un evento al lote en construcción, esperando si la cola está llena.
+     *
+     * @param envelope Evento a entregar al suscriptor.
+     * @throws InterruptedException Si el hilo se interrumpe mientras espera espacio.
+     */
+    void enqueue(EventEnvelope envelope) throws InterruptedException {
+        queue.put(envelope);
+    }
+
+    /**
+     * Número de eventos pendientes de entregar.
+     *
+     * @return Eventos en cola.
+     */
+    int size() {
+        return queue.size();
+    }
+
+    /**
+     * Número de eventos entregados al suscriptor que aún no terminan,
+     * incluidos los que esperan en cola.
+     *
+     * @return Eventos en curso.
+     */
+    int inFlight() {
+        return queue.size() + batched;
+    }
+
+    /**
+     * Detiene el despachador después de entregar los eventos pendientes.
+     */
+    void stop() {
+        running = false;
+    }
+
+    /**
+     * Detiene el despachador de inmediato, interrumpiendo el lote en curso.
+     *
+     * @param timeoutMillis Tiempo máximo de espera a que termine el hilo.
+     * @return Eventos que quedaron sin entregar.
+     */
+    List<EventEnvelope> shutdownNow(long timeoutMillis) {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<EventEnvelope> remaining = new ArrayList<>();
+        if (!worker.isAlive()) {
+            remaining.addAll(batch);
+            batch.clear();
+        }
+        queue.drainTo(remaining);
+        return remaining;
+    }
+
+    private void processLoop() {
+        int maxBatchSize = Math.max(1, subscriber.getMaxBatchSize());
+        long maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, subscriber.getMaxBatchDelayMillis()));
+
+        while (running || !queue.isEmpty()) {
+            try {
+                EventEnvelope first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                batched = batch.size();
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    batched = batch.size();
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    EventEnvelope next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    batched = batch.size();
+                }
+                deliver(batch);
+                batch.clear();
+                batched = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void deliver(List<EventEnvelope> batch) {
+        List<NotificationEvent> events = new ArrayList<>(batch.size());
+        for (EventEnvelope envelope : batch) {
+            events.add(envelope.event());
+        }
+        try {
+            subscriber.handleBatch(events);
+        } catch (BatchDeliveryException e) {
+            log.error("{} of {} events failed in a batch handled by {}",
+                    e.getFailures().size(), batch.size(), subscriber.getName());
+            e.getFailures().forEach(failure -> onFailure.accept(failure.event(), failure.cause()));
+        } catch (Exception e) {
+            log.error("Error handling batch of {} events by {}", batch.size(), subscriber.getName(), e);
+            events.forEach(event -> onFailure.accept(event, e));
+        }
+        for (EventEnvelope envelope : batch) {
+            if (envelope.deliveryFinished()) {
+                onCompleted.accept(envelope);
+            }
+        }
+    }
+}
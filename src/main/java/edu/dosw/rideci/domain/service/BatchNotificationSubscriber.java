@@ -0,0 +1,65 @@
+package edu.dosw.rideci.domain.service;
+
+import edu.dosw.rideci.domain.model.NotificationEvent;
+import edu.dosw.rideci.exceptions.BatchDeliveryException;
+
+import java.util.List;
+
+/**
+ * Variante opcional de {@link NotificationSubscriber} que recibe los eventos
+ * en lotes en lugar de uno por uno.
+ *
+ * El {@link EventBus} acumula los eventos destinados a este suscriptor y los
+ * entrega cuando se alcanza {@link #getMaxBatchSize()} o cuando han pasado
+ * {@link #getMaxBatchDelayMillis()} milisegundos desde el primer evento del lote,
+ * lo que ocurra primero. Esto permite amortizar costos por evento, por ejemplo
+ * guardando todo el lote en una sola operación.
+ *
+ * Los eventos de un mismo usuario llegan en el orden en que fueron publicados.
+ *
+ * @author RideECI
+ * @version 1.1
+ */
+public interface BatchNotificationSubscriber extends NotificationSubscriber {
+
+    /**
+     * Maneja un lote de eventos recibidos desde el {@link EventBus}.
+     *
+     * Si solo algunos eventos del lote fallan, el suscriptor procesa el resto
+     * y lanza {@link BatchDeliveryException} con los fallidos, para que cada
+     * uno siga el mismo camino de fallo que una entrega individual.
+     *
+     * @param events Eventos del lote, nunca vacío.
+     * @throws BatchDeliveryException Si algunos eventos del lote no se pudieron procesar.
+     */
+    void handleBatch(List<NotificationEvent> events);
+
+    /**
+     * Número máximo de eventos por lote.
+     *
+     * @return Tamaño máximo del lote.
+     */
+    default int getMaxBatchSize() {
+        return 100;
+    }
+
+    /**
+     * Tiempo máximo, en milisegundos, que se espera para completar un lote
+     * una vez recibido su primer evento.
+     *
+     * @return Espera máxima en milisegundos.
+     */
+    default long getMaxBatchDelayMillis() {
+        return 50;
+    }
+
+    /**
+     * Maneja un evento individual entregándolo como un lote de un solo elemento.
+     *
+     * @param event Evento de notificación a procesar.
+     */
+    @Override
+    default void handleEvent(NotificationEvent event) {
+        handleBatch(List.of(event));
+    }
+}
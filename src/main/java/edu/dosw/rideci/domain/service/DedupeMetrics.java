@@ -0,0 +1,14 @@
+package edu.dosw.rideci.domain.service;
+
+/**
+ * Métricas del filtro de eventos duplicados.
+ *
+ * @param hits    Eventos descartados por tener un identificador ya visto.
+ * @param misses  Eventos con identificador nuevo que pasaron al bus.
+ * @param tracked Identificadores recordados actualmente.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public record DedupeMetrics(long hits, long misses, int tracked) {
+}
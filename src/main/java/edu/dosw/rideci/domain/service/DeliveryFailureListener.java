@@ -0,0 +1,22 @@
+package edu.dosw.rideci.domain.service;
+
+import edu.dosw.rideci.domain.model.NotificationEvent;
+
+/**
+ * Receptor de las entregas que fallan en el {@link EventBus}: un suscriptor
+ * que lanza una excepción o cuyo compartimento rechaza el evento.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public interface DeliveryFailureListener {
+
+    /**
+     * Notifica que un suscriptor no pudo procesar un evento.
+     *
+     * @param event          Evento no procesado.
+     * @param subscriberName Nombre del suscriptor que falló.
+     * @param error          Causa del fallo.
+     */
+    void onDeliveryFailure(NotificationEvent event, String subscriberName, Exception error);
+}
@@ -2,6 +2,38 @@ package edu.dosw.rideci.domain.service;
 
 import edu.dosw.rideci.domain.model.InAppNotification;
 
+import java.time.Instant;
+import java.util.List;
+
 public interface EmailNotificationSender {
+
+    /**
+     * Registra el correo para su envío y vuelve sin esperar al proveedor.
+     * El correo queda guardado de forma durable y se reintenta hasta que el
+     * proveedor lo acepte o se agoten los intentos.
+     *
+     * @param notification     Notificación a enviar.
+     * @param destinationEmail Correo del destinatario.
+     */
     void sendNotification(InAppNotification notification, String destinationEmail);
+
+    /**
+     * Registra en bloque los correos de varias notificaciones, guardándolos
+     * de forma durable con una sola escritura. Se omiten las entradas sin
+     * notificación o sin correo de destino.
+     *
+     * @param notifications     Notificaciones a enviar.
+     * @param destinationEmails Correo del destinatario de cada notificación, en el mismo orden.
+     */
+    void sendNotifications(List<InAppNotification> notifications, List<String> destinationEmails);
+
+    /**
+     * Registra el correo para enviarlo a partir de un momento futuro. Queda
+     * guardado de forma durable, así que sobrevive a reinicios hasta su envío.
+     *
+     * @param notification     Notificación a enviar.
+     * @param destinationEmail Correo del destinatario.
+     * @param deliverAt        Momento a partir del cual se envía.
+     */
+    void scheduleNotification(InAppNotification notification, String destinationEmail, Instant deliverAt);
 }
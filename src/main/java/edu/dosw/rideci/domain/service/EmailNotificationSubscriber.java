@@ -20,6 +20,12 @@ public class EmailNotificationSubscriber implements NotificationSubscriber {
     private final EmailNotificationSender emailNotificationSender;
     private final UserEmailResolver userEmailResolver;
 
+    /** Envíos concurrentes permitidos hacia el proveedor de correo. */
+    private static final int MAX_CONCURRENT_SENDS = 4;
+
+    /** Envíos que pueden esperar un hilo libre antes de rechazar nuevos. */
+    private static final int MAX_QUEUED_SENDS = 1_000;
+
     private final String handlerId = "email-notification-subscriber";
     private final boolean active = true;
 
@@ -32,36 +38,40 @@ public class EmailNotificationSubscriber implements NotificationSubscriber {
         log.info("EmailNotificationSubscriber suscrito a eventos: {}", getSubscribedEvents());
     }
 
+    /**
+     * Registra en el outbox el correo de la notificación del evento para el
+     * correo del usuario; el outbox lo conserva entre reinicios y lo
+     * reintenta hasta que el proveedor lo acepte. Si el outbox rechaza el
+     * correo, el error se propaga para que el bus registre la entrega fallida.
+     *
+     * @param event Evento con la notificación a enviar.
+     */
     @Override
     public void handleEvent(NotificationEvent event) {
-        try {
-            InAppNotification notification = event.getNotification();
-
-            if (notification == null) {
-                log.warn("Evento {} sin InAppNotification, se omite envío de email", event.getEventType());
-                return;
-            }
-
-            UUID userId = notification.getUserId();
-            if (userId == null) {
-                log.warn("Notificación sin userId, no se puede resolver email. notificationId={}",
-                        notification.getNotificationId());
-                return;
-            }
-
-            String email = userEmailResolver.resolveEmail(userId.toString());
-
-            if (email != null && !email.isBlank()) {
-                emailNotificationSender.sendNotification(notification, email);
-                log.info(
-                        "Notificación por correo enviada a {} (userId={}, notificationId={})",
-                        email, userId, notification.getNotificationId()
-                );
-            } else {
-                log.warn("No se encontró correo electrónico para userId={}", userId);
-            }
-        } catch (Exception e) {
-            log.error("Error procesando envío de email para evento {}: {}", event.getEventType(), e.getMessage(), e);
+        InAppNotification notification = event.getNotification();
+
+        if (notification == null) {
+            log.warn("Evento {} sin InAppNotification, se omite envío de email", event.getEventType());
+            return;
+        }
+
+        UUID userId = notification.getUserId();
+        if (userId == null) {
+            log.warn("Notificación sin userId, no se puede resolver email. notificationId={}",
+                    notification.getNotificationId());
+            return;
+        }
+
+        String email = userEmailResolver.resolveEmail(userId.toString());
+
+        if (email != null && !email.isBlank()) {
+            emailNotificationSender.sendNotification(notification, email);
+            log.info(
+                    "Notificación por correo encolada para {} (userId={}, notificationId={})",
+                    email, userId, notification.getNotificationId()
+            );
+        } else {
+            log.warn("No se encontró correo electrónico para userId={}", userId);
         }
     }
 
@@ -74,4 +84,14 @@ public class EmailNotificationSubscriber implements NotificationSubscriber {
     public String getName() {
         return handlerId;
     }
+
+    /**
+     * Resolver el correo del usuario y, con el outbox lleno, enviar el correo
+     * en el propio hilo dependen de servicios externos, por lo que se ejecuta
+     * en un compartimento propio para no retrasar a los demás suscriptores.
+     */
+    @Override
+    public SubscriberIsolation isolation() {
+        return SubscriberIsolation.bulkhead(MAX_CONCURRENT_SENDS, MAX_QUEUED_SENDS);
+    }
 }
@@ -1,140 +1,792 @@
 package edu.dosw.rideci.domain.service;
 
+import edu.dosw.rideci.domain.model.Enum.EventPriority;
 import edu.dosw.rideci.domain.model.Enum.NotificationType;
 import edu.dosw.rideci.domain.model.NotificationEvent;
-import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
+import edu.dosw.rideci.exceptions.EventRejectedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Bus de eventos de dominio para notificaciones en RideECI.
  *
  * Administra la publicación y distribución de {@link NotificationEvent}
- * hacia los suscriptores registrados ({@link NotificationSubscriber}),
- * utilizando una cola interna y un hilo de procesamiento en segundo plano.
+ * hacia los suscriptores registrados ({@link NotificationSubscriber}).
+ *
+ * Los eventos se reparten en varios carriles, cada uno con su propia cola
+ * acotada y su propio hilo de procesamiento. El carril se elige a partir
+ * del {@code userId} del evento, de modo que los eventos de un mismo usuario
+ * se procesan siempre en orden, mientras que un suscriptor lento solo
+ * retrasa a los usuarios de su carril.
+ *
+ * Dentro de cada carril los eventos se separan por {@link EventPriority}
+ * en colas acotadas, y siempre se atiende primero la de mayor prioridad.
+ * Cuando una cola se llena se aplica la política de desborde configurada
+ * para su nivel (esperar, descartar el más antiguo o rechazar).
+ *
+ * Los suscriptores que implementan {@link BatchNotificationSubscriber}
+ * reciben los eventos agrupados en lotes a través de un {@link BatchDispatcher}
+ * propio. Los que declaran un {@link SubscriberIsolation} con compartimento
+ * se ejecutan en su propio pool acotado, sin bloquear el carril; el resto
+ * los recibe uno por uno en el hilo del carril. Las entregas que fallan se
+ * informan al {@link DeliveryFailureListener} configurado.
+ *
+ * Las suscripciones se guardan en un {@link SubscriberRegistry} inmutable que
+ * se reemplaza de forma atómica al suscribir o desuscribir, por lo que el
+ * despacho no toma bloqueos y es seguro registrar suscriptores en caliente.
+ *
+ * Si hay un {@link EventJournal} configurado, cada evento se registra en él
+ * antes de que {@link #publish(NotificationEvent)} retorne y se marca como
+ * completado cuando todos sus suscriptores terminan. Al arrancar se vuelven
+ * a despachar los eventos que quedaron pendientes en la ejecución anterior.
+ *
+ * El bus participa en el ciclo de vida de Spring con una fase menor que la
+ * del servidor web, de modo que arranca antes de recibir peticiones y se
+ * detiene después de que el servidor deja de aceptarlas. Al detenerse deja
+ * de aceptar eventos, despacha los encolados hasta agotar
+ * {@code notifications.event-bus.drain-timeout} y entrega el resto al
+ * {@link PendingEventStore} para publicarlos de nuevo al arrancar.
+ *
+ * Los eventos programados con {@link #schedule(NotificationEvent, Instant)}
+ * esperan en una {@link TimingWheel} y se publican por el camino normal al
+ * vencer. Las entregas programadas solo se guardan en memoria.
  *
  * @author RideECI
- * @version 1.0
+ * @version 1.10
  */
 @Slf4j
 @Component
-public class EventBus {
+public class EventBus implements SmartLifecycle {
+
+    /** Fase de ciclo de vida del bus: arranca antes y se detiene después del servidor web. */
+    public static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    /** Espera antes de reintentar un evento programado que el bus rechazó al vencer. */
+    private static final Duration SCHEDULED_RETRY_DELAY = Duration.ofSeconds(1);
+
+    /** Suscripciones registradas por tipo de evento; se reemplaza completo en cada alta o baja. */
+    private final AtomicReference<SubscriberRegistry> registry = new AtomicReference<>(SubscriberRegistry.EMPTY);
+
+    /** Capacidad de la cola de cada despachador de lotes. */
+    private final int batchQueueCapacity;
+
+    /** Tiempo máximo para despachar los eventos encolados al detener el bus. */
+    private final Duration drainTimeout;
+
+    /** Colas de eventos pendientes, una por carril. */
+    private final List<PriorityEventQueue> lanes;
+
+    /** Entregas programadas pendientes de vencer. */
+    private final TimingWheel timers;
+
+    /** Eventos descartados por desborde con política {@code DROP_OLDEST}. */
+    private final LongAdder droppedEvents = new LongAdder();
 
-    /** Suscriptores registrados por tipo de evento. */
-    private final Map<NotificationType, List<NotificationSubscriber>> subscribers = new ConcurrentHashMap<>();
+    /** Eventos rechazados por desborde con política {@code REJECT}. */
+    private final LongAdder rejectedEvents = new LongAdder();
 
-    /** Cola de eventos pendientes por procesar. */
-    private final BlockingQueue<NotificationEvent> eventQueue = new LinkedBlockingQueue<>();
+    /** Registro durable de eventos; {@code null} si no está habilitado. */
+    private EventJournal journal;
+
+    /** Receptor de las entregas fallidas; {@code null} si no hay. */
+    private volatile DeliveryFailureListener failureListener;
+
+    /** Almacén de los eventos no despachados al detener el bus; {@code null} si no hay. */
+    private PendingEventStore pendingEventStore;
+
+    /** Hilos de trabajo activos, uno por carril. */
+    private final List<Thread> workers = new ArrayList<>();
 
     /** Bandera para controlar el ciclo de procesamiento. */
     private volatile boolean isRunning = false;
 
+    /** Indica si el bus acepta nuevos eventos; se desactiva al detenerlo. */
+    private volatile boolean accepting = true;
+
+    /**
+     * Construye el bus creando un carril por cada hilo de trabajo configurado.
+     *
+     * @param properties Configuración de carriles y colas por prioridad.
+     */
+    public EventBus(EventBusProperties properties) {
+        int laneCount = properties.resolveLaneCount();
+        List<PriorityEventQueue> queues = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            queues.add(new PriorityEventQueue(properties.getPriority(), this::onDropped));
+        }
+        this.lanes = List.copyOf(queues);
+        this.batchQueueCapacity = properties.getBatchQueueCapacity();
+        this.drainTimeout = properties.getDrainTimeout();
+        this.timers = new TimingWheel(properties.getSchedulerTick(), SCHEDULED_RETRY_DELAY,
+                System::nanoTime, this::publishScheduled);
+    }
+
+    /**
+     * Asigna el registro durable de eventos del bus.
+     *
+     * @param journal Registro en el que se guardan los eventos antes de encolarlos.
+     */
+    @Autowired(required = false)
+    public void setEventJournal(EventJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Asigna el almacén de eventos no despachados al detener el bus.
+     *
+     * @param pendingEventStore Almacén en el que se guardan los eventos que quedan en cola.
+     */
+    @Autowired(required = false)
+    public void setPendingEventStore(PendingEventStore pendingEventStore) {
+        this.pendingEventStore = pendingEventStore;
+    }
+
+    /**
+     * Asigna el receptor de las entregas que fallan, por ejemplo para
+     * guardarlas como dead letters y reintentarlas.
+     *
+     * @param failureListener Receptor de las entregas fallidas.
+     */
+    public void setDeliveryFailureListener(DeliveryFailureListener failureListener) {
+        this.failureListener = failureListener;
+    }
+
     /**
      * Publica un evento en el bus.
-     * El evento se encola para ser procesado de forma asíncrona
-     * por el hilo de trabajo.
+     * El evento se encola en el carril de su usuario, en la cola de su nivel
+     * de prioridad, para ser procesado de forma asíncrona. Si esa cola está
+     * llena se aplica su política de desborde.
+     *
+     * Con un {@link EventJournal} configurado, el evento ya está registrado
+     * de forma durable cuando este método retorna.
      *
      * @param event Evento de notificación a publicar. Si es {@code null}, se ignora.
+     * @throws EventRejectedException Si el bus se está deteniendo, o si la cola de su nivel
+     *                                está llena y su política es {@code REJECT}.
      */
     public void publish(NotificationEvent event) {
         if (event == null) {
             return;
         }
-        eventQueue.offer(event);
+        if (!accepting) {
+            throw new EventRejectedException("Event bus is shutting down, event " + event.getEventId() + " rejected");
+        }
+        long sequence = journal != null ? journal.append(event) : EventEnvelope.NOT_JOURNALED;
+        EventEnvelope envelope = new EventEnvelope(event, sequence);
+        EventPriority priority = EventPriority.of(event.getPriority());
+        boolean accepted;
+        try {
+            accepted = lanes.get(laneFor(event)).offer(envelope, priority);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Publicación interrumpida, se descarta el evento {}", event.getEventId());
+            complete(envelope);
+            return;
+        }
+        if (!accepted) {
+            rejectedEvents.increment();
+            complete(envelope);
+            throw new EventRejectedException(
+                    "Event bus saturated for priority " + priority + ", event " + event.getEventId() + " rejected");
+        }
+    }
+
+    /**
+     * Programa la publicación de un evento para un momento futuro.
+     * Al vencer, el evento se publica como con {@link #publish(NotificationEvent)};
+     * si el bus lo rechaza por saturación, se reintenta un segundo después.
+     *
+     * @param event     Evento a publicar.
+     * @param deliverAt Momento de la publicación; si ya pasó, se publica de inmediato.
+     * @return Manejador para consultar o cancelar la entrega.
+     * @throws EventRejectedException Si el bus se está deteniendo.
+     */
+    public ScheduledEvent schedule(NotificationEvent event, Instant deliverAt) {
+        Objects.requireNonNull(event, "event");
+        Objects.requireNonNull(deliverAt, "deliverAt");
+        if (!accepting) {
+            throw new EventRejectedException("Event bus is shutting down, event " + event.getEventId() + " rejected");
+        }
+        ScheduledEvent scheduled = timers.schedule(event, deliverAt);
+        startTimers();
+        return scheduled;
+    }
+
+    /**
+     * Arranca el hilo de la rueda de temporizadores si el bus está en marcha.
+     * La rueda solo arranca con la primera entrega programada, para que un bus
+     * sin entregas programadas no mantenga un hilo despertando en cada tick.
+     */
+    private synchronized void startTimers() {
+        if (isRunning && accepting) {
+            timers.start("notification-event-bus-timer");
+        }
     }
 
     /**
      * Registra un suscriptor para un tipo de evento específico.
+     * Si el suscriptor implementa {@link BatchNotificationSubscriber},
+     * se le asigna un despachador de lotes; si declara un
+     * {@link SubscriberIsolation} con compartimento, se le crea uno. Ambos se
+     * comparten entre todos los tipos a los que se suscriba. Suscribir dos
+     * veces al mismo tipo no tiene efecto.
      *
      * @param eventType  Tipo de evento al que se desea suscribir.
      * @param subscriber Suscriptor que será notificado cuando se publique un evento de ese tipo.
      */
     public void subscribe(NotificationType eventType, NotificationSubscriber subscriber) {
-        subscribers
-                .computeIfAbsent(eventType, k -> new ArrayList<>())
-                .add(subscriber);
+        SubscriberRegistry.Subscription created = null;
+        while (true) {
+            SubscriberRegistry current = registry.get();
+            SubscriberRegistry.Subscription subscription = current.find(subscriber);
+            if (subscription == null) {
+                if (created == null) {
+                    created = newSubscription(subscriber);
+                }
+                subscription = created;
+            }
+            if (registry.compareAndSet(current, current.with(eventType, subscription))) {
+                if (created != null && subscription != created) {
+                    created.close();
+                }
+                return;
+            }
+        }
     }
 
     /**
      * Elimina un suscriptor para un tipo de evento específico.
-     * Si ya no quedan suscriptores para ese tipo, lo remueve del mapa.
+     * Si ya no queda suscrito a ningún tipo, se liberan su despachador de lotes
+     * o su compartimento.
      *
      * @param eventType  Tipo de evento del que se desea desuscribir.
      * @param subscriber Suscriptor a eliminar.
      */
     public void unsubscribe(NotificationType eventType, NotificationSubscriber subscriber) {
-        List<NotificationSubscriber> list = subscribers.get(eventType);
-        if (list != null) {
-            list.remove(subscriber);
-            if (list.isEmpty()) {
-                subscribers.remove(eventType);
+        SubscriberRegistry current;
+        SubscriberRegistry updated;
+        do {
+            current = registry.get();
+            updated = current.without(eventType, subscriber);
+        } while (updated != current && !registry.compareAndSet(current, updated));
+
+        SubscriberRegistry.Subscription removed = current.find(subscriber);
+        if (removed != null && updated.find(subscriber) == null) {
+            removed.close();
+        }
+    }
+
+    /**
+     * Entrega de nuevo un evento a un único suscriptor, en el hilo actual.
+     * Se usa para reintentar entregas fallidas; los errores del suscriptor se propagan.
+     *
+     * @param subscriberName Nombre del suscriptor.
+     * @param event          Evento a entregar.
+     * @throws IllegalStateException Si el suscriptor ya no está registrado.
+     */
+    public void redeliver(String subscriberName, NotificationEvent event) {
+        for (SubscriberRegistry.Subscription subscription : registry.get().all()) {
+            if (subscription.subscriber().getName().equals(subscriberName)) {
+                subscription.subscriber().handleEvent(event);
+                return;
             }
         }
+        throw new IllegalStateException("Subscriber " + subscriberName + " is not registered");
     }
 
     /**
      * Obtiene el tamaño actual de la cola de eventos pendientes.
      *
-     * @return Número de eventos encolados.
+     * @return Número de eventos encolados en todos los carriles, despachadores de lotes
+     *         y compartimentos de suscriptores.
      */
     public int getQueueSize() {
-        return eventQueue.size();
+        int total = 0;
+        for (PriorityEventQueue lane : lanes) {
+            total += lane.size();
+        }
+        for (SubscriberRegistry.Subscription subscription : registry.get().all()) {
+            total += subscription.metrics().queueDepth();
+        }
+        return total;
+    }
+
+    /**
+     * Obtiene el número de eventos pendientes por nivel de prioridad.
+     *
+     * @return Eventos encolados en todos los carriles, agrupados por prioridad.
+     */
+    public Map<EventPriority, Integer> getQueueSizeByPriority() {
+        Map<EventPriority, Integer> sizes = new EnumMap<>(EventPriority.class);
+        for (EventPriority priority : EventPriority.values()) {
+            int total = 0;
+            for (PriorityEventQueue lane : lanes) {
+                total += lane.size(priority);
+            }
+            sizes.put(priority, total);
+        }
+        return sizes;
+    }
+
+    /**
+     * Obtiene el número de entregas programadas que aún no vencen.
+     *
+     * @return Eventos programados pendientes.
+     */
+    public int getScheduledCount() {
+        return timers.size();
+    }
+
+    /**
+     * Obtiene el número de eventos descartados por desborde desde el arranque.
+     *
+     * @return Eventos descartados.
+     */
+    public long getDroppedCount() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * Obtiene el número de eventos rechazados por desborde desde el arranque.
+     *
+     * @return Eventos rechazados.
+     */
+    public long getRejectedCount() {
+        return rejectedEvents.sum();
+    }
+
+    /**
+     * Obtiene el número de eventos en curso por suscriptor.
+     * Para los suscriptores por lotes incluye los eventos que esperan a ser agrupados.
+     *
+     * @return Eventos en curso por nombre de suscriptor.
+     */
+    public Map<String, Integer> getInFlightBySubscriber() {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (SubscriberRegistry.Subscription subscription : registry.get().all()) {
+            counts.merge(subscription.subscriber().getName(), subscription.pending(), Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Obtiene las métricas de cada suscriptor: eventos en curso, profundidad
+     * de su cola propia y eventos rechazados por su compartimento.
+     *
+     * @return Métricas por nombre de suscriptor.
+     */
+    public Map<String, SubscriberMetrics> getSubscriberMetrics() {
+        Map<String, SubscriberMetrics> metrics = new TreeMap<>();
+        for (SubscriberRegistry.Subscription subscription : registry.get().all()) {
+            metrics.put(subscription.subscriber().getName(), subscription.metrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * Obtiene el número de carriles de procesamiento del bus.
+     *
+     * @return Número de carriles.
+     */
+    public int getLaneCount() {
+        return lanes.size();
     }
 
     /**
-     * Inicializa el bus de eventos al construir el componente.
-     * Arranca un hilo daemon que ejecuta el ciclo de procesamiento
-     * de eventos de forma continua.
+     * Calcula el carril que corresponde a un evento.
+     * Se usa el {@code userId} para conservar el orden por usuario; si no existe,
+     * se usa el {@code eventId} para repartir la carga.
+     *
+     * @param event Evento a ubicar.
+     * @return Índice del carril.
      */
-    @PostConstruct
-    public void start() {
+    int laneFor(NotificationEvent event) {
+        String key = event.getUserId() != null ? event.getUserId() : event.getEventId();
+        if (key == null) {
+            return 0;
+        }
+        int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.size());
+    }
+
+    /**
+     * Arranca el bus de eventos.
+     * Arranca un hilo daemon por carril que ejecuta el ciclo de procesamiento
+     * de eventos de forma continua y vuelve a encolar los eventos que quedaron
+     * pendientes en el {@link EventJournal} o en el {@link PendingEventStore}.
+     */
+    @Override
+    public synchronized void start() {
+        if (isRunning) {
+            return;
+        }
         isRunning = true;
-        Thread worker = new Thread(this::processLoop, "notification-event-bus");
-        worker.setDaemon(true);
-        worker.start();
-        log.info("EventBus started");
+        accepting = true;
+        for (int i = 0; i < lanes.size(); i++) {
+            PriorityEventQueue lane = lanes.get(i);
+            Thread worker = new Thread(() -> processLoop(lane), "notification-event-bus-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        if (timers.size() > 0) {
+            startTimers();
+        }
+        log.info("EventBus started with {} lanes", lanes.size());
+        if (journal != null) {
+            replayJournal();
+        }
+        if (pendingEventStore != null) {
+            republishPending();
+        }
     }
 
     /**
-     * Detiene el bus de eventos antes de destruir el componente.
-     * Marca el ciclo de procesamiento como detenido.
+     * Detiene el bus de eventos.
+     * Deja de aceptar eventos, espera a que se despachen los encolados durante
+     * el tiempo de vaciado configurado y luego detiene los hilos de trabajo.
+     * Los eventos que no alcanzaron a despacharse quedan en el {@link EventJournal}
+     * o se entregan al {@link PendingEventStore}.
      */
-    @PreDestroy
-    public void stop() {
+    @Override
+    public synchronized void stop() {
+        timers.stop();
+        if (timers.size() > 0) {
+            log.warn("EventBus detenido con {} entregas programadas pendientes; no se conservan", timers.size());
+        }
+        accepting = false;
+        List<SubscriberRegistry.Subscription> subscriptions = registry.get().all();
+        if (!isRunning) {
+            subscriptions.forEach(SubscriberRegistry.Subscription::close);
+            return;
+        }
+        if (!awaitDrained(drainTimeout)) {
+            log.warn("EventBus no se vació en {}: {} eventos en cola, en curso por suscriptor {}",
+                    drainTimeout, getQueueSize(), getInFlightBySubscriber());
+        }
         isRunning = false;
+        workers.forEach(Thread::interrupt);
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workers.clear();
+
+        Set<EventEnvelope> remaining = new LinkedHashSet<>();
+        lanes.forEach(lane -> lane.drainTo(remaining));
+        for (SubscriberRegistry.Subscription subscription : subscriptions) {
+            if (subscription.dispatcher() != null) {
+                remaining.addAll(subscription.dispatcher().shutdownNow(TimeUnit.SECONDS.toMillis(5)));
+            }
+            if (subscription.bulkhead() != null) {
+                remaining.addAll(subscription.bulkhead().shutdownNow(TimeUnit.SECONDS.toMillis(5)));
+            }
+        }
+        persistRemaining(remaining);
         log.info("EventBus stopped");
     }
 
+    @Override
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
     /**
-     * Bucle principal de procesamiento de eventos.
-     * Extrae eventos de la cola y los distribuye a todos los
+     * Publica un evento programado que acaba de vencer.
+     *
+     * @param event Evento vencido.
+     * @return {@code false} si el bus lo rechazó y debe reintentarse.
+     */
+    private boolean publishScheduled(NotificationEvent event) {
+        try {
+            publish(event);
+            return true;
+        } catch (EventRejectedException e) {
+            log.warn("Evento programado {} rechazado, se reintenta: {}", event.getEventId(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Bucle principal de procesamiento de un carril.
+     * Extrae eventos de la cola del carril y los distribuye a todos los
      * suscriptores registrados para el tipo de evento correspondiente.
      *
      * En caso de error al notificar a un suscriptor, se registra en el log
      * pero no se detiene el procesamiento de los demás.
+     *
+     * @param lane Cola del carril a procesar.
      */
-    private void processLoop() {
+    private void processLoop(PriorityEventQueue lane) {
         while (isRunning) {
             try {
-                NotificationEvent event = eventQueue.take();
-                List<NotificationSubscriber> subs =
-                        subscribers.getOrDefault(event.getEventType(), List.of());
-                for (NotificationSubscriber s : subs) {
-                    try {
-                        s.handleEvent(event);
-                    } catch (Exception e) {
-                        log.error("Error handling event {} by {}", event.getEventId(), s.getName(), e);
-                    }
+                dispatch(lane.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Entrega un evento a todos sus suscriptores.
+     * El evento se da por completado cuando termina el último de ellos,
+     * ya sea en este hilo o en el despachador de lotes correspondiente.
+     *
+     * @param envelope Evento a entregar.
+     * @throws InterruptedException Si el hilo se interrumpe esperando espacio en un despachador de lotes.
+     */
+    private void dispatch(EventEnvelope envelope) throws InterruptedException {
+        NotificationEvent event = envelope.event();
+        SubscriberRegistry.Subscription[] subs = registry.get().subscriptionsFor(event.getEventType());
+        if (subs.length == 0) {
+            complete(envelope);
+            return;
+        }
+        envelope.expectDeliveries(subs.length);
+        for (SubscriberRegistry.Subscription subscription : subs) {
+            if (subscription.dispatcher() != null) {
+                subscription.dispatcher().enqueue(envelope);
+            } else if (subscription.bulkhead() != null) {
+                submit(subscription, envelope);
+            } else {
+                subscription.inFlight().incrementAndGet();
+                deliver(subscription, envelope);
+            }
+        }
+    }
+
+    /**
+     * Entrega un evento al compartimento de un suscriptor aislado sin esperar.
+     * Si el compartimento está lleno, la entrega se rechaza y se registra.
+     *
+     * @param subscription Suscripción con compartimento.
+     * @param envelope     Evento a entregar.
+     */
+    private void submit(SubscriberRegistry.Subscription subscription, EventEnvelope envelope) {
+        subscription.inFlight().incrementAndGet();
+        SubscriberBulkhead.Delivery delivery =
+                new SubscriberBulkhead.Delivery(envelope, () -> deliver(subscription, envelope));
+        if (!subscription.bulkhead().submit(delivery)) {
+            subscription.inFlight().decrementAndGet();
+            String name = subscription.subscriber().getName();
+            log.warn("Compartimento lleno: {} rechaza el evento {}", name, envelope.event().getEventId());
+            reportFailure(name, envelope.event(), new EventRejectedException("Bulkhead of " + name + " is full"));
+            if (envelope.deliveryFinished()) {
+                complete(envelope);
+            }
+        }
+    }
+
+    /**
+     * Ejecuta el suscriptor con un evento en el hilo actual y, si era la última
+     * entrega pendiente, da el evento por completado.
+     *
+     * @param subscription Suscripción a ejecutar; su contador en curso ya fue incrementado.
+     * @param envelope     Evento a entregar.
+     */
+    private void deliver(SubscriberRegistry.Subscription subscription, EventEnvelope envelope) {
+        NotificationSubscriber s = subscription.subscriber();
+        NotificationEvent event = envelope.event();
+        try {
+            s.handleEvent(event);
+        } catch (Exception e) {
+            log.error("Error handling event {} by {}", event.getEventId(), s.getName(), e);
+            reportFailure(s.getName(), event, e);
+        } finally {
+            subscription.inFlight().decrementAndGet();
+            if (envelope.deliveryFinished()) {
+                complete(envelope);
+            }
+        }
+    }
+
+    /**
+     * Crea la suscripción de un suscriptor, con su despachador de lotes o su
+     * compartimento si los necesita. Los suscriptores por lotes ya tienen un
+     * hilo propio, por lo que no se les crea compartimento.
+     *
+     * @param subscriber Suscriptor a registrar.
+     * @return Suscripción nueva.
+     */
+    private SubscriberRegistry.Subscription newSubscription(NotificationSubscriber subscriber) {
+        BatchDispatcher dispatcher = subscriber instanceof BatchNotificationSubscriber batchSubscriber
+                ? new BatchDispatcher(batchSubscriber, batchQueueCapacity, this::complete,
+                        (event, error) -> reportFailure(batchSubscriber.getName(), event, error))
+                : null;
+        SubscriberIsolation isolation = subscriber.isolation();
+        SubscriberBulkhead bulkhead = dispatcher == null && isolation != null && isolation.isIsolated()
+                ? new SubscriberBulkhead(subscriber.getName(), isolation)
+                : null;
+        return new SubscriberRegistry.Subscription(subscriber, dispatcher, bulkhead);
+    }
+
+    /**
+     * Entrega una entrega fallida al {@link DeliveryFailureListener}, si hay uno.
+     *
+     * @param subscriberName Nombre del suscriptor que falló.
+     * @param event          Evento no procesado.
+     * @param error          Causa del fallo.
+     */
+    private void reportFailure(String subscriberName, NotificationEvent event, Exception error) {
+        DeliveryFailureListener listener = failureListener;
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.onDeliveryFailure(event, subscriberName, error);
+        } catch (Exception e) {
+            log.error("No se pudo registrar la entrega fallida del evento {} a {}", event.getEventId(), subscriberName, e);
+        }
+    }
+
+    /**
+     * Marca un evento como completado en el {@link EventJournal}.
+     *
+     * @param envelope Evento completado.
+     */
+    private void complete(EventEnvelope envelope) {
+        if (!envelope.isJournaled()) {
+            return;
+        }
+        try {
+            journal.acknowledge(envelope.journalSequence());
+        } catch (Exception e) {
+            log.error("No se pudo confirmar el evento {} en el journal", envelope.event().getEventId(), e);
+        }
+    }
+
+    /**
+     * Vuelve a encolar los eventos que quedaron pendientes en el {@link EventJournal}
+     * sin registrarlos de nuevo.
+     */
+    private void replayJournal() {
+        List<EventJournal.Entry> pending = journal.recover();
+        if (pending.isEmpty()) {
+            return;
+        }
+        log.info("Recuperando {} eventos pendientes del journal", pending.size());
+        for (EventJournal.Entry entry : pending) {
+            NotificationEvent event = entry.event();
+            EventEnvelope envelope = new EventEnvelope(event, entry.sequence());
+            try {
+                if (!lanes.get(laneFor(event)).offer(envelope, EventPriority.of(event.getPriority()))) {
+                    rejectedEvents.increment();
+                    log.error("Cola saturada: no se pudo recuperar el evento {}", event.getEventId());
+                    complete(envelope);
                 }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
+                log.warn("Recuperación del journal interrumpida");
+                return;
+            }
+        }
+    }
+
+    /**
+     * Vuelve a publicar los eventos guardados en el {@link PendingEventStore}
+     * la última vez que se detuvo el bus.
+     */
+    private void republishPending() {
+        List<NotificationEvent> pending;
+        try {
+            pending = pendingEventStore.load();
+        } catch (Exception e) {
+            log.error("No se pudieron cargar los eventos pendientes", e);
+            return;
+        }
+        if (!pending.isEmpty()) {
+            log.info("Publicando de nuevo {} eventos pendientes", pending.size());
+        }
+        for (NotificationEvent event : pending) {
+            try {
+                publish(event);
+            } catch (EventRejectedException e) {
+                log.error("Cola saturada: no se pudo recuperar el evento {}", event.getEventId());
             }
         }
     }
+
+    /**
+     * Espera a que no queden eventos en cola ni en curso.
+     *
+     * @param timeout Tiempo máximo de espera.
+     * @return {@code true} si el bus quedó vacío antes del tiempo límite.
+     */
+    private boolean awaitDrained(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (getQueueSize() > 0 || getInFlightBySubscriber().values().stream().anyMatch(c -> c > 0)) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Conserva los eventos que quedaron sin despachar al detener el bus.
+     * Los registrados en el {@link EventJournal} se recuperarán desde allí;
+     * el resto se entrega al {@link PendingEventStore}.
+     *
+     * @param remaining Eventos sin despachar.
+     */
+    private void persistRemaining(Collection<EventEnvelope> remaining) {
+        List<NotificationEvent> unjournaled = new ArrayList<>();
+        for (EventEnvelope envelope : remaining) {
+            if (!envelope.isJournaled()) {
+                unjournaled.add(envelope.event());
+            }
+        }
+        if (remaining.size() > unjournaled.size()) {
+            log.info("{} eventos sin despachar quedan en el journal", remaining.size() - unjournaled.size());
+        }
+        if (unjournaled.isEmpty()) {
+            return;
+        }
+        if (pendingEventStore == null) {
+            log.warn("Se pierden {} eventos sin despachar: no hay almacén de pendientes", unjournaled.size());
+            return;
+        }
+        try {
+            pendingEventStore.store(unjournaled);
+        } catch (Exception e) {
+            log.error("No se pudieron guardar {} eventos sin despachar", unjournaled.size(), e);
+        }
+    }
+
+    /**
+     * Registra un evento descartado por desborde de su cola.
+     *
+     * @param envelope Evento descartado.
+     */
+    private void onDropped(EventEnvelope envelope) {
+        NotificationEvent event = envelope.event();
+        droppedEvents.increment();
+        log.warn("Cola saturada: se descarta el evento {} de tipo {} (prioridad {})",
+                event.getEventId(), event.getEventType(), event.getPriority());
+        complete(envelope);
+    }
 }
@@ -0,0 +1,99 @@
+package edu.dosw.rideci.domain.service;
+
+import edu.dosw.rideci.domain.model.Enum.EventPriority;
+import edu.dosw.rideci.domain.model.Enum.OverflowPolicy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración del {@link EventBus}.
+ *
+ * Se enlazan desde {@code application.properties} bajo el prefijo
+ * {@code notifications.event-bus} y permiten ajustar el número de carriles
+ * de procesamiento, la capacidad y política de desborde de la cola de
+ * cada nivel de prioridad y el tiempo de vaciado al detenerse.
+ *
+ * @author RideECI
+ * @version 1.3
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "notifications.event-bus")
+public class EventBusProperties {
+
+    /**
+     * Número de carriles (hilos de trabajo) del bus.
+     * Un valor menor o igual a cero usa el número de núcleos disponibles.
+     */
+    private int lanes = 0;
+
+    /** Capacidad de la cola de eventos pendientes de agrupar de cada suscriptor por lotes. */
+    private int batchQueueCapacity = 10_000;
+
+    /** Tiempo máximo para despachar los eventos encolados al detener el bus. */
+    private Duration drainTimeout = Duration.ofSeconds(30);
+
+    /** Precisión de las entregas programadas: duración de cada tick de la rueda de temporizadores. */
+    private Duration schedulerTick = Duration.ofMillis(100);
+
+    /** Configuración de las colas por nivel de prioridad de cada carril. */
+    private PriorityQueues priority = new PriorityQueues();
+
+    /**
+     * Resuelve el número efectivo de carriles a crear.
+     *
+     * @return Número de carriles configurado, o el número de núcleos si no se configuró.
+     */
+    public int resolveLaneCount() {
+        return lanes > 0 ? lanes : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Configuración de las colas de los tres niveles de prioridad.
+     */
+    @Getter
+    @Setter
+    public static class PriorityQueues {
+
+        private PriorityQueue high = new PriorityQueue(1_000, OverflowPolicy.BLOCK);
+
+        private PriorityQueue normal = new PriorityQueue(10_000, OverflowPolicy.BLOCK);
+
+        private PriorityQueue low = new PriorityQueue(10_000, OverflowPolicy.DROP_OLDEST);
+
+        /**
+         * Devuelve la configuración de la cola de un nivel de prioridad.
+         *
+         * @param eventPriority Nivel de prioridad.
+         * @return Configuración de la cola de ese nivel.
+         */
+        public PriorityQueue forPriority(EventPriority eventPriority) {
+            return switch (eventPriority) {
+                case HIGH -> high;
+                case NORMAL -> normal;
+                case LOW -> low;
+            };
+        }
+    }
+
+    /**
+     * Capacidad y política de desborde de la cola de un nivel de prioridad.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriorityQueue {
+
+        /** Número máximo de eventos en la cola de este nivel, por carril. */
+        private int capacity;
+
+        /** Acción a tomar cuando la cola está llena. */
+        private OverflowPolicy overflow;
+    }
+}
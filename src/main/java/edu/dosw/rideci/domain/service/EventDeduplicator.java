@@ -0,0 +1,185 @@
+package edu.dosw.rideci.domain.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Filtro de duplicados por identificador de evento dentro de una ventana de tiempo.
+ *
+ * Cada identificador se guarda en un mapa concurrente junto con el
+ * intervalo (bucket) en que se vio por primera vez, de modo que comprobar
+ * y registrar un identificador es una sola operación atómica O(1). Los
+ * buckets forman un anillo que cubre la ventana: al avanzar el tiempo, el
+ * bucket más antiguo se vacía y sus identificadores se olvidan. Si se supera
+ * el máximo de identificadores, se vacía antes de tiempo el bucket más antiguo.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public final class EventDeduplicator {
+
+    private final long bucketNanos;
+    private final int bucketCount;
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+
+    /** Identificador -> bucket en que se registró. */
+    private final Map<String, Long> seen = new ConcurrentHashMap<>();
+
+    /** Identificadores registrados en cada bucket del anillo. */
+    private final List<Queue<String>> buckets;
+
+    private final ReentrantLock rotationLock = new ReentrantLock();
+    private volatile long currentBucket;
+    private long oldestBucket;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param window      Tiempo durante el que se recuerda cada identificador.
+     * @param bucketCount Número de buckets en que se divide la ventana.
+     * @param maxEntries  Máximo de identificadores recordados a la vez.
+     */
+    public EventDeduplicator(Duration window, int bucketCount, int maxEntries) {
+        this(window, bucketCount, maxEntries, System::nanoTime);
+    }
+
+    /**
+     * @param window      Tiempo durante el que se recuerda cada identificador.
+     * @param bucketCount Número de buckets en que se divide la ventana.
+     * @param maxEntries  Máximo de identificadores recordados a la vez.
+     * @param nanoClock   Reloj en nanosegundos.
+     */
+    public EventDeduplicator(Duration window, int bucketCount, int maxEntries, LongSupplier nanoClock) {
+        this.bucketCount = Math.max(1, bucketCount);
+        this.bucketNanos = Math.max(1, window.toNanos() / this.bucketCount);
+        this.maxEntries = Math.max(1, maxEntries);
+        this.nanoClock = nanoClock;
+        this.buckets = new ArrayList<>(this.bucketCount);
+        for (int i = 0; i < this.bucketCount; i++) {
+            buckets.add(new ConcurrentLinkedQueue<>());
+        }
+        this.currentBucket = bucketOf(nanoClock.getAsLong());
+        this.oldestBucket = currentBucket;
+    }
+
+    /**
+     * Registra un identificador si no se había visto dentro de la ventana.
+     *
+     * @param key Identificador del evento.
+     * @return {@code true} si es la primera vez que se ve; {@code false} si es un duplicado.
+     */
+    public boolean firstSeen(String key) {
+        long bucket = advance();
+        Long previous = seen.putIfAbsent(key, bucket);
+        if (previous != null) {
+            if (previous > bucket - bucketCount || !seen.replace(key, previous, bucket)) {
+                hits.increment();
+                return false;
+            }
+        }
+        buckets.get(slot(bucket)).add(key);
+        misses.increment();
+        if (seen.size() > maxEntries) {
+            evictOldest();
+        }
+        return true;
+    }
+
+    /**
+     * Olvida un identificador, por ejemplo cuando el evento no pudo
+     * publicarse y el emisor lo va a reenviar.
+     *
+     * @param key Identificador del evento.
+     */
+    public void forget(String key) {
+        seen.remove(key);
+    }
+
+    /** @return Duplicados detectados desde el arranque. */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /** @return Identificadores nuevos registrados desde el arranque. */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /** @return Identificadores recordados actualmente. */
+    public int size() {
+        return seen.size();
+    }
+
+    /**
+     * Avanza el anillo hasta el bucket actual, olvidando los que salieron de la ventana.
+     *
+     * @return Bucket actual.
+     */
+    private long advance() {
+        long now = bucketOf(nanoClock.getAsLong());
+        if (now <= currentBucket) {
+            return currentBucket;
+        }
+        rotationLock.lock();
+        try {
+            if (now > currentBucket) {
+                long firstLive = now - bucketCount + 1;
+                while (oldestBucket < firstLive) {
+                    expire(oldestBucket);
+                    oldestBucket++;
+                }
+                currentBucket = now;
+            }
+            return currentBucket;
+        } finally {
+            rotationLock.unlock();
+        }
+    }
+
+    /**
+     * Vacía el bucket más antiguo que aún tenga identificadores, sin esperar
+     * a que salga de la ventana, para respetar el máximo de identificadores.
+     */
+    private void evictOldest() {
+        if (!rotationLock.tryLock()) {
+            return;
+        }
+        try {
+            while (seen.size() > maxEntries && oldestBucket < currentBucket) {
+                expire(oldestBucket);
+                oldestBucket++;
+            }
+            if (seen.size() > maxEntries) {
+                expire(currentBucket);
+            }
+        } finally {
+            rotationLock.unlock();
+        }
+    }
+
+    private void expire(long bucket) {
+        Queue<String> keys = buckets.get(slot(bucket));
+        String key;
+        while ((key = keys.poll()) != null) {
+            seen.remove(key, bucket);
+        }
+    }
+
+    private long bucketOf(long nanos) {
+        return Math.floorDiv(nanos, bucketNanos);
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) bucketCount);
+    }
+}
@@ -0,0 +1,58 @@
+package edu.dosw.rideci.domain.service;
+
+import edu.dosw.rideci.domain.model.NotificationEvent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envoltorio interno con el que el {@link EventBus} transporta un evento
+ * por sus colas, junto con su secuencia en el {@link EventJournal} y el
+ * número de entregas a suscriptores que aún no han terminado.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+final class EventEnvelope {
+
+    /** Secuencia usada cuando el evento no fue registrado en el journal. */
+    static final long NOT_JOURNALED = -1L;
+
+    private final NotificationEvent event;
+    private final long journalSequence;
+    private final AtomicInteger pendingDeliveries = new AtomicInteger();
+
+    EventEnvelope(NotificationEvent event, long journalSequence) {
+        this.event = event;
+        this.journalSequence = journalSequence;
+    }
+
+    NotificationEvent event() {
+        return event;
+    }
+
+    long journalSequence() {
+        return journalSequence;
+    }
+
+    boolean isJournaled() {
+        return journalSequence != NOT_JOURNALED;
+    }
+
+    /**
+     * Fija el número de suscriptores que deben terminar antes de dar el evento por completado.
+     *
+     * @param count Número de entregas pendientes.
+     */
+    void expectDeliveries(int count) {
+        pendingDeliveries.set(count);
+    }
+
+    /**
+     * Registra que un suscriptor terminó de procesar el evento.
+     *
+     * @return {@code true} si era la última entrega pendiente.
+     */
+    boolean deliveryFinished() {
+        return pendingDeliveries.decrementAndGet() == 0;
+    }
+}
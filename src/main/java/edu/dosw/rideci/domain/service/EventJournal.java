@@ -0,0 +1,51 @@
+package edu.dosw.rideci.domain.service;
+
+import edu.dosw.rideci.domain.model.NotificationEvent;
+
+import java.util.List;
+
+/**
+ * Puerto de dominio para el registro durable de los eventos publicados
+ * en el {@link EventBus}.
+ *
+ * Cada evento se registra antes de que {@code publish} retorne y se marca
+ * como completado cuando todos sus suscriptores terminan de procesarlo.
+ * Los eventos que no alcanzaron a completarse antes de un reinicio se
+ * recuperan al arrancar para volver a despacharse.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public interface EventJournal {
+
+    /**
+     * Registra un evento de forma durable.
+     *
+     * @param event Evento a registrar.
+     * @return Secuencia asignada al evento dentro del registro.
+     */
+    long append(NotificationEvent event);
+
+    /**
+     * Marca un evento como completado; ya no se recuperará al reiniciar.
+     *
+     * @param sequence Secuencia devuelta por {@link #append(NotificationEvent)}.
+     */
+    void acknowledge(long sequence);
+
+    /**
+     * Devuelve los eventos registrados en ejecuciones anteriores que no
+     * fueron completados, en el orden en que se publicaron.
+     *
+     * @return Eventos pendientes con su secuencia.
+     */
+    List<Entry> recover();
+
+    /**
+     * Evento registrado junto con su secuencia en el registro.
+     *
+     * @param sequence Secuencia del evento.
+     * @param event    Evento registrado.
+     */
+    record Entry(long sequence, NotificationEvent event) {}
+}
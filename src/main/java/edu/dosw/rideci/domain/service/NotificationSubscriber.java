@@ -14,7 +14,7 @@ import java.util.List;
  * y proporciona un nombre identificador.
  *
  * @author RideECI
- * @version 1.0
+ * @version 1.1
  */
 public interface NotificationSubscriber {
 
@@ -40,4 +40,14 @@ public interface NotificationSubscriber {
      * @return Nombre del suscriptor.
      */
     String getName();
+
+    /**
+     * Indica cómo debe ejecutar el {@link EventBus} a este suscriptor.
+     * Por defecto se ejecuta en el hilo del carril.
+     *
+     * @return Aislamiento del suscriptor.
+     */
+    default SubscriberIsolation isolation() {
+        return SubscriberIsolation.inline();
+    }
 }
@@ -0,0 +1,30 @@
+package edu.dosw.rideci.domain.service;
+
+import edu.dosw.rideci.domain.model.NotificationEvent;
+
+import java.util.List;
+
+/**
+ * Puerto de dominio para conservar los eventos que el {@link EventBus} no
+ * alcanzó a despachar antes de detenerse, cuando no hay un
+ * {@link EventJournal} que ya los tenga registrados.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public interface PendingEventStore {
+
+    /**
+     * Guarda de forma durable los eventos pendientes.
+     *
+     * @param events Eventos que quedaron sin despachar.
+     */
+    void store(List<NotificationEvent> events);
+
+    /**
+     * Devuelve y elimina los eventos guardados en la ejecución anterior.
+     *
+     * @return Eventos pendientes, en el orden en que se guardaron.
+     */
+    List<NotificationEvent> load();
+}
@@ -0,0 +1,178 @@
+package edu.dosw.rideci.domain.service;
+
+import edu.dosw.rideci.domain.model.Enum.EventPriority;
+import edu.dosw.rideci.domain.model.Enum.OverflowPolicy;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Cola acotada de eventos con un nivel por cada {@link EventPriority}.
+ *
+ * Cada nivel tiene su propia capacidad y su propia {@link OverflowPolicy}.
+ * Las extracciones atienden siempre primero el nivel de mayor prioridad
+ * que tenga eventos, de modo que una ráfaga de eventos de baja prioridad
+ * nunca retrasa a los de alta prioridad.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+final class PriorityEventQueue {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Level[] levels;
+    private final Consumer<EventEnvelope> onDrop;
+    private int size;
+
+    /**
+     * Construye la cola con la configuración de cada nivel de prioridad.
+     *
+     * @param properties Capacidad y política de desborde por nivel.
+     * @param onDrop     Acción a ejecutar con los eventos descartados por {@link OverflowPolicy#DROP_OLDEST}.
+     */
+    PriorityEventQueue(EventBusProperties.PriorityQueues properties, Consumer<EventEnvelope> onDrop) {
+        EventPriority[] priorities = EventPriority.values();
+        this.levels = new Level[priorities.length];
+        for (EventPriority priority : priorities) {
+            EventBusProperties.PriorityQueue config = properties.forPriority(priority);
+            levels[priority.ordinal()] = new Level(config.getCapacity(), config.getOverflow(), lock.newCondition());
+        }
+        this.onDrop = onDrop;
+    }
+
+    /**
+     * Encola un evento en el nivel indicado aplicando su política de desborde.
+     *
+     * @param envelope Evento a encolar.
+     * @param priority Nivel de prioridad del evento.
+     * @return {@code false} si el nivel está lleno y su política es {@link OverflowPolicy#REJECT}.
+     * @throws InterruptedException Si el hilo se interrumpe esperando espacio con {@link OverflowPolicy#BLOCK}.
+     */
+    boolean offer(EventEnvelope envelope, EventPriority priority) throws InterruptedException {
+        Level level = levels[priority.ordinal()];
+        EventEnvelope dropped = null;
+        lock.lockInterruptibly();
+        try {
+            while (level.events.size() >= level.capacity) {
+                if (level.policy == OverflowPolicy.REJECT) {
+                    return false;
+                }
+                if (level.policy == OverflowPolicy.DROP_OLDEST) {
+                    dropped = level.events.pollFirst();
+                    size--;
+                    break;
+                }
+                level.notFull.await();
+            }
+            level.events.addLast(envelope);
+            size++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (dropped != null) {
+            onDrop.accept(dropped);
+        }
+        return true;
+    }
+
+    /**
+     * Extrae el siguiente evento, esperando si la cola está vacía.
+     *
+     * @return Evento del nivel de mayor prioridad disponible.
+     * @throws InterruptedException Si el hilo se interrumpe mientras espera.
+     */
+    EventEnvelope take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Número total de eventos encolados en todos los niveles.
+     *
+     * @return Eventos pendientes.
+     */
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Número de eventos encolados en un nivel de prioridad.
+     *
+     * @param priority Nivel a consultar.
+     * @return Eventos pendientes en ese nivel.
+     */
+    int size(EventPriority priority) {
+        lock.lock();
+        try {
+            return levels[priority.ordinal()].events.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Extrae todos los eventos encolados, de mayor a menor prioridad.
+     *
+     * @param target Colección en la que se agregan los eventos extraídos.
+     * @return Número de eventos extraídos.
+     */
+    int drainTo(Collection<EventEnvelope> target) {
+        lock.lock();
+        try {
+            int drained = 0;
+            for (Level level : levels) {
+                drained += level.events.size();
+                target.addAll(level.events);
+                level.events.clear();
+                level.notFull.signalAll();
+            }
+            size = 0;
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private EventEnvelope dequeue() {
+        for (Level level : levels) {
+            EventEnvelope envelope = level.events.pollFirst();
+            if (envelope != null) {
+                size--;
+                level.notFull.signal();
+                return envelope;
+            }
+        }
+        return null;
+    }
+
+    /** Estado de un nivel de prioridad. */
+    private static final class Level {
+        private final ArrayDeque<EventEnvelope> events = new ArrayDeque<>();
+        private final int capacity;
+        private final OverflowPolicy policy;
+        private final Condition notFull;
+
+        private Level(int capacity, OverflowPolicy policy, Condition notFull) {
+            this.capacity = Math.max(1, capacity);
+            this.policy = policy != null ? policy : OverflowPolicy.BLOCK;
+            this.notFull = notFull;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package edu.dosw.rideci.domain.service;
+
+import edu.dosw.rideci.domain.model.NotificationEvent;
+
+import java.time.Instant;
+
+/**
+ * Entrega diferida de un evento programada con {@link EventBus#schedule(NotificationEvent, Instant)}.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public interface ScheduledEvent {
+
+    /**
+     * @return Evento que se publicará.
+     */
+    NotificationEvent event();
+
+    /**
+     * @return Momento a partir del cual se publica el evento.
+     */
+    Instant deliverAt();
+
+    /**
+     * Cancela la entrega si aún no se publicó.
+     *
+     * @return {@code true} si se canceló; {@code false} si ya se había publicado o cancelado.
+     */
+    boolean cancel();
+
+    /**
+     * @return {@code true} si la entrega fue cancelada.
+     */
+    boolean isCancelled();
+
+    /**
+     * @return {@code true} si el evento ya se publicó en el bus.
+     */
+    boolean isDelivered();
+}
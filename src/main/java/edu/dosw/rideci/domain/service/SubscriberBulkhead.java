@@ -0,0 +1,122 @@
+package edu.dosw.rideci.domain.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compartimento de ejecución de un suscriptor aislado.
+ *
+ * Es un pool acotado de hilos con cola acotada: el carril entrega el evento
+ * y sigue sin esperar, y cuando el compartimento está lleno el evento se
+ * rechaza en lugar de bloquear el carril.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+final class SubscriberBulkhead {
+
+    private final ThreadPoolExecutor executor;
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param name      Nombre del suscriptor, usado en los hilos.
+     * @param isolation Concurrencia y capacidad de la cola.
+     */
+    SubscriberBulkhead(String name, SubscriberIsolation isolation) {
+        BlockingQueue<Runnable> queue = isolation.getQueueCapacity() == 0
+                ? new SynchronousQueue<>()
+                : new ArrayBlockingQueue<>(isolation.getQueueCapacity());
+        this.executor = new ThreadPoolExecutor(isolation.getConcurrency(), isolation.getConcurrency(),
+                60, TimeUnit.SECONDS, queue, threadFactory(name), new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Entrega un evento al compartimento sin esperar.
+     *
+     * @param delivery Entrega a ejecutar.
+     * @return {@code false} si el compartimento está lleno y la entrega se rechazó.
+     */
+    boolean submit(Delivery delivery) {
+        try {
+            executor.execute(delivery);
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return false;
+        }
+    }
+
+    /** @return Eventos esperando un hilo libre. */
+    int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /** @return Eventos en ejecución. */
+    int active() {
+        return executor.getActiveCount();
+    }
+
+    /** @return Eventos rechazados desde el arranque. */
+    long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Deja de aceptar entregas y termina las ya aceptadas en segundo plano.
+     */
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Detiene el compartimento interrumpiendo las entregas en curso.
+     *
+     * @param timeoutMillis Tiempo máximo de espera a que terminen los hilos.
+     * @return Eventos que no llegaron a ejecutarse.
+     */
+    List<EventEnvelope> shutdownNow(long timeoutMillis) {
+        List<EventEnvelope> remaining = new ArrayList<>();
+        for (Runnable task : executor.shutdownNow()) {
+            remaining.add(((Delivery) task).envelope());
+        }
+        try {
+            executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return remaining;
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "notification-" + name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Entrega de un evento al suscriptor dentro del compartimento.
+     *
+     * @param envelope Evento a entregar.
+     * @param action   Acción que entrega el evento y lo da por completado.
+     */
+    record Delivery(EventEnvelope envelope, Runnable action) implements Runnable {
+
+        @Override
+        public void run() {
+            action.run();
+        }
+    }
+}
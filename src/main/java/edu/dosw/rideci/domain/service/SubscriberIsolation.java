@@ -0,0 +1,65 @@
+package edu.dosw.rideci.domain.service;
+
+import lombok.Getter;
+
+/**
+ * Forma en que el {@link EventBus} ejecuta un {@link NotificationSubscriber}.
+ *
+ * Por defecto los suscriptores se ejecutan en el hilo del carril. Un
+ * suscriptor lento (por ejemplo, uno que llama a un proveedor externo) puede
+ * declarar un compartimento propio con un número máximo de ejecuciones
+ * concurrentes y una cola acotada, de modo que su latencia no retrase a los
+ * demás suscriptores ni al carril.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Getter
+public final class SubscriberIsolation {
+
+    private static final SubscriberIsolation INLINE = new SubscriberIsolation(0, 0);
+
+    /** Ejecuciones concurrentes permitidas; cero si se ejecuta en el hilo del carril. */
+    private final int concurrency;
+
+    /** Eventos que pueden esperar a ser ejecutados antes de rechazar nuevos. */
+    private final int queueCapacity;
+
+    private SubscriberIsolation(int concurrency, int queueCapacity) {
+        this.concurrency = concurrency;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * El suscriptor se ejecuta en el hilo del carril.
+     *
+     * @return Ejecución sin aislamiento.
+     */
+    public static SubscriberIsolation inline() {
+        return INLINE;
+    }
+
+    /**
+     * El suscriptor se ejecuta en un compartimento propio.
+     *
+     * @param concurrency   Ejecuciones concurrentes permitidas.
+     * @param queueCapacity Eventos que pueden esperar; al superarse se rechazan.
+     * @return Configuración del compartimento.
+     */
+    public static SubscriberIsolation bulkhead(int concurrency, int queueCapacity) {
+        if (concurrency < 1 || queueCapacity < 0) {
+            throw new IllegalArgumentException("Invalid bulkhead: concurrency=" + concurrency
+                    + ", queueCapacity=" + queueCapacity);
+        }
+        return new SubscriberIsolation(concurrency, queueCapacity);
+    }
+
+    /**
+     * Indica si el suscriptor se ejecuta en un compartimento propio.
+     *
+     * @return {@code true} si tiene compartimento.
+     */
+    public boolean isIsolated() {
+        return concurrency > 0;
+    }
+}
@@ -0,0 +1,14 @@
+package edu.dosw.rideci.domain.service;
+
+/**
+ * Métricas de un suscriptor del {@link EventBus}.
+ *
+ * @param inFlight   Eventos entregados que aún no terminan, incluidos los que esperan en cola.
+ * @param queueDepth Eventos esperando en la cola propia del suscriptor (compartimento o lotes).
+ * @param rejected   Eventos rechazados por tener su compartimento lleno.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public record SubscriberMetrics(int inFlight, int queueDepth, long rejected) {
+}
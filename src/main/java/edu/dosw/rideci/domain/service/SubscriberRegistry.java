@@ -0,0 +1,184 @@
+package edu.dosw.rideci.domain.service;
+
+import edu.dosw.rideci.domain.model.Enum.NotificationType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registro inmutable de las suscripciones del {@link EventBus}, indexado por
+ * el ordinal de {@link NotificationType}.
+ *
+ * Cada alta o baja produce un registro nuevo que el bus publica con una
+ * operación atómica, de modo que los hilos de despacho leen las
+ * suscripciones de un tipo con un solo acceso a un arreglo, sin bloqueos
+ * y sin riesgo de modificaciones concurrentes.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+final class SubscriberRegistry {
+
+    private static final NotificationType[] TYPES = NotificationType.values();
+    private static final Subscription[] NONE = new Subscription[0];
+
+    /** Registro sin suscripciones. */
+    static final SubscriberRegistry EMPTY = new SubscriberRegistry(emptyIndex());
+
+    private final Subscription[][] byType;
+
+    private SubscriberRegistry(Subscription[][] byType) {
+        this.byType = byType;
+    }
+
+    /**
+     * Suscripciones de un tipo de evento. El arreglo es compartido y no debe modificarse.
+     *
+     * @param type Tipo de evento.
+     * @return Suscripciones registradas, vacío si no hay o si el tipo es {@code null}.
+     */
+    Subscription[] subscriptionsFor(NotificationType type) {
+        return type == null ? NONE : byType[type.ordinal()];
+    }
+
+    /**
+     * Busca la suscripción existente de un suscriptor en cualquier tipo de evento.
+     *
+     * @param subscriber Suscriptor a buscar.
+     * @return Su suscripción, o {@code null} si no está registrado.
+     */
+    Subscription find(NotificationSubscriber subscriber) {
+        for (Subscription[] subscriptions : byType) {
+            for (Subscription subscription : subscriptions) {
+                if (subscription.subscriber() == subscriber) {
+                    return subscription;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Todas las suscripciones distintas del registro.
+     *
+     * @return Suscripciones, cada una una sola vez.
+     */
+    List<Subscription> all() {
+        Map<Subscription, Boolean> seen = new IdentityHashMap<>();
+        List<Subscription> all = new ArrayList<>();
+        for (Subscription[] subscriptions : byType) {
+            for (Subscription subscription : subscriptions) {
+                if (seen.put(subscription, Boolean.TRUE) == null) {
+                    all.add(subscription);
+                }
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Crea un registro con una suscripción adicional para un tipo de evento.
+     *
+     * @param type         Tipo de evento.
+     * @param subscription Suscripción a agregar.
+     * @return Registro nuevo, o este mismo si el suscriptor ya estaba registrado para ese tipo.
+     */
+    SubscriberRegistry with(NotificationType type, Subscription subscription) {
+        Subscription[] current = byType[type.ordinal()];
+        for (Subscription existing : current) {
+            if (existing.subscriber() == subscription.subscriber()) {
+                return this;
+            }
+        }
+        Subscription[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = subscription;
+        return replace(type, updated);
+    }
+
+    /**
+     * Crea un registro sin la suscripción de un suscriptor para un tipo de evento.
+     *
+     * @param type       Tipo de evento.
+     * @param subscriber Suscriptor a retirar.
+     * @return Registro nuevo, o este mismo si el suscriptor no estaba registrado para ese tipo.
+     */
+    SubscriberRegistry without(NotificationType type, NotificationSubscriber subscriber) {
+        Subscription[] current = byType[type.ordinal()];
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].subscriber() == subscriber) {
+                Subscription[] updated = new Subscription[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                return replace(type, updated);
+            }
+        }
+        return this;
+    }
+
+    private SubscriberRegistry replace(NotificationType type, Subscription[] subscriptions) {
+        Subscription[][] copy = byType.clone();
+        copy[type.ordinal()] = subscriptions.length == 0 ? NONE : subscriptions;
+        return new SubscriberRegistry(copy);
+    }
+
+    private static Subscription[][] emptyIndex() {
+        Subscription[][] index = new Subscription[TYPES.length][];
+        Arrays.fill(index, NONE);
+        return index;
+    }
+
+    /**
+     * Suscriptor registrado junto con su forma de ejecución y su contador de
+     * eventos en curso.
+     *
+     * @param subscriber Suscriptor.
+     * @param dispatcher Despachador de lotes, o {@code null} si recibe los eventos uno por uno.
+     * @param bulkhead   Compartimento propio, o {@code null} si se ejecuta en el hilo del carril.
+     * @param inFlight   Eventos entregados al suscriptor que aún no terminan.
+     */
+    record Subscription(NotificationSubscriber subscriber, BatchDispatcher dispatcher,
+                        SubscriberBulkhead bulkhead, AtomicInteger inFlight) {
+
+        Subscription(NotificationSubscriber subscriber, BatchDispatcher dispatcher, SubscriberBulkhead bulkhead) {
+            this(subscriber, dispatcher, bulkhead, new AtomicInteger());
+        }
+
+        /**
+         * Eventos entregados al suscriptor que aún no terminan.
+         *
+         * @return Eventos en curso, incluidos los que esperan en su cola propia.
+         */
+        int pending() {
+            return dispatcher != null ? dispatcher.inFlight() : inFlight.get();
+        }
+
+        /**
+         * Métricas actuales del suscriptor.
+         *
+         * @return Eventos en curso, profundidad de su cola propia y rechazos.
+         */
+        SubscriberMetrics metrics() {
+            int queueDepth = dispatcher != null ? dispatcher.size()
+                    : bulkhead != null ? bulkhead.queueDepth() : 0;
+            long rejected = bulkhead != null ? bulkhead.rejected() : 0;
+            return new SubscriberMetrics(pending(), queueDepth, rejected);
+        }
+
+        /**
+         * Libera el despachador o compartimento del suscriptor; los eventos
+         * que ya tenían aceptados se terminan de entregar.
+         */
+        void close() {
+            if (dispatcher != null) {
+                dispatcher.stop();
+            }
+            if (bulkhead != null) {
+                bulkhead.shutdown();
+            }
+        }
+    }
+}
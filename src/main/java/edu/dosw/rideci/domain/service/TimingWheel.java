@@ -0,0 +1,362 @@
+package edu.dosw.rideci.domain.service;
+
+import edu.dosw.rideci.domain.model.NotificationEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Rueda de temporizadores jerárquica para las entregas diferidas del {@link EventBus}.
+ *
+ * El tiempo se divide en ticks de duración fija. La rueda tiene
+ * {@value #LEVELS} niveles de {@value #SLOTS} casillas: el primero cubre los
+ * próximos {@value #SLOTS} ticks con una casilla por tick y cada nivel
+ * siguiente cubre un rango {@value #SLOTS} veces mayor. Un temporizador se
+ * guarda en la casilla del nivel que corresponde a su distancia y baja de
+ * nivel (cascada) cuando la rueda inferior da la vuelta, de modo que
+ * programar, cancelar y vencer cuestan O(1) sin importar cuántos
+ * temporizadores haya pendientes.
+ *
+ * Las altas y cancelaciones se encolan sin bloqueo y las aplica el hilo de
+ * la rueda en cada tick, que es el único que toca las casillas.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Slf4j
+final class TimingWheel {
+
+    private static final int BITS = 8;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    /** Distancia máxima en ticks que cubre la rueda. */
+    private static final long SPAN = 1L << (BITS * LEVELS);
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int DELIVERED = 2;
+
+    private final long tickNanos;
+    private final long retryTicks;
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    private final Predicate<NotificationEvent> onExpired;
+
+    private final Slot[][] wheel = new Slot[LEVELS][SLOTS];
+    private final Queue<Timer> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<Timer> cancellations = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /** Próximo tick a procesar; solo lo usa el hilo de la rueda. */
+    private long currentTick;
+
+    private Thread worker;
+    private volatile boolean running;
+
+    /**
+     * @param tick       Duración de cada tick; es la precisión de las entregas.
+     * @param retryDelay Espera antes de volver a intentar una entrega rechazada por el bus.
+     * @param nanoClock  Reloj monótono en nanosegundos.
+     * @param onExpired  Acción con cada evento vencido; devuelve {@code false} si no pudo publicarse.
+     */
+    TimingWheel(Duration tick, Duration retryDelay, LongSupplier nanoClock, Predicate<NotificationEvent> onExpired) {
+        this.tickNanos = Math.max(1, tick.toNanos());
+        this.retryTicks = Math.max(1, retryDelay.toNanos() / tickNanos);
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+        this.onExpired = onExpired;
+        for (Slot[] level : wheel) {
+            for (int i = 0; i < SLOTS; i++) {
+                level[i] = new Slot();
+            }
+        }
+    }
+
+    /**
+     * Programa la publicación de un evento.
+     *
+     * @param event     Evento a publicar.
+     * @param deliverAt Momento de la publicación; si ya pasó, se publica en el siguiente tick.
+     * @return Manejador para consultar o cancelar la entrega.
+     */
+    ScheduledEvent schedule(NotificationEvent event, Instant deliverAt) {
+        long delay = saturatedNanos(Duration.between(Instant.now(), deliverAt));
+        long elapsed = nanoClock.getAsLong() - startNanos + Math.max(0, delay);
+        Timer timer = new Timer(event, deliverAt, Math.max(0, ceilDiv(elapsed, tickNanos)));
+        pending.incrementAndGet();
+        additions.add(timer);
+        return timer;
+    }
+
+    /**
+     * @return Entregas programadas que aún no se publican ni se cancelan.
+     */
+    int size() {
+        return pending.get();
+    }
+
+    /**
+     * Arranca el hilo de la rueda.
+     *
+     * @param threadName Nombre del hilo.
+     */
+    synchronized void start(String threadName) {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, threadName);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Detiene el hilo de la rueda. Los temporizadores pendientes se conservan
+     * y vencen al arrancar de nuevo.
+     */
+    synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        worker = null;
+    }
+
+    /**
+     * Procesa los ticks transcurridos hasta ahora: aplica altas y
+     * cancelaciones, baja los temporizadores de nivel y publica los vencidos.
+     * Lo invoca el hilo de la rueda; también se usa en pruebas sin arrancarlo.
+     */
+    void advance() {
+        Timer timer;
+        while ((timer = cancellations.poll()) != null) {
+            if (timer.slot != null) {
+                timer.slot.remove(timer);
+            }
+        }
+        while ((timer = additions.poll()) != null) {
+            if (timer.state.get() == PENDING) {
+                place(timer);
+            }
+        }
+        long targetTick = Math.floorDiv(nanoClock.getAsLong() - startNanos, tickNanos);
+        while (currentTick <= targetTick) {
+            int index = (int) (currentTick & MASK);
+            if (index == 0) {
+                for (int level = 1; level < LEVELS; level++) {
+                    int slot = (int) ((currentTick >>> (BITS * level)) & MASK);
+                    cascade(wheel[level][slot]);
+                    if (slot != 0) {
+                        break;
+                    }
+                }
+            }
+            expire(wheel[0][index]);
+            currentTick++;
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long sleep = startNanos + currentTick * tickNanos - nanoClock.getAsLong();
+            if (sleep > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+            try {
+                advance();
+            } catch (RuntimeException e) {
+                log.error("Error procesando la rueda de temporizadores", e);
+            }
+        }
+    }
+
+    /**
+     * Ubica un temporizador en la casilla que corresponde a su distancia al tick actual.
+     */
+    private void place(Timer timer) {
+        long deadline = timer.deadlineTick;
+        long distance = deadline - currentTick;
+        if (distance < 0) {
+            fire(timer);
+            return;
+        }
+        if (distance >= SPAN) {
+            deadline = currentTick + SPAN - 1;
+            distance = SPAN - 1;
+        }
+        int level = 0;
+        while (distance >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        wheel[level][(int) ((deadline >>> (BITS * level)) & MASK)].add(timer);
+    }
+
+    private void cascade(Slot slot) {
+        Timer timer = slot.detach();
+        while (timer != null) {
+            Timer next = timer.next;
+            timer.next = null;
+            timer.prev = null;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    private void expire(Slot slot) {
+        Timer timer = slot.detach();
+        while (timer != null) {
+            Timer next = timer.next;
+            timer.next = null;
+            timer.prev = null;
+            if (timer.deadlineTick > currentTick) {
+                place(timer);
+            } else {
+                fire(timer);
+            }
+            timer = next;
+        }
+    }
+
+    private void fire(Timer timer) {
+        if (!timer.state.compareAndSet(PENDING, DELIVERED)) {
+            return;
+        }
+        pending.decrementAndGet();
+        boolean published;
+        try {
+            published = onExpired.test(timer.event);
+        } catch (RuntimeException e) {
+            log.error("Error publicando el evento programado {}", timer.event.getEventId(), e);
+            published = true;
+        }
+        if (!published) {
+            timer.state.set(PENDING);
+            pending.incrementAndGet();
+            timer.deadlineTick = currentTick + retryTicks;
+            place(timer);
+        }
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return duration.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE / 2;
+        }
+    }
+
+    /** Lista doblemente enlazada de los temporizadores de una casilla. */
+    private static final class Slot {
+        private Timer head;
+        private Timer tail;
+
+        void add(Timer timer) {
+            timer.slot = this;
+            timer.prev = tail;
+            timer.next = null;
+            if (tail == null) {
+                head = timer;
+            } else {
+                tail.next = timer;
+            }
+            tail = timer;
+        }
+
+        void remove(Timer timer) {
+            if (timer.prev == null) {
+                head = timer.next;
+            } else {
+                timer.prev.next = timer.next;
+            }
+            if (timer.next == null) {
+                tail = timer.prev;
+            } else {
+                timer.next.prev = timer.prev;
+            }
+            timer.prev = null;
+            timer.next = null;
+            timer.slot = null;
+        }
+
+        /** Vacía la casilla y devuelve el primero de sus temporizadores, aún enlazados entre sí. */
+        Timer detach() {
+            Timer first = head;
+            for (Timer timer = first; timer != null; timer = timer.next) {
+                timer.slot = null;
+            }
+            head = null;
+            tail = null;
+            return first;
+        }
+    }
+
+    /** Temporizador de una entrega programada. */
+    private final class Timer implements ScheduledEvent {
+        private final NotificationEvent event;
+        private final Instant deliverAt;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private long deadlineTick;
+        private Timer prev;
+        private Timer next;
+        private Slot slot;
+
+        private Timer(NotificationEvent event, Instant deliverAt, long deadlineTick) {
+            this.event = event;
+            this.deliverAt = deliverAt;
+            this.deadlineTick = deadlineTick;
+        }
+
+        @Override
+        public NotificationEvent event() {
+            return event;
+        }
+
+        @Override
+        public Instant deliverAt() {
+            return deliverAt;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            pending.decrementAndGet();
+            cancellations.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        @Override
+        public boolean isDelivered() {
+            return state.get() == DELIVERED;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package edu.dosw.rideci.exceptions;
+
+import edu.dosw.rideci.domain.model.NotificationEvent;
+
+import java.util.List;
+
+public class BatchDeliveryException extends RuntimeException {
+
+    private final transient List<Failure> failures;
+
+    public BatchDeliveryException(String message, List<Failure> failures) {
+        super(message);
+        this.failures = List.copyOf(failures);
+    }
+
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    public record Failure(NotificationEvent event, Exception cause) {
+    }
+}
@@ -0,0 +1,8 @@
+package edu.dosw.rideci.exceptions;
+
+public class EmailOutboxFullException extends RuntimeException {
+
+    public EmailOutboxFullException(String message) {
+        super(message);
+    }
+}
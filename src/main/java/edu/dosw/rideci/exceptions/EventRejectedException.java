@@ -0,0 +1,8 @@
+package edu.dosw.rideci.exceptions;
+
+public class EventRejectedException extends RuntimeException {
+
+    public EventRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package edu.dosw.rideci.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
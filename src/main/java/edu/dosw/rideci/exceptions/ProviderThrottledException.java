@@ -0,0 +1,17 @@
+package edu.dosw.rideci.exceptions;
+
+import java.time.Instant;
+
+public class ProviderThrottledException extends RuntimeException {
+
+    private final Instant retryAt;
+
+    public ProviderThrottledException(String message, Instant retryAt) {
+        super(message);
+        this.retryAt = retryAt;
+    }
+
+    public Instant getRetryAt() {
+        return retryAt;
+    }
+}
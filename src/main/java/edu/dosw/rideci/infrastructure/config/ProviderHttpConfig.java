@@ -0,0 +1,46 @@
+package edu.dosw.rideci.infrastructure.config;
+
+import edu.dosw.rideci.infrastructure.notification.ProviderHttpProperties;
+import edu.dosw.rideci.infrastructure.notification.RouteConnectionLimiter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+
+/**
+ * Transporte HTTP compartido para las llamadas a proveedores externos.
+ *
+ * Usa el {@link HttpClient} del JDK, que mantiene un pool de conexiones
+ * persistentes (keep-alive) y negocia HTTP/2 cuando el servidor lo soporta,
+ * con tiempos máximos de conexión y de respuesta explícitos. Un
+ * {@link RouteConnectionLimiter} acota las peticiones simultáneas por
+ * destino y expone el uso de las conexiones.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Configuration
+public class ProviderHttpConfig {
+
+    @Bean
+    public RouteConnectionLimiter providerConnectionLimiter(ProviderHttpProperties properties) {
+        return new RouteConnectionLimiter(properties.getMaxConnectionsPerRoute(), properties.getAcquireTimeout());
+    }
+
+    @Bean
+    public RestTemplate providerRestTemplate(ProviderHttpProperties properties, RouteConnectionLimiter providerConnectionLimiter) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(properties.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(providerConnectionLimiter);
+        return restTemplate;
+    }
+}
@@ -0,0 +1,111 @@
+package edu.dosw.rideci.infrastructure.controller;
+
+import edu.dosw.rideci.application.port.in.ManageDeadLettersUseCase;
+import edu.dosw.rideci.domain.model.DeadLetter;
+import edu.dosw.rideci.domain.model.Enum.DeadLetterStatus;
+import edu.dosw.rideci.infrastructure.controller.dto.Response.DeadLetterResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Controlador administrativo para consultar, reprocesar y purgar las
+ * entregas fallidas del bus de eventos.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/v1/admin/dead-letters")
+@RequiredArgsConstructor
+public class DeadLetterAdminController {
+
+    private final ManageDeadLettersUseCase manageDeadLettersUseCase;
+
+    /**
+     * Lista las dead letters, opcionalmente filtradas por estado.
+     *
+     * @param status Estado por el que filtrar.
+     * @return Dead letters ordenadas por fecha del primer fallo.
+     */
+    @GetMapping
+    public ResponseEntity<List<DeadLetterResponse>> listDeadLetters(
+            @RequestParam(required = false) DeadLetterStatus status
+    ) {
+        return ResponseEntity.ok(manageDeadLettersUseCase.listDeadLetters(status).stream()
+                .map(DeadLetterAdminController::toResponse)
+                .toList());
+    }
+
+    /**
+     * Obtiene una dead letter.
+     *
+     * @param id Identificador de la dead letter.
+     * @return Dead letter encontrada.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<DeadLetterResponse> getDeadLetter(@PathVariable UUID id) {
+        return ResponseEntity.ok(toResponse(manageDeadLettersUseCase.getDeadLetter(id)));
+    }
+
+    /**
+     * Reintenta de inmediato una entrega fallida.
+     *
+     * @param id Identificador de la dead letter.
+     * @return 204 si la entrega tuvo éxito, o 202 con la dead letter si volvió a fallar.
+     */
+    @PostMapping("/{id}/replay")
+    public ResponseEntity<DeadLetterResponse> replayDeadLetter(@PathVariable UUID id) {
+        if (manageDeadLettersUseCase.replayDeadLetter(id)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(toResponse(manageDeadLettersUseCase.getDeadLetter(id)));
+    }
+
+    /**
+     * Elimina una dead letter.
+     *
+     * @param id Identificador de la dead letter.
+     * @return 204 al eliminarla.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteDeadLetter(@PathVariable UUID id) {
+        manageDeadLettersUseCase.deleteDeadLetter(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Purga las dead letters de un estado, o todas.
+     *
+     * @param status Estado a purgar.
+     * @return Número de dead letters eliminadas.
+     */
+    @DeleteMapping
+    public ResponseEntity<Map<String, Integer>> purgeDeadLetters(
+            @RequestParam(required = false) DeadLetterStatus status
+    ) {
+        return ResponseEntity.ok(Map.of("purged", manageDeadLettersUseCase.purgeDeadLetters(status)));
+    }
+
+    private static DeadLetterResponse toResponse(DeadLetter deadLetter) {
+        return DeadLetterResponse.builder()
+                .id(deadLetter.getId())
+                .eventId(deadLetter.getEvent().getEventId())
+                .eventType(deadLetter.getEvent().getEventType())
+                .userId(deadLetter.getEvent().getUserId())
+                .subscriberName(deadLetter.getSubscriberName())
+                .attempts(deadLetter.getAttempts())
+                .lastError(deadLetter.getLastError())
+                .firstFailedAt(deadLetter.getFirstFailedAt())
+                .lastFailedAt(deadLetter.getLastFailedAt())
+                .nextAttemptAt(deadLetter.getNextAttemptAt())
+                .status(deadLetter.getStatus())
+                .build();
+    }
+}
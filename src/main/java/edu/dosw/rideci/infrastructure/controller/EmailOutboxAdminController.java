@@ -0,0 +1,99 @@
+package edu.dosw.rideci.infrastructure.controller;
+
+import edu.dosw.rideci.domain.model.Enum.OutboxEmailStatus;
+import edu.dosw.rideci.domain.model.OutboxEmail;
+import edu.dosw.rideci.infrastructure.controller.dto.Response.OutboxEmailResponse;
+import edu.dosw.rideci.infrastructure.notification.EmailLaneMetrics;
+import edu.dosw.rideci.infrastructure.notification.EmailOutboxDispatcher;
+import edu.dosw.rideci.infrastructure.notification.EmailOutboxStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Controlador administrativo para consultar el outbox de correos y
+ * reintentar los envíos fallidos.
+ *
+ * @author RideECI
+ * @version 1.1
+ */
+@RestController
+@RequestMapping("/api/v1/admin/email-outbox")
+@RequiredArgsConstructor
+public class EmailOutboxAdminController {
+
+    private final EmailOutboxDispatcher emailOutboxDispatcher;
+
+    /**
+     * Devuelve la profundidad del outbox por estado y la antigüedad del
+     * correo más viejo sin enviar.
+     *
+     * @return Estadísticas del outbox.
+     */
+    @GetMapping
+    public ResponseEntity<EmailOutboxStats> getStats() {
+        return ResponseEntity.ok(emailOutboxDispatcher.stats());
+    }
+
+    /**
+     * Devuelve, por prioridad, los envíos en curso, los correos sin enviar
+     * frente a la capacidad y los contadores de envíos, reintentos, fallos
+     * y desbordes.
+     *
+     * @return Métricas de cada prioridad.
+     */
+    @GetMapping("/lanes")
+    public ResponseEntity<List<EmailLaneMetrics>> getLaneMetrics() {
+        return ResponseEntity.ok(emailOutboxDispatcher.laneMetrics());
+    }
+
+    /**
+     * Lista los correos del outbox, opcionalmente filtrados por estado.
+     *
+     * @param status Estado por el que filtrar.
+     * @return Correos ordenados por fecha de registro.
+     */
+    @GetMapping("/emails")
+    public ResponseEntity<List<OutboxEmailResponse>> listEmails(
+            @RequestParam(required = false) OutboxEmailStatus status
+    ) {
+        return ResponseEntity.ok(emailOutboxDispatcher.list(status).stream()
+                .map(EmailOutboxAdminController::toResponse)
+                .toList());
+    }
+
+    /**
+     * Vuelve a poner en cola un correo fallido o pendiente.
+     *
+     * @param id Identificador del correo.
+     * @return 202 si quedó en cola, o 409 si se está enviando.
+     */
+    @PostMapping("/emails/{id}/retry")
+    public ResponseEntity<Void> retryEmail(@PathVariable UUID id) {
+        return ResponseEntity.status(emailOutboxDispatcher.retry(id) ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT).build();
+    }
+
+    private static OutboxEmailResponse toResponse(OutboxEmail email) {
+        return OutboxEmailResponse.builder()
+                .id(email.getId())
+                .notificationId(email.getNotificationId())
+                .destinationEmail(email.getDestinationEmail())
+                .subject(email.getSubject())
+                .priority(email.getPriority())
+                .attempts(email.getAttempts())
+                .lastError(email.getLastError())
+                .createdAt(email.getCreatedAt())
+                .nextAttemptAt(email.getNextAttemptAt())
+                .status(email.getStatus())
+                .build();
+    }
+}
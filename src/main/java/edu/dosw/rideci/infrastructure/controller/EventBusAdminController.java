@@ -0,0 +1,46 @@
+package edu.dosw.rideci.infrastructure.controller;
+
+import edu.dosw.rideci.application.port.in.ReceiveExternalEventUseCase;
+import edu.dosw.rideci.domain.service.EventBus;
+import edu.dosw.rideci.infrastructure.controller.dto.Response.EventBusStatusResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador administrativo para consultar el estado del bus de eventos.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/v1/admin/event-bus")
+@RequiredArgsConstructor
+public class EventBusAdminController {
+
+    private final EventBus eventBus;
+    private final ReceiveExternalEventUseCase receiveExternalEventUseCase;
+
+    /**
+     * Devuelve el estado actual del bus: colas, métricas por suscriptor
+     * contadores de desborde y de eventos duplicados.
+     *
+     * @return Estado del bus.
+     */
+    @GetMapping
+    public ResponseEntity<EventBusStatusResponse> getStatus() {
+        return ResponseEntity.ok(EventBusStatusResponse.builder()
+                .running(eventBus.isRunning())
+                .lanes(eventBus.getLaneCount())
+                .queueSize(eventBus.getQueueSize())
+                .queueSizeByPriority(eventBus.getQueueSizeByPriority())
+                .subscribers(eventBus.getSubscriberMetrics())
+                .scheduled(eventBus.getScheduledCount())
+                .dropped(eventBus.getDroppedCount())
+                .rejected(eventBus.getRejectedCount())
+                .dedupe(receiveExternalEventUseCase.getDedupeMetrics())
+                .build());
+    }
+}
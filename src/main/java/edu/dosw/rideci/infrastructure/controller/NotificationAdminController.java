@@ -0,0 +1,34 @@
+package edu.dosw.rideci.infrastructure.controller;
+
+import edu.dosw.rideci.application.port.in.GetUserNotificationsUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Controlador administrativo para el mantenimiento del almacén de notificaciones.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/v1/admin/notifications")
+@RequiredArgsConstructor
+public class NotificationAdminController {
+
+    private final GetUserNotificationsUseCase getUserNotificationsUseCase;
+
+    /**
+     * Recalcula desde el almacén los contadores de notificaciones no leídas.
+     *
+     * @return Número de usuarios con notificaciones no leídas.
+     */
+    @PostMapping("/unread-counters/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildUnreadCounters() {
+        return ResponseEntity.ok(Map.of("users", getUserNotificationsUseCase.rebuildUnreadCounts()));
+    }
+}
@@ -1,12 +1,19 @@
 package edu.dosw.rideci.infrastructure.controller;
 
+import edu.dosw.rideci.application.port.in.GetUserNotificationsUseCase;
+import edu.dosw.rideci.application.port.in.MarkNotificationAsReadUseCase;
 import edu.dosw.rideci.application.service.InAppNotificationApplicationService;
 import edu.dosw.rideci.domain.model.InAppNotification;
+import edu.dosw.rideci.domain.model.NotificationPage;
+import edu.dosw.rideci.infrastructure.controller.dto.NotificationDtoMapper;
+import edu.dosw.rideci.infrastructure.controller.dto.Response.NotificationPageResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/notifications")
@@ -14,6 +21,8 @@ import java.util.List;
 public class NotificationController {
 
     private final InAppNotificationApplicationService notificationService;
+    private final GetUserNotificationsUseCase getUserNotificationsUseCase;
+    private final MarkNotificationAsReadUseCase markNotificationAsReadUseCase;
 
     @PostMapping
     public ResponseEntity<InAppNotification> create(@RequestBody InAppNotification request) {
@@ -26,6 +35,56 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.list());
     }
 
+    /**
+     * Devuelve una página de la bandeja de un usuario, de la más reciente a la
+     * más antigua. Para la página siguiente se envía el {@code nextCursor} recibido.
+     *
+     * @param userId Identificador del usuario.
+     * @param cursor Cursor opaco de la página anterior; se omite para la primera.
+     * @param limit  Tamaño de página (máximo 100).
+     * @return Página de notificaciones.
+     */
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<NotificationPageResponse> listForUser(@PathVariable UUID userId,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "20") int limit) {
+        NotificationPage page = getUserNotificationsUseCase.getNotificationsPage(userId, cursor, limit);
+        return ResponseEntity.ok(NotificationPageResponse.builder()
+                .items(page.getItems().stream().map(NotificationDtoMapper::toResponse).toList())
+                .nextCursor(page.getNextCursor())
+                .hasMore(page.isHasMore())
+                .build());
+    }
+
+    /**
+     * Devuelve el número de notificaciones no leídas de un usuario, para el
+     * contador de la aplicación.
+     *
+     * @param userId Identificador del usuario.
+     * @return Usuario y número de notificaciones no leídas.
+     */
+    @GetMapping("/users/{userId}/unread-count")
+    public ResponseEntity<Map<String, Object>> unreadCount(@PathVariable UUID userId) {
+        return ResponseEntity.ok(Map.of(
+                "userId", userId,
+                "unread", getUserNotificationsUseCase.getUnreadCount(userId)
+        ));
+    }
+
+    /**
+     * Marca como leídas todas las notificaciones no leídas de un usuario.
+     *
+     * @param userId Identificador del usuario.
+     * @return Usuario y número de notificaciones marcadas.
+     */
+    @PatchMapping("/users/{userId}/read-all")
+    public ResponseEntity<Map<String, Object>> markAllAsRead(@PathVariable UUID userId) {
+        return ResponseEntity.ok(Map.of(
+                "userId", userId,
+                "marked", markNotificationAsReadUseCase.markAllAsRead(userId)
+        ));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<InAppNotification> get(@PathVariable String id) {
         return ResponseEntity.ok(notificationService.get(id));
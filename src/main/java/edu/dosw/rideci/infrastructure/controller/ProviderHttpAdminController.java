@@ -0,0 +1,52 @@
+package edu.dosw.rideci.infrastructure.controller;
+
+import edu.dosw.rideci.infrastructure.notification.ProviderRateLimitMetrics;
+import edu.dosw.rideci.infrastructure.notification.ProviderRateLimiter;
+import edu.dosw.rideci.infrastructure.notification.ProviderRouteMetrics;
+import edu.dosw.rideci.infrastructure.notification.RouteConnectionLimiter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controlador administrativo para consultar el uso de las conexiones HTTP
+ * hacia los proveedores externos y el límite de envíos de correo.
+ *
+ * @author RideECI
+ * @version 1.1
+ */
+@RestController
+@RequestMapping("/api/v1/admin/provider-http")
+@RequiredArgsConstructor
+public class ProviderHttpAdminController {
+
+    private final RouteConnectionLimiter providerConnectionLimiter;
+    private final ProviderRateLimiter providerRateLimiter;
+
+    /**
+     * Devuelve, por destino, las peticiones en curso frente al máximo
+     * permitido y los contadores de esperas y rechazos.
+     *
+     * @return Métricas de cada destino.
+     */
+    @GetMapping
+    public ResponseEntity<List<ProviderRouteMetrics>> getMetrics() {
+        return ResponseEntity.ok(providerConnectionLimiter.metrics());
+    }
+
+    /**
+     * Devuelve el estado del límite de envíos de correo: turnos disponibles,
+     * consumo de la cuota diaria, pausa por 429 en curso y envíos esperando
+     * o aplazados por prioridad.
+     *
+     * @return Métricas del límite de envíos.
+     */
+    @GetMapping("/rate-limit")
+    public ResponseEntity<ProviderRateLimitMetrics> getRateLimit() {
+        return ResponseEntity.ok(providerRateLimiter.metrics());
+    }
+}
@@ -0,0 +1,55 @@
+package edu.dosw.rideci.infrastructure.controller.dto.Response;
+
+import edu.dosw.rideci.domain.model.Enum.DeadLetterStatus;
+import edu.dosw.rideci.domain.model.Enum.NotificationType;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * DTO de respuesta para una entrega fallida del bus de eventos.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Getter
+@Setter
+@Builder
+public class DeadLetterResponse {
+
+    /** Identificador de la dead letter. */
+    private UUID id;
+
+    /** Identificador del evento no entregado. */
+    private String eventId;
+
+    /** Tipo del evento no entregado. */
+    private NotificationType eventType;
+
+    /** Usuario asociado al evento. */
+    private String userId;
+
+    /** Suscriptor que no pudo procesar el evento. */
+    private String subscriberName;
+
+    /** Intentos de entrega fallidos. */
+    private int attempts;
+
+    /** Último error registrado. */
+    private String lastError;
+
+    /** Momento del primer fallo. */
+    private Instant firstFailedAt;
+
+    /** Momento del último fallo. */
+    private Instant lastFailedAt;
+
+    /** Próximo reintento programado, si lo hay. */
+    private Instant nextAttemptAt;
+
+    /** Estado de la dead letter. */
+    private DeadLetterStatus status;
+}
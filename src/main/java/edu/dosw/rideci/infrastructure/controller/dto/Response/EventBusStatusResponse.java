@@ -0,0 +1,49 @@
+package edu.dosw.rideci.infrastructure.controller.dto.Response;
+
+import edu.dosw.rideci.domain.model.Enum.EventPriority;
+import edu.dosw.rideci.domain.service.DedupeMetrics;
+import edu.dosw.rideci.domain.service.SubscriberMetrics;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * DTO de respuesta con el estado operativo del bus de eventos.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Getter
+@Setter
+@Builder
+public class EventBusStatusResponse {
+
+    /** Indica si el bus está procesando eventos. */
+    private boolean running;
+
+    /** Número de carriles de procesamiento. */
+    private int lanes;
+
+    /** Eventos pendientes en todos los carriles y despachadores de lotes. */
+    private int queueSize;
+
+    /** Eventos pendientes por nivel de prioridad. */
+    private Map<EventPriority, Integer> queueSizeByPriority;
+
+    /** Eventos en curso, profundidad de cola y rechazos por suscriptor. */
+    private Map<String, SubscriberMetrics> subscribers;
+
+    /** Entregas programadas que aún no vencen. */
+    private int scheduled;
+
+    /** Eventos descartados por desborde desde el arranque. */
+    private long dropped;
+
+    /** Eventos rechazados por desborde desde el arranque. */
+    private long rejected;
+
+    /** Eventos externos duplicados descartados y nuevos admitidos. */
+    private DedupeMetrics dedupe;
+}
@@ -0,0 +1,28 @@
+package edu.dosw.rideci.infrastructure.controller.dto.Response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta con una página de la bandeja de notificaciones.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Getter
+@Setter
+@Builder
+public class NotificationPageResponse {
+
+    /** Notificaciones de la página, de la más reciente a la más antigua. */
+    private List<NotificationResponse> items;
+
+    /** Cursor para pedir la página siguiente, o {@code null} si es la última. */
+    private String nextCursor;
+
+    /** Indica si hay más notificaciones después de esta página. */
+    private boolean hasMore;
+}
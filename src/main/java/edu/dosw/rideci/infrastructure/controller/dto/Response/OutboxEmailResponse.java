@@ -0,0 +1,52 @@
+package edu.dosw.rideci.infrastructure.controller.dto.Response;
+
+import edu.dosw.rideci.domain.model.Enum.EventPriority;
+import edu.dosw.rideci.domain.model.Enum.OutboxEmailStatus;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * DTO de respuesta para un correo del outbox, sin su cuerpo.
+ *
+ * @author RideECI
+ * @version 1.1
+ */
+@Getter
+@Setter
+@Builder
+public class OutboxEmailResponse {
+
+    /** Identificador del correo en el outbox. */
+    private UUID id;
+
+    /** Notificación que originó el correo. */
+    private String notificationId;
+
+    /** Dirección de destino. */
+    private String destinationEmail;
+
+    /** Asunto del correo. */
+    private String subject;
+
+    /** Prioridad del correo. */
+    private EventPriority priority;
+
+    /** Intentos de envío fallidos. */
+    private int attempts;
+
+    /** Último error registrado. */
+    private String lastError;
+
+    /** Momento en que se registró el correo. */
+    private Instant createdAt;
+
+    /** Siguiente intento programado, si lo hay. */
+    private Instant nextAttemptAt;
+
+    /** Estado del correo. */
+    private OutboxEmailStatus status;
+}
@@ -1,5 +1,8 @@
 package edu.dosw.rideci.infrastructure.exceptions;
 
+import edu.dosw.rideci.exceptions.EmailOutboxFullException;
+import edu.dosw.rideci.exceptions.EventRejectedException;
+import edu.dosw.rideci.exceptions.InvalidCursorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
@@ -163,6 +166,61 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     }
 
 
+    /**
+     * Maneja cursores de paginación mal formados.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException ex, HttpServletRequest req) {
+        LOG.debug("Invalid cursor: {}", ex.getMessage());
+        ErrorResponse body = new ErrorResponse(
+                OffsetDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                HttpStatus.BAD_REQUEST.getReasonPhrase(),
+                ex.getMessage(),
+                req == null ? "" : req.getRequestURI(),
+                List.of()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    /**
+     * Maneja eventos rechazados por saturación del bus de eventos.
+     */
+    @ExceptionHandler(EventRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleEventRejected(EventRejectedException ex, HttpServletRequest req) {
+        LOG.warn("Event rejected: {}", ex.getMessage());
+        ErrorResponse body = new ErrorResponse(
+                OffsetDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                "Event bus saturated, retry later",
+                req == null ? "" : req.getRequestURI(),
+                List.of(ex.getMessage())
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
+    /**
+     * Maneja correos rechazados por saturación del outbox de correos.
+     */
+    @ExceptionHandler(EmailOutboxFullException.class)
+    public ResponseEntity<ErrorResponse> handleEmailOutboxFull(EmailOutboxFullException ex, HttpServletRequest req) {
+        LOG.warn("Email rejected: {}", ex.getMessage());
+        ErrorResponse body = new ErrorResponse(
+                OffsetDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                "Email outbox saturated, retry later",
+                req == null ? "" : req.getRequestURI(),
+                List.of(ex.getMessage())
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(body);
+    }
+
     /**
      * Maneja errores de acceso no autorizado.
      */
@@ -0,0 +1,36 @@
+package edu.dosw.rideci.infrastructure.journal;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Propiedades de configuración del journal durable del bus de eventos.
+ *
+ * Se enlazan desde {@code application.properties} bajo el prefijo
+ * {@code notifications.event-bus.journal}.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "notifications.event-bus.journal")
+public class EventJournalProperties {
+
+    /** Habilita el registro durable de los eventos publicados. */
+    private boolean enabled = false;
+
+    /** Directorio local en el que se guardan los segmentos del journal. */
+    private String directory = "data/event-journal";
+
+    /** Tamaño de cada segmento del journal. */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Archivo en el que se guardan los eventos sin despachar al detener el bus
+     * cuando el journal está deshabilitado.
+     */
+    private String spillFile = "data/event-bus-pending.jsonl";
+}
@@ -0,0 +1,99 @@
+package edu.dosw.rideci.infrastructure.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.dosw.rideci.domain.model.NotificationEvent;
+import edu.dosw.rideci.domain.service.PendingEventStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementación de {@link PendingEventStore} sobre un archivo local con
+ * un evento JSON por línea.
+ *
+ * Se usa cuando el journal durable está deshabilitado: al detenerse, el bus
+ * vuelca aquí los eventos que no alcanzó a despachar y al arrancar los
+ * vuelve a publicar.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "notifications.event-bus.journal", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class FilePendingEventStore implements PendingEventStore {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param properties   Configuración del journal, con la ruta del archivo de pendientes.
+     * @param objectMapper Mapper para serializar los eventos.
+     */
+    public FilePendingEventStore(EventJournalProperties properties, ObjectMapper objectMapper) {
+        this.file = Path.of(properties.getSpillFile());
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void store(List<NotificationEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                 BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8))) {
+                for (NotificationEvent event : events) {
+                    writer.write(objectMapper.writeValueAsString(event));
+                    writer.newLine();
+                }
+                writer.flush();
+                channel.force(true);
+            }
+            log.info("{} eventos pendientes guardados en {}", events.size(), file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot store pending events in " + file, e);
+        }
+    }
+
+    @Override
+    public List<NotificationEvent> load() {
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        List<NotificationEvent> events = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    events.add(objectMapper.readValue(line, NotificationEvent.class));
+                } catch (IOException e) {
+                    log.error("Evento pendiente ilegible en {}, se descarta: {}", file, line, e);
+                }
+            }
+            Files.delete(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load pending events from " + file, e);
+        }
+        return events;
+    }
+}
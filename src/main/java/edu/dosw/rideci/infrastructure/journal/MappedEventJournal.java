@@ -0,0 +1,176 @@
+package edu.dosw.rideci.infrastructure.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.dosw.rideci.domain.model.NotificationEvent;
+import edu.dosw.rideci.domain.service.EventJournal;
+import edu.dosw.rideci.infrastructure.storage.MappedSegmentLog;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementación de {@link EventJournal} sobre un {@link MappedSegmentLog} local.
+ *
+ * Cada evento publicado se anexa como un registro con su JSON y se fuerza
+ * a disco con commit agrupado antes de devolver su secuencia, que es la
+ * posición del registro. Las confirmaciones se anexan como registros de
+ * tipo ACK sin forzar: si se pierden en una caída, el evento solo vuelve a
+ * despacharse al arrancar.
+ *
+ * Un segmento se elimina cuando todos sus eventos y los de los segmentos
+ * anteriores están confirmados.
+ *
+ * Solo se activa con {@code notifications.event-bus.journal.enabled=true}.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "notifications.event-bus.journal", name = "enabled", havingValue = "true")
+public class MappedEventJournal implements EventJournal {
+
+    private static final byte APPEND = 1;
+    private static final byte ACK = 2;
+
+    private final ObjectMapper objectMapper;
+    private final MappedSegmentLog segmentLog;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Eventos sin confirmar por segmento. */
+    private final Map<Integer, Integer> outstanding = new HashMap<>();
+
+    /** Eventos de ejecuciones anteriores pendientes de recuperar. */
+    private Map<Long, byte[]> recovered;
+
+    /**
+     * Abre el journal y lee los eventos que quedaron sin confirmar.
+     *
+     * @param properties   Configuración del journal.
+     * @param objectMapper Mapper para serializar los eventos.
+     */
+    public MappedEventJournal(EventJournalProperties properties, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        try {
+            this.segmentLog = new MappedSegmentLog(Path.of(properties.getDirectory()),
+                    Math.toIntExact(properties.getSegmentSize().toBytes()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open event journal at " + properties.getDirectory(), e);
+        }
+        this.recovered = readPending();
+        recovered.keySet().forEach(sequence -> outstanding.merge(MappedSegmentLog.segmentOf(sequence), 1, Integer::sum));
+        log.info("Event journal opened at {} with {} pending events", properties.getDirectory(), recovered.size());
+    }
+
+    @Override
+    public long append(NotificationEvent event) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot serialize event " + event.getEventId(), e);
+        }
+        long sequence;
+        lock.lock();
+        try {
+            sequence = segmentLog.append(APPEND, json);
+            outstanding.merge(MappedSegmentLog.segmentOf(sequence), 1, Integer::sum);
+        } finally {
+            lock.unlock();
+        }
+        segmentLog.sync(sequence);
+        return sequence;
+    }
+
+    @Override
+    public void acknowledge(long sequence) {
+        segmentLog.append(ACK, ByteBuffer.allocate(Long.BYTES).putLong(sequence).array());
+        lock.lock();
+        try {
+            int segment = MappedSegmentLog.segmentOf(sequence);
+            Integer remaining = outstanding.computeIfPresent(segment, (k, count) -> count > 1 ? count - 1 : null);
+            if (remaining == null) {
+                deleteCompletedSegments();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Entry> recover() {
+        Map<Long, byte[]> pending;
+        lock.lock();
+        try {
+            pending = recovered;
+            recovered = Map.of();
+        } finally {
+            lock.unlock();
+        }
+        List<Entry> entries = new ArrayList<>(pending.size());
+        pending.forEach((sequence, json) -> {
+            try {
+                entries.add(new Entry(sequence, objectMapper.readValue(json, NotificationEvent.class)));
+            } catch (IOException e) {
+                log.error("Evento ilegible en el journal en la posición {}, se descarta", sequence, e);
+                acknowledge(sequence);
+            }
+        });
+        return entries;
+    }
+
+    /**
+     * Cierra el journal forzando a disco lo pendiente.
+     */
+    @PreDestroy
+    public void close() {
+        try {
+            segmentLog.close();
+        } catch (IOException e) {
+            log.warn("Error closing event journal", e);
+        }
+    }
+
+    /**
+     * Lee el registro completo y devuelve los eventos anexados que no tienen confirmación.
+     */
+    private Map<Long, byte[]> readPending() {
+        Map<Long, byte[]> pending = new LinkedHashMap<>();
+        segmentLog.replay((position, type, payload) -> {
+            if (type == APPEND) {
+                byte[] json = new byte[payload.remaining()];
+                payload.get(json);
+                pending.put(position, json);
+            } else if (type == ACK) {
+                pending.remove(payload.getLong(0));
+            }
+        });
+        return pending;
+    }
+
+    /**
+     * Elimina los segmentos cerrados del inicio del registro que ya no tienen
+     * eventos sin confirmar. Se invoca con {@code lock} tomado.
+     */
+    private void deleteCompletedSegments() {
+        int active = segmentLog.activeSegmentId();
+        for (int segment : segmentLog.segmentIds()) {
+            if (segment >= active || outstanding.containsKey(segment)) {
+                return;
+            }
+            segmentLog.deleteSegment(segment);
+        }
+    }
+}
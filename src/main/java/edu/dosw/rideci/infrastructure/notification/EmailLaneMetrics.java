@@ -0,0 +1,29 @@
+package edu.dosw.rideci.infrastructure.notification;
+
+import edu.dosw.rideci.domain.model.Enum.EmailOverflowPolicy;
+import edu.dosw.rideci.domain.model.Enum.EventPriority;
+
+/**
+ * Métricas de los despachadores de correos de un nivel de prioridad.
+ *
+ * @param priority   Nivel de prioridad.
+ * @param threads    Hilos despachadores del nivel.
+ * @param active     Envíos en curso.
+ * @param unsent     Correos en envío o pendientes con el siguiente intento vencido.
+ * @param scheduled  Correos pendientes cuyo siguiente intento aún no vence; no cuentan para la capacidad.
+ * @param capacity   Máximo de correos sin enviar, o 0 si no hay límite.
+ * @param overflow   Política al alcanzar la capacidad.
+ * @param sent       Correos enviados.
+ * @param retried    Envíos fallidos que quedaron para reintento.
+ * @param throttled  Envíos aplazados por el límite del proveedor, sin gastar intento.
+ * @param failed     Correos que agotaron sus intentos.
+ * @param callerRuns Correos enviados por el hilo que los registró por desborde.
+ * @param rejected   Correos rechazados por desborde.
+ *
+ * @author RideECI
+ * @version 1.2
+ */
+public record EmailLaneMetrics(EventPriority priority, int threads, int active, int unsent, int scheduled,
+                               int capacity, EmailOverflowPolicy overflow, long sent, long retried, long throttled,
+                               long failed, long callerRuns, long rejected) {
+}
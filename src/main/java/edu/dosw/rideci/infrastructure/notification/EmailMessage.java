@@ -0,0 +1,15 @@
+package edu.dosw.rideci.infrastructure.notification;
+
+/**
+ * Correo por registrar en el outbox como parte de un envío en bloque.
+ *
+ * @param notificationId   Notificación que originó el correo, si la hay.
+ * @param destinationEmail Dirección de destino.
+ * @param subject          Asunto.
+ * @param body             Cuerpo HTML.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public record EmailMessage(String notificationId, String destinationEmail, String subject, String body) {
+}
@@ -1,48 +1,98 @@
 package edu.dosw.rideci.infrastructure.notification;
 
+import edu.dosw.rideci.domain.model.Enum.EventPriority;
 import edu.dosw.rideci.domain.model.InAppNotification;
 import edu.dosw.rideci.domain.service.EmailNotificationSender;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class EmailNotificationSenderImpl implements EmailNotificationSender {
 
-    private final ZohoApiService zohoApiService;
+    private final EmailOutboxDispatcher emailOutboxDispatcher;
 
-    @Async
     @Override
     public void sendNotification(InAppNotification notification, String destinationEmail) {
         if (destinationEmail == null || destinationEmail.isBlank()) {
-            log.warn("No se envía correo: destinationEmail es null o vacío. Notificación id={}",
+            log.warn("No se encola correo: destinationEmail es null o vacío. Notificación id={}",
                     notification != null ? notification.getId() : null);
             return;
         }
 
         if (notification == null) {
-            log.warn("No se envía correo: InAppNotification es null para destino={}", destinationEmail);
+            log.warn("No se encola correo: InAppNotification es null para destino={}", destinationEmail);
             return;
         }
 
-        try {
-            String subject = buildSubject(notification);
-            String body = buildBody(notification);
+        UUID outboxId = emailOutboxDispatcher.enqueue(
+                EventPriority.of(notification.getEventType()),
+                notification.getNotificationId() != null ? notification.getNotificationId().toString() : null,
+                destinationEmail,
+                buildSubject(notification),
+                buildBody(notification));
 
-            zohoApiService.sendEmail(destinationEmail, subject, body);
+        log.debug("Correo {} encolado para {} (notificación id={})",
+                outboxId, destinationEmail, notification.getId());
+    }
 
-            log.info("Correo enviado exitosamente vía API a {} para notificación id={}",
-                    destinationEmail, notification.getId());
-        } catch (Exception ex) {
-            log.error("Error al enviar correo API a {} para notificación id={}: {}",
-                    destinationEmail,
-                    notification.getId(),
-                    ex.getMessage(),
-                    ex);
+    @Override
+    public void sendNotifications(List<InAppNotification> notifications, List<String> destinationEmails) {
+        Map<EventPriority, List<EmailMessage>> byPriority = new EnumMap<>(EventPriority.class);
+        for (int i = 0; i < notifications.size(); i++) {
+            InAppNotification notification = notifications.get(i);
+            String destinationEmail = destinationEmails.get(i);
+            if (notification == null || destinationEmail == null || destinationEmail.isBlank()) {
+                log.warn("No se encola correo: notificación o destino vacío. Notificación id={}, destino={}",
+                        notification != null ? notification.getId() : null, destinationEmail);
+                continue;
+            }
+            byPriority.computeIfAbsent(EventPriority.of(notification.getEventType()), priority -> new ArrayList<>())
+                    .add(new EmailMessage(
+                            notification.getNotificationId() != null ? notification.getNotificationId().toString() : null,
+                            destinationEmail,
+                            buildSubject(notification),
+                            buildBody(notification)));
         }
+
+        byPriority.forEach((priority, messages) -> {
+            List<UUID> outboxIds = emailOutboxDispatcher.enqueueAll(priority, messages);
+            log.debug("{} correos {} encolados en bloque", outboxIds.size(), priority);
+        });
+    }
+
+    @Override
+    public void scheduleNotification(InAppNotification notification, String destinationEmail, Instant deliverAt) {
+        if (destinationEmail == null || destinationEmail.isBlank()) {
+            log.warn("No se programa correo: destinationEmail es null o vacío. Notificación id={}",
+                    notification != null ? notification.getId() : null);
+            return;
+        }
+
+        if (notification == null) {
+            log.warn("No se programa correo: InAppNotification es null para destino={}", destinationEmail);
+            return;
+        }
+
+        UUID outboxId = emailOutboxDispatcher.schedule(
+                EventPriority.of(notification.getEventType()),
+                notification.getNotificationId() != null ? notification.getNotificationId().toString() : null,
+                destinationEmail,
+                buildSubject(notification),
+                buildBody(notification),
+                deliverAt);
+
+        log.debug("Correo {} programado para {} a {} (notificación id={})",
+                outboxId, deliverAt, destinationEmail, notification.getId());
     }
 
     private String buildSubject(InAppNotification notification) {
@@ -0,0 +1,456 @@
+package edu.dosw.rideci.infrastructure.notification;
+
+import edu.dosw.rideci.application.port.out.EmailOutboxRepositoryPort;
+import edu.dosw.rideci.domain.model.Enum.EmailOverflowPolicy;
+import edu.dosw.rideci.domain.model.Enum.EventPriority;
+import edu.dosw.rideci.domain.model.Enum.OutboxEmailStatus;
+import edu.dosw.rideci.domain.model.OutboxEmail;
+import edu.dosw.rideci.exceptions.EmailOutboxFullException;
+import edu.dosw.rideci.exceptions.ProviderThrottledException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Despachador del outbox de correos.
+ *
+ * Los correos se registran primero en el outbox con
+ * {@link #enqueue(EventPriority, String, String, String, String)}; cada
+ * nivel de prioridad tiene su propio grupo de hilos que toma sus correos,
+ * los envía por {@link ZohoApiService} y los elimina del outbox cuando el
+ * proveedor acepta el envío, de modo que un envío masivo de baja prioridad
+ * no retrasa las alertas de emergencia. Si el envío falla, el correo vuelve
+ * a quedar pendiente con espera exponencial y jitter, y al agotar los
+ * intentos queda en {@link OutboxEmailStatus#FAILED} hasta que un operador
+ * lo reintente. Cuando el límite de envíos del proveedor aplaza un correo
+ * ({@link ProviderThrottledException}), ese correo vuelve al outbox sin
+ * gastar un intento, con su siguiente intento repartido al azar después de
+ * la reanudación, y su nivel deja de tomar correos hasta entonces: el resto
+ * de los pendientes no se toca y, al reanudarse, sale al ritmo del límite.
+ *
+ * Cada nivel admite un máximo de correos sin enviar, contando solo los que
+ * están en envío o cuyo siguiente intento ya venció. Al alcanzarlo, según
+ * su {@link EmailOverflowPolicy}, el correo se rechaza o lo envía el propio
+ * hilo que lo registra; en ese caso solo se guarda en el outbox si el envío
+ * falla.
+ *
+ * Los envíos masivos se registran con {@link #enqueueAll(EventPriority, List)},
+ * que fuerza el outbox a disco una sola vez para todo el bloque.
+ *
+ * Registrar un correo despierta a los despachadores de su nivel para
+ * enviarlo de inmediato; además, cada despachador revisa el outbox con
+ * periodicidad fija para tomar los reintentos y los correos programados
+ * con {@link #schedule} que vencen.
+ *
+ * @author RideECI
+ * @version 1.6
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxRepositoryPort outbox;
+    private final ZohoApiService zohoApiService;
+    private final EmailOutboxProperties properties;
+
+    private final Map<EventPriority, Lane> lanes = new EnumMap<>(EventPriority.class);
+
+    /**
+     * Arranca los despachadores de cada prioridad; los correos que quedaron
+     * pendientes de una ejecución anterior se envían en la primera revisión.
+     */
+    @PostConstruct
+    public void init() {
+        long interval = Math.max(1, properties.getPollInterval().toMillis());
+        for (EventPriority priority : EventPriority.values()) {
+            Lane lane = new Lane(priority, properties.getLanes().forPriority(priority));
+            lanes.put(priority, lane);
+            for (int i = 0; i < lane.threads; i++) {
+                lane.scheduler.scheduleWithFixedDelay(() -> drain(lane), 0, interval, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Detiene los despachadores. Los correos en envío siguen en el outbox y
+     * se vuelven a enviar al arrancar.
+     */
+    @PreDestroy
+    public void shutdown() {
+        lanes.values().forEach(lane -> lane.scheduler.shutdownNow());
+    }
+
+    /**
+     * Registra un correo en el outbox y despierta a los despachadores de su
+     * prioridad, o aplica la política de desborde si la prioridad está llena.
+     *
+     * @param priority         Prioridad del correo.
+     * @param notificationId   Notificación que originó el correo, si la hay.
+     * @param destinationEmail Dirección de destino.
+     * @param subject          Asunto.
+     * @param body             Cuerpo HTML.
+     * @return Identificador del correo en el outbox.
+     * @throws EmailOutboxFullException Si la prioridad está llena y su política es {@link EmailOverflowPolicy#REJECT}.
+     */
+    public UUID enqueue(EventPriority priority, String notificationId, String destinationEmail,
+                        String subject, String body) {
+        Lane lane = lanes.get(priority);
+        Instant now = Instant.now();
+        OutboxEmail email = newEmail(priority, notificationId, destinationEmail, subject, body, now);
+        if (lane.capacity > 0 && outbox.countUnsent(priority, now) >= lane.capacity) {
+            if (lane.overflow == EmailOverflowPolicy.REJECT) {
+                throw reject(lane, 1);
+            }
+            lane.callerRuns.increment();
+            email.setStatus(OutboxEmailStatus.SENDING);
+            deliver(lane, email, false);
+            return email.getId();
+        }
+        outbox.save(email);
+        wake(lane);
+        return email.getId();
+    }
+
+    /**
+     * Registra varios correos de una prioridad en el outbox con una sola
+     * escritura forzada a disco y despierta a los despachadores de esa
+     * prioridad. Si no caben todos, con {@link EmailOverflowPolicy#REJECT} no
+     * se registra ninguno; con {@link EmailOverflowPolicy#CALLER_RUNS} se
+     * registran los que caben y el propio hilo envía el resto.
+     *
+     * @param priority Prioridad de los correos.
+     * @param messages Correos a registrar.
+     * @return Identificadores de los correos en el outbox, en el mismo orden.
+     * @throws EmailOutboxFullException Si no caben todos y la política es {@link EmailOverflowPolicy#REJECT}.
+     */
+    public List<UUID> enqueueAll(EventPriority priority, List<EmailMessage> messages) {
+        Lane lane = lanes.get(priority);
+        Instant now = Instant.now();
+        List<OutboxEmail> emails = new ArrayList<>(messages.size());
+        for (EmailMessage message : messages) {
+            emails.add(newEmail(priority, message.notificationId(), message.destinationEmail(),
+                    message.subject(), message.body(), now));
+        }
+        int accepted = emails.size();
+        if (lane.capacity > 0) {
+            accepted = Math.max(0, Math.min(accepted, lane.capacity - outbox.countUnsent(priority, now)));
+            if (accepted < emails.size() && lane.overflow == EmailOverflowPolicy.REJECT) {
+                throw reject(lane, emails.size());
+            }
+        }
+        if (accepted > 0) {
+            outbox.saveAll(emails.subList(0, accepted));
+            for (int i = Math.min(accepted, lane.threads); i > 0; i--) {
+                wake(lane);
+            }
+        }
+        for (OutboxEmail email : emails.subList(accepted, emails.size())) {
+            lane.callerRuns.increment();
+            email.setStatus(OutboxEmailStatus.SENDING);
+            deliver(lane, email, false);
+        }
+        return emails.stream().map(OutboxEmail::getId).toList();
+    }
+
+    /**
+     * Registra en el outbox un correo que debe enviarse en un momento
+     * futuro; los despachadores de su prioridad lo toman cuando vence.
+     * Mientras no vence no cuenta para el máximo de su prioridad, así que
+     * se registra aunque la prioridad esté llena.
+     *
+     * @param priority         Prioridad del correo.
+     * @param notificationId   Notificación que originó el correo, si la hay.
+     * @param destinationEmail Dirección de destino.
+     * @param subject          Asunto.
+     * @param body             Cuerpo HTML.
+     * @param deliverAt        Momento a partir del cual se envía.
+     * @return Identificador del correo en el outbox.
+     */
+    public UUID schedule(EventPriority priority, String notificationId, String destinationEmail,
+                         String subject, String body, Instant deliverAt) {
+        OutboxEmail email = newEmail(priority, notificationId, destinationEmail, subject, body, deliverAt);
+        outbox.save(email);
+        return email.getId();
+    }
+
+    /**
+     * Vuelve a poner en cola un correo fallido, o adelanta el siguiente
+     * intento de uno pendiente.
+     *
+     * @param id Identificador del correo.
+     * @return {@code false} si el correo se está enviando en este momento.
+     */
+    public boolean retry(UUID id) {
+        OutboxEmail email = outbox.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Outbox email " + id + " not found"));
+        if (email.getStatus() == OutboxEmailStatus.SENDING) {
+            return false;
+        }
+        if (email.getStatus() == OutboxEmailStatus.FAILED) {
+            email.setAttempts(0);
+        }
+        email.setStatus(OutboxEmailStatus.PENDING);
+        email.setNextAttemptAt(Instant.now());
+        outbox.save(email);
+        wake(lanes.get(email.getPriority() != null ? email.getPriority() : EventPriority.NORMAL));
+        return true;
+    }
+
+    /**
+     * Obtiene los correos del outbox.
+     *
+     * @param status Estado por el que filtrar, o {@code null} para obtener todos.
+     * @return Correos ordenados por fecha de registro.
+     */
+    public List<OutboxEmail> list(OutboxEmailStatus status) {
+        return outbox.findAll(status);
+    }
+
+    /**
+     * Calcula la profundidad del outbox por estado y la antigüedad del
+     * correo más viejo sin enviar.
+     *
+     * @return Estadísticas del outbox.
+     */
+    public EmailOutboxStats stats() {
+        Instant now = Instant.now();
+        long pending = 0;
+        long sending = 0;
+        long failed = 0;
+        Instant oldest = null;
+        for (OutboxEmail email : outbox.findAll(null)) {
+            switch (email.getStatus()) {
+                case PENDING -> pending++;
+                case SENDING -> sending++;
+                case FAILED -> failed++;
+            }
+            if (email.getStatus() != OutboxEmailStatus.FAILED && email.getCreatedAt() != null
+                    && (oldest == null || email.getCreatedAt().isBefore(oldest))) {
+                oldest = email.getCreatedAt();
+            }
+        }
+        long oldestAgeMillis = oldest != null ? Math.max(0, Duration.between(oldest, now).toMillis()) : 0;
+        return new EmailOutboxStats(pending, sending, failed, oldest, oldestAgeMillis);
+    }
+
+    /**
+     * Devuelve, por prioridad, la ocupación de los despachadores y los
+     * contadores de envíos, reintentos, aplazamientos, fallos y desbordes.
+     *
+     * @return Métricas de cada prioridad, de mayor a menor.
+     */
+    public List<EmailLaneMetrics> laneMetrics() {
+        List<EmailLaneMetrics> metrics = new ArrayList<>(lanes.size());
+        Instant now = Instant.now();
+        for (Lane lane : lanes.values()) {
+            metrics.add(new EmailLaneMetrics(lane.priority, lane.threads, lane.active.get(),
+                    outbox.countUnsent(lane.priority, now), outbox.countScheduled(lane.priority, now),
+                    lane.capacity, lane.overflow,
+                    lane.sent.sum(), lane.retried.sum(), lane.throttled.sum(), lane.failed.sum(),
+                    lane.callerRuns.sum(), lane.rejected.sum()));
+        }
+        return metrics;
+    }
+
+    /**
+     * Calcula la espera antes del siguiente intento: crece de forma
+     * exponencial desde {@code initialBackoff} hasta {@code maxBackoff} y se
+     * elige al azar en la mitad superior del intervalo.
+     *
+     * @param attempts Intentos fallidos hasta ahora.
+     * @return Espera antes del siguiente intento.
+     */
+    Duration backoff(int attempts) {
+        long initial = Math.max(1, properties.getInitialBackoff().toMillis());
+        long max = Math.max(initial, properties.getMaxBackoff().toMillis());
+        int exponent = Math.min(Math.max(0, attempts - 1), 30);
+        long ceiling = Math.min(max, initial << exponent);
+        long half = ceiling / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(ceiling - half + 1));
+    }
+
+    /**
+     * Toma y envía correos vencidos de una prioridad, uno a la vez, hasta
+     * que no quede ninguno.
+     */
+    private void drain(Lane lane) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (lane.paused()) {
+                    return;
+                }
+                List<OutboxEmail> claimed = outbox.claimDue(lane.priority, Instant.now(), 1);
+                if (claimed.isEmpty()) {
+                    return;
+                }
+                deliver(lane, claimed.get(0), true);
+            }
+        } catch (RuntimeException e) {
+            log.error("Error despachando el outbox de correos {}", lane.priority, e);
+        }
+    }
+
+    /**
+     * Envía un correo y lo confirma, o lo guarda con su siguiente intento si
+     * el envío falla.
+     *
+     * @param lane   Prioridad del correo.
+     * @param email  Correo en estado {@link OutboxEmailStatus#SENDING}.
+     * @param stored {@code true} si el correo ya está en el outbox.
+     */
+    private void deliver(Lane lane, OutboxEmail email, boolean stored) {
+        lane.active.incrementAndGet();
+        try {
+            zohoApiService.sendEmail(email.getDestinationEmail(), email.getSubject(), email.getBody(), lane.priority);
+        } catch (ProviderThrottledException e) {
+            Instant retryAt = e.getRetryAt().plusMillis(
+                    ThreadLocalRandom.current().nextLong(Math.max(1, properties.getInitialBackoff().toMillis())));
+            email.setStatus(OutboxEmailStatus.PENDING);
+            email.setNextAttemptAt(retryAt);
+            log.debug("Correo {} aplazado hasta {}: {}", email.getId(), retryAt, e.getMessage());
+            outbox.save(email);
+            pause(lane, e.getRetryAt());
+            lane.throttled.increment();
+            return;
+        } catch (Exception e) {
+            email.setAttempts(email.getAttempts() + 1);
+            email.setLastError(e.getClass().getSimpleName() + ": " + e.getMessage());
+            if (email.getAttempts() >= properties.getMaxAttempts()) {
+                lane.failed.increment();
+                email.setStatus(OutboxEmailStatus.FAILED);
+                email.setNextAttemptAt(null);
+                log.error("Correo {} a {} falló tras {} intentos: {}",
+                        email.getId(), email.getDestinationEmail(), email.getAttempts(), email.getLastError());
+            } else {
+                lane.retried.increment();
+                Duration delay = backoff(email.getAttempts());
+                email.setStatus(OutboxEmailStatus.PENDING);
+                email.setNextAttemptAt(Instant.now().plus(delay));
+                log.warn("Correo {} a {} falló (intento {}), se reintenta en {} ms: {}",
+                        email.getId(), email.getDestinationEmail(), email.getAttempts(), delay.toMillis(),
+                        email.getLastError());
+            }
+            outbox.save(email);
+            return;
+        } finally {
+            lane.active.decrementAndGet();
+        }
+        lane.sent.increment();
+        if (stored) {
+            outbox.deleteById(email.getId());
+        }
+        log.info("Correo {} enviado a {} para notificación id={}",
+                email.getId(), email.getDestinationEmail(), email.getNotificationId());
+    }
+
+    private static OutboxEmail newEmail(EventPriority priority, String notificationId, String destinationEmail,
+                                        String subject, String body, Instant nextAttemptAt) {
+        return OutboxEmail.builder()
+                .id(UUID.randomUUID())
+                .notificationId(notificationId)
+                .destinationEmail(destinationEmail)
+                .subject(subject)
+                .body(body)
+                .priority(priority)
+                .createdAt(Instant.now())
+                .nextAttemptAt(nextAttemptAt)
+                .status(OutboxEmailStatus.PENDING)
+                .build();
+    }
+
+    private static EmailOutboxFullException reject(Lane lane, int emails) {
+        lane.rejected.add(emails);
+        return new EmailOutboxFullException("Email outbox " + lane.priority + " lane is full (" + lane.capacity + ")");
+    }
+
+    /**
+     * Detiene la toma de correos de una prioridad hasta que el proveedor
+     * vuelva a aceptar envíos y programa un vaciado para ese momento.
+     */
+    private void pause(Lane lane, Instant until) {
+        long untilMillis = until.toEpochMilli();
+        if (lane.pausedUntil.getAndAccumulate(untilMillis, Math::max) >= untilMillis) {
+            return;
+        }
+        long delay = Math.max(0, untilMillis - System.currentTimeMillis());
+        try {
+            lane.scheduler.schedule(() -> drain(lane), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("Despachadores de {} detenidos, no se programa la reanudación", lane.priority);
+        }
+    }
+
+    /**
+     * Encola un vaciado de una prioridad, sin acumular más despertares que hilos.
+     */
+    private void wake(Lane lane) {
+        if (lane.pendingWakeups.incrementAndGet() > lane.threads) {
+            lane.pendingWakeups.decrementAndGet();
+            return;
+        }
+        lane.scheduler.execute(() -> {
+            lane.pendingWakeups.decrementAndGet();
+            drain(lane);
+        });
+    }
+
+    /** Despachadores y contadores de un nivel de prioridad. */
+    private static final class Lane {
+        private final EventPriority priority;
+        private final int threads;
+        private final int capacity;
+        private final EmailOverflowPolicy overflow;
+        private final ScheduledThreadPoolExecutor scheduler;
+
+        /** Momento, en milisegundos desde la época, hasta el que el nivel no toma correos. */
+        private final AtomicLong pausedUntil = new AtomicLong();
+
+        /** Despertares encolados que aún no empiezan a vaciar el outbox. */
+        private final AtomicInteger pendingWakeups = new AtomicInteger();
+        private final AtomicInteger active = new AtomicInteger();
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder retried = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+        private final LongAdder callerRuns = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        private Lane(EventPriority priority, EmailOutboxProperties.Lane config) {
+            this.priority = priority;
+            this.threads = Math.max(1, config.getThreads());
+            this.capacity = Math.max(0, config.getCapacity());
+            this.overflow = config.getOverflow() != null ? config.getOverflow() : EmailOverflowPolicy.CALLER_RUNS;
+            String prefix = "email-outbox-" + priority.name().toLowerCase() + "-";
+            AtomicInteger sequence = new AtomicInteger();
+            this.scheduler = new ScheduledThreadPoolExecutor(threads, runnable -> {
+                Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.setRemoveOnCancelPolicy(true);
+        }
+
+        private boolean paused() {
+            return System.currentTimeMillis() < pausedUntil.get();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package edu.dosw.rideci.infrastructure.notification;
+
+import edu.dosw.rideci.domain.model.Enum.EmailOverflowPolicy;
+import edu.dosw.rideci.domain.model.Enum.EventPriority;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración del outbox de correos.
+ *
+ * Se enlazan desde {@code application.properties} bajo el prefijo
+ * {@code notifications.email-outbox}.
+ *
+ * @author RideECI
+ * @version 1.1
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "notifications.email-outbox")
+public class EmailOutboxProperties {
+
+    /** Directorio local en el que se guardan los segmentos del outbox. */
+    private String directory = "data/email-outbox";
+
+    /** Tamaño de cada segmento del outbox. */
+    private DataSize segmentSize = DataSize.ofMegabytes(16);
+
+    /** Intentos de envío totales antes de marcar el correo como fallido. */
+    private int maxAttempts = 8;
+
+    /** Espera antes del primer reintento; se duplica en cada intento. */
+    private Duration initialBackoff = Duration.ofSeconds(5);
+
+    /** Espera máxima entre reintentos. */
+    private Duration maxBackoff = Duration.ofMinutes(10);
+
+    /** Cada cuánto revisa cada despachador si hay reintentos vencidos. */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /** Despachadores, capacidad y política de desborde de cada prioridad. */
+    private Lanes lanes = new Lanes();
+
+    /**
+     * Configuración de los despachadores de los tres niveles de prioridad.
+     */
+    @Getter
+    @Setter
+    public static class Lanes {
+
+        private Lane high = new Lane(2, 0, EmailOverflowPolicy.CALLER_RUNS);
+
+        private Lane normal = new Lane(2, 10_000, EmailOverflowPolicy.CALLER_RUNS);
+
+        private Lane low = new Lane(1, 5_000, EmailOverflowPolicy.REJECT);
+
+        /**
+         * Devuelve la configuración de los despachadores de un nivel de prioridad.
+         *
+         * @param priority Nivel de prioridad.
+         * @return Configuración de ese nivel.
+         */
+        public Lane forPriority(EventPriority priority) {
+            return switch (priority) {
+                case HIGH -> high;
+                case NORMAL -> normal;
+                case LOW -> low;
+            };
+        }
+    }
+
+    /**
+     * Hilos, capacidad y política de desborde de un nivel de prioridad.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Lane {
+
+        /** Hilos que toman y envían los correos de este nivel. */
+        private int threads;
+
+        /** Máximo de correos sin enviar de este nivel; 0 para no limitar. */
+        private int capacity;
+
+        /** Acción a tomar cuando se alcanza la capacidad. */
+        private EmailOverflowPolicy overflow;
+    }
+}
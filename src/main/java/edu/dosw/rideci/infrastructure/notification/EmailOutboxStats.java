@@ -0,0 +1,18 @@
+package edu.dosw.rideci.infrastructure.notification;
+
+import java.time.Instant;
+
+/**
+ * Profundidad y antigüedad del outbox de correos.
+ *
+ * @param pending         Correos que esperan su envío o un reintento.
+ * @param sending         Correos que se están enviando.
+ * @param failed          Correos que agotaron sus intentos.
+ * @param oldestCreatedAt Registro del correo más antiguo sin enviar ni fallar, si lo hay.
+ * @param oldestAgeMillis Antigüedad de ese correo en milisegundos, o 0.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public record EmailOutboxStats(long pending, long sending, long failed, Instant oldestCreatedAt, long oldestAgeMillis) {
+}
@@ -0,0 +1,38 @@
+package edu.dosw.rideci.infrastructure.notification;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración del transporte HTTP hacia los proveedores
+ * externos (Zoho Mail y su servidor de autenticación).
+ *
+ * Se enlazan desde {@code application.properties} bajo el prefijo
+ * {@code notifications.provider-http}.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "notifications.provider-http")
+public class ProviderHttpProperties {
+
+    /** Tiempo máximo para abrir una conexión nueva. */
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    /** Tiempo máximo de espera de la respuesta de una petición. */
+    private Duration readTimeout = Duration.ofSeconds(20);
+
+    /** Negocia HTTP/2 cuando el servidor lo soporta; si no, usa HTTP/1.1. */
+    private boolean http2 = true;
+
+    /** Peticiones simultáneas, y por tanto conexiones, por destino (esquema, host y puerto). */
+    private int maxConnectionsPerRoute = 10;
+
+    /** Espera máxima por un cupo del destino antes de fallar la petición. */
+    private Duration acquireTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,26 @@
+package edu.dosw.rideci.infrastructure.notification;
+
+import edu.dosw.rideci.domain.model.Enum.EventPriority;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Estado del límite de envíos hacia el proveedor de correo.
+ *
+ * @param permitsPerSecond Envíos por segundo permitidos.
+ * @param availablePermits Envíos que se pueden hacer ya mismo.
+ * @param usedToday        Envíos hechos en el día (UTC).
+ * @param dailyQuota       Envíos permitidos por día, o 0 si no hay límite.
+ * @param pausedUntil      Fin de la pausa por un 429, si hay una en curso.
+ * @param throttled        Respuestas 429 recibidas.
+ * @param waiting          Envíos esperando su turno, por prioridad.
+ * @param deferred         Envíos que no obtuvieron turno a tiempo y se reprogramaron, por prioridad.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public record ProviderRateLimitMetrics(double permitsPerSecond, double availablePermits, long usedToday,
+                                       long dailyQuota, Instant pausedUntil, long throttled,
+                                       Map<EventPriority, Integer> waiting, Map<EventPriority, Long> deferred) {
+}
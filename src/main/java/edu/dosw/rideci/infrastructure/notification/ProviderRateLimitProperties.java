@@ -0,0 +1,47 @@
+package edu.dosw.rideci.infrastructure.notification;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración del límite de envíos hacia el proveedor de
+ * correo.
+ *
+ * Se enlazan desde {@code application.properties} bajo el prefijo
+ * {@code notifications.provider-rate-limit}.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "notifications.provider-rate-limit")
+public class ProviderRateLimitProperties {
+
+    /** Envíos por segundo que se permiten de forma sostenida. */
+    private double permitsPerSecond = 5;
+
+    /** Envíos que se pueden hacer seguidos tras un periodo sin tráfico. */
+    private int burst = 10;
+
+    /** Envíos permitidos por día (UTC); 0 para no limitar. */
+    private long dailyQuota = 0;
+
+    /**
+     * Fracción de la cuota diaria reservada a los correos de alta prioridad:
+     * los demás dejan de enviarse al consumir el resto.
+     */
+    private double highPriorityReserve = 0.1;
+
+    /** Tiempo máximo que un envío espera su turno antes de reprogramarse. */
+    private Duration maxWait = Duration.ofSeconds(5);
+
+    /** Pausa tras un 429 sin {@code Retry-After}; se duplica con cada 429 seguido. */
+    private Duration defaultPause = Duration.ofSeconds(30);
+
+    /** Pausa máxima tras un 429. */
+    private Duration maxPause = Duration.ofMinutes(15);
+}
@@ -0,0 +1,244 @@
+package edu.dosw.rideci.infrastructure.notification;
+
+import edu.dosw.rideci.domain.model.Enum.EventPriority;
+import edu.dosw.rideci.exceptions.ProviderThrottledException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Límite de envíos hacia el proveedor de correo.
+ *
+ * Un token bucket reparte {@code permitsPerSecond} envíos por segundo con
+ * ráfagas de hasta {@code burst}, y un contador diario aplica la cuota del
+ * día (UTC), de la que una fracción queda reservada a los correos de alta
+ * prioridad. Mientras haya envíos de mayor prioridad esperando, los de
+ * menor prioridad no toman turno, así que un envío masivo no deja sin
+ * turno a las recuperaciones de contraseña ni a las emergencias.
+ *
+ * Cuando el proveedor responde 429, {@link #onThrottled(Duration)} pausa
+ * todos los envíos durante el {@code Retry-After} indicado o, si no viene,
+ * durante una pausa que se duplica con cada 429 seguido.
+ *
+ * Un envío que no obtiene turno en {@code maxWait}, o que no cabe en la
+ * cuota del día, falla con {@link ProviderThrottledException} indicando
+ * cuándo conviene reintentarlo; si ya se sabe que la espera excede
+ * {@code maxWait}, por ejemplo durante una pausa, falla sin esperar.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class ProviderRateLimiter {
+
+    private final ProviderRateLimitProperties properties;
+    private final double permitsPerNano;
+    private final double capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    /** Envíos esperando turno, por prioridad. */
+    private final int[] waiting = new int[EventPriority.values().length];
+    private final Map<EventPriority, LongAdder> deferred = new EnumMap<>(EventPriority.class);
+    private final LongAdder throttled = new LongAdder();
+
+    private double tokens;
+    private long refilledAt;
+    private long pausedUntilNanos;
+    private Instant pausedUntil;
+    private int consecutiveThrottles;
+    private LocalDate day;
+    private long usedToday;
+
+    /**
+     * @param properties Cuotas y pausas del proveedor.
+     */
+    public ProviderRateLimiter(ProviderRateLimitProperties properties) {
+        this.properties = properties;
+        this.permitsPerNano = Math.max(1e-3, properties.getPermitsPerSecond()) / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = Math.max(1, properties.getBurst());
+        this.tokens = capacity;
+        this.refilledAt = System.nanoTime();
+        this.pausedUntilNanos = refilledAt;
+        this.day = LocalDate.now(ZoneOffset.UTC);
+        for (EventPriority priority : EventPriority.values()) {
+            deferred.put(priority, new LongAdder());
+        }
+    }
+
+    /**
+     * Espera un turno de envío para un correo de una prioridad.
+     *
+     * @param priority Prioridad del correo.
+     * @throws ProviderThrottledException Si no obtiene turno a tiempo o la cuota del día se agotó.
+     */
+    public void acquire(EventPriority priority) {
+        long deadline = System.nanoTime() + Math.max(0, properties.getMaxWait().toNanos());
+        lock.lock();
+        waiting[priority.ordinal()]++;
+        try {
+            while (true) {
+                Instant quotaResetAt = quotaExhaustedUntil(priority);
+                if (quotaResetAt != null) {
+                    throw defer(priority, quotaResetAt, "daily quota exhausted");
+                }
+                long now = System.nanoTime();
+                long waitNanos;
+                if (now - pausedUntilNanos < 0) {
+                    waitNanos = pausedUntilNanos - now;
+                } else {
+                    refill(now);
+                    if (tokens >= 1 && !higherPriorityWaiting(priority)) {
+                        tokens -= 1;
+                        usedToday++;
+                        return;
+                    }
+                    waitNanos = Math.max(1, (long) Math.ceil((1 - Math.min(1, tokens)) / permitsPerNano));
+                }
+                long remaining = deadline - now;
+                if (remaining <= 0 || waitNanos > remaining) {
+                    throw defer(priority, Instant.now().plusNanos(waitNanos), "no send permit within max wait");
+                }
+                try {
+                    changed.awaitNanos(Math.min(waitNanos, remaining));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw defer(priority, Instant.now().plusNanos(waitNanos), "interrupted waiting for send permit");
+                }
+            }
+        } finally {
+            waiting[priority.ordinal()]--;
+            changed.signalAll();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Registra un envío aceptado por el proveedor y termina la racha de 429.
+     */
+    public void onSuccess() {
+        lock.lock();
+        try {
+            consecutiveThrottles = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Pausa los envíos tras un 429 del proveedor.
+     *
+     * @param retryAfter Espera indicada por el proveedor, o {@code null} si no la indicó.
+     * @return Momento en que se reanudan los envíos.
+     */
+    public Instant onThrottled(Duration retryAfter) {
+        throttled.increment();
+        lock.lock();
+        try {
+            consecutiveThrottles++;
+            long maxPause = Math.max(1, properties.getMaxPause().toMillis());
+            long pauseMillis = retryAfter != null
+                    ? retryAfter.toMillis()
+                    : Math.max(1, properties.getDefaultPause().toMillis()) << Math.min(consecutiveThrottles - 1, 20);
+            pauseMillis = Math.max(0, Math.min(maxPause, pauseMillis));
+            long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pauseMillis);
+            if (until - pausedUntilNanos > 0) {
+                pausedUntilNanos = until;
+                pausedUntil = Instant.now().plusMillis(pauseMillis);
+            }
+            tokens = 0;
+            refilledAt = pausedUntilNanos;
+            changed.signalAll();
+            log.warn("Proveedor de correo limitó los envíos (429 #{}), pausa hasta {}", consecutiveThrottles, pausedUntil);
+            return pausedUntil != null ? pausedUntil : Instant.now();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Devuelve el estado del límite y los envíos esperando turno.
+     *
+     * @return Métricas del límite.
+     */
+    public ProviderRateLimitMetrics metrics() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            boolean paused = now - pausedUntilNanos < 0;
+            if (!paused) {
+                refill(now);
+            }
+            quotaExhaustedUntil(EventPriority.HIGH);
+            Map<EventPriority, Integer> waitingByPriority = new EnumMap<>(EventPriority.class);
+            Map<EventPriority, Long> deferredByPriority = new EnumMap<>(EventPriority.class);
+            for (EventPriority priority : EventPriority.values()) {
+                waitingByPriority.put(priority, waiting[priority.ordinal()]);
+                deferredByPriority.put(priority, deferred.get(priority).sum());
+            }
+            return new ProviderRateLimitMetrics(properties.getPermitsPerSecond(),
+                    paused ? 0 : Math.floor(tokens), usedToday, properties.getDailyQuota(),
+                    paused ? pausedUntil : null, throttled.sum(),
+                    waitingByPriority, deferredByPriority);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Repone los turnos acumulados desde la última reposición. Se invoca con
+     * {@code lock} tomado y fuera de una pausa.
+     */
+    private void refill(long now) {
+        if (now - refilledAt > 0) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * permitsPerNano);
+            refilledAt = now;
+        }
+    }
+
+    private boolean higherPriorityWaiting(EventPriority priority) {
+        for (int i = 0; i < priority.ordinal(); i++) {
+            if (waiting[i] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Comprueba la cuota del día para una prioridad. Se invoca con {@code lock} tomado.
+     *
+     * @return Inicio del día siguiente si la cuota está agotada, o {@code null}.
+     */
+    private Instant quotaExhaustedUntil(EventPriority priority) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        if (!today.equals(day)) {
+            day = today;
+            usedToday = 0;
+        }
+        long quota = properties.getDailyQuota();
+        if (quota <= 0) {
+            return null;
+        }
+        long limit = priority == EventPriority.HIGH
+                ? quota
+                : (long) Math.floor(quota * (1 - Math.min(1, Math.max(0, properties.getHighPriorityReserve()))));
+        return usedToday >= limit ? today.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant() : null;
+    }
+
+    private ProviderThrottledException defer(EventPriority priority, Instant retryAt, String reason) {
+        deferred.get(priority).increment();
+        return new ProviderThrottledException("Email send deferred (" + priority + "): " + reason, retryAt);
+    }
+}
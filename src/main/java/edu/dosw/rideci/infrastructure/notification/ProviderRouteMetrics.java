@@ -0,0 +1,19 @@
+package edu.dosw.rideci.infrastructure.notification;
+
+/**
+ * Métricas de uso de las conexiones hacia un destino de un proveedor.
+ *
+ * @param route          Destino, como {@code esquema://host:puerto}.
+ * @param maxConnections Peticiones simultáneas permitidas.
+ * @param inFlight       Peticiones en curso.
+ * @param peakInFlight   Máximo de peticiones simultáneas observado.
+ * @param requests       Peticiones iniciadas.
+ * @param waited         Peticiones que esperaron un cupo libre.
+ * @param rejected       Peticiones que fallaron por no obtener cupo a tiempo.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public record ProviderRouteMetrics(String route, int maxConnections, int inFlight, int peakInFlight,
+                                   long requests, long waited, long rejected) {
+}
@@ -0,0 +1,175 @@
+package edu.dosw.rideci.infrastructure.notification;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita las peticiones simultáneas hacia cada destino (esquema, host y
+ * puerto) y lleva sus métricas de uso.
+ *
+ * El cupo se toma antes de enviar la petición y se devuelve al cerrar la
+ * respuesta, que es cuando el cliente HTTP libera la conexión para
+ * reutilizarla. Si no hay cupo en {@code acquireTimeout}, la petición falla
+ * con {@link IOException} sin llegar a enviarse.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public class RouteConnectionLimiter implements ClientHttpRequestInterceptor {
+
+    private final int maxConnectionsPerRoute;
+    private final Duration acquireTimeout;
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxConnectionsPerRoute Peticiones simultáneas por destino.
+     * @param acquireTimeout         Espera máxima por un cupo.
+     */
+    public RouteConnectionLimiter(int maxConnectionsPerRoute, Duration acquireTimeout) {
+        this.maxConnectionsPerRoute = Math.max(1, maxConnectionsPerRoute);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String name = routeOf(request.getURI());
+        Route route = routes.computeIfAbsent(name, key -> new Route(maxConnectionsPerRoute));
+        route.acquire(name, acquireTimeout);
+        try {
+            return new ReleasingResponse(execution.execute(request, body), route);
+        } catch (IOException | RuntimeException e) {
+            route.release();
+            throw e;
+        }
+    }
+
+    /**
+     * @return Métricas de cada destino usado, ordenadas por destino.
+     */
+    public List<ProviderRouteMetrics> metrics() {
+        return routes.entrySet().stream()
+                .map(entry -> entry.getValue().metrics(entry.getKey(), maxConnectionsPerRoute))
+                .sorted(Comparator.comparing(ProviderRouteMetrics::route))
+                .toList();
+    }
+
+    private static String routeOf(URI uri) {
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return uri.getScheme() + "://" + uri.getHost() + ":" + port;
+    }
+
+    /**
+     * Cupos y contadores de un destino.
+     */
+    private static final class Route {
+
+        private final Semaphore permits;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peakInFlight = new AtomicInteger();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder waited = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        Route(int permits) {
+            this.permits = new Semaphore(permits, true);
+        }
+
+        void acquire(String name, Duration timeout) throws IOException {
+            requests.increment();
+            if (!permits.tryAcquire()) {
+                waited.increment();
+                boolean acquired;
+                try {
+                    acquired = permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    rejected.increment();
+                    throw new IOException("Interrupted while waiting for a connection to " + name, e);
+                }
+                if (!acquired) {
+                    rejected.increment();
+                    throw new IOException("No connection to " + name + " became available within " + timeout);
+                }
+            }
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        }
+
+        void release() {
+            inFlight.decrementAndGet();
+            permits.release();
+        }
+
+        ProviderRouteMetrics metrics(String name, int maxConnections) {
+            return new ProviderRouteMetrics(name, maxConnections, inFlight.get(), peakInFlight.get(),
+                    requests.sum(), waited.sum(), rejected.sum());
+        }
+    }
+
+    /**
+     * Respuesta que devuelve el cupo de su destino al cerrarse, una sola vez.
+     */
+    private static final class ReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Route route;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleasingResponse(ClientHttpResponse delegate, Route route) {
+            this.delegate = delegate;
+            this.route = route;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    route.release();
+                }
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package edu.dosw.rideci.infrastructure.notification;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import edu.dosw.rideci.domain.model.Enum.EventPriority;
+import edu.dosw.rideci.exceptions.ProviderThrottledException;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,15 +13,23 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ZohoApiService {
 
     private final ZohoTokenService tokenService;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+    private final ProviderRateLimiter rateLimiter;
 
     @Value("${zoho.mail.api.url}")
     private String apiUrl;
@@ -40,6 +50,22 @@ public class ZohoApiService {
     private String cachedAccountId;
 
     public void sendEmail(String to, String subject, String htmlContent) {
+        sendEmail(to, subject, htmlContent, EventPriority.NORMAL);
+    }
+
+    /**
+     * Envía un correo respetando el límite de envíos del proveedor: espera
+     * su turno según la prioridad y, si Zoho responde 429, pausa los envíos
+     * durante el {@code Retry-After} indicado.
+     *
+     * @param to          Dirección de destino.
+     * @param subject     Asunto.
+     * @param htmlContent Cuerpo HTML.
+     * @param priority    Prioridad del correo.
+     * @throws ProviderThrottledException Si el envío debe reintentarse más tarde por el límite del proveedor.
+     */
+    public void sendEmail(String to, String subject, String htmlContent, EventPriority priority) {
+        rateLimiter.acquire(priority);
         String token = tokenService.getAccessToken();
         String accountId = getAccountId(token);
 
@@ -62,13 +88,41 @@ public class ZohoApiService {
 
         try {
             ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, request, String.class);
+            rateLimiter.onSuccess();
             log.info("Email enviado vía Zoho API a {}. Response: {}", to, response.getStatusCode());
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            Instant retryAt = rateLimiter.onThrottled(retryAfter(e.getResponseHeaders()));
+            throw new ProviderThrottledException("Zoho API throttled email to " + to, retryAt);
         } catch (Exception e) {
             log.error("Error al enviar email vía Zoho API a {}", to, e);
             throw new RuntimeException("Fallo envío Zoho API", e);
         }
     }
 
+    /**
+     * Lee el encabezado {@code Retry-After}, en segundos o como fecha HTTP.
+     *
+     * @return Espera indicada, o {@code null} si no viene o no se entiende.
+     */
+    static Duration retryAfter(HttpHeaders headers) {
+        String value = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                Instant at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                Duration wait = Duration.between(Instant.now(), at);
+                return wait.isNegative() ? Duration.ZERO : wait;
+            } catch (DateTimeParseException ignored) {
+                log.warn("Retry-After no válido en la respuesta de Zoho: {}", value);
+                return null;
+            }
+        }
+    }
+
     private String getAccountId(String token) {
         if (cachedAccountId != null)
             return cachedAccountId;
@@ -0,0 +1,37 @@
+package edu.dosw.rideci.infrastructure.notification;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración de la renovación del token de acceso de Zoho.
+ *
+ * Se enlazan desde {@code application.properties} bajo el prefijo
+ * {@code notifications.zoho-token}.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "notifications.zoho-token")
+public class ZohoTokenProperties {
+
+    /** Anticipación con la que se renueva el token en segundo plano antes de que expire. */
+    private Duration refreshBefore = Duration.ofMinutes(10);
+
+    /** Margen antes de la expiración a partir del cual el token ya no se entrega. */
+    private Duration expiryMargin = Duration.ofSeconds(30);
+
+    /** Vigencia asumida cuando Zoho no informa {@code expires_in}. */
+    private Duration defaultLifetime = Duration.ofHours(1);
+
+    /** Espera antes del primer reintento de una renovación fallida; se duplica en cada intento. */
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    /** Espera máxima entre reintentos de renovación. */
+    private Duration maxBackoff = Duration.ofMinutes(1);
+}
@@ -1,8 +1,8 @@
 package edu.dosw.rideci.infrastructure.notification;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.annotation.PreDestroy;
 import lombok.Data;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
@@ -14,11 +14,34 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Token de acceso a la API de Zoho Mail.
+ *
+ * El token vigente es una instantánea inmutable en un campo volátil, así
+ * que leerlo no toma bloqueos. Se renueva en segundo plano
+ * {@code notifications.zoho-token.refresh-before} antes de que expire; si
+ * la renovación falla se reintenta con espera exponencial y jitter mientras
+ * se sigue entregando el token anterior, que aún es válido. Solo cuando no
+ * hay un token válido el llamador espera una renovación.
+ *
+ * Las renovaciones simultáneas se unen en una sola petición a Zoho
+ * (single-flight): quien llega mientras hay una en curso espera su resultado.
+ *
+ * @author RideECI
+ * @version 1.1
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ZohoTokenService {
 
     @Value("${zoho.mail.auth.url}")
@@ -33,24 +56,95 @@ public class ZohoTokenService {
     @Value("${zoho.mail.refresh-token}")
     private String refreshToken;
 
-    private String accessToken;
-    private LocalDateTime tokenExpiry;
+    private final RestTemplate restTemplate;
+    private final ZohoTokenProperties properties;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    /** Token vigente, o {@code null} si aún no se obtuvo ninguno. */
+    private volatile AccessToken current;
 
-    public synchronized String getAccessToken() {
-        if (accessToken == null || isTokenExpired()) {
-            refreshAccessToken();
+    /** Renovación en curso, compartida por todos los que la piden mientras dura. */
+    private final AtomicReference<CompletableFuture<AccessToken>> inFlight = new AtomicReference<>();
+
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    /** Próxima renovación en segundo plano. */
+    private final AtomicReference<ScheduledFuture<?>> scheduled = new AtomicReference<>();
+
+    /**
+     * @param restTemplate Transporte HTTP hacia Zoho.
+     * @param properties   Configuración de la renovación del token.
+     */
+    public ZohoTokenService(RestTemplate restTemplate, ZohoTokenProperties properties) {
+        this.restTemplate = restTemplate;
+        this.properties = properties;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "zoho-token-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Detiene las renovaciones programadas.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Devuelve un token de acceso válido. Sin bloqueos mientras el token
+     * vigente no haya expirado; si expiró o no hay ninguno, espera la
+     * renovación en curso o inicia una.
+     *
+     * @return Token de acceso.
+     */
+    public String getAccessToken() {
+        AccessToken token = current;
+        if (token != null && token.isValidAt(Instant.now(), properties.getExpiryMargin())) {
+            return token.value();
+        }
+        try {
+            return refresh().join().value();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime
+                    : new RuntimeException("Fallo en autenticación con Zoho API", e.getCause());
         }
-        return accessToken;
     }
 
-    private boolean isTokenExpired() {
-        // Renovar si quedan menos de 5 minutos
-        return tokenExpiry == null || LocalDateTime.now().isAfter(tokenExpiry.minusMinutes(5));
+    /**
+     * Inicia una renovación o se une a la que esté en curso.
+     *
+     * @return Resultado de la renovación.
+     */
+    CompletableFuture<AccessToken> refresh() {
+        CompletableFuture<AccessToken> started = new CompletableFuture<>();
+        while (!inFlight.compareAndSet(null, started)) {
+            CompletableFuture<AccessToken> running = inFlight.get();
+            if (running != null) {
+                return running;
+            }
+        }
+        try {
+            AccessToken token = requestToken();
+            current = token;
+            scheduleRefresh(token);
+            started.complete(token);
+        } catch (RuntimeException e) {
+            started.completeExceptionally(e);
+        } finally {
+            inFlight.compareAndSet(started, null);
+        }
+        return started;
     }
 
-    private void refreshAccessToken() {
+    /**
+     * Pide un token nuevo a Zoho con el refresh token.
+     *
+     * @return Token obtenido.
+     */
+    AccessToken requestToken() {
         try {
             log.info("Refrescando token de acceso de Zoho...");
 
@@ -71,16 +165,14 @@ public class ZohoTokenService {
                     ZohoTokenResponse.class);
 
             if (response.getBody() != null && response.getBody().getAccessToken() != null) {
-                this.accessToken = response.getBody().getAccessToken();
-                // Los tokens suelen durar 1 hora (3600 seg)
-                long expiresInSeconds = response.getBody().getExpiresIn() > 0 ? response.getBody().getExpiresIn()
-                        : 3600;
-                this.tokenExpiry = LocalDateTime.now().plusSeconds(expiresInSeconds);
-                log.info("Token de Zoho renovado exitosamente. Expira en {} segundos.", expiresInSeconds);
-            } else {
-                log.error("Respuesta vacía al refrescar token de Zoho: {}", response);
-                throw new RuntimeException("No se pudo obtener Access Token de Zoho");
+                Duration lifetime = response.getBody().getExpiresIn() > 0
+                        ? Duration.ofSeconds(response.getBody().getExpiresIn())
+                        : properties.getDefaultLifetime();
+                log.info("Token de Zoho renovado exitosamente. Expira en {} segundos.", lifetime.toSeconds());
+                return new AccessToken(response.getBody().getAccessToken(), Instant.now().plus(lifetime));
             }
+            log.error("Respuesta vacía al refrescar token de Zoho: {}", response);
+            throw new RuntimeException("No se pudo obtener Access Token de Zoho");
 
         } catch (Exception e) {
             log.error("Error crítico al refrescar token de Zoho: {}", e.getMessage());
@@ -88,6 +180,76 @@ public class ZohoTokenService {
         }
     }
 
+    /**
+     * Programa la renovación en segundo plano del token, con la anticipación
+     * configurada o a mitad de su vigencia si esta es más corta.
+     */
+    private void scheduleRefresh(AccessToken token) {
+        Duration remaining = Duration.between(Instant.now(), token.expiresAt());
+        Duration lead = properties.getRefreshBefore().compareTo(remaining.dividedBy(2)) < 0
+                ? properties.getRefreshBefore() : remaining.dividedBy(2);
+        schedule(remaining.minus(lead), 0);
+    }
+
+    /**
+     * Programa la próxima renovación en segundo plano, reemplazando la que
+     * hubiera pendiente.
+     */
+    private void schedule(Duration delay, int attempt) {
+        if (scheduler.isShutdown()) {
+            return;
+        }
+        ScheduledFuture<?> next = scheduler.schedule(() -> backgroundRefresh(attempt),
+                Math.max(0, delay.toMillis()), TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> previous = scheduled.getAndSet(next);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    /**
+     * Renovación en segundo plano. Si falla, se reintenta con espera
+     * exponencial y jitter; el token anterior se sigue usando mientras sea válido.
+     */
+    private void backgroundRefresh(int attempt) {
+        refresh().whenComplete((token, failure) -> {
+            if (failure != null) {
+                Duration backoff = backoff(attempt);
+                log.warn("Renovación del token de Zoho fallida (intento {}), reintento en {} ms",
+                        attempt + 1, backoff.toMillis());
+                schedule(backoff, attempt + 1);
+            }
+        });
+    }
+
+    /**
+     * Espera antes del siguiente reintento: se duplica en cada intento hasta
+     * el máximo y se reparte al azar en su mitad superior.
+     *
+     * @param attempt Reintentos fallidos hasta ahora.
+     * @return Espera antes del siguiente reintento.
+     */
+    Duration backoff(int attempt) {
+        long initial = properties.getInitialBackoff().toMillis();
+        long max = properties.getMaxBackoff().toMillis();
+        long ceiling = Math.min(max, initial << Math.min(attempt, 30));
+        long half = ceiling / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(ceiling - half + 1));
+    }
+
+    /**
+     * Token de acceso inmutable.
+     *
+     * @param value     Valor del token.
+     * @param expiresAt Momento en que deja de ser válido.
+     */
+    record AccessToken(String value, Instant expiresAt) {
+
+        boolean isValidAt(Instant now, Duration margin) {
+            return now.plus(margin).isBefore(expiresAt);
+        }
+    }
+
     @Data
     private static class ZohoTokenResponse {
         @JsonProperty("access_token")
@@ -19,10 +19,10 @@ import java.util.UUID;
  * estado y metadatos de auditoría (fechas de creación, lectura y expiración).
  *
  * @author RideECI
- * @version 1.0
+ * @version 1.1
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class NotificationEntity {
@@ -39,6 +39,12 @@ public class NotificationEntity {
     /** Mensaje o contenido principal de la notificación. */
     private String message;
 
+    /**
+     * SHA-256 del mensaje cuando está guardado una sola vez en el almacén de
+     * contenidos compartidos; {@code null} si el mensaje es propio.
+     */
+    private String messageHash;
+
     /** Tipo de evento asociado a la notificación. */
     private NotificationType eventType;
 
@@ -0,0 +1,693 @@
+package edu.dosw.rideci.infrastructure.persistance.Repository;
+
+import edu.dosw.rideci.application.port.out.NotificationRepositoryPort;
+import edu.dosw.rideci.domain.model.Enum.NotificationStatus;
+import edu.dosw.rideci.domain.model.Enum.NotificationType;
+import edu.dosw.rideci.domain.model.InAppNotification;
+import edu.dosw.rideci.domain.model.NotificationCursor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementación en memoria de {@link NotificationRepositoryPort} con
+ * almacenamiento compacto por columnas.
+ *
+ * Cada notificación ocupa una posición (slot) en arreglos primitivos: los
+ * {@link UUID} se guardan como dos {@code long}, las fechas como milisegundos
+ * desde la época ({@link #NO_TIME} si no hay fecha), los enums como su
+ * ordinal en un {@code byte} y el título, la prioridad y el mensaje como
+ * códigos de diccionarios con conteo de referencias, de modo que los textos
+ * repetidos se guardan una sola vez. No hay objetos por notificación: el
+ * índice por id es una tabla hash de direccionamiento abierto sobre los
+ * propios arreglos y la bandeja de cada usuario es un arreglo de slots
+ * ordenado por {@code createdAt} descendente.
+ *
+ * Para el motor de expiración, los slots con fecha de expiración se
+ * enlazan en listas por intervalos de {@link ExpiryIndex#BUCKET_MILLIS} ms,
+ * una para los pendientes de expirar y otra para los ya expirados, usando
+ * dos arreglos de enlaces en lugar de objetos. Los slots eliminados se
+ * reutilizan.
+ *
+ * Las fechas se devuelven en UTC con precisión de milisegundos. Las lecturas
+ * comparten un bloqueo de lectura y las escrituras toman el de escritura.
+ *
+ * Solo se activa con {@code notifications.store.mode=compact}.
+ *
+ * @author RideECI
+ * @version 1.1
+ */
+@Component
+@ConditionalOnProperty(prefix = "notifications.store", name = "mode", havingValue = "compact")
+public class CompactNotificationRepository implements NotificationRepositoryPort {
+
+    /** Valor de las columnas de fecha cuando la fecha es {@code null}. */
+    static final long NO_TIME = Long.MIN_VALUE;
+
+    private static final byte NO_ENUM = -1;
+    private static final byte HAS_USER = 1;
+    private static final byte FREE = 2;
+    private static final int NO_SLOT = -1;
+    private static final int NO_CODE = -1;
+    private static final int INITIAL_CAPACITY = 1_024;
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final NotificationStatus[] STATUSES = NotificationStatus.values();
+    private static final NotificationType[] TYPES = NotificationType.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final StringDictionary titles = new StringDictionary();
+    private final StringDictionary priorities = new StringDictionary();
+    private final StringDictionary messages = new StringDictionary();
+
+    private long[] idHigh = new long[INITIAL_CAPACITY];
+    private long[] idLow = new long[INITIAL_CAPACITY];
+    private long[] userHigh = new long[INITIAL_CAPACITY];
+    private long[] userLow = new long[INITIAL_CAPACITY];
+    private long[] createdAt = new long[INITIAL_CAPACITY];
+    private long[] readAt = new long[INITIAL_CAPACITY];
+    private long[] expiresAt = new long[INITIAL_CAPACITY];
+    private byte[] status = new byte[INITIAL_CAPACITY];
+    private byte[] eventType = new byte[INITIAL_CAPACITY];
+    private byte[] flags = new byte[INITIAL_CAPACITY];
+    private int[] title = new int[INITIAL_CAPACITY];
+    private int[] priority = new int[INITIAL_CAPACITY];
+    private int[] message = new int[INITIAL_CAPACITY];
+    private int[] expiryNext = new int[INITIAL_CAPACITY];
+    private int[] expiryPrev = new int[INITIAL_CAPACITY];
+
+    /** Slots usados alguna vez; los liberados quedan en {@link #freeSlots}. */
+    private int size;
+
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    /** Intervalo de expiración -> primer slot de su lista, para los pendientes de expirar. */
+    private final TreeMap<Long, Integer> expiringHeads = new TreeMap<>();
+
+    /** Intervalo de expiración -> primer slot de su lista, para los ya expirados. */
+    private final TreeMap<Long, Integer> expiredHeads = new TreeMap<>();
+
+    /** Tabla hash id -> slot + 1 (0 es una casilla vacía), con direccionamiento abierto. */
+    private int[] slotTable = new int[INITIAL_CAPACITY * 2];
+
+    /** Bandeja de cada usuario. */
+    private final Map<UUID, Inbox> inboxes = new HashMap<>();
+
+    @Override
+    public InAppNotification save(InAppNotification notification) {
+        assignId(notification);
+        lock.writeLock().lock();
+        try {
+            return read(put(notification));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<InAppNotification> saveAll(Collection<InAppNotification> notifications) {
+        List<InAppNotification> batch = new ArrayList<>(Math.min(notifications.size(), BATCH_SIZE));
+        for (InAppNotification notification : notifications) {
+            assignId(notification);
+            batch.add(notification);
+            if (batch.size() == BATCH_SIZE) {
+                putAll(batch);
+                batch.clear();
+            }
+        }
+        putAll(batch);
+        return new ArrayList<>(notifications);
+    }
+
+    @Override
+    public int markAllAsRead(UUID userId, OffsetDateTime readAtTime) {
+        lock.writeLock().lock();
+        try {
+            Inbox inbox = inboxes.get(userId);
+            if (inbox == null || inbox.unread == 0) {
+                return 0;
+            }
+            byte unread = (byte) NotificationStatus.UNREAD.ordinal();
+            byte read = (byte) NotificationStatus.READ.ordinal();
+            long readAtMillis = toMillis(readAtTime);
+            int marked = 0;
+            for (int i = 0; i < inbox.size; i++) {
+                int slot = inbox.slots[i];
+                if (status[slot] == unread) {
+                    status[slot] = read;
+                    readAt[slot] = readAtMillis;
+                    marked++;
+                }
+            }
+            inbox.unread -= marked;
+            return marked;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<InAppNotification> findById(UUID id) {
+        lock.readLock().lock();
+        try {
+            int slot = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            return slot < 0 ? Optional.empty() : Optional.of(read(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<InAppNotification> findByUserIdOrderByCreatedAtDesc(UUID userId) {
+        return findByUserIdAfter(userId, null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<InAppNotification> findByUserIdAfter(UUID userId, NotificationCursor after, int limit) {
+        lock.readLock().lock();
+        try {
+            Inbox inbox = inboxes.get(userId);
+            if (inbox == null) {
+                return new ArrayList<>();
+            }
+            int from = 0;
+            if (after != null) {
+                long time = toMillis(after.createdAt());
+                long high = after.notificationId().getMostSignificantBits();
+                long low = after.notificationId().getLeastSignificantBits();
+                from = inbox.lowerBound(this, time, high, low);
+                if (from < inbox.size && compare(inbox.slots[from], time, high, low) == 0) {
+                    from++;
+                }
+            }
+            int to = (int) Math.min(inbox.size, (long) from + Math.max(0, limit));
+            List<InAppNotification> notifications = new ArrayList<>(Math.max(0, to - from));
+            for (int i = from; i < to; i++) {
+                notifications.add(read(inbox.slots[i]));
+            }
+            return notifications;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long countUnreadByUserId(UUID userId) {
+        lock.readLock().lock();
+        try {
+            Inbox inbox = inboxes.get(userId);
+            return inbox == null ? 0 : inbox.unread;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int rebuildUnreadCounters() {
+        lock.writeLock().lock();
+        try {
+            byte unread = (byte) NotificationStatus.UNREAD.ordinal();
+            int users = 0;
+            for (Inbox inbox : inboxes.values()) {
+                inbox.unread = 0;
+                for (int i = 0; i < inbox.size; i++) {
+                    if (status[inbox.slots[i]] == unread) {
+                        inbox.unread++;
+                    }
+                }
+                if (inbox.unread > 0) {
+                    users++;
+                }
+            }
+            return users;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<InAppNotification> findExpiringBefore(OffsetDateTime cutoff, int limit) {
+        lock.readLock().lock();
+        try {
+            List<InAppNotification> due = new ArrayList<>();
+            for (int slot : dueBy(expiringHeads, toMillis(cutoff), limit)) {
+                due.add(read(slot));
+            }
+            return due;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<UUID> findExpiredBefore(OffsetDateTime cutoff, int limit) {
+        lock.readLock().lock();
+        try {
+            List<UUID> due = new ArrayList<>();
+            for (int slot : dueBy(expiredHeads, toMillis(cutoff), limit)) {
+                due.add(new UUID(idHigh[slot], idLow[slot]));
+            }
+            return due;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int deleteAllById(Collection<UUID> ids) {
+        lock.writeLock().lock();
+        try {
+            int deleted = 0;
+            for (UUID id : ids) {
+                int slot = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+                if (slot >= 0) {
+                    free(slot);
+                    deleted++;
+                }
+            }
+            return deleted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putAll(List<InAppNotification> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (InAppNotification notification : batch) {
+                put(notification);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Escribe una notificación en su slot, creándolo si es nueva. Los códigos
+     * de texto nuevos se obtienen antes de liberar los anteriores para no
+     * descartar un texto que se vuelve a usar. Se invoca con el bloqueo de
+     * escritura tomado.
+     *
+     * @return Slot de la notificación.
+     */
+    private int put(InAppNotification notification) {
+        long high = notification.getNotificationId().getMostSignificantBits();
+        long low = notification.getNotificationId().getLeastSignificantBits();
+        int titleCode = titles.retain(notification.getTitle());
+        int priorityCode = priorities.retain(notification.getPriority());
+        int messageCode = messages.retain(notification.getMessage());
+
+        int slot = find(high, low);
+        if (slot >= 0) {
+            detach(slot);
+            titles.release(title[slot]);
+            priorities.release(priority[slot]);
+            messages.release(message[slot]);
+        } else {
+            slot = allocate(high, low);
+        }
+
+        UUID user = notification.getUserId();
+        flags[slot] = user != null ? HAS_USER : 0;
+        userHigh[slot] = user != null ? user.getMostSignificantBits() : 0;
+        userLow[slot] = user != null ? user.getLeastSignificantBits() : 0;
+        createdAt[slot] = toMillis(notification.getCreatedAt());
+        readAt[slot] = toMillis(notification.getReadAt());
+        expiresAt[slot] = toMillis(notification.getExpiresAt());
+        status[slot] = notification.getStatus() != null ? (byte) notification.getStatus().ordinal() : NO_ENUM;
+        eventType[slot] = notification.getEventType() != null ? (byte) notification.getEventType().ordinal() : NO_ENUM;
+        title[slot] = titleCode;
+        priority[slot] = priorityCode;
+        message[slot] = messageCode;
+        attach(slot);
+        return slot;
+    }
+
+    /** Agrega el slot a la bandeja de su usuario y a su lista de expiración. */
+    private void attach(int slot) {
+        link(slot);
+        if ((flags[slot] & HAS_USER) == 0) {
+            return;
+        }
+        Inbox inbox = inboxes.computeIfAbsent(userOf(slot), user -> new Inbox());
+        inbox.insert(this, slot);
+        if (status[slot] == NotificationStatus.UNREAD.ordinal()) {
+            inbox.unread++;
+        }
+    }
+
+    /** Retira el slot de la bandeja de su usuario y de su lista de expiración. */
+    private void detach(int slot) {
+        unlink(slot);
+        if ((flags[slot] & HAS_USER) == 0) {
+            return;
+        }
+        UUID user = userOf(slot);
+        Inbox inbox = inboxes.get(user);
+        if (inbox == null) {
+            return;
+        }
+        inbox.remove(this, slot);
+        if (status[slot] == NotificationStatus.UNREAD.ordinal()) {
+            inbox.unread--;
+        }
+        if (inbox.size == 0) {
+            inboxes.remove(user);
+        }
+    }
+
+    private InAppNotification read(int slot) {
+        return InAppNotification.builder()
+                .notificationId(new UUID(idHigh[slot], idLow[slot]))
+                .userId((flags[slot] & HAS_USER) != 0 ? userOf(slot) : null)
+                .title(titles.get(title[slot]))
+                .message(messages.get(message[slot]))
+                .eventType(eventType[slot] != NO_ENUM ? TYPES[eventType[slot]] : null)
+                .priority(priorities.get(priority[slot]))
+                .status(status[slot] != NO_ENUM ? STATUSES[status[slot]] : null)
+                .createdAt(toTime(createdAt[slot]))
+                .readAt(toTime(readAt[slot]))
+                .expiresAt(toTime(expiresAt[slot]))
+                .build();
+    }
+
+    /**
+     * Libera un slot: lo retira de los índices, libera sus textos y lo deja
+     * disponible para otra notificación.
+     */
+    private void free(int slot) {
+        detach(slot);
+        titles.release(title[slot]);
+        priorities.release(priority[slot]);
+        messages.release(message[slot]);
+        unindexId(slot);
+        flags[slot] = FREE;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private TreeMap<Long, Integer> expiryHeadsOf(int slot) {
+        return status[slot] == NotificationStatus.EXPIRED.ordinal() ? expiredHeads : expiringHeads;
+    }
+
+    /** Enlaza el slot al inicio de la lista de su intervalo de expiración. */
+    private void link(int slot) {
+        if (expiresAt[slot] == NO_TIME) {
+            return;
+        }
+        TreeMap<Long, Integer> heads = expiryHeadsOf(slot);
+        Integer head = heads.put(expiryBucketOf(expiresAt[slot]), slot);
+        expiryPrev[slot] = NO_SLOT;
+        expiryNext[slot] = head != null ? head : NO_SLOT;
+        if (head != null) {
+            expiryPrev[head] = slot;
+        }
+    }
+
+    /** Desenlaza el slot de la lista de su intervalo de expiración. */
+    private void unlink(int slot) {
+        if (expiresAt[slot] == NO_TIME) {
+            return;
+        }
+        int previous = expiryPrev[slot];
+        int next = expiryNext[slot];
+        if (previous == NO_SLOT) {
+            long bucket = expiryBucketOf(expiresAt[slot]);
+            if (next == NO_SLOT) {
+                expiryHeadsOf(slot).remove(bucket);
+            } else {
+                expiryHeadsOf(slot).put(bucket, next);
+            }
+        } else {
+            expiryNext[previous] = next;
+        }
+        if (next != NO_SLOT) {
+            expiryPrev[next] = previous;
+        }
+    }
+
+    /** Slots de una de las listas de expiración que vencen hasta un momento. */
+    private List<Integer> dueBy(TreeMap<Long, Integer> heads, long cutoff, int limit) {
+        List<Integer> due = new ArrayList<>(Math.min(limit, 256));
+        for (int head : heads.headMap(expiryBucketOf(cutoff), true).values()) {
+            for (int slot = head; slot != NO_SLOT; slot = expiryNext[slot]) {
+                if (due.size() >= limit) {
+                    return due;
+                }
+                if (expiresAt[slot] <= cutoff) {
+                    due.add(slot);
+                }
+            }
+        }
+        return due;
+    }
+
+    private static long expiryBucketOf(long millis) {
+        return Math.floorDiv(millis, ExpiryIndex.BUCKET_MILLIS);
+    }
+
+    private UUID userOf(int slot) {
+        return new UUID(userHigh[slot], userLow[slot]);
+    }
+
+    /**
+     * Compara la posición de un slot en la bandeja con una clave: primero por
+     * {@code createdAt} descendente (sin fecha al final) y luego por id.
+     *
+     * @return Negativo si el slot va antes que la clave, cero si coinciden.
+     */
+    private int compare(int slot, long time, long high, long low) {
+        int byTime = Long.compare(time, createdAt[slot]);
+        if (byTime != 0) {
+            return byTime;
+        }
+        int byHigh = Long.compare(idHigh[slot], high);
+        return byHigh != 0 ? byHigh : Long.compare(idLow[slot], low);
+    }
+
+    private int find(long high, long low) {
+        int mask = slotTable.length - 1;
+        for (int i = mix(high, low) & mask; ; i = (i + 1) & mask) {
+            int entry = slotTable[i];
+            if (entry == 0) {
+                return -1;
+            }
+            int slot = entry - 1;
+            if (idHigh[slot] == high && idLow[slot] == low) {
+                return slot;
+            }
+        }
+    }
+
+    private int allocate(long high, long low) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (size == idHigh.length) {
+                grow(size + (size >> 1));
+            }
+            slot = size++;
+        }
+        idHigh[slot] = high;
+        idLow[slot] = low;
+        flags[slot] = 0;
+        if (size * 2 > slotTable.length) {
+            slotTable = new int[slotTable.length * 2];
+            for (int existing = 0; existing < size; existing++) {
+                if (flags[existing] != FREE) {
+                    index(existing);
+                }
+            }
+        } else {
+            index(slot);
+        }
+        return slot;
+    }
+
+    /**
+     * Retira un slot de la tabla hash desplazando hacia atrás las entradas
+     * siguientes de la misma secuencia de sondeo, sin dejar marcas de borrado.
+     */
+    private void unindexId(int slot) {
+        int mask = slotTable.length - 1;
+        int hole = mix(idHigh[slot], idLow[slot]) & mask;
+        while (slotTable[hole] != slot + 1) {
+            hole = (hole + 1) & mask;
+        }
+        for (int i = (hole + 1) & mask; slotTable[i] != 0; i = (i + 1) & mask) {
+            int candidate = slotTable[i] - 1;
+            int home = mix(idHigh[candidate], idLow[candidate]) & mask;
+            boolean staysPut = hole <= i ? (home > hole && home <= i) : (home > hole || home <= i);
+            if (!staysPut) {
+                slotTable[hole] = slotTable[i];
+                hole = i;
+            }
+        }
+        slotTable[hole] = 0;
+    }
+
+    private void index(int slot) {
+        int mask = slotTable.length - 1;
+        int i = mix(idHigh[slot], idLow[slot]) & mask;
+        while (slotTable[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        slotTable[i] = slot + 1;
+    }
+
+    private void grow(int capacity) {
+        idHigh = Arrays.copyOf(idHigh, capacity);
+        idLow = Arrays.copyOf(idLow, capacity);
+        userHigh = Arrays.copyOf(userHigh, capacity);
+        userLow = Arrays.copyOf(userLow, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        readAt = Arrays.copyOf(readAt, capacity);
+        expiresAt = Arrays.copyOf(expiresAt, capacity);
+        status = Arrays.copyOf(status, capacity);
+        eventType = Arrays.copyOf(eventType, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        title = Arrays.copyOf(title, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+        message = Arrays.copyOf(message, capacity);
+        expiryNext = Arrays.copyOf(expiryNext, capacity);
+        expiryPrev = Arrays.copyOf(expiryPrev, capacity);
+    }
+
+    private static int mix(long high, long low) {
+        long hash = high * 0x9E3779B97F4A7C15L ^ low;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        return (int) hash;
+    }
+
+    private static long toMillis(OffsetDateTime time) {
+        return time == null ? NO_TIME : time.toInstant().toEpochMilli();
+    }
+
+    private static OffsetDateTime toTime(long millis) {
+        return millis == NO_TIME ? null : OffsetDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    private static void assignId(InAppNotification notification) {
+        if (notification.getNotificationId() == null) {
+            notification.setNotificationId(UUID.randomUUID());
+        }
+    }
+
+    /** Slots de la bandeja de un usuario, en el orden de {@link #compare(int, long, long, long)}. */
+    private static final class Inbox {
+        private int[] slots = new int[4];
+        private int size;
+        private long unread;
+
+        /** Primera posición cuya clave no va antes que la dada. */
+        int lowerBound(CompactNotificationRepository store, long time, long high, long low) {
+            int from = 0;
+            int to = size;
+            while (from < to) {
+                int middle = (from + to) >>> 1;
+                if (store.compare(slots[middle], time, high, low) < 0) {
+                    from = middle + 1;
+                } else {
+                    to = middle;
+                }
+            }
+            return from;
+        }
+
+        void insert(CompactNotificationRepository store, int slot) {
+            int at = lowerBound(store, store.createdAt[slot], store.idHigh[slot], store.idLow[slot]);
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            System.arraycopy(slots, at, slots, at + 1, size - at);
+            slots[at] = slot;
+            size++;
+        }
+
+        void remove(CompactNotificationRepository store, int slot) {
+            int at = lowerBound(store, store.createdAt[slot], store.idHigh[slot], store.idLow[slot]);
+            if (at < size && slots[at] == slot) {
+                System.arraycopy(slots, at + 1, slots, at, size - at - 1);
+                size--;
+            }
+        }
+    }
+
+    /**
+     * Diccionario de textos con conteo de referencias: cada texto distinto se
+     * guarda una vez y las notificaciones guardan su código.
+     */
+    private static final class StringDictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private String[] values = new String[16];
+        private int[] references = new int[16];
+        private int[] free = new int[16];
+        private int freeCount;
+        private int next;
+
+        int retain(String value) {
+            if (value == null) {
+                return NO_CODE;
+            }
+            Integer existing = codes.get(value);
+            if (existing != null) {
+                references[existing]++;
+                return existing;
+            }
+            int code;
+            if (freeCount > 0) {
+                code = free[--freeCount];
+            } else {
+                code = next++;
+                if (code == values.length) {
+                    values = Arrays.copyOf(values, code * 2);
+                    references = Arrays.copyOf(references, code * 2);
+                }
+            }
+            values[code] = value;
+            references[code] = 1;
+            codes.put(value, code);
+            return code;
+        }
+
+        void release(int code) {
+            if (code == NO_CODE || --references[code] > 0) {
+                return;
+            }
+            codes.remove(values[code]);
+            values[code] = null;
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, freeCount * 2);
+            }
+            free[freeCount++] = code;
+        }
+
+        String get(int code) {
+            return code == NO_CODE ? null : values[code];
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package edu.dosw.rideci.infrastructure.persistance.Repository;
+
+import edu.dosw.rideci.application.port.out.DeadLetterRepositoryPort;
+import edu.dosw.rideci.domain.model.DeadLetter;
+import edu.dosw.rideci.domain.model.Enum.DeadLetterStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Adaptador de repositorio para dead letters usando almacenamiento en memoria.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Component
+public class DeadLetterRepositoryAdapter implements DeadLetterRepositoryPort {
+
+    /** Almacén en memoria: id de dead letter -> dead letter. */
+    private final Map<UUID, DeadLetter> storage = new ConcurrentHashMap<>();
+
+    @Override
+    public DeadLetter save(DeadLetter deadLetter) {
+        if (deadLetter.getId() == null) {
+            deadLetter.setId(UUID.randomUUID());
+        }
+        storage.put(deadLetter.getId(), deadLetter);
+        return deadLetter;
+    }
+
+    @Override
+    public Optional<DeadLetter> findById(UUID id) {
+        return Optional.ofNullable(storage.get(id));
+    }
+
+    @Override
+    public List<DeadLetter> findAll(DeadLetterStatus status) {
+        return storage.values().stream()
+                .filter(deadLetter -> status == null || deadLetter.getStatus() == status)
+                .sorted(Comparator.comparing(DeadLetter::getFirstFailedAt))
+                .toList();
+    }
+
+    @Override
+    public boolean deleteById(UUID id) {
+        return storage.remove(id) != null;
+    }
+}
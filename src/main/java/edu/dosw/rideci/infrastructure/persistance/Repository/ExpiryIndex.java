@@ -0,0 +1,79 @@
+package edu.dosw.rideci.infrastructure.persistance.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Índice de notificaciones por fecha de expiración, agrupado en intervalos
+ * de {@value #BUCKET_MILLIS} ms.
+ *
+ * Buscar las notificaciones que vencen hasta un momento recorre solo los
+ * intervalos anteriores a ese momento, por lo que cuesta lo proporcional a
+ * las notificaciones que vencen y no al tamaño del almacén. Altas y bajas
+ * son concurrentes.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+final class ExpiryIndex {
+
+    /** Ancho de cada intervalo del índice. */
+    static final long BUCKET_MILLIS = 60_000;
+
+    /** Intervalo -> notificaciones que vencen en él, con su fecha en milisegundos. */
+    private final ConcurrentSkipListMap<Long, Map<UUID, Long>> buckets = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param id        Identificador de la notificación.
+     * @param expiresAt Fecha de expiración en milisegundos desde la época.
+     */
+    void add(UUID id, long expiresAt) {
+        buckets.compute(bucketOf(expiresAt), (bucket, ids) -> {
+            Map<UUID, Long> updated = ids != null ? ids : new ConcurrentHashMap<>();
+            updated.put(id, expiresAt);
+            return updated;
+        });
+    }
+
+    /**
+     * @param id        Identificador de la notificación.
+     * @param expiresAt Fecha con la que se agregó.
+     */
+    void remove(UUID id, long expiresAt) {
+        buckets.computeIfPresent(bucketOf(expiresAt), (bucket, ids) -> {
+            ids.remove(id, expiresAt);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * Notificaciones que vencen hasta un momento, de los intervalos más
+     * antiguos en adelante.
+     *
+     * @param cutoff Momento límite en milisegundos desde la época.
+     * @param limit  Máximo de identificadores a devolver.
+     * @return Identificadores de las notificaciones vencidas.
+     */
+    List<UUID> dueBy(long cutoff, int limit) {
+        List<UUID> due = new ArrayList<>(Math.min(limit, 256));
+        for (Map<UUID, Long> ids : buckets.headMap(bucketOf(cutoff), true).values()) {
+            for (Map.Entry<UUID, Long> entry : ids.entrySet()) {
+                if (due.size() >= limit) {
+                    return due;
+                }
+                if (entry.getValue() <= cutoff) {
+                    due.add(entry.getKey());
+                }
+            }
+        }
+        return due;
+    }
+
+    private static long bucketOf(long millis) {
+        return Math.floorDiv(millis, BUCKET_MILLIS);
+    }
+}
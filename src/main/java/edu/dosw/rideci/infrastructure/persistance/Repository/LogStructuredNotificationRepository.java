@@ -0,0 +1,524 @@
+package edu.dosw.rideci.infrastructure.persistance.Repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.dosw.rideci.application.port.out.NotificationRepositoryPort;
+import edu.dosw.rideci.domain.model.Enum.NotificationStatus;
+import edu.dosw.rideci.domain.model.InAppNotification;
+import edu.dosw.rideci.domain.model.NotificationCursor;
+import edu.dosw.rideci.infrastructure.persistance.Entity.NotificationEntity;
+import edu.dosw.rideci.infrastructure.persistance.Repository.mapper.NotificationPersistenceMapper;
+import edu.dosw.rideci.infrastructure.storage.MappedSegmentLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementación persistente de {@link NotificationRepositoryPort} sobre un
+ * {@link MappedSegmentLog} local, sin servicios externos.
+ *
+ * Cada escritura anexa la entidad completa en JSON al registro y se confirma
+ * con commit agrupado; nunca se modifica un registro existente. Un índice en
+ * memoria guarda la posición del registro vigente de cada notificación, y las
+ * consultas se sirven desde un {@link NotificationRepositoryAdapter} que
+ * refleja el último estado de cada una, con su índice por usuario y sus
+ * contadores de no leídas.
+ *
+ * Al abrir se recorre el registro y el último registro de cada notificación
+ * reconstruye el estado; los registros a medio escribir por una caída los
+ * descarta el propio registro. En segundo plano, los segmentos cerrados en
+ * los que la mayoría de los registros fueron reemplazados por cambios
+ * posteriores (por ejemplo, de estado) se compactan: sus registros vigentes
+ * se copian al final del registro y el segmento se elimina.
+ *
+ * Las eliminaciones se anexan como registros DELETE. Mientras exista un
+ * segmento anterior que pueda tener un registro de la notificación
+ * eliminada, la compactación copia también esos registros para que la
+ * notificación no reaparezca al reabrir.
+ *
+ * Solo se activa con {@code notifications.store.mode=log}.
+ *
+ * @author RideECI
+ * @version 1.1
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "notifications.store", name = "mode", havingValue = "log")
+public class LogStructuredNotificationRepository implements NotificationRepositoryPort {
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    /** Escrituras por adquisición del bloqueo en lotes y compactación. */
+    private static final int BATCH_SIZE = 1_000;
+
+    private final NotificationStoreProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MappedSegmentLog segmentLog;
+
+    /** Estado vigente de cada notificación, usado para las consultas. */
+    private final NotificationRepositoryAdapter view = new NotificationRepositoryAdapter();
+
+    /**
+     * Serializa las escrituras para que el orden del registro coincida con el
+     * orden en que se aplican a la vista.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /** Índice de posiciones: id de notificación -> posición de su registro vigente. */
+    private final Map<UUID, Long> positions = new HashMap<>();
+
+    /** Registros escritos y vigentes de cada segmento. */
+    private final Map<Integer, SegmentStats> stats = new HashMap<>();
+
+    /** Notificaciones eliminadas por registros DELETE de cada segmento. */
+    private final Map<Integer, Set<UUID>> tombstones = new HashMap<>();
+
+    /** Posición del último registro anexado. */
+    private long lastPosition = -1;
+
+    private ScheduledThreadPoolExecutor compactor;
+
+    /**
+     * Abre el almacén y reconstruye el estado desde el registro.
+     *
+     * @param properties   Configuración del almacén.
+     * @param objectMapper Mapper para serializar las entidades.
+     */
+    public LogStructuredNotificationRepository(NotificationStoreProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        try {
+            this.segmentLog = new MappedSegmentLog(Path.of(properties.getDirectory()),
+                    Math.toIntExact(properties.getSegmentSize().toBytes()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open notification store at " + properties.getDirectory(), e);
+        }
+        int recovered = recover();
+        log.info("Notification store opened at {} with {} notifications", properties.getDirectory(), recovered);
+    }
+
+    /**
+     * Arranca la compactación periódica de segmentos.
+     */
+    @PostConstruct
+    public void start() {
+        compactor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "notification-store-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, properties.getCompactionInterval().toMillis());
+        compactor.scheduleWithFixedDelay(() -> {
+            try {
+                compact();
+            } catch (RuntimeException e) {
+                log.error("Error compactando el almacén de notificaciones", e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Detiene la compactación y cierra el registro forzando a disco lo pendiente.
+     */
+    @PreDestroy
+    public void close() {
+        if (compactor != null) {
+            compactor.shutdownNow();
+            try {
+                compactor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            segmentLog.close();
+        } catch (IOException e) {
+            log.warn("Error closing notification store", e);
+        }
+    }
+
+    @Override
+    public InAppNotification save(InAppNotification notification) {
+        assignId(notification);
+        byte[] record = serialize(notification);
+        long position;
+        InAppNotification saved;
+        writeLock.lock();
+        try {
+            position = append(notification.getNotificationId(), record);
+            saved = view.save(notification);
+        } finally {
+            writeLock.unlock();
+        }
+        sync(position);
+        return saved;
+    }
+
+    @Override
+    public List<InAppNotification> saveAll(Collection<InAppNotification> notifications) {
+        List<InAppNotification> batch = new ArrayList<>(Math.min(notifications.size(), BATCH_SIZE));
+        List<byte[]> records = new ArrayList<>(Math.min(notifications.size(), BATCH_SIZE));
+        long position = -1;
+        for (InAppNotification notification : notifications) {
+            assignId(notification);
+            batch.add(notification);
+            records.add(serialize(notification));
+            if (batch.size() == BATCH_SIZE) {
+                position = write(batch, records);
+                batch = new ArrayList<>(BATCH_SIZE);
+                records = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            position = write(batch, records);
+        }
+        sync(position);
+        return new ArrayList<>(notifications);
+    }
+
+    @Override
+    public int markAllAsRead(UUID userId, OffsetDateTime readAt) {
+        long position = -1;
+        int marked;
+        writeLock.lock();
+        try {
+            List<InAppNotification> unread = view.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                    .filter(notification -> notification.getStatus() == NotificationStatus.UNREAD)
+                    .toList();
+            for (InAppNotification notification : unread) {
+                notification.setStatus(NotificationStatus.READ);
+                notification.setReadAt(readAt);
+                position = append(notification.getNotificationId(), serialize(notification));
+            }
+            view.saveAll(unread);
+            marked = unread.size();
+        } finally {
+            writeLock.unlock();
+        }
+        sync(position);
+        return marked;
+    }
+
+    @Override
+    public Optional<InAppNotification> findById(UUID id) {
+        return view.findById(id);
+    }
+
+    @Override
+    public List<InAppNotification> findByUserIdOrderByCreatedAtDesc(UUID userId) {
+        return view.findByUserIdOrderByCreatedAtDesc(userId);
+    }
+
+    @Override
+    public List<InAppNotification> findByUserIdAfter(UUID userId, NotificationCursor after, int limit) {
+        return view.findByUserIdAfter(userId, after, limit);
+    }
+
+    @Override
+    public List<InAppNotification> findExpiringBefore(OffsetDateTime cutoff, int limit) {
+        return view.findExpiringBefore(cutoff, limit);
+    }
+
+    @Override
+    public List<UUID> findExpiredBefore(OffsetDateTime cutoff, int limit) {
+        return view.findExpiredBefore(cutoff, limit);
+    }
+
+    @Override
+    public int deleteAllById(Collection<UUID> ids) {
+        long position = -1;
+        int deleted;
+        writeLock.lock();
+        try {
+            List<UUID> present = new ArrayList<>(ids.size());
+            for (UUID id : ids) {
+                if (positions.containsKey(id)) {
+                    position = appendDelete(id);
+                    present.add(id);
+                }
+            }
+            deleted = view.deleteAllById(present);
+        } finally {
+            writeLock.unlock();
+        }
+        sync(position);
+        return deleted;
+    }
+
+    @Override
+    public long countUnreadByUserId(UUID userId) {
+        return view.countUnreadByUserId(userId);
+    }
+
+    @Override
+    public int rebuildUnreadCounters() {
+        return view.rebuildUnreadCounters();
+    }
+
+    /**
+     * Compacta los segmentos cerrados cuya fracción de registros vigentes
+     * está por debajo del umbral configurado. Lo invoca el hilo de
+     * compactación; también se usa en pruebas sin arrancarlo.
+     *
+     * @return Segmentos eliminados.
+     */
+    int compact() {
+        int active = segmentLog.activeSegmentId();
+        List<Integer> candidates = new ArrayList<>();
+        writeLock.lock();
+        try {
+            stats.forEach((segment, segmentStats) -> {
+                if (segment < active && segmentStats.live < segmentStats.total * properties.getCompactionThreshold()) {
+                    candidates.add(segment);
+                }
+            });
+        } finally {
+            writeLock.unlock();
+        }
+        int deleted = 0;
+        for (int segment : candidates) {
+            if (compactSegment(segment)) {
+                deleted++;
+            }
+        }
+        if (deleted > 0) {
+            log.info("Almacén de notificaciones compactado: {} segmentos eliminados", deleted);
+        }
+        return deleted;
+    }
+
+    /**
+     * Copia al final del registro los registros vigentes de un segmento y lo
+     * elimina una vez que las copias y todo lo anterior están en disco.
+     *
+     * @param segment Segmento cerrado a compactar.
+     * @return {@code true} si el segmento se eliminó.
+     */
+    private boolean compactSegment(int segment) {
+        List<UUID> live = new ArrayList<>();
+        writeLock.lock();
+        try {
+            positions.forEach((id, position) -> {
+                if (MappedSegmentLog.segmentOf(position) == segment) {
+                    live.add(id);
+                }
+            });
+        } finally {
+            writeLock.unlock();
+        }
+        for (int from = 0; from < live.size(); from += BATCH_SIZE) {
+            writeLock.lock();
+            try {
+                for (UUID id : live.subList(from, Math.min(live.size(), from + BATCH_SIZE))) {
+                    Long position = positions.get(id);
+                    if (position == null || MappedSegmentLog.segmentOf(position) != segment) {
+                        continue;
+                    }
+                    view.findById(id).ifPresent(current -> append(id, serialize(current)));
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        long durableUpTo;
+        writeLock.lock();
+        try {
+            Set<UUID> deleted = tombstones.remove(segment);
+            if (deleted != null && segmentLog.segmentIds().get(0) < segment) {
+                for (UUID id : deleted) {
+                    if (!positions.containsKey(id)) {
+                        appendDelete(id);
+                    }
+                }
+            }
+            durableUpTo = lastPosition;
+        } finally {
+            writeLock.unlock();
+        }
+        if (durableUpTo >= 0) {
+            segmentLog.sync(durableUpTo);
+        }
+        writeLock.lock();
+        try {
+            SegmentStats segmentStats = stats.get(segment);
+            if (segmentStats != null && segmentStats.live > 0) {
+                return false;
+            }
+            stats.remove(segment);
+            segmentLog.deleteSegment(segment);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Anexa un lote al registro y lo aplica a la vista.
+     *
+     * @return Posición del último registro del lote.
+     */
+    private long write(List<InAppNotification> batch, List<byte[]> records) {
+        long position = -1;
+        writeLock.lock();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                position = append(batch.get(i).getNotificationId(), records.get(i));
+            }
+            view.saveAll(batch);
+        } finally {
+            writeLock.unlock();
+        }
+        return position;
+    }
+
+    /**
+     * Anexa el registro de una notificación y actualiza el índice de
+     * posiciones. Se invoca con {@code writeLock} tomado.
+     */
+    private long append(UUID id, byte[] record) {
+        long position = segmentLog.append(PUT, record);
+        track(id, position);
+        lastPosition = position;
+        return position;
+    }
+
+    /**
+     * Anexa el registro DELETE de una notificación y la retira del índice de
+     * posiciones. Se invoca con {@code writeLock} tomado.
+     */
+    private long appendDelete(UUID id) {
+        long position = segmentLog.append(DELETE, uuidBytes(id));
+        untrack(id, position);
+        lastPosition = position;
+        return position;
+    }
+
+    /**
+     * Retira una notificación del índice de posiciones por un registro DELETE,
+     * que se cuenta en su segmento hasta que la compactación lo descarte.
+     */
+    private void untrack(UUID id, long position) {
+        int segment = MappedSegmentLog.segmentOf(position);
+        stats.computeIfAbsent(segment, s -> new SegmentStats()).total++;
+        tombstones.computeIfAbsent(segment, s -> new HashSet<>()).add(id);
+        Long previous = positions.remove(id);
+        if (previous != null) {
+            SegmentStats previousStats = stats.get(MappedSegmentLog.segmentOf(previous));
+            if (previousStats != null) {
+                previousStats.live--;
+            }
+        }
+    }
+
+    /**
+     * Registra la posición vigente de una notificación y descuenta su
+     * registro anterior de los vigentes de su segmento.
+     */
+    private void track(UUID id, long position) {
+        SegmentStats segmentStats = stats.computeIfAbsent(MappedSegmentLog.segmentOf(position), s -> new SegmentStats());
+        segmentStats.total++;
+        segmentStats.live++;
+        Long previous = positions.put(id, position);
+        if (previous != null) {
+            SegmentStats previousStats = stats.get(MappedSegmentLog.segmentOf(previous));
+            if (previousStats != null) {
+                previousStats.live--;
+            }
+        }
+    }
+
+    /**
+     * Recorre el registro y carga en la vista el último estado de cada notificación.
+     *
+     * @return Notificaciones recuperadas.
+     */
+    private int recover() {
+        Map<UUID, NotificationEntity> latest = new LinkedHashMap<>();
+        segmentLog.replay((position, type, payload) -> {
+            stats.computeIfAbsent(MappedSegmentLog.segmentOf(position), s -> new SegmentStats());
+            if (type == DELETE) {
+                UUID id = new UUID(payload.getLong(0), payload.getLong(Long.BYTES));
+                untrack(id, position);
+                latest.remove(id);
+                lastPosition = position;
+                return;
+            }
+            if (type != PUT) {
+                return;
+            }
+            NotificationEntity entity;
+            try {
+                entity = objectMapper.readValue(bytes(payload), NotificationEntity.class);
+            } catch (IOException e) {
+                log.error("Registro ilegible en el almacén de notificaciones en la posición {}, se descarta", position, e);
+                stats.get(MappedSegmentLog.segmentOf(position)).total++;
+                return;
+            }
+            track(entity.getNotificationId(), position);
+            latest.put(entity.getNotificationId(), entity);
+            lastPosition = position;
+        });
+        view.saveAll(latest.values().stream().map(NotificationPersistenceMapper::toDomain).toList());
+        return latest.size();
+    }
+
+    private void sync(long position) {
+        if (position >= 0 && properties.isSyncOnWrite()) {
+            segmentLog.sync(position);
+        }
+    }
+
+    private byte[] serialize(InAppNotification notification) {
+        try {
+            return objectMapper.writeValueAsBytes(NotificationPersistenceMapper.toEntity(notification));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot serialize notification " + notification.getNotificationId(), e);
+        }
+    }
+
+    private static void assignId(InAppNotification notification) {
+        if (notification.getNotificationId() == null) {
+            notification.setNotificationId(UUID.randomUUID());
+        }
+    }
+
+    private static byte[] uuidBytes(UUID id) {
+        return ByteBuffer.allocate(2 * Long.BYTES)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    private static byte[] bytes(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        return bytes;
+    }
+
+    /** Registros de un segmento: escritos y aún vigentes. */
+    private static final class SegmentStats {
+        private int total;
+        private int live;
+    }
+}
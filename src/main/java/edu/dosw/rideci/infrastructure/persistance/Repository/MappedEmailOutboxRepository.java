@@ -0,0 +1,445 @@
+package edu.dosw.rideci.infrastructure.persistance.Repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.dosw.rideci.application.port.out.EmailOutboxRepositoryPort;
+import edu.dosw.rideci.domain.model.Enum.EventPriority;
+import edu.dosw.rideci.domain.model.Enum.OutboxEmailStatus;
+import edu.dosw.rideci.domain.model.OutboxEmail;
+import edu.dosw.rideci.infrastructure.notification.EmailOutboxProperties;
+import edu.dosw.rideci.infrastructure.storage.MappedSegmentLog;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementación de {@link EmailOutboxRepositoryPort} sobre un
+ * {@link MappedSegmentLog} local.
+ *
+ * Cada versión de un correo se anexa como un registro PUT con su JSON y se
+ * fuerza a disco con commit agrupado antes de que {@link #save(OutboxEmail)}
+ * devuelva; {@link #saveAll(List)} anexa todos sus correos y los fuerza a
+ * disco una sola vez. Las confirmaciones se anexan como registros DELETE sin forzar:
+ * si se pierden en una caída el correo se vuelve a enviar, por lo que la
+ * entrega es al menos una vez. Al abrir se reproduce el registro y gana el
+ * último registro de cada correo; los que estaban en envío vuelven a
+ * quedar pendientes.
+ *
+ * El estado {@link OutboxEmailStatus#SENDING} solo existe en memoria. Los
+ * correos pendientes se indexan por prioridad y fecha del siguiente intento
+ * para que tomar los vencidos no recorra todo el outbox. Por prioridad se
+ * lleva la cuenta de los correos sin enviar que ya vencieron o están en
+ * envío y, aparte, el índice de los programados para más adelante; estos
+ * pasan a contarse como sin enviar cuando vence su siguiente intento.
+ *
+ * Cada vez que el registro pasa a un segmento nuevo, los correos vivos de
+ * los segmentos cerrados se vuelven a serializar y anexar y esos segmentos
+ * se eliminan, así que el disco ocupado es proporcional a los correos sin
+ * confirmar. En memoria solo se guarda el correo, no su JSON.
+ *
+ * @author RideECI
+ * @version 1.3
+ */
+@Slf4j
+@Component
+public class MappedEmailOutboxRepository implements EmailOutboxRepositoryPort {
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    private final ObjectMapper objectMapper;
+    private final MappedSegmentLog segmentLog;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Correos del outbox por id, con su último registro. */
+    private final Map<UUID, Row> rows = new HashMap<>();
+
+    /** Correos pendientes de cada prioridad ordenados por siguiente intento. */
+    private final Map<EventPriority, TreeSet<Due>> due = new EnumMap<>(EventPriority.class);
+
+    /** Correos de cada prioridad en envío o pendientes con el siguiente intento vencido. */
+    private final Map<EventPriority, Integer> unsent = new EnumMap<>(EventPriority.class);
+
+    /** Correos pendientes de cada prioridad cuyo siguiente intento aún no vence. */
+    private final Map<EventPriority, TreeSet<Due>> scheduled = new EnumMap<>(EventPriority.class);
+
+    /** Segmento activo en la última escritura, para detectar el cambio de segmento. */
+    private volatile int lastSegment;
+
+    /**
+     * Abre el outbox y recupera los correos sin confirmar.
+     *
+     * @param properties   Configuración del outbox.
+     * @param objectMapper Mapper para serializar los correos.
+     */
+    @Autowired
+    public MappedEmailOutboxRepository(EmailOutboxProperties properties, ObjectMapper objectMapper) {
+        this(Path.of(properties.getDirectory()), Math.toIntExact(properties.getSegmentSize().toBytes()), objectMapper);
+    }
+
+    /**
+     * @param directory    Directorio de los segmentos.
+     * @param segmentSize  Tamaño en bytes de cada segmento.
+     * @param objectMapper Mapper para serializar los correos.
+     */
+    MappedEmailOutboxRepository(Path directory, int segmentSize, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        for (EventPriority priority : EventPriority.values()) {
+            due.put(priority, new TreeSet<>());
+            unsent.put(priority, 0);
+            scheduled.put(priority, new TreeSet<>());
+        }
+        try {
+            this.segmentLog = new MappedSegmentLog(directory, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open email outbox at " + directory, e);
+        }
+        recover();
+        lastSegment = segmentLog.activeSegmentId();
+        log.info("Email outbox opened at {} with {} emails", directory, rows.size());
+    }
+
+    @Override
+    public OutboxEmail save(OutboxEmail email) {
+        OutboxEmail stored = storedCopy(email);
+        byte[] json = serialize(stored);
+        long position;
+        lock.lock();
+        try {
+            position = segmentLog.append(PUT, json);
+            index(new Row(stored, position));
+        } finally {
+            lock.unlock();
+        }
+        segmentLog.sync(position);
+        compactIfRolled();
+        return email;
+    }
+
+    @Override
+    public List<OutboxEmail> saveAll(List<OutboxEmail> emails) {
+        if (emails.isEmpty()) {
+            return emails;
+        }
+        List<OutboxEmail> stored = new ArrayList<>(emails.size());
+        List<byte[]> json = new ArrayList<>(emails.size());
+        for (OutboxEmail email : emails) {
+            OutboxEmail copy = storedCopy(email);
+            stored.add(copy);
+            json.add(serialize(copy));
+        }
+        long last = Long.MIN_VALUE;
+        lock.lock();
+        try {
+            for (int i = 0; i < stored.size(); i++) {
+                last = segmentLog.append(PUT, json.get(i));
+                index(new Row(stored.get(i), last));
+            }
+        } finally {
+            lock.unlock();
+        }
+        segmentLog.sync(last);
+        compactIfRolled();
+        return emails;
+    }
+
+    @Override
+    public Optional<OutboxEmail> findById(UUID id) {
+        lock.lock();
+        try {
+            Row row = rows.get(id);
+            return row != null ? Optional.of(row.email.toBuilder().build()) : Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<OutboxEmail> claimDue(EventPriority priority, Instant now, int limit) {
+        long cutoff = now.toEpochMilli();
+        List<OutboxEmail> claimed = new ArrayList<>(Math.min(limit, 64));
+        lock.lock();
+        try {
+            promote(priority, cutoff);
+            Iterator<Due> iterator = due.get(priority).iterator();
+            while (claimed.size() < limit && iterator.hasNext()) {
+                Due next = iterator.next();
+                if (next.at > cutoff) {
+                    break;
+                }
+                OutboxEmail email = rows.get(next.id).email;
+                if (next.at == cutoff && nextAttemptOf(email).isAfter(now)) {
+                    continue;
+                }
+                iterator.remove();
+                email.setStatus(OutboxEmailStatus.SENDING);
+                claimed.add(email.toBuilder().build());
+            }
+        } finally {
+            lock.unlock();
+        }
+        return claimed;
+    }
+
+    @Override
+    public List<OutboxEmail> findAll(OutboxEmailStatus status) {
+        List<OutboxEmail> found = new ArrayList<>();
+        lock.lock();
+        try {
+            for (Row row : rows.values()) {
+                if (status == null || row.email.getStatus() == status) {
+                    found.add(row.email.toBuilder().build());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        found.sort(Comparator.comparing(OutboxEmail::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return found;
+    }
+
+    @Override
+    public int countUnsent(EventPriority priority, Instant now) {
+        lock.lock();
+        try {
+            promote(priority, now.toEpochMilli());
+            return unsent.get(priority);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int countScheduled(EventPriority priority, Instant now) {
+        lock.lock();
+        try {
+            promote(priority, now.toEpochMilli());
+            return scheduled.get(priority).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteById(UUID id) {
+        lock.lock();
+        try {
+            Row removed = rows.remove(id);
+            if (removed == null) {
+                return false;
+            }
+            unindex(removed);
+            segmentLog.append(DELETE, ByteBuffer.allocate(16)
+                    .putLong(id.getMostSignificantBits())
+                    .putLong(id.getLeastSignificantBits())
+                    .array());
+        } finally {
+            lock.unlock();
+        }
+        compactIfRolled();
+        return true;
+    }
+
+    /**
+     * Cierra el outbox forzando a disco lo pendiente.
+     */
+    @PreDestroy
+    public void close() {
+        try {
+            segmentLog.close();
+        } catch (IOException e) {
+            log.warn("Error closing email outbox", e);
+        }
+    }
+
+    /**
+     * Reproduce el registro completo; gana el último registro de cada correo.
+     */
+    private void recover() {
+        segmentLog.replay((position, type, payload) -> {
+            if (type == PUT) {
+                byte[] json = new byte[payload.remaining()];
+                payload.get(json);
+                try {
+                    OutboxEmail email = objectMapper.readValue(json, OutboxEmail.class);
+                    index(new Row(email, position));
+                } catch (IOException e) {
+                    log.error("Correo ilegible en el outbox en la posición {}, se descarta", position, e);
+                }
+            } else if (type == DELETE) {
+                Row removed = rows.remove(new UUID(payload.getLong(0), payload.getLong(8)));
+                if (removed != null) {
+                    unindex(removed);
+                }
+            }
+        });
+    }
+
+    /**
+     * Registra la última versión de un correo. Se invoca con {@code lock} tomado.
+     */
+    private void index(Row row) {
+        Row previous = rows.put(row.email.getId(), row);
+        if (previous != null) {
+            unindex(previous);
+        }
+        OutboxEmail email = row.email;
+        if (email.getStatus() == OutboxEmailStatus.PENDING) {
+            Due entry = Due.of(email);
+            due.get(priorityOf(email)).add(entry);
+            if (entry.at > System.currentTimeMillis()) {
+                scheduled.get(priorityOf(email)).add(entry);
+            } else {
+                unsent.merge(priorityOf(email), 1, Integer::sum);
+            }
+        }
+    }
+
+    private void unindex(Row row) {
+        OutboxEmail email = row.email;
+        if (email.getStatus() == OutboxEmailStatus.PENDING) {
+            Due entry = Due.of(email);
+            due.get(priorityOf(email)).remove(entry);
+            if (scheduled.get(priorityOf(email)).remove(entry)) {
+                return;
+            }
+        }
+        if (email.getStatus() != OutboxEmailStatus.FAILED) {
+            unsent.merge(priorityOf(email), -1, Integer::sum);
+        }
+    }
+
+    /**
+     * Pasa a contar como sin enviar los correos programados de una prioridad
+     * cuyo siguiente intento venció. Se invoca con {@code lock} tomado.
+     */
+    private void promote(EventPriority priority, long now) {
+        TreeSet<Due> waiting = scheduled.get(priority);
+        while (!waiting.isEmpty() && waiting.first().at <= now) {
+            waiting.pollFirst();
+            unsent.merge(priority, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Prioridad de un correo; los registrados sin prioridad son {@link EventPriority#NORMAL}.
+     */
+    private static EventPriority priorityOf(OutboxEmail email) {
+        return email.getPriority() != null ? email.getPriority() : EventPriority.NORMAL;
+    }
+
+    /**
+     * Siguiente intento de un correo pendiente; sin fecha, vence al registrarse.
+     */
+    private static Instant nextAttemptOf(OutboxEmail email) {
+        Instant next = email.getNextAttemptAt() != null ? email.getNextAttemptAt() : email.getCreatedAt();
+        return next != null ? next : Instant.EPOCH;
+    }
+
+    /**
+     * Si el registro pasó a un segmento nuevo, vuelve a anexar los correos
+     * vivos de los segmentos cerrados, los fuerza a disco y elimina esos
+     * segmentos. Los que están en envío se guardan como pendientes, igual
+     * que en {@link #save(OutboxEmail)}.
+     */
+    private void compactIfRolled() {
+        if (segmentLog.activeSegmentId() == lastSegment) {
+            return;
+        }
+        lock.lock();
+        try {
+            int active = segmentLog.activeSegmentId();
+            if (active == lastSegment) {
+                return;
+            }
+            long last = Long.MIN_VALUE;
+            for (Row row : new ArrayList<>(rows.values())) {
+                if (MappedSegmentLog.segmentOf(row.position) < active) {
+                    last = segmentLog.append(PUT, serialize(storedCopy(row.email)));
+                    rows.put(row.email.getId(), new Row(row.email, last));
+                }
+            }
+            if (last != Long.MIN_VALUE) {
+                segmentLog.sync(last);
+            }
+            int current = segmentLog.activeSegmentId();
+            for (int segment : segmentLog.segmentIds()) {
+                if (segment < active && segment < current) {
+                    segmentLog.deleteSegment(segment);
+                }
+            }
+            lastSegment = current;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copia de un correo tal como se registra: con identificador y sin el
+     * estado {@link OutboxEmailStatus#SENDING}, que solo existe en memoria.
+     */
+    private static OutboxEmail storedCopy(OutboxEmail email) {
+        if (email.getId() == null) {
+            email.setId(UUID.randomUUID());
+        }
+        OutboxEmail stored = email.toBuilder().build();
+        if (stored.getStatus() == OutboxEmailStatus.SENDING) {
+            stored.setStatus(OutboxEmailStatus.PENDING);
+        }
+        return stored;
+    }
+
+    private byte[] serialize(OutboxEmail email) {
+        try {
+            return objectMapper.writeValueAsBytes(email);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot serialize outbox email " + email.getId(), e);
+        }
+    }
+
+    /**
+     * Versión vigente de un correo con el registro que la guarda.
+     *
+     * @param email    Correo, mutable solo bajo {@code lock}.
+     * @param position Posición del registro.
+     */
+    private record Row(OutboxEmail email, long position) {
+    }
+
+    /**
+     * Entrada del índice de pendientes.
+     *
+     * @param at Siguiente intento en milisegundos desde la época; dentro del
+     *           milisegundo del corte se compara el instante exacto.
+     * @param id Identificador del correo.
+     */
+    private record Due(long at, UUID id) implements Comparable<Due> {
+
+        static Due of(OutboxEmail email) {
+            return new Due(nextAttemptOf(email).toEpochMilli(), email.getId());
+        }
+
+        @Override
+        public int compareTo(Due other) {
+            int byTime = Long.compare(at, other.at);
+            return byTime != 0 ? byTime : id.compareTo(other.id);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package edu.dosw.rideci.infrastructure.persistance.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Almacén de contenidos direccionado por contenido para los mensajes de las
+ * notificaciones.
+ *
+ * Cada cuerpo se guarda una sola vez bajo el SHA-256 de sus bytes UTF-8 y
+ * las notificaciones apuntan a esa única instancia. Un broadcast a miles de
+ * usuarios con el mismo HTML ocupa así una sola copia del cuerpo, aunque
+ * cada notificación llegue con su propia instancia de {@link String} (por
+ * ejemplo, al leerla de disco). Cada contenido lleva un contador de
+ * referencias y sale del almacén cuando ninguna notificación lo usa; como
+ * las entidades apuntan directamente a la instancia compartida, leerlas no
+ * requiere consultar el almacén.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+final class MessageContentStore {
+
+    private final Map<String, Content> contents = new ConcurrentHashMap<>();
+
+    /**
+     * Registra una referencia a un contenido, guardándolo si es nuevo.
+     *
+     * @param ref     Hash del contenido, calculado con {@link #hash(String)}.
+     * @param content Contenido a guardar.
+     * @return Instancia compartida del contenido.
+     */
+    String retain(String ref, String content) {
+        return contents.compute(ref, (key, existing) -> existing == null
+                ? new Content(content, 1)
+                : new Content(existing.value(), existing.references() + 1)).value();
+    }
+
+    /**
+     * Libera una referencia; el contenido sale del almacén con la última.
+     *
+     * @param ref Hash del contenido.
+     */
+    void release(String ref) {
+        contents.computeIfPresent(ref, (key, existing) -> existing.references() <= 1
+                ? null
+                : new Content(existing.value(), existing.references() - 1));
+    }
+
+    /** @return Contenidos distintos guardados. */
+    int size() {
+        return contents.size();
+    }
+
+    /** @return Caracteres guardados, contando cada contenido una sola vez. */
+    long storedChars() {
+        return contents.values().stream().mapToLong(content -> content.value().length()).sum();
+    }
+
+    /** @return Caracteres que ocuparían los contenidos con una copia por referencia. */
+    long referencedChars() {
+        return contents.values().stream()
+                .mapToLong(content -> (long) content.value().length() * content.references())
+                .sum();
+    }
+
+    /**
+     * @param content Contenido.
+     * @return SHA-256 en hexadecimal de los bytes UTF-8 del contenido.
+     */
+    static String hash(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Content(String value, int references) {
+    }
+}
@@ -1,14 +1,22 @@
 package edu.dosw.rideci.infrastructure.persistance.Repository;
 
 import edu.dosw.rideci.application.port.out.NotificationRepositoryPort;
+import edu.dosw.rideci.domain.model.Enum.NotificationStatus;
 import edu.dosw.rideci.domain.model.InAppNotification;
+import edu.dosw.rideci.domain.model.NotificationCursor;
+import edu.dosw.rideci.domain.repository.NotificationSnapshotSource;
+import edu.dosw.rideci.domain.repository.SnapshotPreImages;
 import edu.dosw.rideci.infrastructure.persistance.Entity.NotificationEntity;
 import edu.dosw.rideci.infrastructure.persistance.Repository.mapper.NotificationPersistenceMapper;
-import org.springframework.stereotype.Component;
 
+import java.time.OffsetDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 /**
  * Adaptador de repositorio para notificaciones usando almacenamiento en memoria.
@@ -18,15 +26,75 @@ import java.util.stream.Collectors;
  * de una base de datos real. Es útil para pruebas, desarrollo temprano
  * o entornos donde aún no se ha configurado infraestructura de persistencia.
  *
+ * Además del almacén principal mantiene un índice por usuario con las
+ * notificaciones ordenadas por {@code createdAt} descendente, de modo que
+ * la bandeja de un usuario se lee recorriendo solo sus notificaciones. El
+ * índice se actualiza junto con el {@code compute} del almacén, que serializa
+ * las escrituras concurrentes de una misma notificación.
+ *
+ * En el mismo {@code compute} se calcula el cambio del contador de
+ * notificaciones no leídas de cada usuario según el estado anterior y el
+ * nuevo, por lo que el contador sigue a lo almacenado y se consulta en O(1).
+ *
+ * Las escrituras masivas ({@link #saveAll(Collection)}) convierten cada
+ * notificación una sola vez y actualizan índice y contadores por lote.
+ *
+ * Los mensajes largos se guardan una sola vez en un
+ * {@link MessageContentStore}: todas las notificaciones con el mismo cuerpo
+ * (por ejemplo, las de un broadcast) apuntan a la misma instancia.
+ *
+ * Dos {@link ExpiryIndex} ordenan por {@code expiresAt} las notificaciones
+ * pendientes de expirar y las ya expiradas, para que el motor de expiración
+ * las encuentre sin recorrer el almacén.
+ *
+ * Como las entidades almacenadas no se modifican en sitio, las instantáneas
+ * ({@link NotificationSnapshotSource}) se toman por copia en escritura con
+ * {@link SnapshotPreImages}, sin detener las escrituras.
+ *
+ * No es un bean: con {@code notifications.store.mode=memory} (por defecto)
+ * cada fragmento de {@link ShardedNotificationRepository} es un adaptador, y
+ * {@link LogStructuredNotificationRepository} usa uno como vista en memoria.
+ *
  * @author RideECI
- * @version 1.0
+ * @version 1.9
  */
-@Component
-public class NotificationRepositoryAdapter implements NotificationRepositoryPort {
+public class NotificationRepositoryAdapter implements NotificationRepositoryPort, NotificationSnapshotSource {
 
     /** Almacén en memoria: id de notificación -> entidad de persistencia. */
     private final Map<UUID, NotificationEntity> storage = new ConcurrentHashMap<>();
 
+    /** Índice secundario: id de usuario -> sus notificaciones, de la más reciente a la más antigua. */
+    private final Map<UUID, NavigableSet<UserIndexKey>> byUser = new ConcurrentHashMap<>();
+
+    /** Notificaciones en estado {@code UNREAD} por usuario. */
+    private final Map<UUID, AtomicLong> unreadByUser = new ConcurrentHashMap<>();
+
+    /**
+     * Las escrituras toman el bloqueo de lectura, de modo que no se excluyen
+     * entre sí; la reconstrucción de contadores toma el de escritura para
+     * recorrer el almacén sin escrituras en curso, y el inicio de una
+     * instantánea lo toma un instante.
+     */
+    private final ReadWriteLock counterLock = new ReentrantReadWriteLock();
+
+    /** Notificaciones con fecha de expiración que aún no están expiradas. */
+    private final ExpiryIndex expiring = new ExpiryIndex();
+
+    /** Notificaciones en estado {@code EXPIRED}, por su fecha de expiración. */
+    private final ExpiryIndex expired = new ExpiryIndex();
+
+    /** Entidades anteriores a las escrituras hechas durante una instantánea. */
+    private final SnapshotPreImages<UUID, NotificationEntity> preImages = new SnapshotPreImages<>();
+
+    /** Mensajes compartidos entre notificaciones, por su hash. */
+    private final MessageContentStore messages = new MessageContentStore();
+
+    /** Entidades escritas por lote en {@link #saveAll(Collection)}. */
+    private static final int BATCH_SIZE = 1_000;
+
+    /** Largo mínimo de un mensaje para guardarlo en el almacén de contenidos compartidos. */
+    private static final int MIN_SHARED_MESSAGE_LENGTH = 256;
+
     /**
      * Guarda una notificación en el almacén en memoria.
      * Si la notificación no tiene identificador, se genera un {@link UUID} nuevo.
@@ -40,12 +108,127 @@ public class NotificationRepositoryAdapter implements NotificationRepositoryPort
             notification.setNotificationId(UUID.randomUUID());
         }
 
-        NotificationEntity entity = NotificationPersistenceMapper.toEntity(notification);
-        storage.put(entity.getNotificationId(), entity);
+        NotificationEntity entity = toEntity(notification);
+        store(List.of(entity));
 
         return NotificationPersistenceMapper.toDomain(entity);
     }
 
+    /**
+     * Guarda varias notificaciones en lotes de {@value #BATCH_SIZE}. Cada
+     * notificación se convierte una sola vez a entidad y el índice por usuario
+     * y los contadores se actualizan una vez por usuario en cada lote.
+     *
+     * @param notifications Notificaciones a guardar; a las que no tienen identificador se les asigna uno.
+     * @return Las mismas notificaciones, en el mismo orden.
+     */
+    @Override
+    public List<InAppNotification> saveAll(Collection<InAppNotification> notifications) {
+        List<NotificationEntity> batch = new ArrayList<>(Math.min(notifications.size(), BATCH_SIZE));
+        for (InAppNotification notification : notifications) {
+            if (notification.getNotificationId() == null) {
+                notification.setNotificationId(UUID.randomUUID());
+            }
+            batch.add(toEntity(notification));
+            if (batch.size() == BATCH_SIZE) {
+                store(batch);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            store(batch);
+        }
+        return new ArrayList<>(notifications);
+    }
+
+    /**
+     * Marca como leídas todas las notificaciones no leídas de un usuario,
+     * recorriendo solo su índice.
+     *
+     * @param userId Identificador del usuario.
+     * @param readAt Fecha de lectura a registrar.
+     * @return Notificaciones que pasaron a leídas.
+     */
+    @Override
+    public int markAllAsRead(UUID userId, OffsetDateTime readAt) {
+        NavigableSet<UserIndexKey> keys = byUser.get(userId);
+        if (keys == null) {
+            return 0;
+        }
+        int[] marked = {0};
+        counterLock.readLock().lock();
+        try {
+            for (UserIndexKey key : keys) {
+                storage.computeIfPresent(key.notificationId(), (id, current) -> {
+                    if (!key.matches(current, userId) || current.getStatus() != NotificationStatus.UNREAD) {
+                        return current;
+                    }
+                    preImages.record(id, current);
+                    marked[0]++;
+                    return current.toBuilder().status(NotificationStatus.READ).readAt(readAt).build();
+                });
+            }
+            if (marked[0] > 0) {
+                unreadByUser.computeIfAbsent(userId, id -> new AtomicLong()).addAndGet(-marked[0]);
+            }
+        } finally {
+            counterLock.readLock().unlock();
+        }
+        return marked[0];
+    }
+
+    /**
+     * Escribe un lote de entidades. Primero agrega al índice las claves nuevas
+     * agrupadas por usuario, luego reemplaza cada entidad en el almacén
+     * retirando la clave anterior si cambió, y al final aplica los cambios de
+     * los contadores de no leídas. Como la clave nueva se indexa antes de que
+     * la entidad sea visible, una escritura concurrente de la misma
+     * notificación siempre encuentra en el índice la clave que debe retirar.
+     *
+     * @param entities Entidades a escribir.
+     */
+    private void store(List<NotificationEntity> entities) {
+        Map<UUID, List<UserIndexKey>> keysByUser = new HashMap<>();
+        for (NotificationEntity entity : entities) {
+            if (entity.getUserId() != null) {
+                keysByUser.computeIfAbsent(entity.getUserId(), userId -> new ArrayList<>()).add(UserIndexKey.of(entity));
+            }
+        }
+        Map<UUID, Long> unreadDeltas = new HashMap<>();
+        counterLock.readLock().lock();
+        try {
+            keysByUser.forEach((user, added) -> byUser.compute(user, (userId, keys) -> {
+                NavigableSet<UserIndexKey> updated = keys != null ? keys : new ConcurrentSkipListSet<>();
+                updated.addAll(added);
+                return updated;
+            }));
+            for (NotificationEntity entity : entities) {
+                storage.compute(entity.getNotificationId(), (id, previous) -> {
+                    preImages.record(id, previous);
+                    unindex(previous, entity);
+                    reindexExpiry(previous, entity);
+                    if (previous != null && previous.getMessageHash() != null) {
+                        messages.release(previous.getMessageHash());
+                    }
+                    if (isUnread(previous)) {
+                        unreadDeltas.merge(previous.getUserId(), -1L, Long::sum);
+                    }
+                    if (isUnread(entity)) {
+                        unreadDeltas.merge(entity.getUserId(), 1L, Long::sum);
+                    }
+                    return entity;
+                });
+            }
+            unreadDeltas.forEach((user, delta) -> {
+                if (delta != 0) {
+                    unreadByUser.computeIfAbsent(user, userId -> new AtomicLong()).addAndGet(delta);
+                }
+            });
+        } finally {
+            counterLock.readLock().unlock();
+        }
+    }
+
     /**
      * Busca una notificación por su identificador en el almacén en memoria.
      *
@@ -59,6 +242,16 @@ public class NotificationRepositoryAdapter implements NotificationRepositoryPort
         return Optional.ofNullable(NotificationPersistenceMapper.toDomain(entity));
     }
 
+    /**
+     * Indica si una notificación está en el almacén, sin tomar bloqueos.
+     *
+     * @param id Identificador de la notificación.
+     * @return {@code true} si está almacenada.
+     */
+    boolean contains(UUID id) {
+        return storage.containsKey(id);
+    }
+
     /**
      * Obtiene todas las notificaciones asociadas a un usuario, ordenadas por
      * fecha de creación descendente (de la más reciente a la más antigua).
@@ -68,10 +261,262 @@ public class NotificationRepositoryAdapter implements NotificationRepositoryPort
      */
     @Override
     public List<InAppNotification> findByUserIdOrderByCreatedAtDesc(UUID userId) {
-        return storage.values().stream()
-                .filter(e -> userId.equals(e.getUserId()))
-                .sorted(Comparator.comparing(NotificationEntity::getCreatedAt).reversed())
-                .map(NotificationPersistenceMapper::toDomain)
-                .collect(Collectors.toList());
+        NavigableSet<UserIndexKey> keys = byUser.get(userId);
+        return keys == null ? new ArrayList<>() : collect(userId, keys, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Obtiene las notificaciones de un usuario que siguen a un cursor,
+     * recorriendo el índice por usuario desde la posición del cursor.
+     *
+     * @param userId Identificador del usuario.
+     * @param after  Última notificación ya entregada, o {@code null} para empezar por la más reciente.
+     * @param limit  Máximo de notificaciones a devolver.
+     * @return Notificaciones siguientes al cursor, de la más reciente a la más antigua.
+     */
+    @Override
+    public List<InAppNotification> findByUserIdAfter(UUID userId, NotificationCursor after, int limit) {
+        NavigableSet<UserIndexKey> keys = byUser.get(userId);
+        if (keys == null) {
+            return new ArrayList<>();
+        }
+        NavigableSet<UserIndexKey> tail = after == null ? keys
+                : keys.tailSet(new UserIndexKey(after.createdAt(), after.notificationId()), false);
+        return collect(userId, tail, limit);
+    }
+
+    private List<InAppNotification> collect(UUID userId, Iterable<UserIndexKey> keys, int limit) {
+        List<InAppNotification> notifications = new ArrayList<>(Math.min(limit, 64));
+        for (UserIndexKey key : keys) {
+            if (notifications.size() >= limit) {
+                break;
+            }
+            NotificationEntity entity = storage.get(key.notificationId());
+            if (entity != null && key.matches(entity, userId)) {
+                notifications.add(NotificationPersistenceMapper.toDomain(entity));
+            }
+        }
+        return notifications;
+    }
+
+    @Override
+    public List<InAppNotification> findExpiringBefore(OffsetDateTime cutoff, int limit) {
+        List<InAppNotification> due = new ArrayList<>();
+        for (UUID id : expiring.dueBy(cutoff.toInstant().toEpochMilli(), limit)) {
+            NotificationEntity entity = storage.get(id);
+            if (entity != null && entity.getStatus() != NotificationStatus.EXPIRED
+                    && entity.getExpiresAt() != null && !entity.getExpiresAt().isAfter(cutoff)) {
+                due.add(NotificationPersistenceMapper.toDomain(entity));
+            }
+        }
+        return due;
+    }
+
+    @Override
+    public List<UUID> findExpiredBefore(OffsetDateTime cutoff, int limit) {
+        return expired.dueBy(cutoff.toInstant().toEpochMilli(), limit);
+    }
+
+    /**
+     * Elimina notificaciones retirándolas del índice por usuario, de los
+     * índices de expiración y de los contadores de no leídas.
+     *
+     * @param ids Identificadores de las notificaciones a eliminar.
+     * @return Notificaciones eliminadas.
+     */
+    @Override
+    public int deleteAllById(Collection<UUID> ids) {
+        int[] deleted = {0};
+        Map<UUID, Long> unreadDeltas = new HashMap<>();
+        counterLock.readLock().lock();
+        try {
+            for (UUID id : ids) {
+                storage.computeIfPresent(id, (key, previous) -> {
+                    preImages.record(key, previous);
+                    unindex(previous, null);
+                    reindexExpiry(previous, null);
+                    if (previous.getMessageHash() != null) {
+                        messages.release(previous.getMessageHash());
+                    }
+                    if (isUnread(previous)) {
+                        unreadDeltas.merge(previous.getUserId(), -1L, Long::sum);
+                    }
+                    deleted[0]++;
+                    return null;
+                });
+            }
+            unreadDeltas.forEach((user, delta) ->
+                    unreadByUser.computeIfAbsent(user, userId -> new AtomicLong()).addAndGet(delta));
+        } finally {
+            counterLock.readLock().unlock();
+        }
+        return deleted[0];
+    }
+
+    /**
+     * Obtiene el número de notificaciones no leídas de un usuario.
+     *
+     * @param userId Identificador del usuario.
+     * @return Notificaciones en estado {@code UNREAD}.
+     */
+    @Override
+    public long countUnreadByUserId(UUID userId) {
+        AtomicLong unread = unreadByUser.get(userId);
+        return unread == null ? 0 : unread.get();
+    }
+
+    /**
+     * Recalcula los contadores de no leídas recorriendo el almacén completo,
+     * sin escrituras concurrentes mientras dura el recorrido.
+     *
+     * @return Usuarios con notificaciones no leídas.
+     */
+    @Override
+    public int rebuildUnreadCounters() {
+        counterLock.writeLock().lock();
+        try {
+            Map<UUID, AtomicLong> counts = new HashMap<>();
+            for (NotificationEntity entity : storage.values()) {
+                if (isUnread(entity)) {
+                    counts.computeIfAbsent(entity.getUserId(), userId -> new AtomicLong()).incrementAndGet();
+                }
+            }
+            unreadByUser.clear();
+            unreadByUser.putAll(counts);
+            return counts.size();
+        } finally {
+            counterLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public String snapshotName() {
+        return "notifications";
+    }
+
+    @Override
+    public long snapshot(Consumer<InAppNotification> sink) {
+        return preImages.snapshot(counterLock.writeLock(), storage,
+                entity -> sink.accept(NotificationPersistenceMapper.toDomain(entity)));
+    }
+
+    @Override
+    public void restore(List<InAppNotification> batch) {
+        saveAll(batch);
+    }
+
+    private static boolean isUnread(NotificationEntity entity) {
+        return entity != null && entity.getUserId() != null && entity.getStatus() == NotificationStatus.UNREAD;
+    }
+
+    /**
+     * Convierte una notificación a entidad, apuntando su mensaje a la copia
+     * compartida si es lo bastante largo. La referencia se libera cuando la
+     * entidad se reemplaza en el almacén.
+     */
+    private NotificationEntity toEntity(InAppNotification notification) {
+        NotificationEntity entity = NotificationPersistenceMapper.toEntity(notification);
+        String message = entity.getMessage();
+        if (message != null && message.length() >= MIN_SHARED_MESSAGE_LENGTH) {
+            String hash = MessageContentStore.hash(message);
+            entity.setMessageHash(hash);
+            entity.setMessage(messages.retain(hash, message));
+        } else {
+            entity.setMessageHash(null);
+        }
+        return entity;
+    }
+
+    /**
+     * Mensajes guardados en el almacén de contenidos compartidos.
+     *
+     * @return Contenidos distintos, caracteres guardados y caracteres que ocuparían sin compartir.
+     */
+    SharedMessageStats sharedMessageStats() {
+        return new SharedMessageStats(messages.size(), messages.storedChars(), messages.referencedChars());
+    }
+
+    /**
+     * Estadísticas del almacén de contenidos compartidos.
+     *
+     * @param contents        Contenidos distintos guardados.
+     * @param storedChars     Caracteres guardados.
+     * @param referencedChars Caracteres que ocuparían los mensajes con una copia por notificación.
+     */
+    record SharedMessageStats(int contents, long storedChars, long referencedChars) {
+    }
+
+    /**
+     * Retira del índice la clave de la entidad anterior si ya no describe a
+     * la nueva. Se invoca dentro del {@code compute} del almacén para la
+     * misma notificación, con la clave nueva ya indexada.
+     *
+     * @param previous Entidad anterior, o {@code null} si es nueva.
+     * @param current  Entidad nueva, o {@code null} si se elimina.
+     */
+    private void unindex(NotificationEntity previous, NotificationEntity current) {
+        if (previous == null || previous.getUserId() == null) {
+            return;
+        }
+        UserIndexKey oldKey = UserIndexKey.of(previous);
+        if (current != null && previous.getUserId().equals(current.getUserId())
+                && oldKey.equals(UserIndexKey.of(current))) {
+            return;
+        }
+        byUser.computeIfPresent(previous.getUserId(), (userId, keys) -> {
+            keys.remove(oldKey);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    /**
+     * Mueve la notificación entre los índices de expiración según su estado
+     * y su fecha. Se invoca dentro del {@code compute} del almacén.
+     *
+     * @param previous Entidad anterior, o {@code null} si es nueva.
+     * @param current  Entidad nueva, o {@code null} si se elimina.
+     */
+    private void reindexExpiry(NotificationEntity previous, NotificationEntity current) {
+        if (previous != null && previous.getExpiresAt() != null) {
+            expiryIndexOf(previous).remove(previous.getNotificationId(), previous.getExpiresAt().toInstant().toEpochMilli());
+        }
+        if (current != null && current.getExpiresAt() != null) {
+            expiryIndexOf(current).add(current.getNotificationId(), current.getExpiresAt().toInstant().toEpochMilli());
+        }
+    }
+
+    private ExpiryIndex expiryIndexOf(NotificationEntity entity) {
+        return entity.getStatus() == NotificationStatus.EXPIRED ? expired : expiring;
+    }
+
+    /**
+     * Entrada del índice por usuario, ordenada por fecha de creación
+     * descendente y, a igual fecha, por identificador.
+     *
+     * @param createdAt      Fecha de creación de la notificación.
+     * @param notificationId Identificador de la notificación.
+     */
+    private record UserIndexKey(OffsetDateTime createdAt, UUID notificationId) implements Comparable<UserIndexKey> {
+
+        private static final Comparator<UserIndexKey> ORDER = Comparator
+                .comparing(UserIndexKey::createdAt, Comparator.nullsLast(Comparator.<OffsetDateTime>reverseOrder()))
+                .thenComparing(UserIndexKey::notificationId);
+
+        static UserIndexKey of(NotificationEntity entity) {
+            return new UserIndexKey(entity.getCreatedAt(), entity.getNotificationId());
+        }
+
+        /**
+         * Indica si la entrada sigue describiendo a la entidad almacenada; puede
+         * no hacerlo por un instante mientras se reemplaza la entidad.
+         */
+        boolean matches(NotificationEntity entity, UUID userId) {
+            return userId.equals(entity.getUserId()) && Objects.equals(createdAt, entity.getCreatedAt());
+        }
+
+        @Override
+        public int compareTo(UserIndexKey other) {
+            return ORDER.compare(this, other);
+        }
     }
 }
@@ -0,0 +1,60 @@
+package edu.dosw.rideci.infrastructure.persistance.Repository;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración del almacén de notificaciones in-app.
+ *
+ * Se enlazan desde {@code application.properties} bajo el prefijo
+ * {@code notifications.store}.
+ *
+ * @author RideECI
+ * @version 1.2
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "notifications.store")
+public class NotificationStoreProperties {
+
+    /** Implementación del almacén. */
+    private Mode mode = Mode.MEMORY;
+
+    /**
+     * Fragmentos independientes del almacén en modo {@link Mode#MEMORY}; con
+     * 0 se usa uno por procesador disponible.
+     */
+    private int shards = 0;
+
+    /** Directorio local de los segmentos del almacén en modo {@link Mode#LOG}. */
+    private String directory = "data/notification-store";
+
+    /** Tamaño de cada segmento del almacén. */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /** Fuerza a disco cada escritura antes de confirmarla (commit agrupado). */
+    private boolean syncOnWrite = true;
+
+    /** Cada cuánto se revisan los segmentos cerrados para compactarlos. */
+    private Duration compactionInterval = Duration.ofMinutes(1);
+
+    /**
+     * Fracción mínima de registros vigentes de un segmento cerrado; por
+     * debajo de ella el segmento se compacta.
+     */
+    private double compactionThreshold = 0.5;
+
+    /** Implementaciones disponibles del almacén. */
+    public enum Mode {
+        /** Solo en memoria, fragmentado por usuario; se pierde al reiniciar. */
+        MEMORY,
+        /** Registro de solo anexado en disco con índice en memoria. */
+        LOG,
+        /** Solo en memoria, en arreglos primitivos por columna. */
+        COMPACT
+    }
+}
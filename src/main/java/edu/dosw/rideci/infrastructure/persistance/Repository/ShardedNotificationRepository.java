@@ -0,0 +1,290 @@
+package edu.dosw.rideci.infrastructure.persistance.Repository;
+
+import edu.dosw.rideci.application.port.out.NotificationRepositoryPort;
+import edu.dosw.rideci.domain.model.InAppNotification;
+import edu.dosw.rideci.domain.model.NotificationCursor;
+import edu.dosw.rideci.domain.repository.NotificationSnapshotSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Implementación en memoria de {@link NotificationRepositoryPort} dividida
+ * en fragmentos independientes por usuario.
+ *
+ * Cada fragmento es un {@link NotificationRepositoryAdapter} con su propio
+ * almacén, índices, contadores y bloqueo, de modo que las escrituras de
+ * usuarios distintos no compiten por las mismas estructuras. Las
+ * notificaciones de un usuario viven todas en el fragmento que elige el hash
+ * de su id, así que las consultas por usuario tocan un solo fragmento; las
+ * notificaciones sin usuario se reparten por el hash de su propio id.
+ *
+ * Las escrituras eligen su fragmento solo por el hash del usuario, sin
+ * estado compartido entre fragmentos. La búsqueda y la eliminación por id
+ * consultan el almacén de cada fragmento sin tomar bloqueos y escriben solo
+ * en el que guarda la notificación. Las operaciones que abarcan todos los
+ * usuarios (expiración, reconstrucción de contadores) recorren los
+ * fragmentos en paralelo en el {@link ForkJoinPool} común.
+ *
+ * Si una notificación cambia de usuario, se guarda primero en el fragmento
+ * nuevo y luego se retira de cualquier otro que la tenga, de modo que la
+ * búsqueda por id la encuentra en todo momento, aunque mientras dura el
+ * cambio puede devolver la versión anterior. No se espera que una misma
+ * notificación cambie de usuario desde dos hilos a la vez.
+ *
+ * Es el almacén por defecto ({@code notifications.store.mode=memory}).
+ *
+ * @author RideECI
+ * @version 1.2
+ */
+@Component
+@ConditionalOnProperty(prefix = "notifications.store", name = "mode", havingValue = "memory", matchIfMissing = true)
+public class ShardedNotificationRepository implements NotificationRepositoryPort, NotificationSnapshotSource {
+
+    private final NotificationRepositoryAdapter[] shards;
+
+    /**
+     * @param properties Configuración del almacén, con el número de fragmentos.
+     */
+    @Autowired
+    public ShardedNotificationRepository(NotificationStoreProperties properties) {
+        this(properties.getShards() > 0 ? properties.getShards() : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param shardCount Número de fragmentos.
+     */
+    ShardedNotificationRepository(int shardCount) {
+        this(shardCount, NotificationRepositoryAdapter::new);
+    }
+
+    /**
+     * @param shardCount   Número de fragmentos.
+     * @param shardFactory Crea cada fragmento.
+     */
+    ShardedNotificationRepository(int shardCount, Supplier<NotificationRepositoryAdapter> shardFactory) {
+        shards = new NotificationRepositoryAdapter[Math.max(1, shardCount)];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = shardFactory.get();
+        }
+    }
+
+    @Override
+    public InAppNotification save(InAppNotification notification) {
+        if (notification.getNotificationId() == null) {
+            notification.setNotificationId(UUID.randomUUID());
+        }
+        int target = indexOf(notification);
+        InAppNotification saved = shards[target].save(notification);
+        evictElsewhere(notification.getNotificationId(), target);
+        return saved;
+    }
+
+    /**
+     * Agrupa las notificaciones por fragmento y guarda cada grupo con una sola
+     * escritura por lotes.
+     *
+     * @param notifications Notificaciones a guardar.
+     * @return Las mismas notificaciones, en el mismo orden.
+     */
+    @Override
+    public List<InAppNotification> saveAll(Collection<InAppNotification> notifications) {
+        List<List<InAppNotification>> groups = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            groups.add(new ArrayList<>());
+        }
+        for (InAppNotification notification : notifications) {
+            if (notification.getNotificationId() == null) {
+                notification.setNotificationId(UUID.randomUUID());
+            }
+            groups.get(indexOf(notification)).add(notification);
+        }
+        for (int i = 0; i < shards.length; i++) {
+            List<InAppNotification> group = groups.get(i);
+            if (group.isEmpty()) {
+                continue;
+            }
+            shards[i].saveAll(group);
+            for (InAppNotification notification : group) {
+                evictElsewhere(notification.getNotificationId(), i);
+            }
+        }
+        return new ArrayList<>(notifications);
+    }
+
+    @Override
+    public Optional<InAppNotification> findById(UUID id) {
+        for (NotificationRepositoryAdapter shard : shards) {
+            Optional<InAppNotification> found = shard.findById(id);
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<InAppNotification> findByUserIdOrderByCreatedAtDesc(UUID userId) {
+        return shardOfUser(userId).findByUserIdOrderByCreatedAtDesc(userId);
+    }
+
+    @Override
+    public List<InAppNotification> findByUserIdAfter(UUID userId, NotificationCursor after, int limit) {
+        return shardOfUser(userId).findByUserIdAfter(userId, after, limit);
+    }
+
+    @Override
+    public int markAllAsRead(UUID userId, OffsetDateTime readAt) {
+        return shardOfUser(userId).markAllAsRead(userId, readAt);
+    }
+
+    @Override
+    public long countUnreadByUserId(UUID userId) {
+        return shardOfUser(userId).countUnreadByUserId(userId);
+    }
+
+    @Override
+    public int rebuildUnreadCounters() {
+        return forAllShards(NotificationRepositoryAdapter::rebuildUnreadCounters).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public List<InAppNotification> findExpiringBefore(OffsetDateTime cutoff, int limit) {
+        return firstOf(forAllShards(shard -> shard.findExpiringBefore(cutoff, limit)), limit);
+    }
+
+    @Override
+    public List<UUID> findExpiredBefore(OffsetDateTime cutoff, int limit) {
+        return firstOf(forAllShards(shard -> shard.findExpiredBefore(cutoff, limit)), limit);
+    }
+
+    /**
+     * Agrupa los ids por el fragmento que los guarda, consultando cada
+     * fragmento sin bloqueos, y elimina cada grupo solo en ese fragmento.
+     */
+    @Override
+    public int deleteAllById(Collection<UUID> ids) {
+        List<List<UUID>> groups = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            groups.add(new ArrayList<>());
+        }
+        for (UUID id : ids) {
+            for (int i = 0; i < shards.length; i++) {
+                if (shards[i].contains(id)) {
+                    groups.get(i).add(id);
+                    break;
+                }
+            }
+        }
+        int deleted = 0;
+        for (int i = 0; i < shards.length; i++) {
+            List<UUID> group = groups.get(i);
+            if (group.isEmpty()) {
+                continue;
+            }
+            deleted += shards[i].deleteAllById(group);
+        }
+        return deleted;
+    }
+
+    @Override
+    public String snapshotName() {
+        return "notifications";
+    }
+
+    /**
+     * Entrega la instantánea de cada fragmento, una tras otra. Cada fragmento
+     * es consistente al momento en que empieza su recorrido.
+     */
+    @Override
+    public long snapshot(Consumer<InAppNotification> sink) {
+        long count = 0;
+        for (NotificationRepositoryAdapter shard : shards) {
+            count += shard.snapshot(sink);
+        }
+        return count;
+    }
+
+    @Override
+    public void restore(List<InAppNotification> batch) {
+        saveAll(batch);
+    }
+
+    /**
+     * Retira una notificación de los fragmentos distintos del que ahora la
+     * guarda; solo ocurre si cambió de usuario.
+     */
+    private void evictElsewhere(UUID id, int target) {
+        for (int i = 0; i < shards.length; i++) {
+            if (i != target && shards[i].contains(id)) {
+                shards[i].deleteAllById(List.of(id));
+            }
+        }
+    }
+
+    /**
+     * Ejecuta una operación en todos los fragmentos en paralelo; fuera de un
+     * {@link ForkJoinPool} las tareas van al pool común.
+     *
+     * @return Resultado de cada fragmento, en orden de fragmento.
+     */
+    private <T> List<T> forAllShards(Function<NotificationRepositoryAdapter, T> operation) {
+        if (shards.length == 1) {
+            return List.of(operation.apply(shards[0]));
+        }
+        List<RecursiveTask<T>> tasks = new ArrayList<>(shards.length);
+        for (NotificationRepositoryAdapter shard : shards) {
+            tasks.add(new RecursiveTask<>() {
+                @Override
+                protected T compute() {
+                    return operation.apply(shard);
+                }
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+        List<T> results = new ArrayList<>(shards.length);
+        for (RecursiveTask<T> task : tasks) {
+            results.add(task.join());
+        }
+        return results;
+    }
+
+    private static <T> List<T> firstOf(List<List<T>> perShard, int limit) {
+        List<T> merged = new ArrayList<>(Math.min(limit, 256));
+        for (List<T> results : perShard) {
+            for (T result : results) {
+                if (merged.size() >= limit) {
+                    return merged;
+                }
+                merged.add(result);
+            }
+        }
+        return merged;
+    }
+
+    private NotificationRepositoryAdapter shardOfUser(UUID userId) {
+        return shards[indexOf(userId)];
+    }
+
+    private int indexOf(InAppNotification notification) {
+        return indexOf(notification.getUserId() != null ? notification.getUserId() : notification.getNotificationId());
+    }
+
+    private int indexOf(UUID key) {
+        int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+    }
+}
@@ -0,0 +1,382 @@
+package edu.dosw.rideci.infrastructure.snapshot;
+
+import edu.dosw.rideci.domain.model.Enum.NotificationStatus;
+import edu.dosw.rideci.domain.model.Enum.NotificationType;
+import edu.dosw.rideci.domain.model.InAppNotification;
+import edu.dosw.rideci.domain.repository.NotificationSnapshotSource;
+
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato binario de las instantáneas de notificaciones.
+ *
+ * El archivo empieza con una cabecera (marca, versión y los nombres de los
+ * valores de {@link NotificationType} y {@link NotificationStatus}, para que
+ * los ordinales guardados sigan siendo válidos si los enums cambian) y sigue
+ * con un registro {@code [longitud][crc32c][contenido]} por notificación. Un
+ * registro con longitud {@value #END_OF_RECORDS} y el número de registros
+ * cierra el archivo. En el contenido los {@link UUID} van como dos
+ * {@code long}, las fechas como segundos, nanosegundos y desplazamiento, y
+ * una máscara indica qué campos no son {@code null}.
+ *
+ * La escritura va a un archivo temporal que se fuerza a disco y se renombra
+ * de forma atómica, así que una instantánea interrumpida nunca reemplaza a la
+ * anterior. La lectura es secuencial sobre ventanas del archivo mapeadas en
+ * memoria.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+public final class NotificationSnapshotFile {
+
+    private static final int MAGIC = 0x4E534E50;
+    private static final short VERSION = 1;
+    private static final int END_OF_RECORDS = -1;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int MAX_WINDOW = 1 << 30;
+
+    private static final int USER = 1;
+    private static final int TITLE = 1 << 1;
+    private static final int MESSAGE = 1 << 2;
+    private static final int EVENT_TYPE = 1 << 3;
+    private static final int PRIORITY = 1 << 4;
+    private static final int STATUS = 1 << 5;
+    private static final int CREATED_AT = 1 << 6;
+    private static final int READ_AT = 1 << 7;
+    private static final int EXPIRES_AT = 1 << 8;
+
+    private NotificationSnapshotFile() {
+    }
+
+    /**
+     * Escribe la instantánea de un almacén.
+     *
+     * @param file   Archivo de destino; se reemplaza al terminar.
+     * @param source Almacén a volcar.
+     * @return Notificaciones escritas.
+     * @throws IOException Si no se puede escribir el archivo.
+     */
+    public static long write(Path file, NotificationSnapshotSource source) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        long count;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            RecordWriter writer = new RecordWriter(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            writer.writeHeader();
+            try {
+                count = source.snapshot(writer::write);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.writeEnd(count);
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    /**
+     * Lee una instantánea por lotes.
+     *
+     * @param file      Archivo de la instantánea.
+     * @param batchSize Notificaciones por lote.
+     * @param batches   Receptor de cada lote.
+     * @return Notificaciones leídas.
+     * @throws IOException Si el archivo no se puede leer o está incompleto o dañado.
+     */
+    public static long read(Path file, int batchSize, Consumer<List<InAppNotification>> batches) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            RecordReader reader = new RecordReader(channel);
+            NotificationType[] types = reader.readEnumTable(NotificationType.class);
+            NotificationStatus[] statuses = reader.readEnumTable(NotificationStatus.class);
+            List<InAppNotification> batch = new ArrayList<>(batchSize);
+            long count = 0;
+            while (true) {
+                ByteBuffer record = reader.nextRecord();
+                if (record == null) {
+                    break;
+                }
+                batch.add(decode(record, types, statuses));
+                count++;
+                if (batch.size() == batchSize) {
+                    batches.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (reader.recordCount() != count) {
+                throw new IOException("Snapshot " + file + " declares " + reader.recordCount() + " records but has " + count);
+            }
+            if (!batch.isEmpty()) {
+                batches.accept(batch);
+            }
+            return count;
+        }
+    }
+
+    private static InAppNotification decode(ByteBuffer in, NotificationType[] types, NotificationStatus[] statuses) {
+        InAppNotification.InAppNotificationBuilder builder = InAppNotification.builder()
+                .notificationId(new UUID(in.getLong(), in.getLong()));
+        int present = in.getShort();
+        if ((present & USER) != 0) {
+            builder.userId(new UUID(in.getLong(), in.getLong()));
+        }
+        if ((present & TITLE) != 0) {
+            builder.title(getString(in));
+        }
+        if ((present & MESSAGE) != 0) {
+            builder.message(getString(in));
+        }
+        if ((present & EVENT_TYPE) != 0) {
+            builder.eventType(types[in.get()]);
+        }
+        if ((present & PRIORITY) != 0) {
+            builder.priority(getString(in));
+        }
+        if ((present & STATUS) != 0) {
+            builder.status(statuses[in.get()]);
+        }
+        if ((present & CREATED_AT) != 0) {
+            builder.createdAt(getTime(in));
+        }
+        if ((present & READ_AT) != 0) {
+            builder.readAt(getTime(in));
+        }
+        if ((present & EXPIRES_AT) != 0) {
+            builder.expiresAt(getTime(in));
+        }
+        return builder.build();
+    }
+
+    private static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static OffsetDateTime getTime(ByteBuffer in) {
+        Instant instant = Instant.ofEpochSecond(in.getLong(), in.getInt());
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.ofTotalSeconds(in.getInt()));
+    }
+
+    /**
+     * Escritor de registros sobre un búfer reutilizable que crece con el
+     * registro más grande.
+     */
+    private static final class RecordWriter {
+
+        private final OutputStream out;
+        private final CRC32C crc = new CRC32C();
+        private ByteBuffer buffer = ByteBuffer.allocate(4_096);
+
+        RecordWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        void writeHeader() throws IOException {
+            buffer.clear();
+            buffer.putInt(MAGIC).putShort(VERSION);
+            putEnumTable(NotificationType.values());
+            putEnumTable(NotificationStatus.values());
+            out.write(buffer.array(), 0, buffer.position());
+        }
+
+        void write(InAppNotification notification) {
+            while (true) {
+                try {
+                    buffer.clear();
+                    buffer.position(RECORD_HEADER_SIZE);
+                    encode(notification);
+                    break;
+                } catch (BufferOverflowException e) {
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+                }
+            }
+            int length = buffer.position() - RECORD_HEADER_SIZE;
+            crc.reset();
+            crc.update(buffer.array(), RECORD_HEADER_SIZE, length);
+            buffer.putInt(0, length).putInt(4, (int) crc.getValue());
+            try {
+                out.write(buffer.array(), 0, buffer.position());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void writeEnd(long count) throws IOException {
+            buffer.clear();
+            buffer.putInt(END_OF_RECORDS).putLong(count);
+            out.write(buffer.array(), 0, buffer.position());
+            out.flush();
+        }
+
+        private void encode(InAppNotification notification) {
+            putUuid(notification.getNotificationId());
+            int present = (notification.getUserId() != null ? USER : 0)
+                    | (notification.getTitle() != null ? TITLE : 0)
+                    | (notification.getMessage() != null ? MESSAGE : 0)
+                    | (notification.getEventType() != null ? EVENT_TYPE : 0)
+                    | (notification.getPriority() != null ? PRIORITY : 0)
+                    | (notification.getStatus() != null ? STATUS : 0)
+                    | (notification.getCreatedAt() != null ? CREATED_AT : 0)
+                    | (notification.getReadAt() != null ? READ_AT : 0)
+                    | (notification.getExpiresAt() != null ? EXPIRES_AT : 0);
+            buffer.putShort((short) present);
+            if (notification.getUserId() != null) {
+                putUuid(notification.getUserId());
+            }
+            if (notification.getTitle() != null) {
+                putString(notification.getTitle());
+            }
+            if (notification.getMessage() != null) {
+                putString(notification.getMessage());
+            }
+            if (notification.getEventType() != null) {
+                buffer.put((byte) notification.getEventType().ordinal());
+            }
+            if (notification.getPriority() != null) {
+                putString(notification.getPriority());
+            }
+            if (notification.getStatus() != null) {
+                buffer.put((byte) notification.getStatus().ordinal());
+            }
+            if (notification.getCreatedAt() != null) {
+                putTime(notification.getCreatedAt());
+            }
+            if (notification.getReadAt() != null) {
+                putTime(notification.getReadAt());
+            }
+            if (notification.getExpiresAt() != null) {
+                putTime(notification.getExpiresAt());
+            }
+        }
+
+        private void putEnumTable(Enum<?>[] values) {
+            buffer.put((byte) values.length);
+            for (Enum<?> value : values) {
+                putString(value.name());
+            }
+        }
+
+        private void putUuid(UUID id) {
+            buffer.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+        }
+
+        private void putString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(bytes.length).put(bytes);
+        }
+
+        private void putTime(OffsetDateTime time) {
+            buffer.putLong(time.toEpochSecond()).putInt(time.getNano()).putInt(time.getOffset().getTotalSeconds());
+        }
+    }
+
+    /**
+     * Lector secuencial de registros que mapea el archivo por ventanas de
+     * hasta {@value #MAX_WINDOW} bytes y vuelve a mapear cuando el siguiente
+     * registro no cabe en la ventana actual.
+     */
+    private static final class RecordReader {
+
+        private final FileChannel channel;
+        private final long size;
+        private final CRC32C crc = new CRC32C();
+        private MappedByteBuffer window;
+        private long windowStart;
+        private long recordCount = -1;
+
+        RecordReader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            map(0);
+            ensure(6);
+            if (window.getInt() != MAGIC || window.getShort() != VERSION) {
+                throw new IOException("Not a notification snapshot or unsupported version");
+            }
+        }
+
+        <E extends Enum<E>> E[] readEnumTable(Class<E> type) throws IOException {
+            ensure(1);
+            int length = window.get() & 0xFF;
+            @SuppressWarnings("unchecked")
+            E[] values = (E[]) Array.newInstance(type, length);
+            for (int i = 0; i < length; i++) {
+                ensure(4);
+                byte[] name = new byte[window.getInt()];
+                ensure(name.length);
+                window.get(name);
+                values[i] = Enum.valueOf(type, new String(name, StandardCharsets.UTF_8));
+            }
+            return values;
+        }
+
+        /**
+         * @return Contenido del siguiente registro, o {@code null} al llegar al cierre.
+         */
+        ByteBuffer nextRecord() throws IOException {
+            ensure(4);
+            int length = window.getInt();
+            if (length == END_OF_RECORDS) {
+                ensure(8);
+                recordCount = window.getLong();
+                return null;
+            }
+            ensure(4 + length);
+            int checksum = window.getInt();
+            ByteBuffer record = window.slice(window.position(), length);
+            window.position(window.position() + length);
+            crc.reset();
+            crc.update(record.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                throw new IOException("Corrupted snapshot record at offset " + (windowStart + window.position() - length));
+            }
+            return record;
+        }
+
+        long recordCount() {
+            return recordCount;
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (window.remaining() >= bytes) {
+                return;
+            }
+            map(windowStart + window.position());
+            if (window.remaining() < bytes) {
+                throw new EOFException("Truncated notification snapshot");
+            }
+        }
+
+        private void map(long position) throws IOException {
+            windowStart = position;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAX_WINDOW, size - position));
+        }
+    }
+}
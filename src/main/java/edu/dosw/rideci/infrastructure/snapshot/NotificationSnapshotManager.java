@@ -0,0 +1,138 @@
+package edu.dosw.rideci.infrastructure.snapshot;
+
+import edu.dosw.rideci.domain.repository.NotificationSnapshotSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guarda y restaura las instantáneas de los almacenes de notificaciones en
+ * memoria ({@link NotificationSnapshotSource}).
+ *
+ * Al arrancar carga la última instantánea de cada almacén antes de que la
+ * aplicación reciba tráfico; luego toma una instantánea cada
+ * {@code notifications.snapshot.interval} en un hilo propio y una última al
+ * detenerse. Las instantáneas no detienen las escrituras.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class NotificationSnapshotManager {
+
+    private static final String SUFFIX = ".snapshot";
+
+    private final List<NotificationSnapshotSource> sources;
+    private final NotificationSnapshotProperties properties;
+
+    private ScheduledThreadPoolExecutor scheduler;
+
+    /**
+     * @param sources    Almacenes con instantáneas.
+     * @param properties Configuración de las instantáneas.
+     */
+    public NotificationSnapshotManager(List<NotificationSnapshotSource> sources, NotificationSnapshotProperties properties) {
+        this.sources = sources;
+        this.properties = properties;
+    }
+
+    /**
+     * Restaura los almacenes y programa las instantáneas periódicas, si están habilitadas.
+     */
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        sources.forEach(this::restore);
+        scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "notification-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::snapshotAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Detiene las instantáneas periódicas y toma una última de cada almacén.
+     */
+    @PreDestroy
+    public void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshotAll();
+    }
+
+    /**
+     * Toma una instantánea de cada almacén; un fallo en uno no impide las demás.
+     */
+    public void snapshotAll() {
+        for (NotificationSnapshotSource source : sources) {
+            try {
+                snapshot(source);
+            } catch (IOException | RuntimeException e) {
+                log.warn("No se pudo guardar la instantánea de {}", source.snapshotName(), e);
+            }
+        }
+    }
+
+    /**
+     * Toma la instantánea de un almacén.
+     *
+     * @param source Almacén a volcar.
+     * @return Notificaciones escritas.
+     * @throws IOException Si no se puede escribir el archivo.
+     */
+    public long snapshot(NotificationSnapshotSource source) throws IOException {
+        long started = System.nanoTime();
+        long count = NotificationSnapshotFile.write(fileOf(source), source);
+        log.info("Instantánea de {} guardada: {} notificaciones en {} ms",
+                source.snapshotName(), count, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return count;
+    }
+
+    /**
+     * Carga en un almacén su última instantánea, si existe. Una instantánea
+     * ilegible se registra y el almacén arranca con lo que se alcanzó a cargar.
+     *
+     * @param source Almacén a restaurar.
+     * @return Notificaciones cargadas.
+     */
+    public long restore(NotificationSnapshotSource source) {
+        Path file = fileOf(source);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        long started = System.nanoTime();
+        try {
+            long count = NotificationSnapshotFile.read(file, Math.max(1, properties.getRestoreBatchSize()), source::restore);
+            log.info("Instantánea de {} restaurada: {} notificaciones en {} ms",
+                    source.snapshotName(), count, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            return count;
+        } catch (IOException | RuntimeException e) {
+            log.error("No se pudo restaurar la instantánea {}", file, e);
+            return 0;
+        }
+    }
+
+    private Path fileOf(NotificationSnapshotSource source) {
+        return Path.of(properties.getDirectory()).resolve(source.snapshotName() + SUFFIX);
+    }
+}
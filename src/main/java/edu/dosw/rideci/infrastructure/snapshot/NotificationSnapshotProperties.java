@@ -0,0 +1,35 @@
+package edu.dosw.rideci.infrastructure.snapshot;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración de las instantáneas de los almacenes de
+ * notificaciones en memoria.
+ *
+ * Se enlazan desde {@code application.properties} bajo el prefijo
+ * {@code notifications.snapshot}.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "notifications.snapshot")
+public class NotificationSnapshotProperties {
+
+    /** Habilita la carga al arrancar y las instantáneas periódicas y al detener. */
+    private boolean enabled = false;
+
+    /** Directorio local de los archivos de instantánea. */
+    private String directory = "data/notification-snapshots";
+
+    /** Cada cuánto se toma una instantánea de cada almacén. */
+    private Duration interval = Duration.ofMinutes(5);
+
+    /** Notificaciones cargadas por lote al restaurar. */
+    private int restoreBatchSize = 10_000;
+}
@@ -0,0 +1,368 @@
+package edu.dosw.rideci.infrastructure.storage;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Registro local de solo anexado, dividido en segmentos de tamaño fijo
+ * mapeados en memoria.
+ *
+ * Cada registro se guarda como {@code [longitud][crc32c][tipo][contenido]};
+ * la longitud se escribe al final y actúa como marca de registro completo,
+ * de modo que un registro a medio escribir se detecta y se descarta al abrir.
+ *
+ * La escritura en disco se hace con commit agrupado: {@link #sync(long)} deja
+ * que un solo hilo fuerce las páginas pendientes mientras los demás esperan,
+ * y todos los registros escritos hasta ese momento quedan durables con una
+ * única llamada a {@code force}.
+ *
+ * Las posiciones devueltas por {@link #append(byte, byte[])} codifican el
+ * segmento en los 32 bits altos y el desplazamiento en los bajos, por lo que
+ * crecen de forma monótona entre segmentos.
+ *
+ * @author RideECI
+ * @version 1.0
+ */
+@Slf4j
+public final class MappedSegmentLog implements Closeable {
+
+    /** Bytes de cabecera de cada registro: longitud, crc y tipo. */
+    public static final int HEADER_SIZE = 9;
+
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Object syncMonitor = new Object();
+    private volatile Segment active;
+    private long durablePosition;
+    private boolean syncInProgress;
+
+    /**
+     * Abre el registro en un directorio, recuperando los segmentos existentes.
+     *
+     * @param directory   Directorio de los segmentos; se crea si no existe.
+     * @param segmentSize Tamaño en bytes de cada segmento nuevo.
+     * @throws IOException Si no se pueden abrir o mapear los segmentos.
+     */
+    public MappedSegmentLog(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                Segment segment = Segment.open(file, parseId(file), segmentSize);
+                segment.recoverEnd();
+                segments.put(segment.id, segment);
+            }
+        }
+        this.active = segments.isEmpty() ? createSegment(0) : segments.lastEntry().getValue();
+        this.durablePosition = position(active.id, active.writeOffset);
+    }
+
+    /**
+     * Anexa un registro al segmento activo, pasando a uno nuevo si no cabe.
+     * El registro queda visible de inmediato pero solo es durable después
+     * de {@link #sync(long)}.
+     *
+     * @param type    Tipo del registro, definido por quien usa el registro.
+     * @param payload Contenido del registro.
+     * @return Posición del registro.
+     */
+    public long append(byte type, byte[] payload) {
+        int length = HEADER_SIZE + payload.length;
+        if (length > segmentSize) {
+            throw new IllegalArgumentException("Record of " + length + " bytes exceeds segment size " + segmentSize);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(type);
+        crc.update(payload);
+
+        writeLock.lock();
+        try {
+            Segment segment = active;
+            if (segment.writeOffset + length > segment.capacity()) {
+                segment = roll();
+            }
+            int offset = segment.writeOffset;
+            MappedByteBuffer buffer = segment.buffer;
+            buffer.putInt(offset + 4, (int) crc.getValue());
+            buffer.put(offset + 8, type);
+            buffer.put(offset + HEADER_SIZE, payload);
+            buffer.putInt(offset, 1 + payload.length);
+            segment.writeOffset = offset + length;
+            return position(segment.id, offset);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Garantiza que el registro en una posición y todos los anteriores
+     * estén escritos en disco.
+     *
+     * @param position Posición devuelta por {@link #append(byte, byte[])}.
+     */
+    public void sync(long position) {
+        synchronized (syncMonitor) {
+            while (syncInProgress && durablePosition <= position) {
+                try {
+                    syncMonitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for log sync", e);
+                }
+            }
+            if (durablePosition > position) {
+                return;
+            }
+            syncInProgress = true;
+        }
+        long forced = Long.MIN_VALUE;
+        try {
+            forced = forceActive();
+        } finally {
+            synchronized (syncMonitor) {
+                syncInProgress = false;
+                durablePosition = Math.max(durablePosition, forced);
+                syncMonitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Recorre todos los registros en orden de posición.
+     * Está pensado para la recuperación al arrancar, antes de anexar nuevos registros.
+     *
+     * @param visitor Acción a ejecutar con cada registro.
+     */
+    public void replay(RecordVisitor visitor) {
+        for (Segment segment : segments.values()) {
+            ByteBuffer view = segment.buffer.duplicate();
+            int offset = 0;
+            int end = segment.writeOffset;
+            while (offset < end) {
+                int length = view.getInt(offset);
+                byte type = view.get(offset + 8);
+                ByteBuffer payload = view.slice(offset + HEADER_SIZE, length - 1).asReadOnlyBuffer();
+                visitor.accept(position(segment.id, offset), type, payload);
+                offset += 8 + length;
+            }
+        }
+    }
+
+    /**
+     * Identificadores de los segmentos existentes, en orden.
+     *
+     * @return Segmentos del registro.
+     */
+    public List<Integer> segmentIds() {
+        return new ArrayList<>(segments.keySet());
+    }
+
+    /**
+     * Identificador del segmento en el que se anexan los registros.
+     *
+     * @return Segmento activo.
+     */
+    public int activeSegmentId() {
+        return active.id;
+    }
+
+    /**
+     * Elimina un segmento cerrado y su archivo.
+     *
+     * @param segmentId Segmento a eliminar; no puede ser el activo.
+     */
+    public void deleteSegment(int segmentId) {
+        if (segmentId == active.id) {
+            throw new IllegalArgumentException("Cannot delete active segment " + segmentId);
+        }
+        Segment segment = segments.remove(segmentId);
+        if (segment == null) {
+            return;
+        }
+        try {
+            segment.channel.close();
+            Files.deleteIfExists(segment.file);
+        } catch (IOException e) {
+            log.warn("No se pudo eliminar el segmento {}", segment.file, e);
+        }
+    }
+
+    /**
+     * Segmento al que pertenece una posición.
+     *
+     * @param position Posición de un registro.
+     * @return Identificador del segmento.
+     */
+    public static int segmentOf(long position) {
+        return (int) (position >>> 32);
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            active.buffer.force();
+            for (Segment segment : segments.values()) {
+                segment.channel.close();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Fuerza a disco lo escrito en el segmento activo desde el último forzado.
+     *
+     * @return Posición hasta la que el registro es durable.
+     */
+    private long forceActive() {
+        Segment segment;
+        int from;
+        int to;
+        writeLock.lock();
+        try {
+            segment = active;
+            from = segment.forcedOffset;
+            to = segment.writeOffset;
+        } finally {
+            writeLock.unlock();
+        }
+        if (to > from) {
+            segment.buffer.force(from, to - from);
+            segment.forcedOffset = to;
+        }
+        return position(segment.id, to);
+    }
+
+    /**
+     * Cierra el segmento activo forzándolo completo a disco y crea el siguiente.
+     * Se invoca con {@code writeLock} tomado.
+     */
+    private Segment roll() {
+        Segment previous = active;
+        previous.buffer.force();
+        Segment next;
+        try {
+            next = createSegment(previous.id + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create log segment " + (previous.id + 1), e);
+        }
+        active = next;
+        synchronized (syncMonitor) {
+            durablePosition = Math.max(durablePosition, position(next.id, 0));
+        }
+        return next;
+    }
+
+    private Segment createSegment(int id) throws IOException {
+        Path file = directory.resolve(String.format("%010d%s", id, SUFFIX));
+        Segment segment = Segment.open(file, id, segmentSize);
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private static long position(int segmentId, int offset) {
+        return ((long) segmentId << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    private static int parseId(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Acción a ejecutar con cada registro durante {@link #replay(RecordVisitor)}.
+     */
+    @FunctionalInterface
+    public interface RecordVisitor {
+
+        /**
+         * @param position Posición del registro.
+         * @param type     Tipo del registro.
+         * @param payload  Contenido del registro, de solo lectura.
+         */
+        void accept(long position, byte type, ByteBuffer payload);
+    }
+
+    /** Archivo de un segmento y su mapeo en memoria. */
+    private static final class Segment {
+        private final Path file;
+        private final int id;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writeOffset;
+        private int forcedOffset;
+
+        private Segment(Path file, int id, FileChannel channel, MappedByteBuffer buffer) {
+            this.file = file;
+            this.id = id;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment open(Path file, int id, int defaultSize) throws IOException {
+            FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = channel.size() > 0 ? channel.size() : defaultSize;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new Segment(file, id, channel, buffer);
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        /**
+         * Busca el final de los registros válidos. Si la escritura anterior se
+         * interrumpió, limpia el resto del segmento para que ningún registro
+         * no confirmado reaparezca en una recuperación posterior.
+         */
+        void recoverEnd() {
+            int offset = 0;
+            int capacity = capacity();
+            while (offset + HEADER_SIZE <= capacity) {
+                int length = buffer.getInt(offset);
+                if (length == 0) {
+                    break;
+                }
+                if (length < 1 || offset + 8L + length > capacity || !checksumMatches(offset, length)) {
+                    log.warn("Registro incompleto en {} desde el byte {}, se descarta", file, offset);
+                    for (int i = offset; i < capacity; i++) {
+                        buffer.put(i, (byte) 0);
+                    }
+                    buffer.force();
+                    break;
+                }
+                offset += 8 + length;
+            }
+            writeOffset = offset;
+            forcedOffset = offset;
+        }
+
+        private boolean checksumMatches(int offset, int length) {
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.duplicate().position(offset + 8).limit(offset + 8 + length));
+            return (int) crc.getValue() == buffer.getInt(offset + 4);
+        }
+    }
+}
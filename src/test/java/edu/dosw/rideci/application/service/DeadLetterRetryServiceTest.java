@@ -0,0 +1,131 @@
+package edu.dosw.rideci.application.service;
+
+import edu.dosw.rideci.domain.model.DeadLetter;
+import edu.dosw.rideci.domain.model.Enum.DeadLetterStatus;
+import edu.dosw.rideci.domain.model.Enum.NotificationType;
+import edu.dosw.rideci.domain.model.NotificationEvent;
+import edu.dosw.rideci.domain.service.EventBus;
+import edu.dosw.rideci.domain.service.EventBusProperties;
+import edu.dosw.rideci.domain.service.NotificationSubscriber;
+import edu.dosw.rideci.infrastructure.persistance.Repository.DeadLetterRepositoryAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadLetterRetryServiceTest {
+
+    private EventBus eventBus;
+    private DeadLetterRepositoryAdapter repository;
+    private DeadLetterRetryService service;
+
+    @BeforeEach
+    void setUp() {
+        EventBusProperties busProperties = new EventBusProperties();
+        busProperties.setLanes(1);
+        eventBus = new EventBus(busProperties);
+        repository = new DeadLetterRepositoryAdapter();
+        DeadLetterProperties properties = new DeadLetterProperties();
+        properties.setMaxAttempts(3);
+        properties.setInitialBackoff(Duration.ofMillis(10));
+        properties.setMaxBackoff(Duration.ofMillis(40));
+        service = new DeadLetterRetryService(eventBus, repository, properties);
+        service.init();
+        eventBus.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventBus.stop();
+        service.shutdown();
+    }
+
+    @Test
+    void retriesFailedDeliveryUntilItSucceeds() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        eventBus.subscribe(NotificationType.TRIP_CREATED, subscriber(() -> calls.incrementAndGet() > 2));
+
+        eventBus.publish(event());
+
+        assertTrue(await(() -> calls.get() == 3 && repository.findAll(null).isEmpty()),
+                "la entrega debería completarse al tercer intento");
+    }
+
+    @Test
+    void exhaustsAfterMaxAttemptsAndCanBeReplayed() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        eventBus.subscribe(NotificationType.TRIP_CREATED, subscriber(() -> calls.incrementAndGet() > 3));
+
+        eventBus.publish(event());
+
+        assertTrue(await(() -> !service.listDeadLetters(DeadLetterStatus.EXHAUSTED).isEmpty()));
+        List<DeadLetter> exhausted = service.listDeadLetters(DeadLetterStatus.EXHAUSTED);
+        assertEquals(1, exhausted.size());
+        assertEquals(3, exhausted.get(0).getAttempts());
+        assertEquals("flaky-subscriber", exhausted.get(0).getSubscriberName());
+
+        assertTrue(service.replayDeadLetter(exhausted.get(0).getId()));
+        assertTrue(repository.findAll(null).isEmpty());
+    }
+
+    @Test
+    void backoffGrowsExponentiallyWithJitterUpToTheMaximum() {
+        for (int i = 0; i < 100; i++) {
+            long first = service.backoff(1).toMillis();
+            long third = service.backoff(3).toMillis();
+            long tenth = service.backoff(10).toMillis();
+            assertTrue(first >= 5 && first <= 10, "primer reintento fuera de rango: " + first);
+            assertTrue(third >= 20 && third <= 40, "tercer reintento fuera de rango: " + third);
+            assertTrue(tenth >= 20 && tenth <= 40, "la espera debería limitarse al máximo: " + tenth);
+        }
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(5);
+        }
+        return condition.getAsBoolean();
+    }
+
+    private static NotificationSubscriber subscriber(BooleanSupplier succeeds) {
+        return new NotificationSubscriber() {
+            @Override
+            public void handleEvent(NotificationEvent event) {
+                if (!succeeds.getAsBoolean()) {
+                    throw new IllegalStateException("proveedor no disponible");
+                }
+            }
+
+            @Override
+            public List<NotificationType> getSubscribedEvents() {
+                return List.of(NotificationType.TRIP_CREATED);
+            }
+
+            @Override
+            public String getName() {
+                return "flaky-subscriber";
+            }
+        };
+    }
+
+    private static NotificationEvent event() {
+        return NotificationEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(NotificationType.TRIP_CREATED)
+                .userId("user-1")
+                .priority(3)
+                .build();
+    }
+}
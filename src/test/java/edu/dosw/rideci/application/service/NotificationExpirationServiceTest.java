@@ -0,0 +1,82 @@
+package edu.dosw.rideci.application.service;
+
+import edu.dosw.rideci.domain.model.Enum.NotificationStatus;
+import edu.dosw.rideci.domain.model.InAppNotification;
+import edu.dosw.rideci.domain.service.NotificationDomainService;
+import edu.dosw.rideci.infrastructure.persistance.Repository.NotificationRepositoryAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationExpirationServiceTest {
+
+    private final UUID user = UUID.randomUUID();
+    private final OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+
+    private NotificationRepositoryAdapter repository;
+    private NotificationExpirationService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new NotificationRepositoryAdapter();
+        NotificationExpirationProperties properties = new NotificationExpirationProperties();
+        properties.setGracePeriod(Duration.ofDays(7));
+        properties.setBatchSize(2);
+        service = new NotificationExpirationService(repository, new NotificationDomainService(), properties);
+    }
+
+    @Test
+    void expiresDueNotificationsInBatches() {
+        for (int i = 0; i < 5; i++) {
+            repository.save(notification(NotificationStatus.UNREAD, now.minusMinutes(i + 1)));
+        }
+        InAppNotification pending = repository.save(notification(NotificationStatus.UNREAD, now.plusHours(1)));
+        InAppNotification permanent = repository.save(notification(NotificationStatus.UNREAD, null));
+
+        NotificationExpirationService.ExpirationResult result = service.run(now);
+
+        assertEquals(5, result.expired());
+        assertEquals(0, result.evicted());
+        assertEquals(2, repository.countUnreadByUserId(user));
+        assertEquals(NotificationStatus.UNREAD, repository.findById(pending.getNotificationId()).orElseThrow().getStatus());
+        assertNull(repository.findById(permanent.getNotificationId()).orElseThrow().getExpiresAt());
+        assertEquals(0, service.run(now).expired());
+    }
+
+    @Test
+    void evictsExpiredNotificationsAfterGracePeriod() {
+        for (int i = 0; i < 3; i++) {
+            repository.save(notification(NotificationStatus.EXPIRED, now.minusDays(8)));
+        }
+        InAppNotification recent = repository.save(notification(NotificationStatus.EXPIRED, now.minusDays(6)));
+
+        NotificationExpirationService.ExpirationResult result = service.run(now);
+
+        assertEquals(0, result.expired());
+        assertEquals(3, result.evicted());
+        assertEquals(1, repository.findByUserIdOrderByCreatedAtDesc(user).size());
+        assertTrue(repository.findById(recent.getNotificationId()).isPresent());
+        assertEquals(1, service.run(now.plusDays(2)).evicted());
+        assertTrue(repository.findByUserIdOrderByCreatedAtDesc(user).isEmpty());
+    }
+
+    private InAppNotification notification(NotificationStatus status, OffsetDateTime expiresAt) {
+        return InAppNotification.builder()
+                .notificationId(UUID.randomUUID())
+                .userId(user)
+                .title("Recordatorio")
+                .message("Mensaje")
+                .status(status)
+                .createdAt(now.minusDays(10))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,474 @@
+package edu.dosw.rideci.domain.service;
+
+import edu.dosw.rideci.domain.model.Enum.EventPriority;
+import edu.dosw.rideci.domain.model.Enum.NotificationType;
+import edu.dosw.rideci.domain.model.Enum.OverflowPolicy;
+import edu.dosw.rideci.domain.model.NotificationEvent;
+import edu.dosw.rideci.exceptions.BatchDeliveryException;
+import edu.dosw.rideci.exceptions.EventRejectedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventBusTest {
+
+    private final List<EventBus> buses = new ArrayList<>();
+
+    @AfterEach
+    void stopBuses() {
+        buses.forEach(EventBus::stop);
+    }
+
+    @Test
+    void preservesPerUserOrderingAcrossLanes() throws InterruptedException {
+        int users = 40;
+        int eventsPerUser = 250;
+        EventBus bus = newBus(4);
+        CountDownLatch done = new CountDownLatch(users * eventsPerUser);
+        Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+
+        bus.subscribe(NotificationType.TRIP_CREATED, subscriber(event -> {
+            received.computeIfAbsent(event.getUserId(), k -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(Integer.parseInt(event.getMessage()));
+            done.countDown();
+        }));
+
+        for (int seq = 0; seq < eventsPerUser; seq++) {
+            for (int u = 0; u < users; u++) {
+                bus.publish(event("user-" + u, seq));
+            }
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS), "no se procesaron todos los eventos");
+        assertEquals(users, received.size());
+        received.forEach((user, sequence) -> {
+            for (int i = 0; i < sequence.size(); i++) {
+                assertEquals(i, (int) sequence.get(i), "orden roto para " + user);
+            }
+        });
+    }
+
+    @Test
+    void dispatchesDifferentLanesConcurrently() throws InterruptedException {
+        int lanes = 4;
+        EventBus bus = newBus(lanes);
+        CyclicBarrier allLanesBusy = new CyclicBarrier(lanes);
+        CountDownLatch done = new CountDownLatch(lanes);
+        AtomicInteger broken = new AtomicInteger();
+        bus.subscribe(NotificationType.TRIP_CREATED, subscriber(event -> {
+            try {
+                allLanesBusy.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                broken.incrementAndGet();
+            } catch (BrokenBarrierException | TimeoutException e) {
+                broken.incrementAndGet();
+            }
+            done.countDown();
+        }));
+
+        Map<Integer, String> userPerLane = new ConcurrentHashMap<>();
+        for (int u = 0; userPerLane.size() < lanes; u++) {
+            String user = "user-" + u;
+            userPerLane.putIfAbsent(bus.laneFor(event(user, 0)), user);
+        }
+        userPerLane.values().forEach(user -> bus.publish(event(user, 0)));
+
+        assertTrue(done.await(10, TimeUnit.SECONDS), "no se procesaron todos los eventos");
+        assertEquals(0, broken.get(), "cada carril debería despachar en paralelo con los demás");
+    }
+
+    @Test
+    void servesHighPriorityBeforeQueuedLowPriority() throws InterruptedException {
+        EventBus bus = new EventBus(properties(1));
+        buses.add(bus);
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(6);
+        bus.subscribe(NotificationType.TRIP_CREATED, subscriber(event -> {
+            order.add(event.getPriority());
+            done.countDown();
+        }));
+
+        for (int i = 0; i < 5; i++) {
+            bus.publish(event("user", i, 5));
+        }
+        bus.publish(event("user", 5, 1));
+        bus.start();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, (int) order.get(0));
+    }
+
+    @Test
+    void appliesOverflowPolicyPerPriority() throws InterruptedException {
+        EventBusProperties properties = properties(1);
+        properties.getPriority().setNormal(new EventBusProperties.PriorityQueue(2, OverflowPolicy.REJECT));
+        properties.getPriority().setLow(new EventBusProperties.PriorityQueue(2, OverflowPolicy.DROP_OLDEST));
+        EventBus bus = new EventBus(properties);
+        buses.add(bus);
+
+        bus.publish(event("user", 0, 3));
+        bus.publish(event("user", 1, 3));
+        assertThrows(EventRejectedException.class, () -> bus.publish(event("user", 2, 3)));
+
+        for (int i = 0; i < 5; i++) {
+            bus.publish(event("user", i, 5));
+        }
+
+        assertEquals(1, bus.getRejectedCount());
+        assertEquals(3, bus.getDroppedCount());
+        assertEquals(2, (int) bus.getQueueSizeByPriority().get(EventPriority.LOW));
+    }
+
+    @Test
+    void deliversBatchesToBatchSubscribers() throws InterruptedException {
+        EventBus bus = new EventBus(properties(2));
+        buses.add(bus);
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(25);
+        bus.subscribe(NotificationType.TRIP_CREATED, new BatchNotificationSubscriber() {
+            @Override
+            public void handleBatch(List<NotificationEvent> events) {
+                batchSizes.add(events.size());
+                events.forEach(e -> done.countDown());
+            }
+
+            @Override
+            public int getMaxBatchSize() {
+                return 10;
+            }
+
+            @Override
+            public List<NotificationType> getSubscribedEvents() {
+                return List.of(NotificationType.TRIP_CREATED);
+            }
+
+            @Override
+            public String getName() {
+                return "batch-test-subscriber";
+            }
+        });
+
+        for (int i = 0; i < 25; i++) {
+            bus.publish(event("user-" + (i % 3), i));
+        }
+        bus.start();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 10));
+        assertTrue(batchSizes.size() < 25, "los eventos deberían agruparse en lotes");
+    }
+
+    @Test
+    void reportsOnlyTheFailedEventsOfABatch() throws InterruptedException {
+        EventBus bus = new EventBus(properties(1));
+        buses.add(bus);
+        List<String> failed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch reported = new CountDownLatch(1);
+        bus.setDeliveryFailureListener((event, subscriberName, error) -> {
+            failed.add(event.getMessage());
+            reported.countDown();
+        });
+        bus.subscribe(NotificationType.TRIP_CREATED, new BatchNotificationSubscriber() {
+            @Override
+            public void handleBatch(List<NotificationEvent> events) {
+                List<BatchDeliveryException.Failure> failures = events.stream()
+                        .filter(event -> event.getMessage().equals("1"))
+                        .map(event -> new BatchDeliveryException.Failure(event, new IllegalStateException("inválido")))
+                        .toList();
+                if (!failures.isEmpty()) {
+                    throw new BatchDeliveryException("fallaron eventos", failures);
+                }
+            }
+
+            @Override
+            public List<NotificationType> getSubscribedEvents() {
+                return List.of(NotificationType.TRIP_CREATED);
+            }
+
+            @Override
+            public String getName() {
+                return "batch-test-subscriber";
+            }
+        });
+
+        for (int i = 0; i < 3; i++) {
+            bus.publish(event("user", i));
+        }
+        bus.start();
+
+        assertTrue(reported.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(List.of("1"), failed);
+    }
+
+    @Test
+    void replaysJournaledEventsOnStartAndAcknowledgesThem() throws InterruptedException {
+        Set<Long> acknowledged = ConcurrentHashMap.newKeySet();
+        EventJournal journal = new EventJournal() {
+            @Override
+            public long append(NotificationEvent event) {
+                return 100 + Integer.parseInt(event.getMessage());
+            }
+
+            @Override
+            public void acknowledge(long sequence) {
+                acknowledged.add(sequence);
+            }
+
+            @Override
+            public List<Entry> recover() {
+                return List.of(new Entry(7, event("user", 0)));
+            }
+        };
+        EventBus bus = new EventBus(properties(1));
+        bus.setEventJournal(journal);
+        buses.add(bus);
+        CountDownLatch done = new CountDownLatch(2);
+        bus.subscribe(NotificationType.TRIP_CREATED, subscriber(event -> done.countDown()));
+
+        bus.start();
+        bus.publish(event("user", 1));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (acknowledged.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(Set.of(7L, 101L), acknowledged);
+    }
+
+    @Test
+    void drainsQueuedEventsOnStopAndRejectsNewOnes() {
+        EventBus bus = newBus(1);
+        AtomicInteger handled = new AtomicInteger();
+        bus.subscribe(NotificationType.TRIP_CREATED, subscriber(event -> {
+            simulateProviderLatency();
+            handled.incrementAndGet();
+        }));
+        for (int i = 0; i < 50; i++) {
+            bus.publish(event("user", i));
+        }
+
+        bus.stop();
+
+        assertEquals(50, handled.get());
+        assertFalse(bus.isRunning());
+        assertThrows(EventRejectedException.class, () -> bus.publish(event("user", 50)));
+    }
+
+    @Test
+    void handsUndrainedEventsToPendingStore() {
+        EventBusProperties properties = properties(1);
+        properties.setDrainTimeout(Duration.ofMillis(50));
+        EventBus bus = new EventBus(properties);
+        List<NotificationEvent> stored = new ArrayList<>();
+        bus.setPendingEventStore(new PendingEventStore() {
+            @Override
+            public void store(List<NotificationEvent> events) {
+                stored.addAll(events);
+            }
+
+            @Override
+            public List<NotificationEvent> load() {
+                return List.of();
+            }
+        });
+        AtomicInteger handled = new AtomicInteger();
+        bus.subscribe(NotificationType.TRIP_CREATED, subscriber(event -> {
+            simulateProviderLatency();
+            handled.incrementAndGet();
+        }));
+        bus.start();
+        for (int i = 0; i < 200; i++) {
+            bus.publish(event("user", i));
+        }
+
+        bus.stop();
+
+        assertFalse(stored.isEmpty());
+        assertEquals(200, handled.get() + stored.size(), "no deberían perderse eventos encolados");
+        assertEquals(0, bus.getQueueSize());
+    }
+
+    @Test
+    void allowsSubscribingAndUnsubscribingWhileDispatching() throws InterruptedException {
+        EventBus bus = newBus(4);
+        int events = 20_000;
+        CountDownLatch done = new CountDownLatch(events);
+        bus.subscribe(NotificationType.TRIP_CREATED, subscriber(event -> done.countDown()));
+
+        AtomicBoolean churning = new AtomicBoolean(true);
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        Thread churn = new Thread(() -> {
+            try {
+                while (churning.get()) {
+                    NotificationSubscriber transientSubscriber = subscriber(event -> { });
+                    bus.subscribe(NotificationType.TRIP_CREATED, transientSubscriber);
+                    bus.unsubscribe(NotificationType.TRIP_CREATED, transientSubscriber);
+                }
+            } catch (Throwable t) {
+                errors.add(t);
+            }
+        });
+        churn.start();
+        for (int i = 0; i < events; i++) {
+            bus.publish(event("user-" + (i % 64), i));
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS), "el suscriptor fijo debería recibir todos los eventos");
+        churning.set(false);
+        churn.join();
+        assertTrue(errors.isEmpty(), "errores al registrar suscriptores: " + errors);
+        assertEquals(1, bus.getInFlightBySubscriber().size());
+    }
+
+    @Test
+    void isolatesSlowSubscriberInItsOwnBulkhead() throws InterruptedException {
+        EventBus bus = newBus(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastDone = new CountDownLatch(20);
+        bus.subscribe(NotificationType.TRIP_CREATED, new NotificationSubscriber() {
+            @Override
+            public void handleEvent(NotificationEvent event) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public List<NotificationType> getSubscribedEvents() {
+                return List.of(NotificationType.TRIP_CREATED);
+            }
+
+            @Override
+            public String getName() {
+                return "slow-subscriber";
+            }
+
+            @Override
+            public SubscriberIsolation isolation() {
+                return SubscriberIsolation.bulkhead(2, 10);
+            }
+        });
+        bus.subscribe(NotificationType.TRIP_CREATED, subscriber(event -> fastDone.countDown()));
+
+        for (int i = 0; i < 20; i++) {
+            bus.publish(event("user", i));
+        }
+
+        assertTrue(fastDone.await(5, TimeUnit.SECONDS), "el suscriptor lento no debería bloquear el carril");
+        SubscriberMetrics slow = bus.getSubscriberMetrics().get("slow-subscriber");
+        assertEquals(10, slow.queueDepth());
+        assertEquals(8, slow.rejected());
+        assertEquals(12, slow.inFlight());
+        release.countDown();
+    }
+
+    @Test
+    void deliversScheduledEventsThroughTheNormalDispatchPath() throws InterruptedException {
+        EventBus bus = newBus(1);
+        CountDownLatch done = new CountDownLatch(1);
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        bus.subscribe(NotificationType.TRIP_CREATED, subscriber(event -> {
+            received.add(event.getMessage());
+            done.countDown();
+        }));
+        assertFalse(timerThreadAlive(), "la rueda no debe arrancar sin entregas programadas");
+
+        ScheduledEvent cancelled = bus.schedule(event("user", 1), Instant.now().plusMillis(200));
+        long start = System.nanoTime();
+        bus.schedule(event("user", 2), Instant.now().plusMillis(300));
+        assertEquals(2, bus.getScheduledCount());
+        assertTrue(timerThreadAlive());
+        assertTrue(cancelled.cancel());
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(300));
+        assertEquals(List.of("2"), received);
+        assertEquals(0, bus.getScheduledCount());
+    }
+
+    private static boolean timerThreadAlive() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> thread.getName().equals("notification-event-bus-timer") && thread.isAlive());
+    }
+
+    private EventBus newBus(int lanes) {
+        EventBus bus = new EventBus(properties(lanes));
+        bus.start();
+        buses.add(bus);
+        return bus;
+    }
+
+    private static EventBusProperties properties(int lanes) {
+        EventBusProperties properties = new EventBusProperties();
+        properties.setLanes(lanes);
+        return properties;
+    }
+
+    private static NotificationEvent event(String userId, int seq) {
+        return event(userId, seq, 3);
+    }
+
+    private static NotificationEvent event(String userId, int seq, int priority) {
+        return NotificationEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(NotificationType.TRIP_CREATED)
+                .userId(userId)
+                .message(String.valueOf(seq))
+                .priority(priority)
+                .build();
+    }
+
+    private static void simulateProviderLatency() {
+        try {
+            Thread.sleep(2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static NotificationSubscriber subscriber(Consumer<NotificationEvent> handler) {
+        return new NotificationSubscriber() {
+            @Override
+            public void handleEvent(NotificationEvent event) {
+                handler.accept(event);
+            }
+
+            @Override
+            public List<NotificationType> getSubscribedEvents() {
+                return List.of(NotificationType.TRIP_CREATED);
+            }
+
+            @Override
+            public String getName() {
+                return "test-subscriber";
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package edu.dosw.rideci.domain.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventDeduplicatorTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void dropsRepeatedIdsAndCountsHitsAndMisses() {
+        EventDeduplicator deduplicator = new EventDeduplicator(Duration.ofSeconds(10), 10, 100, clock::get);
+
+        assertTrue(deduplicator.firstSeen("a"));
+        assertTrue(deduplicator.firstSeen("b"));
+        assertFalse(deduplicator.firstSeen("a"));
+        assertFalse(deduplicator.firstSeen("a"));
+
+        assertEquals(2, deduplicator.getMisses());
+        assertEquals(2, deduplicator.getHits());
+        assertEquals(2, deduplicator.size());
+    }
+
+    @Test
+    void forgetsIdsOnceTheyLeaveTheWindow() {
+        EventDeduplicator deduplicator = new EventDeduplicator(Duration.ofSeconds(10), 10, 100, clock::get);
+        deduplicator.firstSeen("a");
+
+        clock.set(Duration.ofSeconds(9).toNanos());
+        assertFalse(deduplicator.firstSeen("a"));
+
+        clock.set(Duration.ofSeconds(11).toNanos());
+        assertTrue(deduplicator.firstSeen("a"));
+        assertEquals(1, deduplicator.size());
+    }
+
+    @Test
+    void evictsOldestBucketWhenFull() {
+        EventDeduplicator deduplicator = new EventDeduplicator(Duration.ofSeconds(10), 10, 4, clock::get);
+        deduplicator.firstSeen("a");
+        deduplicator.firstSeen("b");
+        clock.set(Duration.ofSeconds(1).toNanos());
+        deduplicator.firstSeen("c");
+        deduplicator.firstSeen("d");
+        deduplicator.firstSeen("e");
+
+        assertTrue(deduplicator.size() <= 4);
+        assertTrue(deduplicator.firstSeen("a"));
+        assertFalse(deduplicator.firstSeen("e"));
+    }
+
+    @Test
+    void forgottenIdIsAcceptedAgain() {
+        EventDeduplicator deduplicator = new EventDeduplicator(Duration.ofSeconds(10), 10, 100, clock::get);
+        deduplicator.firstSeen("a");
+        deduplicator.forget("a");
+
+        assertTrue(deduplicator.firstSeen("a"));
+    }
+}
@@ -0,0 +1,108 @@
+package edu.dosw.rideci.domain.service;
+
+import edu.dosw.rideci.domain.model.NotificationEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<String> fired = new ArrayList<>();
+    private final TimingWheel wheel = new TimingWheel(Duration.ofMillis(10), Duration.ofMillis(100),
+            clock::get, event -> fired.add(event.getEventId()));
+
+    @Test
+    void firesEventOnceItsDeadlinePasses() {
+        ScheduledEvent scheduled = wheel.schedule(event("a"), Instant.now().plusSeconds(1));
+
+        advanceTo(Duration.ofMillis(990));
+        assertTrue(fired.isEmpty());
+        assertEquals(1, wheel.size());
+
+        advanceTo(Duration.ofMillis(1000));
+        assertEquals(List.of("a"), fired);
+        assertTrue(scheduled.isDelivered());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelledEventIsNeverFired() {
+        ScheduledEvent scheduled = wheel.schedule(event("a"), Instant.now().plusSeconds(1));
+        advanceTo(Duration.ofMillis(500));
+
+        assertTrue(scheduled.cancel());
+        assertFalse(scheduled.cancel());
+        advanceTo(Duration.ofSeconds(2));
+
+        assertTrue(fired.isEmpty());
+        assertTrue(scheduled.isCancelled());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cascadesFarTimersDownThroughTheLevels() {
+        wheel.schedule(event("day"), Instant.now().plus(Duration.ofDays(1)));
+        wheel.schedule(event("minute"), Instant.now().plus(Duration.ofMinutes(1)));
+        wheel.schedule(event("past"), Instant.now().minusSeconds(5));
+
+        for (long minutes = 0; minutes <= 24 * 60; minutes++) {
+            advanceTo(Duration.ofMinutes(minutes));
+        }
+
+        assertEquals(List.of("past", "minute", "day"), fired);
+    }
+
+    @Test
+    void firesManyTimersInDeadlineOrder() {
+        Instant now = Instant.now();
+        for (int i = 2000; i > 0; i--) {
+            wheel.schedule(event(String.valueOf(i)), now.plusMillis(i * 37L));
+        }
+        for (long ms = 0; ms <= 2000 * 37 + 10; ms += 250) {
+            advanceTo(Duration.ofMillis(ms));
+        }
+
+        assertEquals(2000, fired.size());
+        for (int i = 1; i < fired.size(); i++) {
+            assertTrue(Integer.parseInt(fired.get(i - 1)) < Integer.parseInt(fired.get(i)));
+        }
+    }
+
+    @Test
+    void retriesEventRejectedByTheBus() {
+        AtomicBoolean accept = new AtomicBoolean(false);
+        TimingWheel rejecting = new TimingWheel(Duration.ofMillis(10), Duration.ofMillis(100), clock::get,
+                event -> accept.get() && fired.add(event.getEventId()));
+        ScheduledEvent scheduled = rejecting.schedule(event("a"), Instant.now());
+
+        clock.set(Duration.ofMillis(10).toNanos());
+        rejecting.advance();
+        assertFalse(scheduled.isDelivered());
+        assertEquals(1, rejecting.size());
+
+        accept.set(true);
+        clock.set(Duration.ofMillis(200).toNanos());
+        rejecting.advance();
+        assertEquals(List.of("a"), fired);
+        assertTrue(scheduled.isDelivered());
+    }
+
+    private void advanceTo(Duration elapsed) {
+        clock.set(elapsed.toNanos());
+        wheel.advance();
+    }
+
+    private static NotificationEvent event(String id) {
+        return NotificationEvent.builder().eventId(id).build();
+    }
+}
@@ -0,0 +1,88 @@
+package edu.dosw.rideci.infrastructure.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.dosw.rideci.domain.model.Enum.NotificationType;
+import edu.dosw.rideci.domain.model.NotificationEvent;
+import edu.dosw.rideci.domain.service.EventJournal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedEventJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void recoversUnacknowledgedEventsAfterReopen() {
+        MappedEventJournal journal = open(DataSize.ofMegabytes(1));
+        long first = journal.append(event("e-1"));
+        journal.append(event("e-2"));
+        journal.append(event("e-3"));
+        journal.acknowledge(first);
+        journal.close();
+
+        MappedEventJournal reopened = open(DataSize.ofMegabytes(1));
+        List<EventJournal.Entry> pending = reopened.recover();
+
+        assertEquals(2, pending.size());
+        assertEquals("e-2", pending.get(0).event().getEventId());
+        assertEquals("e-3", pending.get(1).event().getEventId());
+        assertEquals(NotificationType.TRIP_CREATED, pending.get(0).event().getEventType());
+        assertTrue(reopened.recover().isEmpty());
+        reopened.close();
+    }
+
+    @Test
+    void deletesSegmentsOnceAllTheirEventsAreAcknowledged() throws Exception {
+        MappedEventJournal journal = open(DataSize.ofKilobytes(4));
+        List<Long> sequences = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            sequences.add(journal.append(event("e-" + i)));
+        }
+        assertTrue(segmentFiles() > 2);
+
+        sequences.forEach(journal::acknowledge);
+
+        assertTrue(segmentFiles() <= 2, "deberían quedar solo los segmentos más recientes");
+        journal.close();
+        assertTrue(open(DataSize.ofKilobytes(4)).recover().isEmpty());
+    }
+
+    private long segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private MappedEventJournal open(DataSize segmentSize) {
+        EventJournalProperties properties = new EventJournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(segmentSize);
+        return new MappedEventJournal(properties, objectMapper);
+    }
+
+    private static NotificationEvent event(String eventId) {
+        return NotificationEvent.builder()
+                .eventId(eventId)
+                .eventType(NotificationType.TRIP_CREATED)
+                .userId("user-1")
+                .message("Viaje creado")
+                .priority(3)
+                .timestamp(Instant.now())
+                .build();
+    }
+}
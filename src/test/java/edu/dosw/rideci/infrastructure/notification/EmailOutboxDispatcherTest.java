@@ -0,0 +1,380 @@
+package edu.dosw.rideci.infrastructure.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.dosw.rideci.domain.model.Enum.EmailOverflowPolicy;
+import edu.dosw.rideci.domain.model.Enum.EventPriority;
+import edu.dosw.rideci.domain.model.Enum.OutboxEmailStatus;
+import edu.dosw.rideci.domain.model.OutboxEmail;
+import edu.dosw.rideci.exceptions.EmailOutboxFullException;
+import edu.dosw.rideci.exceptions.ProviderThrottledException;
+import edu.dosw.rideci.infrastructure.persistance.Repository.MappedEmailOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmailOutboxDispatcherTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final Set<String> delivered = ConcurrentHashMap.newKeySet();
+    private volatile int failuresLeft;
+    private volatile Instant throttledUntil;
+    private final CountDownLatch lowReleased = new CountDownLatch(1);
+
+    private MappedEmailOutboxRepository outbox;
+    private EmailOutboxDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+        if (outbox != null) {
+            outbox.close();
+        }
+    }
+
+    @Test
+    void retriesWithBackoffAndAcknowledgesOnSuccess() throws Exception {
+        EmailOutboxProperties properties = properties();
+        outbox = open(properties);
+        dispatcher = start(properties);
+        failuresLeft = 2;
+
+        dispatcher.enqueue(EventPriority.HIGH, "n-1", "ana@example.com", "Alerta", "<p>hola</p>");
+
+        awaitTrue(() -> delivered.contains("ana@example.com"));
+        awaitTrue(() -> outbox.findAll(null).isEmpty());
+        assertEquals(3, calls.get());
+        assertEquals(0, dispatcher.stats().pending());
+    }
+
+    @Test
+    void marksEmailFailedAfterMaxAttemptsUntilRetried() throws Exception {
+        EmailOutboxProperties properties = properties();
+        outbox = open(properties);
+        dispatcher = start(properties);
+        failuresLeft = Integer.MAX_VALUE;
+
+        UUID id = dispatcher.enqueue(EventPriority.HIGH, "n-1", "ana@example.com", "Alerta", "<p>hola</p>");
+
+        awaitTrue(() -> dispatcher.stats().failed() == 1);
+        OutboxEmail failed = outbox.findById(id).orElseThrow();
+        assertEquals(OutboxEmailStatus.FAILED, failed.getStatus());
+        assertEquals(properties.getMaxAttempts(), failed.getAttempts());
+        assertTrue(failed.getLastError().contains("proveedor caído"));
+        Thread.sleep(100);
+        assertEquals(properties.getMaxAttempts(), calls.get());
+
+        failuresLeft = 0;
+        assertTrue(dispatcher.retry(id));
+        awaitTrue(() -> outbox.findById(id).isEmpty());
+        assertTrue(delivered.contains("ana@example.com"));
+    }
+
+    @Test
+    void reschedulesThrottledEmailWithoutSpendingAnAttempt() throws Exception {
+        EmailOutboxProperties properties = properties();
+        properties.setMaxAttempts(1);
+        outbox = open(properties);
+        dispatcher = start(properties);
+        Instant resumeAt = Instant.now().plusMillis(200);
+        throttledUntil = resumeAt;
+
+        UUID id = dispatcher.enqueue(EventPriority.HIGH, "n-1", "ana@example.com", "Recuperación", "<p>123</p>");
+
+        awaitTrue(() -> lane(EventPriority.HIGH).throttled() == 1);
+        OutboxEmail deferred = outbox.findById(id).orElseThrow();
+        assertEquals(0, deferred.getAttempts());
+        assertFalse(deferred.getNextAttemptAt().isBefore(resumeAt));
+        assertTrue(deferred.getNextAttemptAt().isBefore(resumeAt.plus(properties.getInitialBackoff())));
+        awaitTrue(() -> delivered.contains("ana@example.com"));
+        assertTrue(Instant.now().isAfter(resumeAt));
+        assertEquals(0, lane(EventPriority.HIGH).failed());
+    }
+
+    @Test
+    void stopsDrainingThrottledLaneUntilProviderResumes() throws Exception {
+        EmailOutboxProperties properties = properties();
+        outbox = open(properties);
+        dispatcher = start(properties);
+        Instant resumeAt = Instant.now().plusMillis(300);
+        throttledUntil = resumeAt;
+
+        dispatcher.enqueue(EventPriority.HIGH, "n-0", "a0@example.com", "Alerta", "<p>sos</p>");
+        awaitTrue(() -> lane(EventPriority.HIGH).throttled() == 1);
+        for (int i = 1; i < 6; i++) {
+            dispatcher.enqueue(EventPriority.HIGH, "n-" + i, "a" + i + "@example.com", "Alerta", "<p>sos</p>");
+        }
+        Thread.sleep(100);
+        assertEquals(1, calls.get(), "el nivel no debe tomar correos mientras el proveedor está en pausa");
+        assertTrue(outbox.findAll(null).stream()
+                .filter(email -> !email.getDestinationEmail().equals("a0@example.com"))
+                .allMatch(email -> email.getNextAttemptAt().isBefore(resumeAt)));
+
+        awaitTrue(() -> delivered.size() == 6);
+        assertTrue(Instant.now().isAfter(resumeAt));
+        assertEquals(1, lane(EventPriority.HIGH).throttled());
+    }
+
+    @Test
+    void keepsUnacknowledgedEmailsAcrossRestart() throws Exception {
+        EmailOutboxProperties properties = properties();
+        outbox = open(properties);
+        OutboxEmail inFlight = outbox.save(email("a@example.com"));
+        OutboxEmail acknowledged = outbox.save(email("b@example.com"));
+        OutboxEmail queued = outbox.save(email("c@example.com"));
+        assertEquals(inFlight.getId(), outbox.claimDue(EventPriority.NORMAL, Instant.now(), 1).get(0).getId());
+        outbox.deleteById(acknowledged.getId());
+        outbox.close();
+
+        outbox = open(properties);
+        List<OutboxEmail> recovered = outbox.findAll(null);
+        assertEquals(List.of(inFlight.getId(), queued.getId()), recovered.stream().map(OutboxEmail::getId).toList());
+        assertTrue(recovered.stream().allMatch(email -> email.getStatus() == OutboxEmailStatus.PENDING));
+
+        dispatcher = start(properties);
+        awaitTrue(() -> outbox.findAll(null).isEmpty());
+        assertEquals(Set.of("a@example.com", "c@example.com"), delivered);
+    }
+
+    @Test
+    void keepsScheduledEmailAcrossRestartUntilItIsDue() throws Exception {
+        EmailOutboxProperties properties = properties();
+        outbox = open(properties);
+        dispatcher = start(properties);
+        Instant deliverAt = Instant.now().plusMillis(300);
+
+        UUID id = dispatcher.schedule(EventPriority.NORMAL, "n-1", "recordatorio@example.com",
+                "Recordatorio", "<p>viaje</p>", deliverAt);
+        dispatcher.shutdown();
+        outbox.close();
+
+        outbox = open(properties);
+        assertEquals(deliverAt, outbox.findById(id).orElseThrow().getNextAttemptAt());
+        dispatcher = start(properties);
+        awaitTrue(() -> delivered.contains("recordatorio@example.com"));
+        assertFalse(Instant.now().isBefore(deliverAt), "el correo programado no debe enviarse antes de tiempo");
+        awaitTrue(() -> outbox.findAll(null).isEmpty());
+    }
+
+    @Test
+    void compactsSegmentsWhileKeepingLiveEmails() throws Exception {
+        EmailOutboxProperties properties = properties();
+        properties.setSegmentSize(DataSize.ofKilobytes(4));
+        outbox = open(properties);
+        OutboxEmail kept = email("kept@example.com");
+        kept.setStatus(OutboxEmailStatus.FAILED);
+        outbox.save(kept);
+        OutboxEmail inFlight = email("enviando@example.com");
+        inFlight.setPriority(EventPriority.HIGH);
+        outbox.save(inFlight);
+        assertEquals(inFlight.getId(), outbox.claimDue(EventPriority.HIGH, Instant.now(), 1).get(0).getId());
+        for (int i = 0; i < 300; i++) {
+            OutboxEmail email = outbox.save(email("u" + i + "@example.com"));
+            assertEquals(email.getId(), outbox.claimDue(EventPriority.NORMAL, Instant.now(), 1).get(0).getId());
+            outbox.deleteById(email.getId());
+        }
+
+        assertTrue(segmentFiles() <= 2, "deberían quedar solo los segmentos más recientes: " + segmentFiles());
+        outbox.close();
+        outbox = open(properties);
+        List<OutboxEmail> recovered = outbox.findAll(null);
+        assertEquals(List.of(kept.getId(), inFlight.getId()), recovered.stream().map(OutboxEmail::getId).toList());
+        assertEquals(OutboxEmailStatus.FAILED, recovered.get(0).getStatus());
+        assertEquals(OutboxEmailStatus.PENDING, recovered.get(1).getStatus());
+    }
+
+    @Test
+    void emergencyLaneIsNotDelayedBySaturatedLowLane() throws Exception {
+        EmailOutboxProperties properties = properties();
+        properties.getLanes().setLow(new EmailOutboxProperties.Lane(1, 3, EmailOverflowPolicy.REJECT));
+        outbox = open(properties);
+        dispatcher = start(properties);
+
+        for (int i = 0; i < 3; i++) {
+            dispatcher.enqueue(EventPriority.LOW, null, "low" + i + "@example.com", "Distintivo", "<p>x</p>");
+        }
+        assertThrows(EmailOutboxFullException.class, () ->
+                dispatcher.enqueue(EventPriority.LOW, null, "low-extra@example.com", "Distintivo", "<p>x</p>"));
+
+        dispatcher.enqueue(EventPriority.HIGH, "n-1", "emergencia@example.com", "Alerta", "<p>sos</p>");
+        awaitTrue(() -> delivered.contains("emergencia@example.com"));
+        awaitTrue(() -> lane(EventPriority.LOW).active() == 1);
+        EmailLaneMetrics low = lane(EventPriority.LOW);
+        assertEquals(3, low.unsent());
+        assertEquals(0, low.sent());
+        assertEquals(1, low.rejected());
+        assertEquals(1, lane(EventPriority.HIGH).sent());
+
+        lowReleased.countDown();
+        awaitTrue(() -> lane(EventPriority.LOW).sent() == 3);
+        assertEquals(0, lane(EventPriority.LOW).unsent());
+    }
+
+    @Test
+    void callerSendsItselfWhenLaneIsFull() throws Exception {
+        EmailOutboxProperties properties = properties();
+        properties.getLanes().setNormal(new EmailOutboxProperties.Lane(1, 1, EmailOverflowPolicy.CALLER_RUNS));
+        outbox = open(properties);
+        OutboxEmail waiting = outbox.save(email("espera@example.com"));
+        assertEquals(waiting.getId(), outbox.claimDue(EventPriority.NORMAL, Instant.now(), 1).get(0).getId());
+        dispatcher = start(properties);
+
+        dispatcher.enqueue(EventPriority.NORMAL, "n-2", "caller@example.com", "Viaje", "<p>x</p>");
+
+        assertTrue(delivered.contains("caller@example.com"), "el correo debió enviarse en el hilo que lo registró");
+        assertEquals(1, lane(EventPriority.NORMAL).callerRuns());
+        assertEquals(List.of(waiting.getId()), outbox.findAll(null).stream().map(OutboxEmail::getId).toList());
+    }
+
+    @Test
+    void scheduledEmailsCountTowardsCapacityOnlyOnceDue() throws Exception {
+        EmailOutboxProperties properties = properties();
+        properties.getLanes().setNormal(new EmailOutboxProperties.Lane(1, 1, EmailOverflowPolicy.REJECT));
+        outbox = open(properties);
+        dispatcher = start(properties);
+        Instant deliverAt = Instant.now().plusMillis(300);
+
+        for (int i = 0; i < 3; i++) {
+            dispatcher.schedule(EventPriority.NORMAL, "n-" + i, "programado" + i + "@example.com",
+                    "Recordatorio", "<p>viaje</p>", deliverAt);
+        }
+        EmailLaneMetrics normal = lane(EventPriority.NORMAL);
+        assertEquals(0, normal.unsent());
+        assertEquals(3, normal.scheduled());
+
+        dispatcher.enqueue(EventPriority.NORMAL, "n-3", "inmediato@example.com", "Viaje", "<p>x</p>");
+        awaitTrue(() -> delivered.contains("inmediato@example.com"));
+        assertEquals(0, lane(EventPriority.NORMAL).rejected());
+
+        awaitTrue(() -> delivered.size() == 4);
+        assertFalse(Instant.now().isBefore(deliverAt));
+        awaitTrue(() -> outbox.findAll(null).isEmpty());
+        assertEquals(0, lane(EventPriority.NORMAL).unsent());
+        assertEquals(0, lane(EventPriority.NORMAL).scheduled());
+    }
+
+    @Test
+    void enqueuesBatchWhollyOrRejectsItWhenItDoesNotFit() throws Exception {
+        EmailOutboxProperties properties = properties();
+        properties.getLanes().setNormal(new EmailOutboxProperties.Lane(2, 5, EmailOverflowPolicy.REJECT));
+        outbox = open(properties);
+        dispatcher = start(properties);
+
+        List<EmailMessage> tooMany = IntStream.range(0, 6)
+                .mapToObj(i -> new EmailMessage("n-" + i, "extra" + i + "@example.com", "Alerta", "<p>sos</p>"))
+                .toList();
+        assertThrows(EmailOutboxFullException.class, () -> dispatcher.enqueueAll(EventPriority.NORMAL, tooMany));
+        assertTrue(outbox.findAll(null).isEmpty());
+        assertEquals(6, lane(EventPriority.NORMAL).rejected());
+
+        List<EmailMessage> batch = IntStream.range(0, 5)
+                .mapToObj(i -> new EmailMessage("n-" + i, "u" + i + "@example.com", "Alerta", "<p>sos</p>"))
+                .toList();
+        List<UUID> ids = dispatcher.enqueueAll(EventPriority.NORMAL, batch);
+
+        assertEquals(5, Set.copyOf(ids).size());
+        awaitTrue(() -> delivered.size() == 5);
+        awaitTrue(() -> outbox.findAll(null).isEmpty());
+        assertEquals(5, lane(EventPriority.NORMAL).sent());
+    }
+
+    private EmailLaneMetrics lane(EventPriority priority) {
+        return dispatcher.laneMetrics().stream().filter(m -> m.priority() == priority).findFirst().orElseThrow();
+    }
+
+    private EmailOutboxProperties properties() {
+        EmailOutboxProperties properties = new EmailOutboxProperties();
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(DataSize.ofMegabytes(1));
+        properties.setMaxAttempts(4);
+        properties.setInitialBackoff(Duration.ofMillis(20));
+        properties.setMaxBackoff(Duration.ofMillis(50));
+        properties.setPollInterval(Duration.ofMillis(10));
+        return properties;
+    }
+
+    private MappedEmailOutboxRepository open(EmailOutboxProperties properties) {
+        return new MappedEmailOutboxRepository(properties, objectMapper);
+    }
+
+    private EmailOutboxDispatcher start(EmailOutboxProperties properties) {
+        ZohoApiService provider = new ZohoApiService(null, null, null) {
+            @Override
+            public void sendEmail(String to, String subject, String htmlContent, EventPriority priority) {
+                calls.incrementAndGet();
+                Instant until = throttledUntil;
+                if (until != null) {
+                    throttledUntil = null;
+                    throw new ProviderThrottledException("429", until);
+                }
+                if (to.startsWith("low")) {
+                    try {
+                        lowReleased.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                if (failuresLeft > 0) {
+                    failuresLeft--;
+                    throw new IllegalStateException("proveedor caído");
+                }
+                delivered.add(to);
+            }
+        };
+        EmailOutboxDispatcher started = new EmailOutboxDispatcher(outbox, provider, properties);
+        started.init();
+        return started;
+    }
+
+    private static OutboxEmail email(String to) {
+        Instant now = Instant.now();
+        return OutboxEmail.builder()
+                .destinationEmail(to)
+                .subject("Recuperación de contraseña")
+                .priority(EventPriority.NORMAL)
+                .body("<p>código 123456</p>")
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .status(OutboxEmailStatus.PENDING)
+                .build();
+    }
+
+    private long segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".log")).count();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "la condición no se cumplió a tiempo");
+            Thread.sleep(5);
+        }
+    }
+}
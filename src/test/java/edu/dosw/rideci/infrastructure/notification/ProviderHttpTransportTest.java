@@ -0,0 +1,188 @@
+package edu.dosw.rideci.infrastructure.notification;
+
+import com.sun.net.httpserver.HttpServer;
+import edu.dosw.rideci.infrastructure.config.ProviderHttpConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProviderHttpTransportTest {
+
+    private static final byte[] RESPONSE = "{\"status\":{\"code\":200}}".getBytes(StandardCharsets.UTF_8);
+    private static final String NODELAY = "sun.net.httpserver.nodelay";
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+    private volatile long handlerDelayMillis;
+    private String previousNodelay;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        // Sin Nagle en el servidor de prueba, para que cada respuesta no espere el ACK retardado del cliente
+        previousNodelay = System.setProperty(NODELAY, "true");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/accounts", exchange -> {
+            connections.add(exchange.getRemoteAddress());
+            exchange.getRequestBody().readAllBytes();
+            if (handlerDelayMillis > 0) {
+                try {
+                    Thread.sleep(handlerDelayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            exchange.getResponseBody().write(RESPONSE);
+            exchange.close();
+        });
+        serverThreads = Executors.newFixedThreadPool(16);
+        server.setExecutor(serverThreads);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+        if (previousNodelay == null) {
+            System.clearProperty(NODELAY);
+        } else {
+            System.setProperty(NODELAY, previousNodelay);
+        }
+    }
+
+    /**
+     * Cuenta las conexiones TCP (y por tanto los handshakes TLS que habría
+     * contra el proveedor real) por correo enviado durante un envío masivo
+     * desde 16 hilos, con el transporte por defecto de {@code new RestTemplate()}
+     * y con el transporte compartido. El transporte por defecto abre una
+     * conexión por cada hilo que envía a la vez (16 en esta prueba), mientras
+     * que el compartido no pasa del máximo por destino (10 por defecto), así
+     * que debe abrir estrictamente menos.
+     */
+    @Test
+    void reusesConnectionsAcrossEmails() throws Exception {
+        int threads = 16;
+        int emailsPerThread = 25;
+        double plain = connectionsPerEmail(new RestTemplate(), threads, emailsPerThread);
+        ProviderHttpProperties properties = new ProviderHttpProperties();
+        double pooled = connectionsPerEmail(transport(properties, limiter(properties)), threads, emailsPerThread);
+
+        assertTrue(pooled * threads * emailsPerThread <= properties.getMaxConnectionsPerRoute(),
+                "el transporte compartido no debería abrir más conexiones que el máximo por destino");
+        assertTrue(pooled < plain, "el transporte compartido debería abrir menos conexiones por correo que el "
+                + "RestTemplate por defecto: compartido=" + pooled + ", por defecto=" + plain);
+    }
+
+    @Test
+    void capsConcurrentRequestsPerRoute() throws Exception {
+        ProviderHttpProperties properties = new ProviderHttpProperties();
+        properties.setMaxConnectionsPerRoute(2);
+        RouteConnectionLimiter limiter = limiter(properties);
+        RestTemplate restTemplate = transport(properties, limiter);
+        handlerDelayMillis = 50;
+
+        ExecutorService callers = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                calls.add(callers.submit(() -> send(restTemplate)));
+            }
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        ProviderRouteMetrics metrics = limiter.metrics().get(0);
+        assertEquals(6, metrics.requests());
+        assertEquals(2, metrics.peakInFlight());
+        assertEquals(0, metrics.inFlight());
+        assertTrue(metrics.waited() >= 4);
+        assertTrue(connections.size() <= 2);
+    }
+
+    @Test
+    void failsWhenNoConnectionFreesUpInTime() throws Exception {
+        ProviderHttpProperties properties = new ProviderHttpProperties();
+        properties.setMaxConnectionsPerRoute(1);
+        properties.setAcquireTimeout(Duration.ofMillis(20));
+        RouteConnectionLimiter limiter = limiter(properties);
+        RestTemplate restTemplate = transport(properties, limiter);
+        handlerDelayMillis = 300;
+
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slow = caller.submit(() -> send(restTemplate));
+            while (limiter.metrics().isEmpty() || limiter.metrics().get(0).inFlight() == 0) {
+                Thread.sleep(5);
+            }
+            assertThrows(ResourceAccessException.class, () -> send(restTemplate));
+            slow.get();
+        } finally {
+            caller.shutdownNow();
+        }
+        assertEquals(1, limiter.metrics().get(0).rejected());
+    }
+
+    private double connectionsPerEmail(RestTemplate restTemplate, int threads, int emailsPerThread) throws Exception {
+        connections.clear();
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                calls.add(callers.submit(() -> {
+                    for (int i = 0; i < emailsPerThread; i++) {
+                        send(restTemplate);
+                    }
+                }));
+            }
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        return (double) connections.size() / (threads * emailsPerThread);
+    }
+
+    private void send(RestTemplate restTemplate) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth("token");
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String body = "{\"toAddress\":\"user@mail.escuelaing.edu.co\",\"content\":\"<p>Hola</p>\"}";
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/api/accounts/1/messages";
+        restTemplate.postForEntity(url, new HttpEntity<>(body, headers), String.class);
+    }
+
+    private static RouteConnectionLimiter limiter(ProviderHttpProperties properties) {
+        return new ProviderHttpConfig().providerConnectionLimiter(properties);
+    }
+
+    private static RestTemplate transport(ProviderHttpProperties properties, RouteConnectionLimiter limiter) {
+        return new ProviderHttpConfig().providerRestTemplate(properties, limiter);
+    }
+}
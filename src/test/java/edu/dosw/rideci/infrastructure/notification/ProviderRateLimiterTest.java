@@ -0,0 +1,132 @@
+package edu.dosw.rideci.infrastructure.notification;
+
+import edu.dosw.rideci.domain.model.Enum.EventPriority;
+import edu.dosw.rideci.exceptions.ProviderThrottledException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProviderRateLimiterTest {
+
+    @Test
+    void shapesSendsToConfiguredRate() {
+        ProviderRateLimiter limiter = new ProviderRateLimiter(properties(50, 1));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 26; i++) {
+            limiter.acquire(EventPriority.NORMAL);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis >= 450, "26 envíos a 50/s deberían tardar ~500 ms: " + elapsedMillis);
+        assertEquals(26, limiter.metrics().usedToday());
+    }
+
+    @Test
+    void servesHighPriorityBeforeQueuedBroadcast() throws Exception {
+        ProviderRateLimiter limiter = new ProviderRateLimiter(properties(5, 1));
+        limiter.onThrottled(Duration.ofMillis(300));
+        List<EventPriority> order = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 3; i++) {
+                executor.submit(() -> {
+                    limiter.acquire(EventPriority.LOW);
+                    order.add(EventPriority.LOW);
+                });
+            }
+            while (limiter.metrics().waiting().get(EventPriority.LOW) < 3) {
+                Thread.sleep(5);
+            }
+            executor.submit(() -> {
+                limiter.acquire(EventPriority.HIGH);
+                order.add(EventPriority.HIGH);
+            });
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(4, order.size());
+        assertEquals(EventPriority.HIGH, order.get(0));
+        assertEquals(1, limiter.metrics().throttled());
+    }
+
+    @Test
+    void defersSendsWhileProviderAsksToWait() {
+        ProviderRateLimitProperties properties = properties(100, 10);
+        properties.setMaxWait(Duration.ofMillis(100));
+        ProviderRateLimiter limiter = new ProviderRateLimiter(properties);
+
+        Instant resumeAt = limiter.onThrottled(Duration.ofSeconds(2));
+        long start = System.nanoTime();
+        ProviderThrottledException deferred = assertThrows(ProviderThrottledException.class,
+                () -> limiter.acquire(EventPriority.HIGH));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 100, "no debería esperar una pausa más larga que maxWait");
+        assertTrue(Math.abs(Duration.between(resumeAt, deferred.getRetryAt()).toMillis()) < 100);
+        assertEquals(resumeAt, limiter.metrics().pausedUntil());
+        assertEquals(1L, limiter.metrics().deferred().get(EventPriority.HIGH).longValue());
+    }
+
+    @Test
+    void keepsDailyReserveForHighPriority() {
+        ProviderRateLimitProperties properties = properties(1_000, 100);
+        properties.setDailyQuota(10);
+        properties.setHighPriorityReserve(0.2);
+        ProviderRateLimiter limiter = new ProviderRateLimiter(properties);
+
+        for (int i = 0; i < 8; i++) {
+            limiter.acquire(EventPriority.LOW);
+        }
+        ProviderThrottledException exhausted = assertThrows(ProviderThrottledException.class,
+                () -> limiter.acquire(EventPriority.NORMAL));
+        assertEquals(LocalDate.now(ZoneOffset.UTC).plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant(),
+                exhausted.getRetryAt());
+
+        limiter.acquire(EventPriority.HIGH);
+        limiter.acquire(EventPriority.HIGH);
+        assertThrows(ProviderThrottledException.class, () -> limiter.acquire(EventPriority.HIGH));
+        assertEquals(10, limiter.metrics().usedToday());
+    }
+
+    @Test
+    void readsRetryAfterInSecondsOrAsHttpDate() {
+        HttpHeaders seconds = new HttpHeaders();
+        seconds.set(HttpHeaders.RETRY_AFTER, "120");
+        assertEquals(Duration.ofSeconds(120), ZohoApiService.retryAfter(seconds));
+
+        HttpHeaders date = new HttpHeaders();
+        date.set(HttpHeaders.RETRY_AFTER, DateTimeFormatter.RFC_1123_DATE_TIME
+                .format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(90)));
+        long wait = ZohoApiService.retryAfter(date).toSeconds();
+        assertTrue(wait >= 88 && wait <= 90, "espera leída de la fecha: " + wait);
+
+        assertNull(ZohoApiService.retryAfter(new HttpHeaders()));
+    }
+
+    private static ProviderRateLimitProperties properties(double permitsPerSecond, int burst) {
+        ProviderRateLimitProperties properties = new ProviderRateLimitProperties();
+        properties.setPermitsPerSecond(permitsPerSecond);
+        properties.setBurst(burst);
+        properties.setMaxWait(Duration.ofSeconds(5));
+        return properties;
+    }
+}
@@ -0,0 +1,139 @@
+package edu.dosw.rideci.infrastructure.notification;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZohoTokenServiceTest {
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicBoolean failing = new AtomicBoolean();
+    private volatile Duration lifetime = Duration.ofHours(1);
+    private volatile long latencyMillis;
+    private ZohoTokenService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void collapsesConcurrentRefreshesIntoOneRequest() throws Exception {
+        service = service(properties());
+        latencyMillis = 100;
+        int callers = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> tokens = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                tokens.add(executor.submit(() -> {
+                    start.await();
+                    return service.getAccessToken();
+                }));
+            }
+            start.countDown();
+            for (Future<String> token : tokens) {
+                assertEquals("token-1", token.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, requests.get());
+        assertEquals("token-1", service.getAccessToken());
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void keepsServingValidTokenWhileBackgroundRefreshRetries() throws Exception {
+        lifetime = Duration.ofSeconds(3);
+        ZohoTokenProperties properties = properties();
+        properties.setExpiryMargin(Duration.ZERO);
+        properties.setRefreshBefore(Duration.ofSeconds(2));
+        service = service(properties);
+        assertEquals("token-1", service.getAccessToken());
+
+        failing.set(true);
+        assertTrue(await(() -> requests.get() >= 4), "la renovación fallida debería reintentarse");
+        assertEquals("token-1", service.getAccessToken());
+
+        failing.set(false);
+        assertTrue(await(() -> !service.getAccessToken().equals("token-1")), "un reintento debería renovar el token");
+    }
+
+    @Test
+    void failsWhenThereIsNoValidTokenToServe() {
+        service = service(properties());
+        failing.set(true);
+
+        assertThrows(RuntimeException.class, service::getAccessToken);
+
+        failing.set(false);
+        assertEquals("token-2", service.getAccessToken());
+    }
+
+    @Test
+    void backoffGrowsExponentiallyUpToTheMaximum() {
+        service = service(properties());
+        for (int attempt = 0; attempt < 10; attempt++) {
+            long ceiling = Math.min(50, 10L << attempt);
+            long millis = service.backoff(attempt).toMillis();
+            assertTrue(millis >= ceiling / 2 && millis <= ceiling, "espera fuera de rango: " + millis);
+        }
+    }
+
+    private ZohoTokenProperties properties() {
+        ZohoTokenProperties properties = new ZohoTokenProperties();
+        properties.setInitialBackoff(Duration.ofMillis(10));
+        properties.setMaxBackoff(Duration.ofMillis(50));
+        return properties;
+    }
+
+    private ZohoTokenService service(ZohoTokenProperties properties) {
+        return new ZohoTokenService(null, properties) {
+            @Override
+            AccessToken requestToken() {
+                int request = requests.incrementAndGet();
+                if (latencyMillis > 0) {
+                    try {
+                        Thread.sleep(latencyMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                if (failing.get()) {
+                    throw new RuntimeException("Zoho no disponible");
+                }
+                return new AccessToken("token-" + request, Instant.now().plus(lifetime));
+            }
+        };
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+}
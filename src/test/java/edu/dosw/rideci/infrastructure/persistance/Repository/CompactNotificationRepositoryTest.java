@@ -0,0 +1,166 @@
+package edu.dosw.rideci.infrastructure.persistance.Repository;
+
+import edu.dosw.rideci.application.port.out.NotificationRepositoryPort;
+import edu.dosw.rideci.domain.model.Enum.NotificationStatus;
+import edu.dosw.rideci.domain.model.Enum.NotificationType;
+import edu.dosw.rideci.domain.model.InAppNotification;
+import edu.dosw.rideci.domain.model.NotificationCursor;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactNotificationRepositoryTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+
+    private final CompactNotificationRepository repository = new CompactNotificationRepository();
+
+    @Test
+    void keepsInboxOrderAndCountersAcrossUpdates() {
+        UUID user = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        InAppNotification moved = repository.save(notification(user, 1));
+        repository.save(notification(user, 3));
+        repository.save(notification(user, 2));
+        assertEquals(List.of(3, 2, 1), minutesOf(repository.findByUserIdOrderByCreatedAtDesc(user)));
+
+        moved.setCreatedAt(BASE.plusMinutes(4));
+        moved.setStatus(NotificationStatus.READ);
+        repository.save(moved);
+        assertEquals(List.of(4, 3, 2), minutesOf(repository.findByUserIdOrderByCreatedAtDesc(user)));
+        assertEquals(2, repository.countUnreadByUserId(user));
+
+        moved.setUserId(other);
+        moved.setStatus(NotificationStatus.UNREAD);
+        repository.save(moved);
+        assertEquals(List.of(3, 2), minutesOf(repository.findByUserIdOrderByCreatedAtDesc(user)));
+        assertEquals(1, repository.countUnreadByUserId(other));
+
+        assertEquals(2, repository.markAllAsRead(user, BASE));
+        assertEquals(0, repository.countUnreadByUserId(user));
+        assertEquals(1, repository.rebuildUnreadCounters());
+        InAppNotification read = repository.findByUserIdOrderByCreatedAtDesc(user).get(0);
+        assertEquals(NotificationStatus.READ, read.getStatus());
+        assertEquals(BASE, read.getReadAt());
+        assertNull(read.getExpiresAt());
+        assertEquals(NotificationType.EMERGENCY_ALERT, read.getEventType());
+        assertEquals("HIGH", read.getPriority());
+    }
+
+    @Test
+    void pagesThroughInboxWithCursor() {
+        UUID user = UUID.randomUUID();
+        for (int i = 0; i < 2_000; i++) {
+            repository.save(notification(user, i / 3));
+        }
+
+        List<InAppNotification> seen = new ArrayList<>();
+        NotificationCursor cursor = null;
+        List<InAppNotification> page;
+        do {
+            page = repository.findByUserIdAfter(user, cursor, 7);
+            seen.addAll(page);
+            cursor = page.isEmpty() ? cursor : NotificationCursor.after(page.get(page.size() - 1));
+        } while (page.size() == 7);
+
+        List<InAppNotification> all = repository.findByUserIdOrderByCreatedAtDesc(user);
+        assertEquals(2_000, seen.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(all.get(i).getNotificationId(), seen.get(i).getNotificationId());
+        }
+    }
+
+    @Test
+    void deletesExpiredNotificationsAndReusesTheirSlots() {
+        UUID user = UUID.randomUUID();
+        List<InAppNotification> saved = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            InAppNotification notification = notification(user, i);
+            notification.setExpiresAt(BASE.plusMinutes(i));
+            saved.add(repository.save(notification));
+        }
+
+        List<InAppNotification> due = repository.findExpiringBefore(BASE.plusMinutes(1_999), 5_000);
+        assertEquals(2_000, due.size());
+        due.forEach(notification -> notification.setStatus(NotificationStatus.EXPIRED));
+        repository.saveAll(due);
+        assertEquals(1_000, repository.countUnreadByUserId(user));
+        assertTrue(repository.findExpiringBefore(BASE.plusMinutes(1_999), 5_000).isEmpty());
+
+        List<UUID> expired = repository.findExpiredBefore(BASE.plusMinutes(2_000), 5_000);
+        assertEquals(2_000, expired.size());
+        assertEquals(2_000, repository.deleteAllById(expired));
+        assertEquals(0, repository.deleteAllById(expired));
+        for (int i = 0; i < saved.size(); i++) {
+            assertEquals(i >= 2_000, repository.findById(saved.get(i).getNotificationId()).isPresent());
+        }
+
+        for (int i = 0; i < 2_000; i++) {
+            repository.save(notification(user, 3_000 + i));
+        }
+        assertEquals(3_000, repository.findByUserIdOrderByCreatedAtDesc(user).size());
+        assertEquals(3_000, repository.countUnreadByUserId(user));
+    }
+
+    /**
+     * Compara con JOL los bytes retenidos por notificación en el almacén en
+     * memoria y en el compacto, con textos compartidos para medir solo la
+     * estructura.
+     */
+    @Test
+    void usesFarFewerBytesPerNotificationThanEntityStore() {
+        int count = 20_000;
+        long entityBytes = bytesPerNotification(NotificationRepositoryAdapter::new, count);
+        long compactBytes = bytesPerNotification(CompactNotificationRepository::new, count);
+
+        assertTrue(compactBytes * 2 < entityBytes,
+                "el almacén compacto debería ocupar menos de la mitad: " + compactBytes + " vs " + entityBytes);
+    }
+
+    private static long bytesPerNotification(Supplier<NotificationRepositoryPort> factory, int count) {
+        NotificationRepositoryPort empty = factory.get();
+        NotificationRepositoryPort store = factory.get();
+        List<UUID> users = new ArrayList<>();
+        for (int i = 0; i < count / 20; i++) {
+            users.add(UUID.randomUUID());
+        }
+        List<InAppNotification> notifications = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            InAppNotification notification = notification(users.get(i % users.size()), i);
+            notification.setExpiresAt(BASE.plusDays(30));
+            notifications.add(notification);
+        }
+        store.saveAll(notifications);
+        long used = GraphLayout.parseInstance(store).totalSize() - GraphLayout.parseInstance(empty).totalSize();
+        return used / count;
+    }
+
+    private static InAppNotification notification(UUID user, int minute) {
+        return InAppNotification.builder()
+                .notificationId(UUID.randomUUID())
+                .userId(user)
+                .title("Alerta de emergencia")
+                .message("Mensaje")
+                .eventType(NotificationType.EMERGENCY_ALERT)
+                .priority("HIGH")
+                .status(NotificationStatus.UNREAD)
+                .createdAt(BASE.plusMinutes(minute))
+                .build();
+    }
+
+    private static List<Integer> minutesOf(List<InAppNotification> notifications) {
+        return notifications.stream()
+                .map(n -> (int) Duration.between(BASE, n.getCreatedAt()).toMinutes())
+                .toList();
+    }
+}
@@ -0,0 +1,123 @@
+package edu.dosw.rideci.infrastructure.persistance.Repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.dosw.rideci.domain.model.Enum.NotificationStatus;
+import edu.dosw.rideci.domain.model.InAppNotification;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogStructuredNotificationRepositoryTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void recoversLatestStateAfterReopen() {
+        UUID user = UUID.randomUUID();
+        LogStructuredNotificationRepository repository = open(DataSize.ofMegabytes(1));
+        InAppNotification first = repository.save(notification(user, 1));
+        repository.save(notification(user, 2));
+        repository.saveAll(List.of(notification(user, 3), notification(UUID.randomUUID(), 4)));
+        first.setStatus(NotificationStatus.READ);
+        repository.save(first);
+        repository.close();
+
+        LogStructuredNotificationRepository reopened = open(DataSize.ofMegabytes(1));
+        List<InAppNotification> inbox = reopened.findByUserIdOrderByCreatedAtDesc(user);
+        assertEquals(3, inbox.size());
+        assertEquals(BASE.plusMinutes(3), inbox.get(0).getCreatedAt());
+        assertEquals(NotificationStatus.READ, reopened.findById(first.getNotificationId()).orElseThrow().getStatus());
+        assertEquals(2, reopened.countUnreadByUserId(user));
+
+        assertEquals(2, reopened.markAllAsRead(user, BASE));
+        reopened.close();
+        LogStructuredNotificationRepository again = open(DataSize.ofMegabytes(1));
+        assertEquals(0, again.countUnreadByUserId(user));
+        again.close();
+    }
+
+    @Test
+    void keepsDeletedNotificationsDeletedAcrossCompactionAndReopen() {
+        UUID user = UUID.randomUUID();
+        LogStructuredNotificationRepository repository = open(DataSize.ofKilobytes(8));
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            ids.add(repository.save(notification(user, i)).getNotificationId());
+        }
+        assertEquals(30, repository.deleteAllById(ids.subList(0, 30)));
+        repository.compact();
+        repository.close();
+
+        LogStructuredNotificationRepository reopened = open(DataSize.ofKilobytes(8));
+        assertEquals(10, reopened.findByUserIdOrderByCreatedAtDesc(user).size());
+        assertTrue(reopened.findById(ids.get(0)).isEmpty());
+        assertEquals(10, reopened.countUnreadByUserId(user));
+        reopened.close();
+    }
+
+    @Test
+    void compactsSegmentsOfSupersededUpdates() throws Exception {
+        UUID user = UUID.randomUUID();
+        LogStructuredNotificationRepository repository = open(DataSize.ofKilobytes(8));
+        List<InAppNotification> saved = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            saved.add(repository.save(notification(user, i)));
+        }
+        for (int round = 0; round < 10; round++) {
+            for (InAppNotification notification : saved) {
+                notification.setStatus(round % 2 == 0 ? NotificationStatus.READ : NotificationStatus.UNREAD);
+                repository.save(notification);
+            }
+        }
+        long before = segmentFiles();
+
+        assertTrue(repository.compact() > 0);
+        assertTrue(segmentFiles() < before, "deberían eliminarse los segmentos con registros reemplazados");
+        repository.close();
+
+        LogStructuredNotificationRepository reopened = open(DataSize.ofKilobytes(8));
+        assertEquals(20, reopened.findByUserIdOrderByCreatedAtDesc(user).size());
+        assertEquals(20, reopened.countUnreadByUserId(user));
+        reopened.close();
+    }
+
+    private LogStructuredNotificationRepository open(DataSize segmentSize) {
+        NotificationStoreProperties properties = new NotificationStoreProperties();
+        properties.setMode(NotificationStoreProperties.Mode.LOG);
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(segmentSize);
+        return new LogStructuredNotificationRepository(properties, objectMapper);
+    }
+
+    private long segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".log")).count();
+        }
+    }
+
+    private static InAppNotification notification(UUID user, int minute) {
+        return InAppNotification.builder()
+                .userId(user)
+                .title("t")
+                .message("m")
+                .status(NotificationStatus.UNREAD)
+                .createdAt(BASE.plusMinutes(minute))
+                .build();
+    }
+}
@@ -0,0 +1,228 @@
+package edu.dosw.rideci.infrastructure.persistance.Repository;
+
+import edu.dosw.rideci.domain.model.Enum.NotificationStatus;
+import edu.dosw.rideci.domain.model.InAppNotification;
+import edu.dosw.rideci.domain.model.NotificationCursor;
+import edu.dosw.rideci.exceptions.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationRepositoryAdapterTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+
+    private final NotificationRepositoryAdapter repository = new NotificationRepositoryAdapter();
+
+    @Test
+    void returnsUserNotificationsNewestFirst() {
+        UUID user = UUID.randomUUID();
+        repository.save(notification(user, 2));
+        repository.save(notification(user, 5));
+        repository.save(notification(UUID.randomUUID(), 9));
+        repository.save(notification(user, 1));
+
+        assertEquals(List.of(5, 2, 1), minutesOf(repository.findByUserIdOrderByCreatedAtDesc(user)));
+        assertTrue(repository.findByUserIdOrderByCreatedAtDesc(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void keepsIndexInSyncWhenNotificationIsUpdated() {
+        UUID user = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        InAppNotification moved = repository.save(notification(user, 1));
+        repository.save(notification(user, 3));
+
+        moved.setCreatedAt(BASE.plusMinutes(4));
+        repository.save(moved);
+        assertEquals(List.of(4, 3), minutesOf(repository.findByUserIdOrderByCreatedAtDesc(user)));
+
+        moved.setUserId(other);
+        repository.save(moved);
+        assertEquals(List.of(3), minutesOf(repository.findByUserIdOrderByCreatedAtDesc(user)));
+        assertEquals(List.of(4), minutesOf(repository.findByUserIdOrderByCreatedAtDesc(other)));
+    }
+
+    @Test
+    void pagesThroughInboxWithOpaqueCursor() {
+        UUID user = UUID.randomUUID();
+        for (int i = 0; i < 10; i++) {
+            repository.save(notification(user, i / 2));
+        }
+
+        List<InAppNotification> seen = new ArrayList<>();
+        NotificationCursor cursor = null;
+        while (true) {
+            List<InAppNotification> page = repository.findByUserIdAfter(user, cursor, 3);
+            seen.addAll(page);
+            if (page.size() < 3) {
+                break;
+            }
+            String token = NotificationCursor.after(page.get(page.size() - 1)).encode();
+            cursor = NotificationCursor.decode(token);
+        }
+
+        assertEquals(repository.findByUserIdOrderByCreatedAtDesc(user).stream()
+                        .map(InAppNotification::getNotificationId).collect(Collectors.toList()),
+                seen.stream().map(InAppNotification::getNotificationId).collect(Collectors.toList()));
+        assertThrows(InvalidCursorException.class, () -> NotificationCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    void tracksUnreadCountAcrossStatusChanges() {
+        UUID user = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        InAppNotification first = repository.save(notification(user, 1));
+        InAppNotification second = repository.save(notification(user, 2));
+        repository.save(notification(user, 3));
+        assertEquals(3, repository.countUnreadByUserId(user));
+
+        first.setStatus(NotificationStatus.READ);
+        repository.save(first);
+        repository.save(first);
+        second.setUserId(other);
+        repository.save(second);
+        assertEquals(1, repository.countUnreadByUserId(user));
+        assertEquals(1, repository.countUnreadByUserId(other));
+
+        first.setStatus(NotificationStatus.UNREAD);
+        repository.save(first);
+        assertEquals(2, repository.countUnreadByUserId(user));
+        assertEquals(2, repository.rebuildUnreadCounters());
+        assertEquals(2, repository.countUnreadByUserId(user));
+        assertEquals(0, repository.countUnreadByUserId(UUID.randomUUID()));
+    }
+
+    @Test
+    void savesInBatchesAndMarksWholeInboxAsRead() {
+        UUID user = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        List<InAppNotification> batch = new ArrayList<>();
+        for (int i = 0; i < 2_500; i++) {
+            batch.add(notification(i % 2 == 0 ? user : other, i));
+        }
+        InAppNotification withoutId = notification(user, 3_000);
+        withoutId.setNotificationId(null);
+        batch.add(withoutId);
+
+        List<InAppNotification> saved = repository.saveAll(batch);
+
+        assertEquals(batch.size(), saved.size());
+        assertTrue(withoutId.getNotificationId() != null);
+        assertEquals(1_251, repository.findByUserIdOrderByCreatedAtDesc(user).size());
+        assertEquals(1_251, repository.countUnreadByUserId(user));
+        assertEquals(1_250, repository.countUnreadByUserId(other));
+
+        assertEquals(1_251, repository.markAllAsRead(user, BASE));
+        assertEquals(0, repository.markAllAsRead(user, BASE));
+        assertEquals(0, repository.countUnreadByUserId(user));
+        assertEquals(1_250, repository.countUnreadByUserId(other));
+        assertTrue(repository.findByUserIdOrderByCreatedAtDesc(user).stream()
+                .allMatch(n -> n.getStatus() == NotificationStatus.READ && BASE.equals(n.getReadAt())));
+        assertEquals(1, repository.rebuildUnreadCounters());
+        assertEquals(0, repository.countUnreadByUserId(user));
+    }
+
+    @Test
+    void storesBroadcastBodyOnceForAllRecipients() {
+        String body = "<html>" + "Alerta de emergencia en el campus. ".repeat(120) + "</html>";
+        List<InAppNotification> broadcast = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            InAppNotification notification = notification(UUID.randomUUID(), i);
+            notification.setMessage(new String(body.toCharArray()));
+            broadcast.add(notification);
+        }
+        repository.saveAll(broadcast);
+        repository.save(notification(UUID.randomUUID(), 0));
+
+        NotificationRepositoryAdapter.SharedMessageStats stats = repository.sharedMessageStats();
+        assertEquals(1, stats.contents());
+        assertEquals(body.length(), stats.storedChars());
+        assertEquals(2_000L * body.length(), stats.referencedChars());
+        InAppNotification first = repository.findById(broadcast.get(0).getNotificationId()).orElseThrow();
+        InAppNotification last = repository.findById(broadcast.get(1_999).getNotificationId()).orElseThrow();
+        assertEquals(body, first.getMessage());
+        assertSame(first.getMessage(), last.getMessage());
+
+        for (InAppNotification notification : broadcast) {
+            notification.setMessage("m");
+        }
+        repository.saveAll(broadcast);
+        assertEquals(0, repository.sharedMessageStats().contents());
+    }
+
+    @Test
+    void staysConsistentUnderConcurrentSaves() throws Exception {
+        UUID user = UUID.randomUUID();
+        List<InAppNotification> shared = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            shared.add(repository.save(notification(user, i)));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            tasks.add(pool.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    repository.save(notification(user, 100 + thread * 500 + i));
+                    InAppNotification updated = copy(shared.get((thread * 7 + i) % shared.size()));
+                    updated.setCreatedAt(BASE.plusMinutes(10_000 + i));
+                    repository.save(updated);
+                }
+            }));
+        }
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        pool.shutdown();
+
+        List<InAppNotification> inbox = repository.findByUserIdOrderByCreatedAtDesc(user);
+        assertEquals(50 + 8 * 500, inbox.size());
+        assertEquals(inbox.size(), repository.countUnreadByUserId(user));
+        assertEquals(inbox.size(), inbox.stream().map(InAppNotification::getNotificationId).distinct().count());
+        for (int i = 1; i < inbox.size(); i++) {
+            assertTrue(!inbox.get(i - 1).getCreatedAt().isBefore(inbox.get(i).getCreatedAt()));
+        }
+    }
+
+    private static InAppNotification notification(UUID user, int minute) {
+        return InAppNotification.builder()
+                .notificationId(UUID.randomUUID())
+                .userId(user)
+                .title("t")
+                .message("m")
+                .status(NotificationStatus.UNREAD)
+                .createdAt(BASE.plusMinutes(minute))
+                .build();
+    }
+
+    private static InAppNotification copy(InAppNotification source) {
+        return InAppNotification.builder()
+                .notificationId(source.getNotificationId())
+                .userId(source.getUserId())
+                .title(source.getTitle())
+                .message(source.getMessage())
+                .status(source.getStatus())
+                .createdAt(source.getCreatedAt())
+                .build();
+    }
+
+    private static List<Integer> minutesOf(List<InAppNotification> notifications) {
+        return notifications.stream()
+                .map(n -> (int) Duration.between(BASE, n.getCreatedAt()).toMinutes())
+                .collect(Collectors.toList());
+    }
+}
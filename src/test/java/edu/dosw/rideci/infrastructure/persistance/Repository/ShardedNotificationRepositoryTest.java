@@ -0,0 +1,221 @@
+package edu.dosw.rideci.infrastructure.persistance.Repository;
+
+import edu.dosw.rideci.domain.model.Enum.NotificationStatus;
+import edu.dosw.rideci.domain.model.InAppNotification;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class ShardedNotificationRepositoryTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+
+    private final ShardedNotificationRepository repository = new ShardedNotificationRepository(8);
+
+    @Test
+    void servesEachUserFromItsShardAndScansAllShards() {
+        List<UUID> users = new ArrayList<>();
+        List<InAppNotification> notifications = new ArrayList<>();
+        for (int u = 0; u < 50; u++) {
+            UUID user = UUID.randomUUID();
+            users.add(user);
+            for (int i = 0; i < 4; i++) {
+                InAppNotification notification = notification(user, i);
+                notification.setExpiresAt(BASE.plusMinutes(i));
+                notifications.add(notification);
+            }
+        }
+        repository.saveAll(notifications);
+
+        assertEquals(4, repository.findByUserIdOrderByCreatedAtDesc(users.get(7)).size());
+        assertEquals(4, repository.countUnreadByUserId(users.get(7)));
+        assertEquals(2, repository.findByUserIdAfter(users.get(7), null, 2).size());
+        assertEquals(4, repository.markAllAsRead(users.get(7), BASE));
+        assertEquals(49, repository.rebuildUnreadCounters());
+
+        assertEquals(100, repository.findExpiringBefore(BASE.plusMinutes(1), 1_000).size());
+        assertEquals(30, repository.findExpiringBefore(BASE.plusMinutes(3), 30).size());
+        List<UUID> ids = notifications.subList(0, 40).stream().map(InAppNotification::getNotificationId).toList();
+        assertEquals(40, repository.deleteAllById(ids));
+        assertTrue(repository.findById(ids.get(0)).isEmpty());
+        assertTrue(repository.findById(notifications.get(40).getNotificationId()).isPresent());
+        assertTrue(repository.findByUserIdOrderByCreatedAtDesc(users.get(0)).isEmpty());
+    }
+
+    @Test
+    void movesNotificationWhenItsUserChanges() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        InAppNotification notification = repository.save(notification(first, 1));
+
+        notification.setUserId(second);
+        repository.save(notification);
+
+        assertTrue(repository.findByUserIdOrderByCreatedAtDesc(first).isEmpty());
+        assertEquals(0, repository.countUnreadByUserId(first));
+        assertEquals(1, repository.findByUserIdOrderByCreatedAtDesc(second).size());
+        assertEquals(second, repository.findById(notification.getNotificationId()).orElseThrow().getUserId());
+        assertEquals(1, repository.deleteAllById(List.of(notification.getNotificationId())));
+    }
+
+    @Test
+    void writesTouchOnlyTheOwningShard() {
+        List<CountingShard> shards = new ArrayList<>();
+        ShardedNotificationRepository counted = new ShardedNotificationRepository(8, () -> {
+            CountingShard shard = new CountingShard();
+            shards.add(shard);
+            return shard;
+        });
+        InAppNotification notification = counted.save(notification(UUID.randomUUID(), 1));
+        shards.forEach(shard -> shard.writes.set(0));
+
+        notification.setStatus(NotificationStatus.READ);
+        counted.save(notification);
+        counted.saveAll(List.of(notification));
+        assertTrue(counted.findById(notification.getNotificationId()).isPresent());
+        assertEquals(1, counted.deleteAllById(List.of(notification.getNotificationId())));
+
+        assertEquals(1, shards.stream().filter(shard -> shard.writes.get() > 0).count());
+        assertEquals(3, shards.stream().mapToInt(shard -> shard.writes.get()).sum());
+        assertTrue(counted.findById(notification.getNotificationId()).isEmpty());
+    }
+
+    @Test
+    void keepsEveryNotificationUnderConcurrentWriters() throws Exception {
+        int threads = 8;
+        int perThread = 5_000;
+        List<UUID> users = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            users.add(UUID.randomUUID());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        repository.save(notification(users.get((offset * perThread + i) % users.size()), i));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals((long) threads * perThread, users.stream().mapToLong(repository::countUnreadByUserId).sum());
+        assertEquals(users.size(), repository.rebuildUnreadCounters());
+    }
+
+    /**
+     * Compara las escrituras por segundo de 8 hilos concurrentes sobre un
+     * solo fragmento y sobre 8. Los usuarios son fijos y cada configuración
+     * se calienta antes de medir; se informa la mejor de tres rondas.
+     */
+    @Test
+    void comparesConcurrentWriteThroughputOfOneAndManyShards() throws Exception {
+        int threads = 8;
+        int perThread = 25_000;
+        long single = bestWritesPerSecond(1, threads, perThread);
+        long sharded = bestWritesPerSecond(threads, threads, perThread);
+
+        log.info("Escrituras por segundo con {} hilos ({} procesadores): 1 fragmento={}, {} fragmentos={}",
+                threads, Runtime.getRuntime().availableProcessors(), single, threads, sharded);
+        assertTrue(single > 0 && sharded > 0);
+    }
+
+    private static long bestWritesPerSecond(int shardCount, int threads, int perThread) throws Exception {
+        writesPerSecond(new ShardedNotificationRepository(shardCount), threads, perThread);
+        long best = 0;
+        for (int round = 0; round < 3; round++) {
+            best = Math.max(best, writesPerSecond(new ShardedNotificationRepository(shardCount), threads, perThread));
+        }
+        return best;
+    }
+
+    private static long writesPerSecond(ShardedNotificationRepository store, int threads, int perThread)
+            throws Exception {
+        List<UUID> users = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            users.add(new UUID(0, i));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        store.save(notification(users.get((offset * perThread + i) % users.size()), i));
+                    }
+                    return null;
+                }));
+            }
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            long elapsed = System.nanoTime() - started;
+            long total = (long) threads * perThread;
+            assertEquals(total, users.stream().mapToLong(store::countUnreadByUserId).sum());
+            return total * TimeUnit.SECONDS.toNanos(1) / elapsed;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static InAppNotification notification(UUID user, int minute) {
+        return InAppNotification.builder()
+                .notificationId(UUID.randomUUID())
+                .userId(user)
+                .title("Viaje confirmado")
+                .message("Mensaje")
+                .status(NotificationStatus.UNREAD)
+                .createdAt(BASE.plusMinutes(minute))
+                .build();
+    }
+
+    /** Fragmento que cuenta las escrituras que recibe. */
+    private static final class CountingShard extends NotificationRepositoryAdapter {
+        private final AtomicInteger writes = new AtomicInteger();
+
+        @Override
+        public InAppNotification save(InAppNotification notification) {
+            writes.incrementAndGet();
+            return super.save(notification);
+        }
+
+        @Override
+        public List<InAppNotification> saveAll(Collection<InAppNotification> notifications) {
+            writes.incrementAndGet();
+            return super.saveAll(notifications);
+        }
+
+        @Override
+        public int deleteAllById(Collection<UUID> ids) {
+            writes.incrementAndGet();
+            return super.deleteAllById(ids);
+        }
+    }
+}
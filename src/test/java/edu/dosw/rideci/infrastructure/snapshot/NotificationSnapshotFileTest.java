@@ -0,0 +1,175 @@
+package edu.dosw.rideci.infrastructure.snapshot;
+
+import edu.dosw.rideci.domain.model.Enum.NotificationStatus;
+import edu.dosw.rideci.domain.model.Enum.NotificationType;
+import edu.dosw.rideci.domain.model.InAppNotification;
+import edu.dosw.rideci.domain.repository.InMemoryNotificationStore;
+import edu.dosw.rideci.domain.repository.NotificationSnapshotSource;
+import edu.dosw.rideci.infrastructure.persistance.Repository.NotificationRepositoryAdapter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class NotificationSnapshotFileTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.parse("2025-01-01T08:30:15.123456789-05:00");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restoresEveryFieldIntoAnEmptyStore() throws Exception {
+        UUID user = UUID.randomUUID();
+        NotificationRepositoryAdapter original = new NotificationRepositoryAdapter();
+        InAppNotification full = notification(user, 1);
+        full.setMessage("<html>" + "Viaje confirmado. ".repeat(40) + "ñ</html>");
+        full.setReadAt(BASE.plusHours(1));
+        full.setExpiresAt(BASE.plusDays(30).withOffsetSameInstant(ZoneOffset.UTC));
+        full.setStatus(NotificationStatus.READ);
+        InAppNotification sparse = InAppNotification.builder().notificationId(UUID.randomUUID()).build();
+        original.saveAll(List.of(full, sparse, notification(user, 2)));
+
+        Path file = directory.resolve("notifications.snapshot");
+        assertEquals(3, NotificationSnapshotFile.write(file, original));
+
+        NotificationRepositoryAdapter restored = new NotificationRepositoryAdapter();
+        assertEquals(3, NotificationSnapshotFile.read(file, 2, restored::restore));
+        InAppNotification copy = restored.findById(full.getNotificationId()).orElseThrow();
+        assertEquals(full.getUserId(), copy.getUserId());
+        assertEquals(full.getTitle(), copy.getTitle());
+        assertEquals(full.getMessage(), copy.getMessage());
+        assertEquals(full.getEventType(), copy.getEventType());
+        assertEquals(full.getPriority(), copy.getPriority());
+        assertEquals(full.getStatus(), copy.getStatus());
+        assertEquals(full.getCreatedAt(), copy.getCreatedAt());
+        assertEquals(full.getReadAt(), copy.getReadAt());
+        assertEquals(full.getExpiresAt(), copy.getExpiresAt());
+        InAppNotification empty = restored.findById(sparse.getNotificationId()).orElseThrow();
+        assertNull(empty.getUserId());
+        assertNull(empty.getCreatedAt());
+        assertEquals(2, restored.findByUserIdOrderByCreatedAtDesc(user).size());
+        assertEquals(1, restored.countUnreadByUserId(user));
+        assertEquals(1, restored.findExpiringBefore(BASE.plusDays(31), 10).size());
+    }
+
+    @Test
+    void rejectsTruncatedSnapshot() throws Exception {
+        NotificationRepositoryAdapter original = new NotificationRepositoryAdapter();
+        original.save(notification(UUID.randomUUID(), 1));
+        Path file = directory.resolve("notifications.snapshot");
+        NotificationSnapshotFile.write(file, original);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 8));
+
+        assertThrows(IOException.class, () -> NotificationSnapshotFile.read(file, 10, batch -> { }));
+    }
+
+    @Test
+    void adapterSnapshotIgnoresWritesMadeWhileItRuns() {
+        NotificationRepositoryAdapter store = new NotificationRepositoryAdapter();
+        assertSnapshotIgnoresConcurrentWrites(store, store::save, ids -> store.deleteAllById(ids));
+    }
+
+    @Test
+    void inAppStoreSnapshotIgnoresWritesMadeWhileItRuns() {
+        InMemoryNotificationStore store = new InMemoryNotificationStore();
+        assertSnapshotIgnoresConcurrentWrites(store, store::save, ids -> ids.forEach(id -> store.delete(id.toString())));
+    }
+
+    /**
+     * Guarda y restaura una instantánea de 200.000 notificaciones del
+     * almacén en memoria sin perder ninguna e informa cuánto tarda cada paso.
+     */
+    @Test
+    void snapshotsAndRestoresLargeStore() throws Exception {
+        int count = 200_000;
+        NotificationRepositoryAdapter original = new NotificationRepositoryAdapter();
+        List<InAppNotification> notifications = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            notifications.add(notification(UUID.randomUUID(), i % 1_000));
+        }
+        original.saveAll(notifications);
+        Path file = directory.resolve("notifications.snapshot");
+
+        long started = System.nanoTime();
+        assertEquals(count, NotificationSnapshotFile.write(file, original));
+        long snapshotNanos = System.nanoTime() - started;
+
+        NotificationRepositoryAdapter restored = new NotificationRepositoryAdapter();
+        started = System.nanoTime();
+        assertEquals(count, NotificationSnapshotFile.read(file, 10_000, restored::restore));
+        long restoreNanos = System.nanoTime() - started;
+        assertTrue(restored.findById(notifications.get(count - 1).getNotificationId()).isPresent());
+
+        log.info("Instantánea de {} notificaciones ({} bytes): escritura {} ms, restauración {} ms",
+                count, Files.size(file), TimeUnit.NANOSECONDS.toMillis(snapshotNanos),
+                TimeUnit.NANOSECONDS.toMillis(restoreNanos));
+    }
+
+    private void assertSnapshotIgnoresConcurrentWrites(NotificationSnapshotSource store,
+                                                       Consumer<InAppNotification> save,
+                                                       Consumer<List<UUID>> delete) {
+        UUID user = UUID.randomUUID();
+        List<InAppNotification> saved = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            InAppNotification notification = notification(user, i);
+            save.accept(notification);
+            saved.add(notification);
+        }
+
+        Map<UUID, InAppNotification> captured = new HashMap<>();
+        boolean[] written = {false};
+        store.snapshot(notification -> {
+            if (!written[0]) {
+                written[0] = true;
+                delete.accept(saved.subList(0, 30).stream().map(InAppNotification::getNotificationId).toList());
+                for (InAppNotification updated : saved.subList(30, 60)) {
+                    updated.setStatus(NotificationStatus.READ);
+                    save.accept(updated);
+                }
+                for (int i = 0; i < 50; i++) {
+                    save.accept(notification(user, 200 + i));
+                }
+            }
+            captured.put(notification.getNotificationId(), notification);
+        });
+
+        assertEquals(100, captured.size());
+        for (InAppNotification notification : saved) {
+            assertEquals(NotificationStatus.UNREAD, captured.get(notification.getNotificationId()).getStatus());
+        }
+    }
+
+    private static InAppNotification notification(UUID user, int minute) {
+        return InAppNotification.builder()
+                .notificationId(UUID.randomUUID())
+                .userId(user)
+                .title("Viaje confirmado")
+                .message("Tu viaje sale a las 7:00")
+                .eventType(NotificationType.TRIP_CREATED)
+                .priority("NORMAL")
+                .status(NotificationStatus.UNREAD)
+                .createdAt(BASE.plusMinutes(minute))
+                .build();
+    }
+}